@@ -29,38 +29,25 @@
  */
 package org.pushingpixels.flamingo.api.common.icon;
 
-import org.pushingpixels.neon.api.AsynchronousLoading;
-import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.neon.api.icon.CachedResizableIcon;
 import org.pushingpixels.neon.api.icon.ResizableIcon;
-import org.pushingpixels.neon.internal.contrib.intellij.UIUtil;
+import org.pushingpixels.neon.api.icon.ResizableIconCache;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * Implementation of {@link ResizableIcon} that allows applying a
- * {@link BufferedImageOp} on another icon.
+ * {@link BufferedImageOp} on another icon. The filtered bitmaps are kept in the global
+ * {@link ResizableIconCache}.
  *
  * @author Kirill Grouchnikov
  */
 public class FilteredResizableIcon implements ResizableIcon {
     /**
-     * Image cache to speed up rendering.
+     * Caching icon that applies the filter operation on the main (pre-filtered) icon.
      */
-    private Map<String, BufferedImage> cachedImages;
-
-    /**
-     * The main (pre-filtered) icon.
-     */
-    private ResizableIcon delegate;
-
-    /**
-     * Filter operation.
-     */
-    private BufferedImageOp operation;
+    private CachedResizableIcon cachedIcon;
 
     /**
      * Creates a new filtered icon.
@@ -70,62 +57,27 @@ public class FilteredResizableIcon implements ResizableIcon {
      */
     private FilteredResizableIcon(ResizableIcon delegate, BufferedImageOp operation) {
         super();
-        this.delegate = delegate;
-        this.operation = operation;
-        this.cachedImages = new LinkedHashMap<String, BufferedImage>() {
-            @Override
-            protected boolean removeEldestEntry(
-                    java.util.Map.Entry<String, BufferedImage> eldest) {
-                return size() > 5;
-            }
-        };
+        this.cachedIcon = CachedResizableIcon.of(delegate, operation);
     }
 
     @Override
     public int getIconHeight() {
-        return delegate.getIconHeight();
+        return cachedIcon.getIconHeight();
     }
 
     @Override
     public int getIconWidth() {
-        return delegate.getIconWidth();
+        return cachedIcon.getIconWidth();
     }
 
     @Override
     public void setDimension(Dimension newDimension) {
-        delegate.setDimension(newDimension);
+        cachedIcon.setDimension(newDimension);
     }
 
     @Override
     public void paintIcon(Component c, Graphics g, int x, int y) {
-        // check cache
-        String key = this.getIconWidth() + ":" + this.getIconHeight();
-        if (!this.cachedImages.containsKey(key)) {
-            // check if loading
-            if (this.delegate instanceof AsynchronousLoading) {
-                AsynchronousLoading asyncDelegate = (AsynchronousLoading) this.delegate;
-                // if the delegate is still loading - do nothing
-                if (asyncDelegate.isLoading()) {
-                    return;
-                }
-            }
-            BufferedImage offscreen = NeonCortex.getBlankImage(this.getIconWidth(),
-                    this.getIconHeight());
-            Graphics2D g2d = offscreen.createGraphics();
-            this.delegate.paintIcon(c, g2d, 0, 0);
-            g2d.dispose();
-            BufferedImage filtered = this.operation.filter(offscreen, null);
-            this.cachedImages.put(key, filtered);
-        }
-        BufferedImage toDraw = this.cachedImages.get(key);
-        Graphics2D g2d = (Graphics2D) g.create();
-        g2d.translate(x, y);
-        // Note that here we shouldn't use NeonCortex.drawImage as the result of applying
-        // a generic (non-NeonAbstractFilter) filter is not going to be a high-DPI wrapper.
-        double scaleFactor = UIUtil.getScaleFactor();
-        g2d.drawImage(toDraw, 0, 0, (int) (toDraw.getWidth(null) / scaleFactor),
-                (int) (toDraw.getHeight(null) / scaleFactor), null);
-        g2d.dispose();
+        cachedIcon.paintIcon(c, g, x, y);
     }
 
     public static Factory factory(Factory delegateFactory,
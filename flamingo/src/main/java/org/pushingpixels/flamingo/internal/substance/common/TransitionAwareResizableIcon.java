@@ -143,8 +143,8 @@ public class TransitionAwareResizableIcon implements ResizableIcon {
                 this.comp, ColorSchemeAssociationKind.MARK, currState);
         float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(this.comp, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(baseScheme.getDisplayName(),
-                baseAlpha, this.width, this.height);
+        CacheKey keyBase = CacheKey.of(baseScheme.getDisplayName(), baseAlpha, this.width,
+                this.height);
         // System.out.println(key);
         ResizableIcon layerBase = this.iconMap.get(keyBase);
         if (layerBase == null) {
@@ -193,8 +193,8 @@ public class TransitionAwareResizableIcon implements ResizableIcon {
                         ColorSchemeAssociationKind.MARK, activeState);
                 float alpha = SubstanceColorSchemeUtilities.getAlpha(this.comp, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(scheme.getDisplayName(), alpha,
-                        this.width, this.height);
+                CacheKey key = CacheKey.of(scheme.getDisplayName(), alpha, this.width,
+                        this.height);
                 ResizableIcon layer = iconMap.get(key);
                 if (layer == null) {
                     ResizableIcon fullOpacity = this.delegate.getColorSchemeIcon(scheme, width, height);
@@ -73,20 +73,19 @@ public class SubstanceColorSelectorPopupMenuUI extends BasicColorSelectorPopupMe
     @Override
     protected void installDefaults() {
         super.installDefaults();
-        this.popupMenu.putClientProperty(DecorationPainterUtils.POPUP_INVOKER_LINK,
-                this.popupInvokerLink);
+        DecorationPainterUtils.setPopupInvokerLink(this.popupMenu, this.popupInvokerLink);
     }
 
     @Override
     protected void uninstallDefaults() {
-        this.popupMenu.putClientProperty(DecorationPainterUtils.POPUP_INVOKER_LINK, null);
+        DecorationPainterUtils.setPopupInvokerLink(this.popupMenu, null);
         super.uninstallDefaults();
     }
 
     @Override
     protected JPanel createMenuPanel() {
         JPanel result = new SubstanceMenuPanel();
-        result.putClientProperty(DecorationPainterUtils.POPUP_INVOKER_LINK, this.popupInvokerLink);
+        DecorationPainterUtils.setPopupInvokerLink(result, this.popupInvokerLink);
         return result;
     }
 
@@ -38,6 +38,7 @@ import org.pushingpixels.flamingo.internal.substance.common.GlowingResizableIcon
 import org.pushingpixels.flamingo.internal.substance.common.ui.ActionPopupTransitionAwareUI;
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices;
 import org.pushingpixels.substance.api.SubstanceSlices.AnimationFacet;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
@@ -158,20 +159,22 @@ public class CommandButtonBackgroundDelegate {
             }
         }
 
-        HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(currState, width, height,
+        int straightSidesMask = CacheKey.toMask(straightSides);
+        int fontSize = SubstanceSizeUtils.getComponentFontSize(commandButton);
+        CacheKey baseKey = CacheKey.of(currState, width, height,
                 baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
-                commandButton.getClass().getName(), radius, straightSides,
-                SubstanceSizeUtils.getComponentFontSize(commandButton), locationOrderKind, dx, dy,
-                dw, dh, isVertical);
+                commandButton.getClass().getName(), radius, straightSidesMask, fontSize,
+                locationOrderKind, dx, dy, dw, dh, isVertical);
 
-        BufferedImage baseLayer = imageCache.get(baseKey);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(commandButton);
+        BufferedImage baseLayer = imageCache.get(skin, baseKey);
         if (baseLayer == null) {
             baseLayer = getSingleLayer(commandButton, fillPainter, borderPainter, width, height,
                     baseFillScheme, baseBorderScheme, radius, straightSides, locationOrderKind, dx,
                     dy, dw, dh, isVertical);
 
-            imageCache.put(baseKey, baseLayer);
+            imageCache.put(skin, baseKey, baseLayer);
         }
 
         if (currState.isDisabled() || (activeStates == null) || (activeStates.size() == 1)) {
@@ -200,20 +203,19 @@ public class CommandButtonBackgroundDelegate {
             SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                     .getColorScheme(commandButton, ColorSchemeAssociationKind.BORDER, activeState);
 
-            HashMapKey key = SubstanceCoreUtilities.getHashKey(activeState, width, height,
+            CacheKey key = CacheKey.of(activeState, width, height,
                     fillScheme.getDisplayName(), borderScheme.getDisplayName(),
                     fillPainter.getDisplayName(), borderPainter.getDisplayName(),
-                    commandButton.getClass().getName(), radius, straightSides,
-                    SubstanceSizeUtils.getComponentFontSize(commandButton), locationOrderKind, dx,
-                    dy, dw, dh, isVertical);
+                    commandButton.getClass().getName(), radius, straightSidesMask, fontSize,
+                    locationOrderKind, dx, dy, dw, dh, isVertical);
 
-            BufferedImage layer = imageCache.get(key);
+            BufferedImage layer = imageCache.get(skin, key);
             if (layer == null) {
                 layer = getSingleLayer(commandButton, fillPainter, borderPainter, width, height,
                         fillScheme, borderScheme, radius, straightSides, locationOrderKind, dx, dy,
                         dw, dh, isVertical);
 
-                imageCache.put(key, layer);
+                imageCache.put(skin, key, layer);
             }
 
             g2d.setComposite(AlphaComposite.SrcOver.derive(contribution));
@@ -122,11 +122,11 @@ public class RibbonTaskToggleButtonBackgroundDelegate {
                 : selectedTask.getBand(0);
         Color bgColor = (band != null) ? band.getBackground() : parent.getBackground();
 
-        HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(width, height,
+        int parentBackgroundRgb = button.getParent().getBackground().getRGB();
+        CacheKey baseKey = CacheKey.of(width, height,
                 baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                 borderPainter.getDisplayName(), decorationPainter.getDisplayName(),
-                button.getParent().getBackground().getRGB(), button.getActionModel(),
-                button.getContextualGroupHueColor(), button.getActionModel(),
+                parentBackgroundRgb, button.getActionModel(), button.getContextualGroupHueColor(),
                 ribbon.isMinimized(), bgColor);
         BufferedImage baseLayer = imageCache.get(baseKey);
         if (baseLayer == null) {
@@ -166,13 +166,11 @@ public class RibbonTaskToggleButtonBackgroundDelegate {
             SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities.getColorScheme(ribbon,
                     ColorSchemeAssociationKind.BORDER, activeState);
 
-            HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
+            CacheKey key = CacheKey.of(width, height,
                     fillScheme.getDisplayName(), borderScheme.getDisplayName(),
                     borderPainter.getDisplayName(), decorationPainter.getDisplayName(),
-                    button.getParent().getBackground().getRGB(),
-                    button.getActionModel(), button.getContextualGroupHueColor(),
-                    button.getActionModel(), ribbon.isMinimized(),
-                    bgColor);
+                    parentBackgroundRgb, button.getActionModel(),
+                    button.getContextualGroupHueColor(), ribbon.isMinimized(), bgColor);
 
             BufferedImage layer = imageCache.get(key);
             if (layer == null) {
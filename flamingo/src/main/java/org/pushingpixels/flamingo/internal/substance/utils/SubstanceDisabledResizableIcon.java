@@ -96,8 +96,8 @@ public class SubstanceDisabledResizableIcon implements ResizableIcon {
 
         SubstanceColorScheme scheme = SubstanceColorSchemeUtilities.getColorScheme(c,
                 ComponentState.DISABLED_UNSELECTED);
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(this.getIconWidth(),
-                this.getIconHeight(), scheme.getDisplayName());
+        CacheKey key = CacheKey.of(this.getIconWidth(), this.getIconHeight(),
+                scheme.getDisplayName());
 
         BufferedImage filtered = this.cachedImages.get(key);
         if (filtered == null) {
@@ -113,4 +113,4 @@ public class SubstanceDisabledResizableIcon implements ResizableIcon {
         NeonCortex.drawImage(g2d, filtered, 0, 0);
         g2d.dispose();
     }
-}
\ No newline at end of file
+}
@@ -255,10 +255,7 @@ public class NeonCortex {
         if (UIUtil.getScaleFactor() > 1.0) {
             return JBHiDPIScaledImage.create(width, height, BufferedImage.TYPE_INT_ARGB);
         } else {
-            GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            GraphicsDevice d = e.getDefaultScreenDevice();
-            GraphicsConfiguration c = d.getDefaultConfiguration();
-            return c.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            return createCompatibleImage(width, height);
         }
     }
 
@@ -273,13 +270,21 @@ public class NeonCortex {
         if (UIUtil.getScaleFactor() > 1.0) {
             return JBHiDPIScaledImage.createUnscaled(width, height, BufferedImage.TYPE_INT_ARGB);
         } else {
-            GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            GraphicsDevice d = e.getDefaultScreenDevice();
-            GraphicsConfiguration c = d.getDefaultConfiguration();
-            return c.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            return createCompatibleImage(width, height);
         }
     }
 
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        // There is no screen device to be compatible with in headless mode
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        GraphicsDevice d = e.getDefaultScreenDevice();
+        GraphicsConfiguration c = d.getDefaultConfiguration();
+        return c.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
     public static void drawImage(Graphics g, Image img, int x, int y) {
         if (img instanceof JBHiDPIScaledImage) {
             double scaleFactor = UIUtil.getScaleFactor();
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.neon.api.icon;
+
+import org.pushingpixels.neon.api.AsynchronousLoadListener;
+import org.pushingpixels.neon.api.AsynchronousLoading;
+import org.pushingpixels.neon.api.NeonCortex;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of {@link ResizableIcon} that rasterizes another icon, optionally applies a
+ * {@link BufferedImageOp} on the result, and keeps the resulting bitmap in the global
+ * {@link ResizableIconCache}. Repeated paints of the same size at the same scale factor are
+ * then a single <code>drawImage</code> call.
+ * <p>
+ * This should only be used for icons that always paint the same content for the same size.
+ * Icons that change their content based on the component state or an ongoing animation should
+ * not be wrapped.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class CachedResizableIcon implements ResizableIcon, AsynchronousLoading {
+    private static final AtomicLong nextIconId = new AtomicLong();
+
+    /**
+     * The main (pre-cached) icon.
+     */
+    private ResizableIcon delegate;
+
+    /**
+     * Optional filter operation. Can be <code>null</code>.
+     */
+    private BufferedImageOp filter;
+
+    /**
+     * Identity of the icon content in the global cache. Icons that share this identity share
+     * their cached bitmaps.
+     */
+    private long iconId;
+
+    private CachedResizableIcon(ResizableIcon delegate, BufferedImageOp filter, long iconId) {
+        this.delegate = delegate;
+        this.filter = filter;
+        this.iconId = iconId;
+    }
+
+    /**
+     * Returns a new caching icon for the specified icon.
+     *
+     * @param delegate The main (pre-cached) icon.
+     * @return A new caching icon for the specified icon.
+     */
+    public static CachedResizableIcon of(ResizableIcon delegate) {
+        return of(delegate, null);
+    }
+
+    /**
+     * Returns a new caching icon that applies the specified filter on the specified icon.
+     *
+     * @param delegate The main (pre-filtered) icon.
+     * @param filter   Filter operation. Can be <code>null</code>.
+     * @return A new caching icon that applies the specified filter on the specified icon.
+     */
+    public static CachedResizableIcon of(ResizableIcon delegate, BufferedImageOp filter) {
+        return new CachedResizableIcon(delegate, filter, nextIconId.getAndIncrement());
+    }
+
+    /**
+     * Returns a factory that returns caching icons for the icons returned by the specified
+     * factory. All the icons returned by the factory share their cached bitmaps, and the icons
+     * returned by the specified factory are expected to paint the same content for the same
+     * size.
+     *
+     * @param delegateFactory Factory for the main (pre-cached) icons.
+     * @return Factory that returns caching icons on demand.
+     */
+    public static Factory factory(Factory delegateFactory) {
+        return factory(delegateFactory, null);
+    }
+
+    /**
+     * Returns a factory that returns caching icons that apply the specified filter on the
+     * icons returned by the specified factory. All the icons returned by the factory share their
+     * cached bitmaps, and the icons returned by the specified factory are expected to paint the
+     * same content for the same size.
+     *
+     * @param delegateFactory Factory for the main (pre-filtered) icons.
+     * @param filter          Filter operation. Can be <code>null</code>.
+     * @return Factory that returns caching icons on demand.
+     */
+    public static Factory factory(Factory delegateFactory, BufferedImageOp filter) {
+        long iconId = nextIconId.getAndIncrement();
+        return () -> new CachedResizableIcon(delegateFactory.createNewIcon(), filter, iconId);
+    }
+
+    @Override
+    public int getIconHeight() {
+        return this.delegate.getIconHeight();
+    }
+
+    @Override
+    public int getIconWidth() {
+        return this.delegate.getIconWidth();
+    }
+
+    @Override
+    public void setDimension(Dimension newDimension) {
+        this.delegate.setDimension(newDimension);
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        int width = this.getIconWidth();
+        int height = this.getIconHeight();
+        if ((width <= 0) || (height <= 0)) {
+            return;
+        }
+        if (this.isLoading()) {
+            // Don't cache partially loaded content. Also, there is nothing to filter yet.
+            if (this.filter == null) {
+                this.delegate.paintIcon(c, g, x, y);
+            }
+            return;
+        }
+
+        ResizableIconCache.Key key = new ResizableIconCache.Key(this.iconId, width, height,
+                NeonCortex.getScaleFactor(), this.filter);
+        BufferedImage toDraw = ResizableIconCache.get(key);
+        if (toDraw == null) {
+            toDraw = NeonCortex.getBlankImage(width, height);
+            Graphics2D g2d = toDraw.createGraphics();
+            this.delegate.paintIcon(c, g2d, 0, 0);
+            g2d.dispose();
+            if (this.filter != null) {
+                toDraw = this.filter.filter(toDraw, null);
+            }
+            ResizableIconCache.put(key, toDraw);
+        }
+
+        // Note that here we shouldn't use NeonCortex.drawImage as the result of applying
+        // a generic (non-NeonAbstractFilter) filter is not going to be a high-DPI wrapper.
+        // Drawing the bitmap into the logical size of the icon works for both cases.
+        g.drawImage(toDraw, x, y, width, height, null);
+    }
+
+    @Override
+    public void addAsynchronousLoadListener(AsynchronousLoadListener l) {
+        if (this.delegate instanceof AsynchronousLoading) {
+            ((AsynchronousLoading) this.delegate).addAsynchronousLoadListener(l);
+        }
+    }
+
+    @Override
+    public void removeAsynchronousLoadListener(AsynchronousLoadListener l) {
+        if (this.delegate instanceof AsynchronousLoading) {
+            ((AsynchronousLoading) this.delegate).removeAsynchronousLoadListener(l);
+        }
+    }
+
+    @Override
+    public boolean isLoading() {
+        return (this.delegate instanceof AsynchronousLoading)
+                && ((AsynchronousLoading) this.delegate).isLoading();
+    }
+}
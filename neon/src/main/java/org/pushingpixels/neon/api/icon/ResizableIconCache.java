@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.neon.api.icon;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Global cache of rasterized icon bitmaps used by {@link CachedResizableIcon}. The cache is
+ * bounded by the total size of the cached bitmaps in bytes, and evicts the least recently used
+ * bitmaps when that size exceeds the configured capacity.
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class ResizableIconCache {
+    /**
+     * Default capacity of the cache, in bytes.
+     */
+    public static final long DEFAULT_CAPACITY_IN_BYTES = 16 * 1024 * 1024;
+
+    private static final Map<Key, BufferedImage> images = new LinkedHashMap<>(64, 0.75f, true);
+
+    private static long capacityInBytes = DEFAULT_CAPACITY_IN_BYTES;
+
+    private static long sizeInBytes;
+
+    private static long hitCount;
+
+    private static long missCount;
+
+    private static long evictionCount;
+
+    private ResizableIconCache() {
+    }
+
+    /**
+     * Key of a single cached bitmap.
+     */
+    static final class Key {
+        private final long iconId;
+        private final int width;
+        private final int height;
+        private final double scaleFactor;
+        private final Object filter;
+        private final int hashCode;
+
+        Key(long iconId, int width, int height, double scaleFactor, Object filter) {
+            this.iconId = iconId;
+            this.width = width;
+            this.height = height;
+            this.scaleFactor = scaleFactor;
+            this.filter = filter;
+
+            int result = Long.hashCode(iconId);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + Double.hashCode(scaleFactor);
+            result = 31 * result + System.identityHashCode(filter);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return (this.iconId == other.iconId) && (this.width == other.width)
+                    && (this.height == other.height) && (this.scaleFactor == other.scaleFactor)
+                    && (this.filter == other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    static synchronized BufferedImage get(Key key) {
+        BufferedImage result = images.get(key);
+        if (result != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return result;
+    }
+
+    static synchronized void put(Key key, BufferedImage image) {
+        long imageSize = getSizeInBytes(image);
+        if (imageSize > capacityInBytes) {
+            // Don't flush the whole cache for a bitmap that would not fit anyway
+            return;
+        }
+        BufferedImage previous = images.put(key, image);
+        if (previous != null) {
+            sizeInBytes -= getSizeInBytes(previous);
+        }
+        sizeInBytes += imageSize;
+        evict(capacityInBytes);
+    }
+
+    private static long getSizeInBytes(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    private static void evict(long targetSizeInBytes) {
+        Iterator<BufferedImage> iterator = images.values().iterator();
+        while ((sizeInBytes > targetSizeInBytes) && iterator.hasNext()) {
+            sizeInBytes -= getSizeInBytes(iterator.next());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Returns the capacity of the cache in bytes.
+     *
+     * @return The capacity of the cache in bytes.
+     */
+    public static synchronized long getCapacityInBytes() {
+        return capacityInBytes;
+    }
+
+    /**
+     * Sets the capacity of the cache in bytes. If the current size of the cache exceeds the new
+     * capacity, the least recently used bitmaps are evicted. Passing 0 disables the caching.
+     *
+     * @param capacityInBytes New capacity of the cache in bytes.
+     */
+    public static synchronized void setCapacityInBytes(long capacityInBytes) {
+        if (capacityInBytes < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative");
+        }
+        ResizableIconCache.capacityInBytes = capacityInBytes;
+        evict(capacityInBytes);
+    }
+
+    /**
+     * Returns the total size of all the cached bitmaps in bytes.
+     *
+     * @return The total size of all the cached bitmaps in bytes.
+     */
+    public static synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Returns the number of cached bitmaps.
+     *
+     * @return The number of cached bitmaps.
+     */
+    public static synchronized int getEntryCount() {
+        return images.size();
+    }
+
+    /**
+     * Returns the number of paints that were served by a cached bitmap.
+     *
+     * @return The number of paints that were served by a cached bitmap.
+     */
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of paints that had to rasterize the icon content.
+     *
+     * @return The number of paints that had to rasterize the icon content.
+     */
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of bitmaps that were evicted to stay under the capacity of the cache.
+     *
+     * @return The number of bitmaps that were evicted to stay under the capacity of the cache.
+     */
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Removes all the cached bitmaps. This does not reset the hit, miss and eviction counters.
+     */
+    public static synchronized void clear() {
+        images.clear();
+        sizeInBytes = 0;
+    }
+}
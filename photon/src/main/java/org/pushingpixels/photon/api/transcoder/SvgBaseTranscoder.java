@@ -97,6 +97,14 @@ abstract class SvgBaseTranscoder {
 
     private final static String TOKEN_ORIG_HEIGHT = "TOKEN_ORIG_HEIGHT";
 
+    private final static String TOKEN_RESOURCES_CODE = "TOKEN_RESOURCES_CODE";
+
+    /**
+     * Manager of the cached painting resources. This is only used for templates that have the
+     * {@link #TOKEN_RESOURCES_CODE} token, and is <code>null</code> otherwise.
+     */
+    private ResourcesManager resourcesManager;
+
     private static class PrintWriterManager {
         private static final int ROTATION_THRESHOLD = 1000;
 
@@ -147,6 +155,268 @@ abstract class SvgBaseTranscoder {
         }
     }
 
+    /**
+     * Collects shapes, paints, strokes, transforms and composites into static fields of a
+     * nested <code>Resources</code> class of the generated code. That class is initialized by
+     * the JVM on the first paint, and the painting code then only references its fields instead
+     * of allocating new objects on every paint. Identical resources share the same field.
+     *
+     * <p>This also tracks the transformation of each node relative to the start of the paint.
+     * The painting code saves the transform of the graphics context once per paint in
+     * <code>origTransform</code>, and restores the transform of the enclosing node with
+     * <code>setTransform(origTransform)</code> followed by the precomposed transformation of
+     * that node.</p>
+     *
+     * <p>The composites are kept in a static <code>composites</code> array. Paints with a
+     * translucent original composite use copies of these composites that are scaled by the
+     * original alpha. The copies are kept in the icon instance until the next paint with a
+     * different original alpha.</p>
+     */
+    private class ResourcesManager {
+        private static final int PATH_CHUNK_SIZE = 1000;
+
+        private Map<String, String> fieldsByCreation = new HashMap<>();
+
+        private Map<String, Integer> counters = new HashMap<>();
+
+        private StringBuilder fields = new StringBuilder();
+
+        private StringBuilder methods = new StringBuilder();
+
+        /**
+         * Transformations of the nodes that enclose the current node, relative to the start of
+         * the paint. The last entry is the transformation of the current node.
+         */
+        private Deque<AffineTransform> composedTransforms = new ArrayDeque<>(
+                Collections.singleton(new AffineTransform()));
+
+        private boolean usesTransforms;
+
+        /**
+         * Creation code of the composites, in the order of their indexes in the generated
+         * <code>composites</code> array.
+         */
+        private Map<String, Integer> compositeIndexes = new LinkedHashMap<>();
+
+        private String getNextName(String prefix) {
+            return prefix + this.counters.merge(prefix, 1, Integer::sum);
+        }
+
+        /**
+         * Returns the reference to the static field that holds the result of the specified
+         * creation code.
+         *
+         * @param type     Type of the field.
+         * @param prefix   Prefix for the field name.
+         * @param creation Code that creates the field value.
+         * @return Reference to the static field.
+         */
+        public String getField(String type, String prefix, String creation) {
+            return this.fieldsByCreation.computeIfAbsent(type + ":" + creation, key -> {
+                String name = getNextName(prefix);
+                this.fields.append("        static final " + type + " " + name + " = "
+                        + creation + languageRenderer.getStatementEnd() + "\n");
+                return "Resources." + name;
+            });
+        }
+
+        /**
+         * Returns the reference to the static field that holds the path with the specified
+         * segments. Long paths are built in chunks to stay under the method size limit.
+         *
+         * @param segments Calls that build the path on the <code>generalPath</code> variable.
+         * @return Reference to the static field.
+         */
+        public String getPath(List<String> segments) {
+            return this.fieldsByCreation.computeIfAbsent("Path:" + String.join("\n", segments),
+                    key -> {
+                        String name = getNextName("shape");
+                        String methodName = "create" + Character.toUpperCase(name.charAt(0))
+                                + name.substring(1);
+                        StringBuilder method = new StringBuilder();
+                        method.append("        private static Shape " + methodName + "() {\n");
+                        method.append("            GeneralPath generalPath = new GeneralPath();\n");
+                        if (segments.size() <= PATH_CHUNK_SIZE) {
+                            for (String segment : segments) {
+                                method.append("            " + segment + "\n");
+                            }
+                        } else {
+                            for (int start = 0; start < segments.size(); start += PATH_CHUNK_SIZE) {
+                                String chunkName = methodName + "_" + (start / PATH_CHUNK_SIZE);
+                                method.append("            " + chunkName + "(generalPath);\n");
+                                this.methods.append("        private static void " + chunkName
+                                        + "(GeneralPath generalPath) {\n");
+                                for (String segment : segments.subList(start,
+                                        Math.min(start + PATH_CHUNK_SIZE, segments.size()))) {
+                                    this.methods.append("            " + segment + "\n");
+                                }
+                                this.methods.append("        }\n\n");
+                            }
+                        }
+                        method.append("            return generalPath;\n");
+                        method.append("        }\n\n");
+                        this.methods.append(method);
+                        this.fields.append("        static final Shape " + name + " = "
+                                + methodName + "();\n");
+                        return "Resources." + name;
+                    });
+        }
+
+        /**
+         * Applies a translation to the transformation of the current node.
+         *
+         * @param dx Translation along the X axis.
+         * @param dy Translation along the Y axis.
+         */
+        public void translate(double dx, double dy) {
+            this.composedTransforms.peekLast().translate(dx, dy);
+        }
+
+        /**
+         * Applies a rotation to the transformation of the current node.
+         *
+         * @param angle Rotation angle.
+         */
+        public void rotate(double angle) {
+            this.composedTransforms.peekLast().rotate(angle);
+        }
+
+        /**
+         * Marks the start of a node with transformation.
+         *
+         * @param transform Transformation of the node, relative to its enclosing node.
+         */
+        public void pushTransform(AffineTransform transform) {
+            this.usesTransforms = true;
+            AffineTransform composed = new AffineTransform(this.composedTransforms.peekLast());
+            composed.concatenate(transform);
+            this.composedTransforms.addLast(composed);
+        }
+
+        /**
+         * Marks the end of a node with transformation.
+         *
+         * @return The code that restores the transformation of the enclosing node.
+         */
+        public String popTransform() {
+            this.composedTransforms.removeLast();
+            AffineTransform enclosing = this.composedTransforms.peekLast();
+            String result = "g.setTransform(origTransform)" + languageRenderer.getStatementEnd();
+            if (!enclosing.isIdentity()) {
+                double[] matrix = new double[6];
+                enclosing.getMatrix(matrix);
+                result += "\ng.transform(" + this.getField("AffineTransform", "transform",
+                        languageRenderer.getObjectCreation("AffineTransform") + "(" + matrix[0]
+                                + ", " + matrix[1] + ", " + matrix[2] + ", " + matrix[3] + ", "
+                                + matrix[4] + ", " + matrix[5] + ")") + ")"
+                        + languageRenderer.getStatementEnd();
+            }
+            return result;
+        }
+
+        /**
+         * Returns the code that evaluates to the alpha composite with the specified rule and
+         * alpha, scaled by the <code>origAlpha</code> of the painting code.
+         *
+         * @param rule  Composite rule.
+         * @param alpha Composite alpha.
+         * @return The code that evaluates to the alpha composite.
+         */
+        public String getComposite(int rule, float alpha) {
+            int index = this.compositeIndexes.computeIfAbsent(
+                    "AlphaComposite.getInstance(" + rule + ", " + alpha + "f)",
+                    key -> this.compositeIndexes.size());
+            return "composites[" + index + "]";
+        }
+
+        /**
+         * Returns the code that needs to run before the painting code. This saves the
+         * transform of the graphics context, and looks up the composites for the original
+         * alpha.
+         *
+         * @return The code that needs to run before the painting code.
+         */
+        public String getPaintingPrologue() {
+            String prologue = "";
+            if (this.usesTransforms) {
+                prologue += "AffineTransform origTransform = g"
+                        + languageRenderer.getGetter("transform")
+                        + languageRenderer.getStatementEnd() + "\n";
+            }
+            if (!this.compositeIndexes.isEmpty()) {
+                prologue += "AlphaComposite[] composites = getComposites(origAlpha)"
+                        + languageRenderer.getStatementEnd() + "\n";
+            }
+            return prologue;
+        }
+
+        /**
+         * Returns the additional arguments of the painting methods.
+         *
+         * @return The additional arguments of the painting methods.
+         */
+        public LanguageRenderer.MethodArgument[] getPaintingArguments() {
+            List<LanguageRenderer.MethodArgument> result = new ArrayList<>();
+            if (this.usesTransforms) {
+                result.add(new LanguageRenderer.MethodArgument("origTransform",
+                        "AffineTransform"));
+            }
+            if (!this.compositeIndexes.isEmpty()) {
+                result.add(new LanguageRenderer.MethodArgument("composites",
+                        "AlphaComposite[]"));
+            }
+            return result.toArray(new LanguageRenderer.MethodArgument[0]);
+        }
+
+        public String getCode() {
+            if (!this.compositeIndexes.isEmpty()) {
+                this.fields.append("        static final AlphaComposite[] composites = {\n");
+                for (String creation : this.compositeIndexes.keySet()) {
+                    this.fields.append("                " + creation + ",\n");
+                }
+                this.fields.append("        };\n");
+            }
+            if (this.fields.length() == 0) {
+                return "";
+            }
+            String code = "/**\n"
+                    + "     * Shapes, paints, strokes, transforms and composites used by the painting code.\n"
+                    + "     * These are created once, on the first paint, and shared by all instances.\n"
+                    + "     */\n"
+                    + "    private static final class Resources {\n"
+                    + this.fields + "\n" + this.methods
+                    + "    }\n";
+            if (!this.compositeIndexes.isEmpty()) {
+                code += "\n"
+                        + "    /**\n"
+                        + "     * Composites of the last paint with a translucent original composite, scaled\n"
+                        + "     * by its alpha. Only accessed from the synchronized painting code.\n"
+                        + "     */\n"
+                        + "    private AlphaComposite[] scaledComposites;\n"
+                        + "\n"
+                        + "    private float scaledCompositesAlpha;\n"
+                        + "\n"
+                        + "    private AlphaComposite[] getComposites(float origAlpha) {\n"
+                        + "        if (origAlpha == 1.0f) {\n"
+                        + "            return Resources.composites;\n"
+                        + "        }\n"
+                        + "        if ((scaledComposites == null) || (scaledCompositesAlpha != origAlpha)) {\n"
+                        + "            AlphaComposite[] composites = new AlphaComposite[Resources.composites.length];\n"
+                        + "            for (int i = 0; i < composites.length; i++) {\n"
+                        + "                composites[i] = AlphaComposite.getInstance(\n"
+                        + "                        Resources.composites[i].getRule(),\n"
+                        + "                        Resources.composites[i].getAlpha() * origAlpha);\n"
+                        + "            }\n"
+                        + "            scaledComposites = composites;\n"
+                        + "            scaledCompositesAlpha = origAlpha;\n"
+                        + "        }\n"
+                        + "        return scaledComposites;\n"
+                        + "    }\n";
+            }
+            return code;
+        }
+    }
+
     /**
      * Creates a new transcoder.
      *
@@ -221,9 +491,29 @@ abstract class SvgBaseTranscoder {
 
         // Pass 2 - transcode the rest of the content
         this.printWriterManager = new PrintWriterManager();
+        this.resourcesManager = templateString.contains(TOKEN_RESOURCES_CODE)
+                ? new ResourcesManager() : null;
         transcodeGraphicsNode(gvtRoot, "");
         this.printWriterManager.close();
 
+        if (this.resourcesManager != null) {
+            templateString = templateString.replace(TOKEN_RESOURCES_CODE,
+                    this.resourcesManager.getCode());
+        }
+
+        List<LanguageRenderer.MethodArgument> paintingArguments = new ArrayList<>();
+        paintingArguments.add(new LanguageRenderer.MethodArgument("g", "Graphics2D"));
+        paintingArguments.add(new LanguageRenderer.MethodArgument("origAlpha",
+                languageRenderer.getPrimitiveTypeFor(float.class)));
+        if (this.resourcesManager != null) {
+            paintingArguments.addAll(Arrays.asList(this.resourcesManager.getPaintingArguments()));
+        }
+        StringBuilder paintingInvocationArguments = new StringBuilder();
+        for (LanguageRenderer.MethodArgument paintingArgument : paintingArguments) {
+            paintingInvocationArguments.append((paintingInvocationArguments.length() > 0)
+                    ? ", " : "").append(paintingArgument.name);
+        }
+
         List<ByteArrayOutputStream> paintingCodeStreams = this.printWriterManager.getStreamList();
         int streamCount = paintingCodeStreams.size();
         StringBuffer combinedPaintingCode = new StringBuffer();
@@ -231,8 +521,7 @@ abstract class SvgBaseTranscoder {
             ByteArrayOutputStream currentPaintingCodeStream = paintingCodeStreams.get(i);
             String paintingCode = new String(currentPaintingCodeStream.toByteArray());
             String paintingCodeMethod = languageRenderer.startMethod("_paint" + i,
-                    new LanguageRenderer.MethodArgument("g", "Graphics2D"),
-                    new LanguageRenderer.MethodArgument("origAlpha", languageRenderer.getPrimitiveTypeFor(float.class)))
+                    paintingArguments.toArray(new LanguageRenderer.MethodArgument[0]))
                     + "\n" + paintingCode + "\n" + languageRenderer.endMethod();
             combinedPaintingCode.append(paintingCodeMethod);
             combinedPaintingCode.append("\n\n");
@@ -240,12 +529,16 @@ abstract class SvgBaseTranscoder {
         templateString = templateString.replaceAll(TOKEN_PAINTING_CODE, combinedPaintingCode.toString());
 
         StringBuffer combinedPaintingInvocations = new StringBuffer();
+        if (this.resourcesManager != null) {
+            combinedPaintingInvocations.append(this.resourcesManager.getPaintingPrologue());
+        }
         for (int i = 0; i < streamCount; i++) {
-            combinedPaintingInvocations.append("_paint" + i + "(g, origAlpha)" +
-                    languageRenderer.getStatementEnd() + "\n");
+            combinedPaintingInvocations.append("_paint" + i + "(" + paintingInvocationArguments
+                    + ")" + languageRenderer.getStatementEnd() + "\n");
         }
         templateString = templateString.replaceAll(TOKEN_PAINTING_INVOCATIONS,
                 combinedPaintingInvocations.toString());
+        this.resourcesManager = null;
 
         Rectangle2D bounds = gvtRoot.getBounds();
 
@@ -265,6 +558,36 @@ abstract class SvgBaseTranscoder {
             listener.finished();
     }
 
+    /**
+     * Returns the code for the specified path segment.
+     *
+     * @param pathName Name of the path variable.
+     * @param type     Segment type.
+     * @param coords   Segment coordinates.
+     * @return The code for the specified path segment, or <code>null</code> for unknown
+     * segment types.
+     */
+    private String getPathSegment(String pathName, int type, float[] coords) {
+        switch (type) {
+            case PathIterator.SEG_CUBICTO:
+                return pathName + ".curveTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2]
+                        + "f, " + coords[3] + "f, " + coords[4] + "f, " + coords[5] + "f)"
+                        + languageRenderer.getStatementEnd();
+            case PathIterator.SEG_QUADTO:
+                return pathName + ".quadTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2]
+                        + "f, " + coords[3] + "f)" + languageRenderer.getStatementEnd();
+            case PathIterator.SEG_MOVETO:
+                return pathName + ".moveTo(" + coords[0] + "f, " + coords[1] + "f)"
+                        + languageRenderer.getStatementEnd();
+            case PathIterator.SEG_LINETO:
+                return pathName + ".lineTo(" + coords[0] + "f, " + coords[1] + "f)"
+                        + languageRenderer.getStatementEnd();
+            case PathIterator.SEG_CLOSE:
+                return pathName + ".closePath()" + languageRenderer.getStatementEnd();
+        }
+        return null;
+    }
+
     /**
      * Transcodes the specified path iterator.
      *
@@ -272,6 +595,20 @@ abstract class SvgBaseTranscoder {
      */
     private void transcodePathIterator(PathIterator pathIterator, String suffix) {
         float[] coords = new float[6];
+        if (this.resourcesManager != null) {
+            List<String> segments = new ArrayList<>();
+            for (; !pathIterator.isDone(); pathIterator.next()) {
+                String segment = getPathSegment("generalPath",
+                        pathIterator.currentSegment(coords), coords);
+                if (segment != null) {
+                    segments.add(segment);
+                }
+            }
+            printWriterManager.println("shape" + suffix + " = "
+                    + this.resourcesManager.getPath(segments) + languageRenderer.getStatementEnd());
+            return;
+        }
+
         printWriterManager.println("if (generalPath" + suffix + " == null) {");
         printWriterManager.println("   generalPath" + suffix + " = "
                 + languageRenderer.getObjectCreationNoParams("GeneralPath")
@@ -287,33 +624,10 @@ abstract class SvgBaseTranscoder {
             // Check in - this is needed for extreme cases for paths that have thousands of segments.
             // Probably the resulting class will run into "error: too many constants" in any case ¯\_(ツ)_/¯
             printWriterManager.checkin();
-            int type = pathIterator.currentSegment(coords);
-            switch (type) {
-                case PathIterator.SEG_CUBICTO:
-                    printWriterManager.println(languageRenderer.getObjectNoNull("generalPath" + suffix)
-                            + ".curveTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2] + "f, "
-                            + coords[3] + "f, " + coords[4] + "f, " + coords[5] + "f)"
-                            + languageRenderer.getStatementEnd());
-                    break;
-                case PathIterator.SEG_QUADTO:
-                    printWriterManager.println(languageRenderer.getObjectNoNull("generalPath" + suffix)
-                            + ".quadTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2] + "f, "
-                            + coords[3] + "f)" + languageRenderer.getStatementEnd());
-                    break;
-                case PathIterator.SEG_MOVETO:
-                    printWriterManager.println(languageRenderer.getObjectNoNull("generalPath" + suffix)
-                            + ".moveTo(" + coords[0] + "f, " + coords[1] + "f)"
-                            + languageRenderer.getStatementEnd());
-                    break;
-                case PathIterator.SEG_LINETO:
-                    printWriterManager.println(languageRenderer.getObjectNoNull("generalPath" + suffix)
-                            + ".lineTo(" + coords[0] + "f, " + coords[1] + "f)"
-                            + languageRenderer.getStatementEnd());
-                    break;
-                case PathIterator.SEG_CLOSE:
-                    printWriterManager.println(languageRenderer.getObjectNoNull("generalPath" + suffix)
-                            + ".closePath()" + languageRenderer.getStatementEnd());
-                    break;
+            String segment = getPathSegment(languageRenderer.getObjectNoNull("generalPath" + suffix),
+                    pathIterator.currentSegment(coords), coords);
+            if (segment != null) {
+                printWriterManager.println(segment);
             }
         }
         printWriterManager.println("shape" + suffix + " = generalPath"
@@ -321,6 +635,37 @@ abstract class SvgBaseTranscoder {
 
     }
 
+    /**
+     * Returns the code that evaluates to the result of the specified creation code. In the
+     * cached resources mode this is a reference to a static field that is initialized once.
+     *
+     * @param type     Type of the resource.
+     * @param prefix   Prefix for the name of the static field.
+     * @param creation Code that creates the resource.
+     * @return The code that evaluates to the resource.
+     */
+    private String getResource(String type, String prefix, String creation) {
+        if (this.resourcesManager == null) {
+            return creation;
+        }
+        return this.resourcesManager.getField(type, prefix, creation);
+    }
+
+    /**
+     * Returns the code that evaluates to the alpha composite with the specified rule and alpha,
+     * scaled by the <code>origAlpha</code> of the painting code.
+     *
+     * @param rule  Composite rule.
+     * @param alpha Composite alpha.
+     * @return The code that evaluates to the alpha composite.
+     */
+    private String getCompositeExpression(int rule, float alpha) {
+        if (this.resourcesManager != null) {
+            return this.resourcesManager.getComposite(rule, alpha);
+        }
+        return "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)";
+    }
+
     /**
      * Transcodes the specified shape.
      *
@@ -338,36 +683,36 @@ abstract class SvgBaseTranscoder {
         }
         if (shape instanceof Rectangle2D) {
             Rectangle2D rect = (Rectangle2D) shape;
-            printWriterManager.println("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Rectangle2D.Double")
-                    + "(" + rect.getX() + ", " + rect.getY() + ", " + rect.getWidth() + ", "
-                    + rect.getHeight() + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getResource("Shape", "shape",
+                    languageRenderer.getObjectCreation("Rectangle2D.Double")
+                            + "(" + rect.getX() + ", " + rect.getY() + ", " + rect.getWidth() + ", "
+                            + rect.getHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof RoundRectangle2D) {
             RoundRectangle2D rRect = (RoundRectangle2D) shape;
-            printWriterManager.println("shape" + suffix + " = " +
+            printWriterManager.println("shape" + suffix + " = " + getResource("Shape", "shape",
                     languageRenderer.getObjectCreation("RoundRectangle2D.Double") + "("
-                    + rRect.getX() + ", " + rRect.getY() + ", " + rRect.getWidth() + ", "
-                    + rRect.getHeight() + ", " + rRect.getArcWidth() + ", "
-                    + rRect.getArcHeight() + ")" + languageRenderer.getStatementEnd());
+                            + rRect.getX() + ", " + rRect.getY() + ", " + rRect.getWidth() + ", "
+                            + rRect.getHeight() + ", " + rRect.getArcWidth() + ", "
+                            + rRect.getArcHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof Ellipse2D) {
             Ellipse2D ell = (Ellipse2D) shape;
-            printWriterManager.println("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Ellipse2D.Double")
-                    + "(" + ell.getX() + ", " + ell.getY() + ", " + ell.getWidth() + ", "
-                    + ell.getHeight() + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getResource("Shape", "shape",
+                    languageRenderer.getObjectCreation("Ellipse2D.Double")
+                            + "(" + ell.getX() + ", " + ell.getY() + ", " + ell.getWidth() + ", "
+                            + ell.getHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof Line2D) {
             Line2D l2df = (Line2D) shape;
-            printWriterManager.print("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Line2D.Float"));
-            printWriterManager.format("(%ff,%ff,%ff,%ff)", (float) l2df.getX1(), (float) l2df.getY1(),
-                    (float) l2df.getX2(), (float) l2df.getY2());
-            printWriterManager.println(languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getResource("Shape", "shape",
+                    languageRenderer.getObjectCreation("Line2D.Float")
+                            + String.format("(%ff,%ff,%ff,%ff)", (float) l2df.getX1(),
+                            (float) l2df.getY1(), (float) l2df.getX2(), (float) l2df.getY2()))
+                    + languageRenderer.getStatementEnd());
             return;
         }
         throw new UnsupportedOperationException(shape.getClass().getCanonicalName());
@@ -462,7 +807,8 @@ abstract class SvgBaseTranscoder {
         transform.getMatrix(transfMatrix);
 
         this.printWriterManager
-                .println("paint = " + languageRenderer.getObjectCreation("LinearGradientPaint")
+                .println("paint = " + getResource("Paint", "paint",
+                        languageRenderer.getObjectCreation("LinearGradientPaint")
                         + "(" + languageRenderer.getObjectCreation("Point2D.Double") + "("
                         + startPoint.getX() + ", " + startPoint.getY() + "), "
                         + languageRenderer.getObjectCreation("Point2D.Double") + "("
@@ -471,7 +817,7 @@ abstract class SvgBaseTranscoder {
                         + ", " + languageRenderer.getObjectCreation("AffineTransform") + "("
                         + transfMatrix[0] + "f, " + transfMatrix[1] + "f, " + transfMatrix[2]
                         + "f, " + transfMatrix[3] + "f, " + transfMatrix[4] + "f, "
-                        + transfMatrix[5] + "f))" + languageRenderer.getStatementEnd());
+                        + transfMatrix[5] + "f))") + languageRenderer.getStatementEnd());
     }
 
     private void transcodePatternPaint(PatternPaint paint) {
@@ -570,7 +916,7 @@ abstract class SvgBaseTranscoder {
                 int rule = ((AlphaComposite) composite).getRule();
                 float alpha = ((AlphaComposite) composite).getAlpha();
                 printWriterManager.println("gTiled" + languageRenderer.startSetterAssignment("composite")
-                        + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
+                        + getCompositeExpression(rule, alpha)
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -604,9 +950,9 @@ abstract class SvgBaseTranscoder {
                     dashRep.append("}");
                 }
                 printWriterManager.println("gTiled" + languageRenderer.startSetterAssignment("stroke")
-                        + languageRenderer.getObjectCreation("BasicStroke")
+                        + getResource("Stroke", "stroke", languageRenderer.getObjectCreation("BasicStroke")
                         + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
-                        + "f," + dashRep + "," + dash_phase + "f)"
+                        + "f," + dashRep + "," + dash_phase + "f)")
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -860,8 +1206,8 @@ abstract class SvgBaseTranscoder {
         double[] transfMatrix = new double[6];
         transform.getMatrix(transfMatrix);
 
-        this.printWriterManager.println("paint = "
-                + languageRenderer.getObjectCreation("RadialGradientPaint") + "("
+        this.printWriterManager.println("paint = " + getResource("Paint", "paint",
+                languageRenderer.getObjectCreation("RadialGradientPaint") + "("
                 + languageRenderer.getObjectCreation("Point2D.Double") + "(" + centerPoint.getX()
                 + ", " + centerPoint.getY() + "), " + radius + "f, "
                 + languageRenderer.getObjectCreation("Point2D.Double") + "(" + focusPoint.getX()
@@ -869,7 +1215,7 @@ abstract class SvgBaseTranscoder {
                 + colorsRep.toString() + ", " + cycleMethodRep + ", " + colorSpaceRep + ", "
                 + languageRenderer.getObjectCreation("AffineTransform") + "(" + transfMatrix[0]
                 + "f, " + transfMatrix[1] + "f, " + transfMatrix[2] + "f, " + transfMatrix[3]
-                + "f, " + transfMatrix[4] + "f, " + transfMatrix[5] + "f))"
+                + "f, " + transfMatrix[4] + "f, " + transfMatrix[5] + "f))")
                 + languageRenderer.getStatementEnd());
     }
 
@@ -894,9 +1240,10 @@ abstract class SvgBaseTranscoder {
         }
         if (paint instanceof Color) {
             Color c = (Color) paint;
-            printWriterManager.println("paint = " + languageRenderer.getObjectCreation("Color") + "("
-                    + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
-                    + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("paint = " + getResource("Paint", "paint",
+                    languageRenderer.getObjectCreation("Color") + "(" + c.getRed() + ", "
+                            + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha() + ")")
+                    + languageRenderer.getStatementEnd());
             return;
         }
         if (paint == null) {
@@ -934,9 +1281,10 @@ abstract class SvgBaseTranscoder {
         }
         if (paint instanceof Color) {
             Color c = (Color) paint;
-            printWriterManager.println("paint = " + languageRenderer.getObjectCreation("Color") + "("
-                    + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
-                    + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("paint = " + getResource("Paint", "paint",
+                    languageRenderer.getObjectCreation("Color") + "(" + c.getRed() + ", "
+                            + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha() + ")")
+                    + languageRenderer.getStatementEnd());
             printWriterManager.println("g" + languageRenderer.startSetterAssignment("paint") + "paint"
                     + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             printWriterManager.println("g.fill(shape)" + languageRenderer.getStatementEnd());
@@ -1039,9 +1387,10 @@ abstract class SvgBaseTranscoder {
             }
             dashRep.append("}");
         }
-        printWriterManager.println("stroke = " + languageRenderer.getObjectCreation("BasicStroke")
-                + "(" + width + "f," + cap + "," + join + "," + miterlimit + "f," + dashRep
-                + "," + dash_phase + "f)" + languageRenderer.getStatementEnd());
+        printWriterManager.println("stroke = " + getResource("Stroke", "stroke",
+                languageRenderer.getObjectCreation("BasicStroke")
+                        + "(" + width + "f," + cap + "," + join + "," + miterlimit + "f," + dashRep
+                        + "," + dash_phase + "f)") + languageRenderer.getStatementEnd());
 
         transcodeShape(shape, "");
         printWriterManager.println("g" + languageRenderer.startSetterAssignment("paint") + "paint"
@@ -1086,13 +1435,11 @@ abstract class SvgBaseTranscoder {
             Marker startMarker = painter.getStartMarker();
             double dx = firstPoint.getX() - startMarker.getRef().getX();
             double dy = firstPoint.getY() - startMarker.getRef().getY();
-            printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                    + languageRenderer.getStatementEnd());
+            translate(dx, dy);
             rotate(startMarker.getOrient());
             transcodeGraphicsNode(startMarker.getMarkerNode(), comment + "_" + "m0");
             rotate(-startMarker.getOrient());
-            printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                    + languageRenderer.getStatementEnd());
+            translate(-dx, -dy);
         }
 
         // Transcode the middle marker if it's there. This only applies to the points between
@@ -1104,13 +1451,11 @@ abstract class SvgBaseTranscoder {
                     Point2D middlePoint = pathPoints.get(i);
                     double dx = middlePoint.getX() - middleMarker.getRef().getX();
                     double dy = middlePoint.getY() - middleMarker.getRef().getY();
-                    printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                            + languageRenderer.getStatementEnd());
+                    translate(dx, dy);
                     rotate(middleMarker.getOrient());
                     transcodeGraphicsNode(middleMarker.getMarkerNode(), comment + "_" + "m" + i);
                     rotate(-middleMarker.getOrient());
-                    printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                            + languageRenderer.getStatementEnd());
+                    translate(-dx, -dy);
                 }
             }
         }
@@ -1121,20 +1466,29 @@ abstract class SvgBaseTranscoder {
             Marker endMarker = painter.getEndMarker();
             double dx = lastPoint.getX() - endMarker.getRef().getX();
             double dy = lastPoint.getY() - endMarker.getRef().getY();
-            printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                    + languageRenderer.getStatementEnd());
+            translate(dx, dy);
             rotate(endMarker.getOrient());
             transcodeGraphicsNode(endMarker.getMarkerNode(),
                     comment + "_" + "m" + (pathPointCount - 1));
             rotate(-endMarker.getOrient());
-            printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                    + languageRenderer.getStatementEnd());
+            translate(-dx, -dy);
         }
     }
 
     private void rotate(double angle) {
         if (Double.isFinite(angle) && angle != 0.0) {
             printWriterManager.println("g.rotate(" + angle + ")" + languageRenderer.getStatementEnd());
+            if (this.resourcesManager != null) {
+                this.resourcesManager.rotate(angle);
+            }
+        }
+    }
+
+    private void translate(double dx, double dy) {
+        printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
+                + languageRenderer.getStatementEnd());
+        if (this.resourcesManager != null) {
+            this.resourcesManager.translate(dx, dy);
         }
     }
 
@@ -1228,7 +1582,7 @@ abstract class SvgBaseTranscoder {
                 int rule = ((AlphaComposite) composite).getRule();
                 float alpha = ((AlphaComposite) composite).getAlpha();
                 printWriterManager.println("gText" + languageRenderer.startSetterAssignment("composite")
-                        + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
+                        + getCompositeExpression(rule, alpha)
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -1262,9 +1616,9 @@ abstract class SvgBaseTranscoder {
                     dashRep.append("}");
                 }
                 printWriterManager.println("gText" + languageRenderer.startSetterAssignment("stroke")
-                        + languageRenderer.getObjectCreation("BasicStroke")
+                        + getResource("Stroke", "stroke", languageRenderer.getObjectCreation("BasicStroke")
                         + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
-                        + "f," + dashRep + "," + dash_phase + "f)"
+                        + "f," + dashRep + "," + dash_phase + "f)")
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -1418,21 +1772,38 @@ abstract class SvgBaseTranscoder {
             int rule = composite.getRule();
             float alpha = composite.getAlpha();
             printWriterManager.println("g" + languageRenderer.startSetterAssignment("composite")
-                    + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
+                    + getCompositeExpression(rule, alpha)
                     + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
         }
         AffineTransform transform = node.getTransform();
-        printWriterManager.println("transformsStack.push(g"
-                + languageRenderer.getGetter("transform") + ")"
-                + languageRenderer.getStatementEnd());
-        if (transform != null) {
+        // In the cached resources mode, the transformation of the enclosing node is restored
+        // from the transform saved at the start of the paint and the precomposed transformation
+        // of that node, without allocating a copy of the current transform for every node.
+        // Nodes without transformation don't need to restore anything, as all the nested nodes
+        // restore their own changes.
+        boolean hasTransform = (transform != null) && !transform.isIdentity();
+        if (this.resourcesManager == null) {
+            printWriterManager.println("transformsStack.push(g"
+                    + languageRenderer.getGetter("transform") + ")"
+                    + languageRenderer.getStatementEnd());
+        }
+        if ((transform != null) && (hasTransform || (this.resourcesManager == null))) {
             double[] transfMatrix = new double[6];
             transform.getMatrix(transfMatrix);
-            printWriterManager
-                    .println("g.transform(" + languageRenderer.getObjectCreation("AffineTransform")
+            String transformRep = getResource("AffineTransform", "transform",
+                    languageRenderer.getObjectCreation("AffineTransform")
                             + "(" + transfMatrix[0] + "f, " + transfMatrix[1] + "f, "
                             + transfMatrix[2] + "f, " + transfMatrix[3] + "f, " + transfMatrix[4]
-                            + "f, " + transfMatrix[5] + "f))" + languageRenderer.getStatementEnd());
+                            + "f, " + transfMatrix[5] + "f)");
+            printWriterManager.println("g.transform(" + transformRep + ")"
+                    + languageRenderer.getStatementEnd());
+            if (this.resourcesManager != null) {
+                // The same float values as in the generated transform
+                this.resourcesManager.pushTransform(new AffineTransform((float) transfMatrix[0],
+                        (float) transfMatrix[1], (float) transfMatrix[2],
+                        (float) transfMatrix[3], (float) transfMatrix[4],
+                        (float) transfMatrix[5]));
+            }
         }
 
         try {
@@ -1454,9 +1825,13 @@ abstract class SvgBaseTranscoder {
             }
             throw new UnsupportedOperationException(node.getClass().getCanonicalName());
         } finally {
-            printWriterManager.println("g" + languageRenderer.startSetterAssignment("transform")
-                    + "transformsStack.pop()" + languageRenderer.endSetterAssignment()
-                    + languageRenderer.getStatementEnd());
+            if (this.resourcesManager == null) {
+                printWriterManager.println("g" + languageRenderer.startSetterAssignment("transform")
+                        + "transformsStack.pop()" + languageRenderer.endSetterAssignment()
+                        + languageRenderer.getStatementEnd());
+            } else if (hasTransform) {
+                printWriterManager.println(this.resourcesManager.popTransform());
+            }
         }
     }
 }
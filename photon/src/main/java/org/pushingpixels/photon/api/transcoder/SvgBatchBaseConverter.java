@@ -29,17 +29,40 @@
  */
 package org.pushingpixels.photon.api.transcoder;
 
-import java.io.File;
-import java.io.InputStream;
-import java.io.PrintWriter;
-import java.io.Writer;
-import java.util.Objects;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
 
 public abstract class SvgBatchBaseConverter {
     protected static final String CHECK_DOCUMENTATION = "Check the documentation for the parameters to pass";
 
+    /**
+     * Name of the file that keeps track of the transcoded files in the incremental mode. This
+     * file is placed in the output folder.
+     */
+    protected static final String MANIFEST_FILE_NAME = ".photon-manifest";
+
+    /**
+     * First line of the manifest file. Manifests that do not start with this line were written
+     * in an older format and are ignored.
+     */
+    private static final String MANIFEST_HEADER =
+            "# Generated by Photon SVG transcoder, do not edit (format 2)";
+
+    /**
+     * The number of files to transcode in parallel.
+     */
+    private int parallelism = 1;
+
+    /**
+     * If <code>true</code>, files that have not changed since the last run are skipped.
+     */
+    private boolean incremental = false;
+
     protected String getInputArgument(String[] args, String argumentName, String defaultValue) {
         for (String arg : args) {
             String[] split = arg.split("=");
@@ -55,6 +78,46 @@ public abstract class SvgBatchBaseConverter {
         return defaultValue;
     }
 
+    /**
+     * Sets the number of files to transcode in parallel. Each file is transcoded with its own
+     * Batik bridge context.
+     *
+     * @param parallelism The number of files to transcode in parallel.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the incremental mode. In this mode, files whose content and template have not
+     * changed since the last run are skipped. The state of the last run is kept in the
+     * {@link #MANIFEST_FILE_NAME} file in the output folder.
+     *
+     * @param incremental If <code>true</code>, unchanged files are skipped.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Configures the parallelism and the incremental mode from the optional
+     * <code>parallelism</code> and <code>incremental</code> arguments.
+     *
+     * @param args Command-line arguments.
+     */
+    protected void configureFromInputArguments(String[] args) {
+        String parallelism = getInputArgument(args, "parallelism", null);
+        if (parallelism != null) {
+            this.setParallelism("auto".equals(parallelism)
+                    ? Runtime.getRuntime().availableProcessors()
+                    : Integer.parseInt(parallelism));
+        }
+        this.setIncremental(Boolean.parseBoolean(getInputArgument(args, "incremental", "false")));
+    }
+
     protected void transcodeAllFilesInFolder(File inputFolder, File outputFolder,
             String outputClassNamePrefix, String outputFileNameExtension,
             String outputPackageName, LanguageRenderer languageRenderer,
@@ -64,41 +127,230 @@ public abstract class SvgBatchBaseConverter {
         if (svgFiles == null) {
             return;
         }
-        for (File file : svgFiles) {
-            final String filename = file.getName();
-            final String svgClassName = (outputClassNamePrefix + filename.substring(0, filename.length() - 4))
-                    .replace('-', '_')
-                    .replace(' ', '_');
-
-            final String classFilename = outputFolder.getAbsolutePath() + File.separator +
-                    svgClassName + outputFileNameExtension;
-            System.out.println("Processing " + file.getAbsolutePath() + "\n\tto " + classFilename);
-
-            try (Writer writer = new PrintWriter(classFilename);
-                 InputStream templateStream = SvgBatchBaseConverter.class.getResourceAsStream(templateFile)) {
-                Objects.requireNonNull(templateStream, "Couldn't load " + templateFile);
-                final CountDownLatch latch = new CountDownLatch(1);
-
-                final String uri = file.toURI().toURL().toString();
-                final SvgTranscoder transcoder = new SvgTranscoder(uri, svgClassName, languageRenderer);
-                transcoder.setPackageName(outputPackageName);
-                transcoder.setListener(new TranscoderListener() {
-                    public Writer getWriter() {
-                        return writer;
+
+        final byte[] template;
+        try (InputStream templateStream = SvgBatchBaseConverter.class.getResourceAsStream(templateFile)) {
+            Objects.requireNonNull(templateStream, "Couldn't load " + templateFile);
+            template = readAllBytes(templateStream);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        // The transcoded content depends on the template as well as on the target package
+        // and language
+        String templateHash = getHash(template, outputPackageName.getBytes(StandardCharsets.UTF_8),
+                languageRenderer.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        File manifestFile = new File(outputFolder, MANIFEST_FILE_NAME);
+        Map<String, String> previousManifest = this.incremental ? readManifest(manifestFile)
+                : Collections.emptyMap();
+        Map<String, String> manifest = new TreeMap<>();
+
+        ExecutorService executorService = (this.parallelism > 1)
+                ? Executors.newFixedThreadPool(Math.min(this.parallelism, svgFiles.length))
+                : null;
+        Set<String> outputFilenames = new HashSet<>();
+        int skipped = 0;
+        try {
+            List<PendingFile> pendingFiles = new ArrayList<>();
+            for (File file : svgFiles) {
+                final String filename = file.getName();
+                final String svgClassName = (outputClassNamePrefix + filename.substring(0, filename.length() - 4))
+                        .replace('-', '_')
+                        .replace(' ', '_');
+
+                final String classFilename = outputFolder.getAbsolutePath() + File.separator +
+                        svgClassName + outputFileNameExtension;
+                outputFilenames.add(svgClassName + outputFileNameExtension);
+
+                String manifestEntry = null;
+                if (this.incremental) {
+                    try {
+                        manifestEntry = getHash(Files.readAllBytes(file.toPath())) + " " + templateHash
+                                + " " + svgClassName + outputFileNameExtension;
+                    } catch (IOException ioe) {
+                        ioe.printStackTrace(System.err);
                     }
+                    if ((manifestEntry != null) && manifestEntry.equals(previousManifest.get(filename))
+                            && new File(classFilename).exists()) {
+                        manifest.put(filename, manifestEntry);
+                        skipped++;
+                        continue;
+                    }
+                }
+
+                FutureTask<Boolean> result = new FutureTask<>(() -> transcodeFile(file, classFilename,
+                        svgClassName, outputPackageName, languageRenderer, template));
+                if (executorService != null) {
+                    executorService.execute(result);
+                } else {
+                    result.run();
+                }
+                pendingFiles.add(new PendingFile(filename, manifestEntry, result));
+            }
 
-                    public void finished() {
-                        latch.countDown();
+            for (PendingFile pendingFile : pendingFiles) {
+                boolean isSuccessful = false;
+                try {
+                    isSuccessful = pendingFile.result.get();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ee) {
+                    ee.getCause().printStackTrace(System.err);
+                }
+                // Only record successfully transcoded files so that failed ones are retried
+                if (isSuccessful && (pendingFile.manifestEntry != null)) {
+                    manifest.put(pendingFile.filename, pendingFile.manifestEntry);
+                }
+            }
+        } finally {
+            // The pool threads are not daemon threads, and would keep the JVM running if the
+            // pool was not shut down after a failure
+            if (executorService != null) {
+                executorService.shutdown();
+            }
+        }
+
+        if (this.incremental) {
+            // The entries of the source files removed since the last run are not carried over
+            // to the new manifest, and the files generated from them are deleted
+            int deleted = 0;
+            for (String previousEntry : previousManifest.values()) {
+                String outputFilename = previousEntry.substring(previousEntry.lastIndexOf(' ') + 1);
+                if (outputFilenames.contains(outputFilename)) {
+                    continue;
+                }
+                File outputFile = new File(outputFolder, outputFilename);
+                if (outputFolder.equals(outputFile.getParentFile()) && outputFile.isFile()) {
+                    System.out.println("Deleting " + outputFile.getAbsolutePath());
+                    if (outputFile.delete()) {
+                        deleted++;
+                    } else {
+                        System.err.println("Couldn't delete " + outputFile.getAbsolutePath());
                     }
-                });
-                transcoder.transcode(templateStream);
-                // Limit the processing to 10 seconds to prevent infinite hang
-                latch.await(10, TimeUnit.SECONDS);
-            } catch (Throwable t) {
-                t.printStackTrace(System.err);
+                }
+            }
+            writeManifest(manifestFile, manifest);
+            if (skipped > 0) {
+                System.out.println("Skipped " + skipped + " unchanged file(s) in "
+                        + inputFolder.getAbsolutePath());
+            }
+            if (deleted > 0) {
+                System.out.println("Deleted " + deleted + " file(s) generated from removed sources in "
+                        + inputFolder.getAbsolutePath());
             }
         }
 
         System.out.println();
     }
+
+    private static class PendingFile {
+        private final String filename;
+        private final String manifestEntry;
+        private final Future<Boolean> result;
+
+        private PendingFile(String filename, String manifestEntry, Future<Boolean> result) {
+            this.filename = filename;
+            this.manifestEntry = manifestEntry;
+            this.result = result;
+        }
+    }
+
+    private boolean transcodeFile(File file, String classFilename, String svgClassName,
+            String outputPackageName, LanguageRenderer languageRenderer, byte[] template) {
+        System.out.println("Processing " + file.getAbsolutePath() + "\n\tto " + classFilename);
+
+        try (Writer writer = new PrintWriter(classFilename);
+             InputStream templateStream = new ByteArrayInputStream(template)) {
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            final String uri = file.toURI().toURL().toString();
+            final SvgTranscoder transcoder = new SvgTranscoder(uri, svgClassName, languageRenderer);
+            transcoder.setPackageName(outputPackageName);
+            transcoder.setListener(new TranscoderListener() {
+                public Writer getWriter() {
+                    return writer;
+                }
+
+                public void finished() {
+                    latch.countDown();
+                }
+            });
+            transcoder.transcode(templateStream);
+            // Limit the processing to 10 seconds to prevent infinite hang
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (Throwable t) {
+            t.printStackTrace(System.err);
+            return false;
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+
+    private static String getHash(byte[]... contents) {
+        try {
+            MessageDigest md5Digest = MessageDigest.getInstance("MD5");
+            for (byte[] content : contents) {
+                md5Digest.update(content);
+            }
+            byte[] digest = md5Digest.digest();
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < digest.length; i++) {
+                result.append(Integer.toString((digest[i] & 0xff) + 0x100, 16).substring(1));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    /**
+     * Reads the manifest of the last run. Each line has the content hash, the template hash,
+     * the name of the generated file and the name of the source file, separated by spaces.
+     * The returned map is keyed by the name of the source file.
+     */
+    private static Map<String, String> readManifest(File manifestFile) {
+        Map<String, String> result = new HashMap<>();
+        if (!manifestFile.exists()) {
+            return result;
+        }
+        try {
+            List<String> lines = Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !MANIFEST_HEADER.equals(lines.get(0))) {
+                // Transcode everything if the manifest was written in an older format
+                return result;
+            }
+            for (String line : lines) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                String[] split = line.split(" ", 4);
+                if (split.length == 4) {
+                    result.put(split[3], split[0] + " " + split[1] + " " + split[2]);
+                }
+            }
+        } catch (IOException ioe) {
+            // Transcode everything if the manifest can't be read
+            ioe.printStackTrace(System.err);
+        }
+        return result;
+    }
+
+    private static void writeManifest(File manifestFile, Map<String, String> manifest) {
+        try (PrintWriter writer = new PrintWriter(manifestFile, StandardCharsets.UTF_8.name())) {
+            writer.println(MANIFEST_HEADER);
+            for (Map.Entry<String, String> entry : manifest.entrySet()) {
+                writer.println(entry.getValue() + " " + entry.getKey());
+            }
+        } catch (IOException ioe) {
+            ioe.printStackTrace(System.err);
+        }
+    }
 }
@@ -49,13 +49,16 @@ public class SvgBatchConverter extends SvgBatchBaseConverter {
                     "  templateFile=xyz - the template file for creating the transcoded classes",
                     "  outputLanguage=java|kotlin - the language for the transcoded classes",
                     "  outputFolder=xyz - optional location of output files. If not specified, output files will be placed in the 'sourceFolder'",
-                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class"
+                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class",
+                    "  parallelism=n|auto - optional number of files to transcode in parallel. Defaults to 1",
+                    "  incremental=true|false - optional, skip files that have not changed since the last run. Defaults to false"
             ).forEach(System.out::println);
             System.out.println(CHECK_DOCUMENTATION);
             System.exit(1);
         }
 
         SvgBatchConverter converter = new SvgBatchConverter();
+        converter.configureFromInputArguments(args);
 
         String sourceFolderName = converter.getInputArgument(args, "sourceFolder", null);
         Objects.requireNonNull(sourceFolderName, "Missing source folder. " + CHECK_DOCUMENTATION);
@@ -49,13 +49,16 @@ public class SvgDeepBatchConverter extends SvgBatchBaseConverter {
                     "  templateFile=xyz - the template file for creating the transcoded classes",
                     "  outputLanguage=java|kotlin - the language for the transcoded classes",
                     "  outputRootFolder=xyz - optional root location of output files. If not specified, output files will be placed under the 'sourceRootFolder'",
-                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class"
+                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class",
+                    "  parallelism=n|auto - optional number of files to transcode in parallel. Defaults to 1",
+                    "  incremental=true|false - optional, skip files that have not changed since the last run. Defaults to false"
             ).forEach(System.out::println);
             System.out.println(CHECK_DOCUMENTATION);
             System.exit(1);
         }
 
         SvgDeepBatchConverter converter = new SvgDeepBatchConverter();
+        converter.configureFromInputArguments(args);
 
         String sourceRootFolderName = converter.getInputArgument(args, "sourceRootFolder", null);
         Objects.requireNonNull(sourceRootFolderName, "Missing source folder. " + CHECK_DOCUMENTATION);
@@ -61,8 +61,8 @@ public class FieldOfWheatSkin extends SubstanceSkin {
      */
     public FieldOfWheatSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/fieldofwheat.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/fieldofwheat.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Field Of Wheat Active");
         SubstanceColorScheme enabledScheme = new BrownColorScheme();
         SubstanceColorScheme disabledScheme = schemes.get("Field Of Wheat Disabled");
@@ -62,8 +62,8 @@ public class FindingNemoSkin extends SubstanceSkin {
      */
     public FindingNemoSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/findingnemo.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/findingnemo.colorschemes");
         SubstanceColorScheme activeScheme1 = schemes.get("Finding Nemo Active 1");
         SubstanceColorScheme activeScheme2 = schemes.get("Finding Nemo Active 2");
         SubstanceColorScheme enabledScheme1 = schemes.get("Finding Nemo Enabled 1");
@@ -63,8 +63,8 @@ public class HarvestSkin extends SubstanceSkin {
      */
     public HarvestSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/harvest.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/harvest.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Harvest Active");
         SubstanceColorScheme enabledScheme = schemes.get("Harvest Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Harvest Disabled");
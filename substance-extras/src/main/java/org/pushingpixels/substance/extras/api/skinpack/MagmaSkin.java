@@ -58,8 +58,8 @@ public class MagmaSkin extends SubstanceSkin {
      */
     public MagmaSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/magma.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/magma.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Magma Active");
         SubstanceColorScheme enabledScheme = new CharcoalColorScheme();
         SubstanceColorScheme disabledScheme = schemes.get("Magma Disabled");
@@ -59,8 +59,8 @@ public class MangoSkin extends SubstanceSkin {
      */
     public MangoSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/mango.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/mango.colorschemes");
         SubstanceColorScheme enabledScheme = schemes.get("Mango Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Mango Disabled");
 
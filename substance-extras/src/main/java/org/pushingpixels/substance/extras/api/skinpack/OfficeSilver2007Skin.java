@@ -64,8 +64,8 @@ public class OfficeSilver2007Skin extends SubstanceSkin {
      */
     public OfficeSilver2007Skin() {
         ColorSchemes colorSchemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/office2007.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/office2007.colorschemes");
 
         SubstanceColorScheme activeScheme = colorSchemes
                 .get("Office Silver Active");
@@ -59,8 +59,8 @@ public class StreetlightsSkin extends SubstanceSkin {
      */
     public StreetlightsSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/extras/api/skinpack/streetlights.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/extras/api/skinpack/streetlights.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Streetlights Active");
         SubstanceColorScheme enabledScheme = schemes.get("Streetlights Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Streetlights Disabled");
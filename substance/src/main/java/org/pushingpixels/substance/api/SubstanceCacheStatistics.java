@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.api;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Snapshot of the statistics of a single family of Substance render caches. All caches that
+ * share the same name are reported together.
+ *
+ * @author Kirill Grouchnikov
+ * @see SubstanceCortex.GlobalScope#getCacheStatistics()
+ */
+public final class SubstanceCacheStatistics {
+    private final String name;
+    private final int entryCount;
+    private final long byteSize;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    /**
+     * Creates a new statistics snapshot.
+     *
+     * @param name          Cache name.
+     * @param entryCount    Number of cached entries.
+     * @param byteSize      Estimated size of the cached entries in bytes.
+     * @param hitCount      Number of lookups that found a cached entry.
+     * @param missCount     Number of lookups that did not find a cached entry.
+     * @param evictionCount Number of entries evicted to stay within the memory budget.
+     */
+    @ConstructorProperties({"name", "entryCount", "byteSize", "hitCount", "missCount",
+            "evictionCount"})
+    public SubstanceCacheStatistics(String name, int entryCount, long byteSize, long hitCount,
+            long missCount, long evictionCount) {
+        this.name = name;
+        this.entryCount = entryCount;
+        this.byteSize = byteSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the cache name.
+     *
+     * @return Cache name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return Number of cached entries.
+     */
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the estimated size of the cached entries in bytes. Images are counted by their
+     * pixel data. Other entries are counted with a small fixed estimate.
+     *
+     * @return Estimated size of the cached entries in bytes.
+     */
+    public long getByteSize() {
+        return this.byteSize;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached entry.
+     *
+     * @return Number of lookups that found a cached entry.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached entry.
+     *
+     * @return Number of lookups that did not find a cached entry.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the memory budget.
+     *
+     * @return Number of evicted entries.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a cached entry.
+     *
+     * @return Hit rate in the 0.0-1.0 range, or 0.0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long lookupCount = this.hitCount + this.missCount;
+        return (lookupCount == 0) ? 0.0 : ((double) this.hitCount / lookupCount);
+    }
+
+    @Override
+    public String toString() {
+        return this.name + ": " + this.entryCount + " entries, " + this.byteSize + " bytes, "
+                + this.hitCount + " hits, " + this.missCount + " misses ("
+                + Math.round(100.0 * this.getHitRate()) + "% hit rate), "
+                + this.evictionCount + " evictions";
+    }
+}
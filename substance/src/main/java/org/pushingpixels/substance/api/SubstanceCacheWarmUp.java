@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.api;
+
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+/**
+ * Configuration of a background warm-up of the render caches used by Substance. The warm-up
+ * renders the backgrounds, borders, check marks and arrows of common controls in the
+ * specified sizes and states on a small pool of background threads. The first time a window
+ * with these controls is shown, their images are found in the caches instead of being
+ * rendered on the Event Dispatch Thread.
+ *
+ * <p>The cached images are keyed by the skin instance. Start the warm-up after the skin is set
+ * with {@link SubstanceCortex.GlobalScope#setSkin(SubstanceSkin)} or
+ * {@link SubstanceCortex.RootPaneScope#setSkin(javax.swing.JRootPane, SubstanceSkin)}, and pass
+ * the same skin instance. Switching the global skin drops the images of the previous
+ * skin.</p>
+ *
+ * @author Kirill Grouchnikov
+ * @see SubstanceCortex.GlobalScope#warmUpRenderCaches(SubstanceCacheWarmUp)
+ */
+public final class SubstanceCacheWarmUp {
+    private final SubstanceSkin skin;
+    private final List<Dimension> buttonSizes;
+    private final List<Dimension> comboBoxSizes;
+    private final List<Dimension> textFieldSizes;
+    private final List<ComponentState> states;
+    private final List<DecorationAreaType> decorationAreaTypes;
+    private final int threadCount;
+    private final ProgressListener progressListener;
+
+    private SubstanceCacheWarmUp(Builder builder) {
+        this.skin = builder.skin;
+        this.buttonSizes = Collections.unmodifiableList(new ArrayList<>(builder.buttonSizes));
+        this.comboBoxSizes = Collections.unmodifiableList(new ArrayList<>(builder.comboBoxSizes));
+        this.textFieldSizes = Collections.unmodifiableList(
+                new ArrayList<>(builder.textFieldSizes));
+        this.states = Collections.unmodifiableList(new ArrayList<>(builder.states));
+        this.decorationAreaTypes = Collections.unmodifiableList(
+                new ArrayList<>(builder.decorationAreaTypes));
+        this.threadCount = builder.threadCount;
+        this.progressListener = builder.progressListener;
+    }
+
+    /**
+     * Returns the skin to warm up the caches for.
+     *
+     * @return The skin to warm up the caches for, or <code>null</code> for the current global
+     * skin.
+     */
+    public SubstanceSkin getSkin() {
+        return this.skin;
+    }
+
+    /**
+     * Returns the button sizes to render. An empty list stands for the preferred size of a
+     * text button.
+     *
+     * @return Button sizes to render.
+     */
+    public List<Dimension> getButtonSizes() {
+        return this.buttonSizes;
+    }
+
+    /**
+     * Returns the combobox sizes to render. An empty list stands for the preferred size of a
+     * non-editable combobox.
+     *
+     * @return Combobox sizes to render.
+     */
+    public List<Dimension> getComboBoxSizes() {
+        return this.comboBoxSizes;
+    }
+
+    /**
+     * Returns the text field sizes to render. An empty list stands for the preferred size of a
+     * text field.
+     *
+     * @return Text field sizes to render.
+     */
+    public List<Dimension> getTextFieldSizes() {
+        return this.textFieldSizes;
+    }
+
+    /**
+     * Returns the component states to render.
+     *
+     * @return Component states to render.
+     */
+    public List<ComponentState> getStates() {
+        return this.states;
+    }
+
+    /**
+     * Returns the decoration areas to render the controls in.
+     *
+     * @return Decoration areas to render the controls in.
+     */
+    public List<DecorationAreaType> getDecorationAreaTypes() {
+        return this.decorationAreaTypes;
+    }
+
+    /**
+     * Returns the number of background threads to render on.
+     *
+     * @return Number of background threads to render on.
+     */
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    /**
+     * Returns the listener to notify on the warm-up progress.
+     *
+     * @return The listener to notify on the warm-up progress, or <code>null</code> if none.
+     */
+    public ProgressListener getProgressListener() {
+        return this.progressListener;
+    }
+
+    /**
+     * Listener of the warm-up progress. The listener is called on the Event Dispatch Thread.
+     * Notifications are coalesced, so not every completed render is reported.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called when the warm-up makes progress.
+         *
+         * @param completedCount Number of completed renders.
+         * @param totalCount     Total number of renders.
+         */
+        void onProgress(int completedCount, int totalCount);
+    }
+
+    /**
+     * Summary of a completed warm-up.
+     */
+    public static final class Result {
+        private final int taskCount;
+        private final int failureCount;
+        private final boolean isCancelled;
+        private final long elapsedMillis;
+        private final long renderMillis;
+
+        /**
+         * Creates a new summary.
+         *
+         * @param taskCount     Number of completed renders.
+         * @param failureCount  Number of renders that failed with an exception.
+         * @param isCancelled   Indication whether the warm-up was cancelled before all the
+         *                      renders were done.
+         * @param elapsedMillis Time from the start to the end of the warm-up.
+         * @param renderMillis  Time spent rendering, summed over all the threads.
+         */
+        public Result(int taskCount, int failureCount, boolean isCancelled, long elapsedMillis,
+                long renderMillis) {
+            this.taskCount = taskCount;
+            this.failureCount = failureCount;
+            this.isCancelled = isCancelled;
+            this.elapsedMillis = elapsedMillis;
+            this.renderMillis = renderMillis;
+        }
+
+        /**
+         * Returns the number of completed renders.
+         *
+         * @return Number of completed renders.
+         */
+        public int getTaskCount() {
+            return this.taskCount;
+        }
+
+        /**
+         * Returns the number of renders that failed with an exception.
+         *
+         * @return Number of failed renders.
+         */
+        public int getFailureCount() {
+            return this.failureCount;
+        }
+
+        /**
+         * Returns indication whether the warm-up was cancelled before all the renders were
+         * done.
+         *
+         * @return <code>true</code> if the warm-up was cancelled.
+         */
+        public boolean isCancelled() {
+            return this.isCancelled;
+        }
+
+        /**
+         * Returns the time from the start to the end of the warm-up.
+         *
+         * @return Elapsed time in milliseconds.
+         */
+        public long getElapsedMillis() {
+            return this.elapsedMillis;
+        }
+
+        /**
+         * Returns the time spent rendering, summed over all the threads.
+         *
+         * @return Render time in milliseconds.
+         */
+        public long getRenderMillis() {
+            return this.renderMillis;
+        }
+
+        @Override
+        public String toString() {
+            return this.taskCount + " renders (" + this.failureCount + " failed"
+                    + (this.isCancelled ? ", cancelled" : "") + ") in " + this.elapsedMillis
+                    + " ms, " + this.renderMillis + " ms rendering";
+        }
+    }
+
+    /**
+     * Builder of warm-up configurations. By default the warm-up renders the preferred sizes of
+     * common controls in the enabled, rollover, pressed, selected and disabled states, in the
+     * {@link DecorationAreaType#NONE} decoration area, on two threads.
+     */
+    public static final class Builder {
+        private SubstanceSkin skin;
+        private List<Dimension> buttonSizes = new ArrayList<>();
+        private List<Dimension> comboBoxSizes = new ArrayList<>();
+        private List<Dimension> textFieldSizes = new ArrayList<>();
+        private List<ComponentState> states = Arrays.asList(ComponentState.ENABLED,
+                ComponentState.ROLLOVER_UNSELECTED, ComponentState.PRESSED_UNSELECTED,
+                ComponentState.SELECTED, ComponentState.ROLLOVER_SELECTED,
+                ComponentState.DISABLED_UNSELECTED, ComponentState.DISABLED_SELECTED);
+        private List<DecorationAreaType> decorationAreaTypes =
+                Collections.singletonList(DecorationAreaType.NONE);
+        private int threadCount = 2;
+        private ProgressListener progressListener;
+
+        /**
+         * Sets the skin to warm up the caches for. If not set, the current global skin is used.
+         *
+         * @param skin Skin.
+         * @return This builder.
+         */
+        public Builder withSkin(SubstanceSkin skin) {
+            this.skin = skin;
+            return this;
+        }
+
+        /**
+         * Sets the button sizes to render.
+         *
+         * @param buttonSizes Button sizes.
+         * @return This builder.
+         */
+        public Builder withButtonSizes(Dimension... buttonSizes) {
+            this.buttonSizes = Arrays.asList(buttonSizes);
+            return this;
+        }
+
+        /**
+         * Sets the combobox sizes to render.
+         *
+         * @param comboBoxSizes Combobox sizes.
+         * @return This builder.
+         */
+        public Builder withComboBoxSizes(Dimension... comboBoxSizes) {
+            this.comboBoxSizes = Arrays.asList(comboBoxSizes);
+            return this;
+        }
+
+        /**
+         * Sets the text field sizes to render.
+         *
+         * @param textFieldSizes Text field sizes.
+         * @return This builder.
+         */
+        public Builder withTextFieldSizes(Dimension... textFieldSizes) {
+            this.textFieldSizes = Arrays.asList(textFieldSizes);
+            return this;
+        }
+
+        /**
+         * Sets the component states to render.
+         *
+         * @param states Component states.
+         * @return This builder.
+         */
+        public Builder withStates(ComponentState... states) {
+            if (states.length == 0) {
+                throw new IllegalArgumentException("At least one state must be specified");
+            }
+            this.states = Arrays.asList(states);
+            return this;
+        }
+
+        /**
+         * Sets the decoration areas to render the controls in.
+         *
+         * @param decorationAreaTypes Decoration area types.
+         * @return This builder.
+         */
+        public Builder withDecorationAreaTypes(DecorationAreaType... decorationAreaTypes) {
+            if (decorationAreaTypes.length == 0) {
+                throw new IllegalArgumentException(
+                        "At least one decoration area type must be specified");
+            }
+            this.decorationAreaTypes = Arrays.asList(decorationAreaTypes);
+            return this;
+        }
+
+        /**
+         * Sets the number of background threads to render on.
+         *
+         * @param threadCount Number of threads.
+         * @return This builder.
+         */
+        public Builder withThreadCount(int threadCount) {
+            if (threadCount < 1) {
+                throw new IllegalArgumentException("Thread count must be positive");
+            }
+            this.threadCount = threadCount;
+            return this;
+        }
+
+        /**
+         * Sets the listener to notify on the warm-up progress.
+         *
+         * @param progressListener Progress listener.
+         * @return This builder.
+         */
+        public Builder withProgressListener(ProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Creates the warm-up configuration.
+         *
+         * @return Warm-up configuration.
+         */
+        public SubstanceCacheWarmUp build() {
+            return new SubstanceCacheWarmUp(this);
+        }
+    }
+}
@@ -62,7 +62,9 @@ import javax.swing.plaf.UIResource;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is the only officially-supported entry point into configuring the behavior of
@@ -201,9 +203,16 @@ public class SubstanceCortex {
                     }
                 }
 
-                LazyResettableHashMap.reset();
+                // Flush the images rendered for the old skin, unless it is still used on
+                // some root pane
+                if ((currentSkin != null) && (currentSkin != newSkin)
+                        && !isUsedOnRootPane(currentSkin)) {
+                    ImageCacheManager.getInstance().invalidatePartition(currentSkin);
+                }
+                ImageCacheManager.getInstance().invalidatePartition(null);
 
                 currentSkin = newSkin;
+                ComponentContextCache.invalidateAll();
 
                 if (toUpdateWindows) {
                     SubstanceCoreUtilities.updateActiveUi();
@@ -282,6 +291,25 @@ public class SubstanceCortex {
             }
         }
 
+        /**
+         * Checks whether the specified skin is set on the root pane of any existing window.
+         *
+         * @param skin Skin.
+         * @return <code>true</code> if the skin is set on at least one root pane.
+         */
+        private static boolean isUsedOnRootPane(Object skin) {
+            for (Window window : Window.getWindows()) {
+                if (window instanceof RootPaneContainer) {
+                    JRootPane rootPane = ((RootPaneContainer) window).getRootPane();
+                    if ((rootPane != null) && (rootPane.getClientProperty(
+                            SubstanceSynapse.ROOT_PANE_SKIN) == skin)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
         /**
          * Returns the current global skin. If the current look-and-feel is not Substance, this
          * method returns <code>null</code>.
@@ -1256,6 +1284,69 @@ public class SubstanceCortex {
             UIManager.put(SubstanceSynapse.TRACE_FILE, traceFilename);
         }
 
+        /**
+         * Sets the memory budget shared by all the render caches used by Substance. Once the
+         * cached images take more than the budget, the least recently used ones are evicted.
+         * The default budget is 64MB.
+         *
+         * @param budget Memory budget in bytes. Pass 0 to disable caching.
+         * @see #getImageCacheBudget()
+         * @see #getCacheStatistics()
+         */
+        public static void setImageCacheBudget(long budget) {
+            ImageCacheManager.getInstance().setBudget(budget);
+        }
+
+        /**
+         * Returns the memory budget shared by all the render caches used by Substance.
+         *
+         * @return Memory budget in bytes.
+         * @see #setImageCacheBudget(long)
+         */
+        public static long getImageCacheBudget() {
+            return ImageCacheManager.getInstance().getBudget();
+        }
+
+        /**
+         * Returns the statistics of the render caches used by Substance, sorted by cache name.
+         * The same statistics are available over JMX under the
+         * <code>org.pushingpixels.substance:type=ImageCache</code> name.
+         *
+         * @return Statistics of the render caches.
+         * @see #setImageCacheBudget(long)
+         */
+        public static List<SubstanceCacheStatistics> getCacheStatistics() {
+            return ImageCacheManager.getInstance().getCacheStatistics();
+        }
+
+        /**
+         * Removes all the entries from the render caches used by Substance. The hit and miss
+         * counters are not reset.
+         */
+        public static void clearImageCaches() {
+            ImageCacheManager.getInstance().clear();
+        }
+
+        /**
+         * Starts a background warm-up of the render caches used by Substance. The backgrounds,
+         * borders, check marks and arrows of common controls are rendered on background
+         * threads, so that the first paint of the application windows does not render them on
+         * the Event Dispatch Thread. This method returns immediately. The warm-up stops early
+         * if the returned future is cancelled or Substance is uninstalled.
+         *
+         * @param warmUp Warm-up configuration.
+         * @return Future that is completed on the Event Dispatch Thread with the summary of the
+         * warm-up.
+         * @see #getCacheStatistics()
+         */
+        public static CompletableFuture<SubstanceCacheWarmUp.Result> warmUpRenderCaches(
+                SubstanceCacheWarmUp warmUp) {
+            if (warmUp == null) {
+                throw new IllegalArgumentException("Warm-up configuration can't be null");
+            }
+            return RenderCacheWarmUp.start(warmUp);
+        }
+
         /**
          * Specifies the kind of focus indication to be used on application components.
          *
@@ -2278,7 +2369,14 @@ public class SubstanceCortex {
                 throw new IllegalArgumentException(
                         "Root pane scope APIs do not accept null root panes");
             }
+            Object oldSkin = rootPane.getClientProperty(SubstanceSynapse.ROOT_PANE_SKIN);
             rootPane.putClientProperty(SubstanceSynapse.ROOT_PANE_SKIN, skin);
+            ComponentContextCache.invalidateAll();
+            if ((oldSkin != null) && (oldSkin != skin)
+                    && (oldSkin != GlobalScope.getCurrentSkin())
+                    && !GlobalScope.isUsedOnRootPane(oldSkin)) {
+                ImageCacheManager.getInstance().invalidatePartition(oldSkin);
+            }
         }
 
         /**
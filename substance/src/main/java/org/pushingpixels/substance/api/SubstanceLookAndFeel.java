@@ -206,6 +206,7 @@ public abstract class SubstanceLookAndFeel extends BasicLookAndFeel {
     public void initialize() {
         super.initialize();
         ShadowPopupFactory.install();
+        ImageCacheManager.getInstance().registerMBean();
 
         SubstanceCortex.GlobalScope.setSkin(this.skin, false);
 
@@ -247,6 +248,8 @@ public abstract class SubstanceLookAndFeel extends BasicLookAndFeel {
 
         // clear caches
         LazyResettableHashMap.reset();
+        ComponentContextCache.clear();
+        ImageCacheManager.getInstance().unregisterMBean();
     }
 
     @Override
@@ -87,7 +87,7 @@ public abstract class SubstanceSkin implements SubstanceTrait {
 
             public AccentBuilder withAccentResource(String colorSchemeResourceName) {
                 this.accentColorSchemes = SubstanceSkin.getColorSchemes(
-                        AccentBuilder.class.getClassLoader().getResourceAsStream(colorSchemeResourceName));
+                        AccentBuilder.class.getClassLoader(), colorSchemeResourceName);
                 return this;
             }
 
@@ -1020,4 +1020,22 @@ public abstract class SubstanceSkin implements SubstanceTrait {
         }
         return SubstanceColorSchemeUtilities.getColorSchemes(inputStream);
     }
+
+    /**
+     * Returns the collection of color schemes in the specified resource. Unlike
+     * {@link #getColorSchemes(InputStream)}, this method uses the precompiled version of the
+     * resource when it is available, and does not read the same resource more than once.
+     *
+     * @param classLoader  Class loader to load the resource with.
+     * @param resourceName Name of the resource containing the description of Substance color
+     *                     schemes.
+     * @return The collection of color schemes in the specified resource.
+     */
+    public static ColorSchemes getColorSchemes(ClassLoader classLoader, String resourceName) {
+        if ((classLoader == null) || (resourceName == null)) {
+            throw new IllegalArgumentException("Can't read color schemes without a class "
+                    + "loader and a resource name");
+        }
+        return SubstanceColorSchemeUtilities.getColorSchemes(classLoader, resourceName);
+    }
 }
@@ -61,4 +61,9 @@ public class ClassicBorderPainter extends StandardBorderPainter {
 	public Color getBottomBorderColor(SubstanceColorScheme borderScheme) {
 		return this.getTopBorderColor(borderScheme);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == ClassicBorderPainter.class;
+	}
 }
@@ -99,4 +99,10 @@ public class CompositeBorderPainter implements SubstanceBorderPainter {
 	public Color getRepresentativeColor(SubstanceColorScheme borderScheme) {
 		return this.outer.getRepresentativeColor(borderScheme);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return (this.getClass() == CompositeBorderPainter.class) && this.inner.isSliceable()
+				&& this.outer.isSliceable();
+	}
 }
@@ -31,9 +31,8 @@ package org.pushingpixels.substance.api.painter.border;
 
 import org.pushingpixels.substance.api.colorscheme.ColorSchemeTransform;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
-import org.pushingpixels.substance.internal.utils.HashMapKey;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
-import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
+import org.pushingpixels.substance.internal.utils.CacheKey;
 
 import java.awt.*;
 
@@ -177,8 +176,8 @@ public class DelegateBorderPainter extends StandardBorderPainter {
 	 * @return Transformed color scheme.
 	 */
 	private SubstanceColorScheme getShiftScheme(SubstanceColorScheme orig) {
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(orig
-				.getDisplayName(), this.getDisplayName(), this.transform);
+		CacheKey key = CacheKey.of(orig.getDisplayName(), this.getDisplayName(),
+				this.transform);
 		SubstanceColorScheme result = transformMap.get(key);
 		if (result == null) {
 			result = this.transform.transform(orig);
@@ -191,4 +190,9 @@ public class DelegateBorderPainter extends StandardBorderPainter {
 	public Color getRepresentativeColor(SubstanceColorScheme borderScheme) {
 		return super.getRepresentativeColor(getShiftScheme(borderScheme));
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == DelegateBorderPainter.class;
+	}
 }
@@ -155,8 +155,8 @@ public class DelegateFractionBasedBorderPainter implements SubstanceBorderPainte
 	 * @return Transformed color scheme.
 	 */
 	private SubstanceColorScheme getShiftScheme(SubstanceColorScheme orig) {
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(orig.getDisplayName(),
-				this.getDisplayName(), this.transform);
+		CacheKey key = CacheKey.of(orig.getDisplayName(), this.getDisplayName(),
+				this.transform);
 		SubstanceColorScheme result = transformMap.get(key);
 		if (result == null) {
 			result = this.transform.transform(orig);
@@ -195,4 +195,10 @@ public class DelegateFractionBasedBorderPainter implements SubstanceBorderPainte
 		}
 		throw new IllegalStateException("Could not find representative color");
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return (this.getClass() == DelegateFractionBasedBorderPainter.class)
+				&& this.delegate.isSliceable();
+	}
 }
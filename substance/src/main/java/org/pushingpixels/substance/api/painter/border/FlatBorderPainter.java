@@ -55,4 +55,8 @@ public class FlatBorderPainter extends StandardBorderPainter {
 		return super.getTopBorderColor(borderScheme);
 	}
 
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == FlatBorderPainter.class;
+	}
 }
@@ -133,4 +133,9 @@ public class FractionBasedBorderPainter extends FractionBasedPainter
 		}
 		throw new IllegalStateException("Could not find representative color");
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == FractionBasedBorderPainter.class;
+	}
 }
@@ -61,4 +61,9 @@ public class GlassBorderPainter extends StandardBorderPainter {
 	public Color getBottomBorderColor(SubstanceColorScheme borderScheme) {
 		return this.getTopBorderColor(borderScheme);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == GlassBorderPainter.class;
+	}
 }
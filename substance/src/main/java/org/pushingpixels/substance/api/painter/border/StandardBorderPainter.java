@@ -129,4 +129,9 @@ public class StandardBorderPainter implements SubstanceBorderPainter {
     public Color getRepresentativeColor(SubstanceColorScheme borderScheme) {
         return this.getMidBorderColor(borderScheme);
     }
+
+    @Override
+    public boolean isSliceable() {
+        return this.getClass() == StandardBorderPainter.class;
+    }
 }
@@ -78,4 +78,19 @@ public interface SubstanceBorderPainter extends SubstanceTrait {
     boolean isPaintingInnerContour();
 	
 	Color getRepresentativeColor(SubstanceColorScheme borderScheme);
+
+	/**
+	 * Returns indication whether the borders painted by this painter can be rendered once
+	 * at a smaller size and stretched along the component length. This is only the case if
+	 * the painted content does not change along the stretched axis away from the component
+	 * edges, for example a gradient across the component thickness. Since a subclass may
+	 * change what is painted, implementations should only return <code>true</code> for their
+	 * exact class, and not for subclasses that do not override this method.
+	 * 
+	 * @return <code>true</code> if the borders painted by this painter can be stretched. The
+	 *         default implementation returns <code>false</code>.
+	 */
+	default boolean isSliceable() {
+		return false;
+	}
 }
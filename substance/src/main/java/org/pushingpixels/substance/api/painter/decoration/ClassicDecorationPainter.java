@@ -34,8 +34,8 @@ import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.painter.fill.ClassicFillPainter;
-import org.pushingpixels.substance.internal.utils.HashMapKey;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
+import org.pushingpixels.substance.internal.utils.CacheKey;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
@@ -82,13 +82,12 @@ public class ClassicDecorationPainter implements SubstanceDecorationPainter {
 			SubstanceSkin skin) {
 		SubstanceColorScheme scheme = skin.getBackgroundColorScheme(decorationAreaType);
 		if (width * height < 100000) {
-			HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
-					scheme.getDisplayName());
-			BufferedImage result = smallImageCache.get(key);
+			CacheKey key = CacheKey.of(width, height, scheme.getDisplayName());
+			BufferedImage result = smallImageCache.get(skin, key);
 			if (result == null) {
 				result = SubstanceCoreUtilities.getBlankImage(width, height);
 				this.internalPaint((Graphics2D) result.getGraphics(), comp, width, height, scheme);
-				smallImageCache.put(key, result);
+				smallImageCache.put(skin, key, result);
 			}
 			NeonCortex.drawImage(graphics, result, 0, 0);
 			return;
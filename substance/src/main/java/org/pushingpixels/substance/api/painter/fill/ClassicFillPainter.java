@@ -68,4 +68,9 @@ public class ClassicFillPainter extends StandardFillPainter {
 		return SubstanceColorUtilities.getInterpolatedColor(super.getMidFillColorTop(fillScheme),
 				super.getBottomFillColor(fillScheme), 0.7f);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == ClassicFillPainter.class;
+	}
 }
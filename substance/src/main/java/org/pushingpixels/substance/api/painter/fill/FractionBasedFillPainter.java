@@ -81,4 +81,9 @@ public class FractionBasedFillPainter extends FractionBasedPainter implements
 		graphics.fill(contour);
 		graphics.dispose();
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == FractionBasedFillPainter.class;
+	}
 }
@@ -68,4 +68,9 @@ public class GlassFillPainter extends StandardFillPainter {
 		return SubstanceColorUtilities.getInterpolatedColor(this.getMidFillColorBottom(fillScheme),
 				super.getBottomFillColor(fillScheme), 0.7f);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == GlassFillPainter.class;
+	}
 }
@@ -74,4 +74,9 @@ public class MatteFillPainter extends ClassicFillPainter {
 	public Color getBottomFillColor(SubstanceColorScheme fillScheme) {
 		return super.getMidFillColorTop(fillScheme);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == MatteFillPainter.class;
+	}
 }
@@ -233,4 +233,9 @@ public class StandardFillPainter implements SubstanceFillPainter {
     public Color getBottomShineColor(SubstanceColorScheme fillScheme) {
         return SubstanceColorUtilities.getBottomShineColor(fillScheme);
     }
+
+    @Override
+    public boolean isSliceable() {
+        return this.getClass() == StandardFillPainter.class;
+    }
 }
\ No newline at end of file
@@ -52,4 +52,9 @@ public class SubduedFillPainter extends StandardFillPainter {
 				.getTopFillColor(fillScheme), this
 				.getMidFillColorTop(fillScheme), 0.3);
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == SubduedFillPainter.class;
+	}
 }
@@ -65,4 +65,19 @@ public interface SubstanceFillPainter extends SubstanceTrait {
 	void paintContourBackground(Graphics g, Component comp, float width,
 			float height, Shape contour, boolean isFocused,
 			SubstanceColorScheme fillScheme, boolean hasShine);
+
+	/**
+	 * Returns indication whether the fills painted by this painter can be rendered once
+	 * at a smaller size and stretched along the component length. This is only the case if
+	 * the painted content does not change along the stretched axis away from the component
+	 * edges, for example a gradient across the component thickness. Since a subclass may
+	 * change what is painted, implementations should only return <code>true</code> for their
+	 * exact class, and not for subclasses that do not override this method.
+	 * 
+	 * @return <code>true</code> if the fills painted by this painter can be stretched. The
+	 *         default implementation returns <code>false</code>.
+	 */
+	default boolean isSliceable() {
+		return false;
+	}
 }
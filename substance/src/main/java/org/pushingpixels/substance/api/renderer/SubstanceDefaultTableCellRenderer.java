@@ -110,13 +110,11 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
                 // focus indication.
                 hasFocus = ui.isFocusedCell(row, column);
 
-                TableCellId cellFocusId = new TableCellId(row, column);
-
                 StateTransitionTracker stateTransitionTracker = ui
-                        .getStateTransitionTracker(cellFocusId);
+                        .getStateTransitionTracker(row, column);
                 if (hasFocus || (stateTransitionTracker != null)) {
                     SubstanceTableCellBorder border = new SubstanceTableCellBorder(
-                            new Insets(0, 0, 0, 0), ui, cellFocusId);
+                            new Insets(0, 0, 0, 0), ui, new TableCellId(row, column));
                     if (stateTransitionTracker != null) {
                         border.setAlpha(stateTransitionTracker.getFocusStrength(hasFocus));
                     }
@@ -282,10 +280,8 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
         // focus indication.
         hasFocus = ui.isFocusedCell(row, column);
 
-        TableCellId cellId = new TableCellId(row, column);
-
-        StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(cellId);
-        ComponentState currState = ui.getCellState(cellId);
+        StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(row, column);
+        ComponentState currState = ui.getCellState(row, column);
         // special case for drop location
         JTable.DropLocation dropLocation = table.getDropLocation();
         boolean isDropLocation = (dropLocation != null)
@@ -348,15 +344,13 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
 
         this.setFont(table.getFont());
 
-        TableCellId cellFocusId = new TableCellId(row, column);
-
         StateTransitionTracker focusStateTransitionTracker =
-                ui.getStateTransitionTracker(cellFocusId);
+                ui.getStateTransitionTracker(row, column);
 
         Insets regInsets = ui.getCellRendererInsets();
         if (hasFocus || (focusStateTransitionTracker != null)) {
             SubstanceTableCellBorder border = new SubstanceTableCellBorder(
-                    regInsets, ui, cellFocusId);
+                    regInsets, ui, new TableCellId(row, column));
 
             // System.out.println("[" + row + ":" + column + "] hasFocus : "
             // + hasFocus + ", focusState : " + focusState);
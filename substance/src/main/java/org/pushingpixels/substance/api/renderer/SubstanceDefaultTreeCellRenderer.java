@@ -37,13 +37,13 @@ import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker.StateContributionInfo;
 import org.pushingpixels.substance.internal.ui.SubstanceTreeUI;
-import org.pushingpixels.substance.internal.ui.SubstanceTreeUI.TreePathId;
 import org.pushingpixels.substance.internal.utils.*;
 
 import javax.swing.*;
 import javax.swing.plaf.*;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.TreeCellRenderer;
+import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.util.Map;
 
@@ -163,10 +163,10 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
         TreeUI treeUI = tree.getUI();
         if (treeUI instanceof SubstanceTreeUI) {
             SubstanceTreeUI ui = (SubstanceTreeUI) treeUI;
-            TreePathId pathId = new TreePathId(tree.getPathForRow(row));
+            TreePath path = tree.getPathForRow(row);
 
-            StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(pathId);
-            ComponentState currState = ui.getPathState(pathId);
+            StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(path);
+            ComponentState currState = ui.getPathState(path);
 
             // special case for drop location
             JTree.DropLocation dropLocation = tree.getDropLocation();
@@ -78,8 +78,8 @@ public class ClassicButtonShaper implements SubstanceButtonShaper, RectangularBu
                 radius = 0.0f;
         }
 
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, straightSides, radius,
-                extraInsets);
+        CacheKey key = CacheKey.of(width, height, CacheKey.toMask(straightSides),
+                radius, extraInsets);
 
         Shape result = contours.get(key);
         if (result != null) {
@@ -72,8 +72,8 @@ public class StandardButtonShaper implements SubstanceButtonShaper, RectangularB
                 radius = 0.0f;
         }
 
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, straightSides, radius,
-                extraInsets);
+        CacheKey key = CacheKey.of(width, height, CacheKey.toMask(straightSides),
+                radius, extraInsets);
 
         Shape result = contours.get(key);
         if (result != null) {
@@ -62,8 +62,8 @@ public class AutumnSkin extends SubstanceSkin {
 	 */
 	public AutumnSkin() {
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/autumn.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/autumn.colorschemes");
 
 		SubstanceColorScheme activeScheme = schemes.get("Autumn Active");
 		SubstanceColorScheme enabledScheme = schemes.get("Autumn Enabled");
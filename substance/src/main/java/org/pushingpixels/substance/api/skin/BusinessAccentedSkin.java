@@ -58,8 +58,8 @@ public abstract class BusinessAccentedSkin extends SubstanceSkin.Accented {
 		super(accentBuilder);
 
 		ColorSchemes businessSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/business.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/business.colorschemes");
 
 		SubstanceColorScheme enabledScheme = businessSchemes.get("Business Enabled");
 
@@ -84,8 +84,8 @@ public abstract class BusinessAccentedSkin extends SubstanceSkin.Accented {
 				DecorationAreaType.HEADER, DecorationAreaType.FOOTER);
 
 		ColorSchemes kitchenSinkSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes");
 		this.registerAsDecorationArea(kitchenSinkSchemes.get("LightGray General Background"),
 				DecorationAreaType.GENERAL);
 
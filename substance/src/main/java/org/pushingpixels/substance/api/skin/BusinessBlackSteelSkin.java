@@ -57,8 +57,8 @@ public class BusinessBlackSteelSkin extends BusinessAccentedSkin {
 				.withHighlightsAccent("Business Black Steel Active"));
 
 		ColorSchemes businessSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/business.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/business.colorschemes");
 
 		SubstanceColorScheme activeScheme = businessSchemes.get("Business Black Steel Active");
 		SubstanceColorScheme disabledScheme = businessSchemes.get("Business Black Steel Disabled");
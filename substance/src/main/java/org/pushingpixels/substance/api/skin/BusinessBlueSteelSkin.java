@@ -57,8 +57,8 @@ public class BusinessBlueSteelSkin extends BusinessAccentedSkin {
 				.withHighlightsAccent("Business Blue Steel Highlight"));
 
 		ColorSchemes businessSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/business.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/business.colorschemes");
 
 		SubstanceColorScheme disabledScheme = businessSchemes.get("Business Blue Steel Disabled");
 
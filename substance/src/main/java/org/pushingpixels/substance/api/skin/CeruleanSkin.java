@@ -61,8 +61,8 @@ public class CeruleanSkin extends SubstanceSkin {
 		super();
 
 		ColorSchemes ceruleanSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/cerulean.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/cerulean.colorschemes");
 
 		SubstanceColorScheme activeScheme = ceruleanSchemes.get("Cerulean Active");
 		SubstanceColorScheme enabledScheme = ceruleanSchemes.get("Cerulean Enabled");
@@ -125,8 +125,8 @@ public class CeruleanSkin extends SubstanceSkin {
 
 		// for text highlight
 		ColorSchemes kitchenSinkSchemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes");
 		SubstanceColorScheme highlightColorScheme = kitchenSinkSchemes.get("Moderate Highlight");
 		defaultSchemeBundle.registerHighlightColorScheme(highlightColorScheme);
 
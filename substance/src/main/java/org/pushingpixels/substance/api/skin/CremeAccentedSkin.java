@@ -59,8 +59,8 @@ public abstract class CremeAccentedSkin extends SubstanceSkin.Accented {
         super(accentBuilder);
 
         ColorSchemes kitchenSinkSchemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes");
         SubstanceColorScheme enabledScheme = new CremeColorScheme();
         SubstanceColorScheme disabledScheme = kitchenSinkSchemes.get("Creme Disabled");
 
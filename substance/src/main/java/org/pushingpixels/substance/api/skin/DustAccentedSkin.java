@@ -60,8 +60,8 @@ public abstract class DustAccentedSkin extends SubstanceSkin.Accented {
 		super(accentBuilder);
 
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/dust.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/dust.colorschemes");
 
 		SubstanceColorSchemeBundle defaultSchemeBundle = new SubstanceColorSchemeBundle(
 				this.getActiveControlsAccent(), this.getEnabledControlsAccent(), this.getEnabledControlsAccent());
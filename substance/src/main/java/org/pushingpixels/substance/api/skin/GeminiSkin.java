@@ -85,8 +85,8 @@ public class GeminiSkin extends SubstanceSkin {
      */
     public GeminiSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/gemini.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/gemini.colorschemes");
 
         SubstanceColorScheme grayScheme = schemes.get("Gemini Gray");
         SubstanceColorScheme disabledScheme = schemes.get("Gemini Disabled");
@@ -56,8 +56,8 @@ public abstract class GraphiteAccentedSkin extends SubstanceSkin.Accented {
         super(accentBuilder);
 
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/graphite.colorschemes");
 
         SubstanceColorScheme activeScheme = schemes.get("Graphite Active");
         SubstanceColorScheme selectedDisabledScheme = schemes.get("Graphite Selected Disabled");
@@ -57,8 +57,8 @@ public class GraphiteAquaSkin extends GraphiteAccentedSkin {
         // Use disabled color scheme for marks of disabled selected checkboxes and radio buttons
         // for better contrast
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/graphite.colorschemes");
         SubstanceColorScheme disabledScheme = schemes.get("Graphite Disabled");
         defaultSchemeBundle.registerColorScheme(disabledScheme,
                 ColorSchemeAssociationKind.MARK, ComponentState.DISABLED_SELECTED);
@@ -53,8 +53,8 @@ public class GraphiteChalkSkin extends GraphiteSkin {
 		super();
 
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/graphite.colorschemes");
 
 		SubstanceColorScheme chalkScheme = schemes.get("Chalk");
 		defaultSchemeBundle.registerColorScheme(chalkScheme,
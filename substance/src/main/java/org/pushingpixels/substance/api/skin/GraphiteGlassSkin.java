@@ -58,8 +58,8 @@ public class GraphiteGlassSkin extends GraphiteSkin {
 		super();
 
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/graphite.colorschemes");
 
 		SubstanceColorScheme backgroundScheme = schemes.get("Graphite Background");
 		this.registerAsDecorationArea(backgroundScheme, DecorationAreaType.PRIMARY_TITLE_PANE,
@@ -61,8 +61,8 @@ public class GraphiteSkin extends GraphiteAccentedSkin {
         // vibrant appearance.
         defaultSchemeBundle.registerAlpha(0.65f, ComponentState.DISABLED_SELECTED);
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/graphite.colorschemes");
         SubstanceColorScheme highlightMarkScheme = schemes.get("Graphite Highlight Mark");
         defaultSchemeBundle.registerColorScheme(highlightMarkScheme,
                 SubstanceSlices.ColorSchemeAssociationKind.HIGHLIGHT_MARK, ComponentState.getActiveStates());
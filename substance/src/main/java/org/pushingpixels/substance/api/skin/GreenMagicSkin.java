@@ -60,8 +60,8 @@ public class GreenMagicSkin extends SubstanceSkin {
      */
     public GreenMagicSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/greenmagic.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/greenmagic.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Green Magic Active");
         SubstanceColorScheme enabledScheme = schemes.get("Green Magic Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Green Magic Disabled");
@@ -85,8 +85,8 @@ public class MagellanSkin extends SubstanceSkin {
      */
     public MagellanSkin() {
         ColorSchemes colorSchemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/magellan.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/magellan.colorschemes");
 
         SubstanceColorScheme blueControlsActive = colorSchemes
                 .get("Magellan Blue Controls Active");
@@ -81,8 +81,8 @@ public class MarinerSkin extends SubstanceSkin {
 	 */
 	public MarinerSkin() {
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/mariner.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/mariner.colorschemes");
 
 		SubstanceColorScheme activeScheme = schemes.get("Mariner Active");
 		SubstanceColorScheme enabledScheme = schemes.get("Mariner Enabled");
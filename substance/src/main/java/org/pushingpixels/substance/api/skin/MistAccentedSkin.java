@@ -54,8 +54,8 @@ public abstract class MistAccentedSkin extends SubstanceSkin.Accented {
         super(accentBuilder);
 
         ColorSchemes colorSchemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/mist.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/mist.colorschemes");
 
         SubstanceColorScheme enabledScheme = colorSchemes.get("Mist Enabled");
         SubstanceColorScheme disabledScheme = colorSchemes.get("Mist Disabled");
@@ -63,8 +63,8 @@ public class ModerateSkin extends SubstanceSkin {
         SubstanceColorScheme enabledScheme = new MetallicColorScheme();
 
         ColorSchemes kitchenSinkSchemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/kitchen-sink.colorschemes");
         SubstanceColorSchemeBundle defaultSchemeBundle = new SubstanceColorSchemeBundle(
                 activeScheme, enabledScheme, kitchenSinkSchemes.get("Gray Disabled"));
         SubstanceColorScheme highlightColorScheme = kitchenSinkSchemes.get("Moderate Highlight");
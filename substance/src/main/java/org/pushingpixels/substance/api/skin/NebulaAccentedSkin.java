@@ -65,8 +65,8 @@ public abstract class NebulaAccentedSkin extends SubstanceSkin.Accented {
 		super(accentBuilder);
 
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/nebula.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/nebula.colorschemes");
 
 		SubstanceColorScheme activeScheme = schemes.get("Nebula Active");
 		SubstanceColorScheme enabledScheme = schemes.get("Nebula Enabled");
@@ -65,8 +65,8 @@ public class NightShadeSkin extends SubstanceSkin {
      */
     public NightShadeSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/nightshade.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/nightshade.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Night Shade Active");
         SubstanceColorScheme enabledScheme = schemes.get("Night Shade Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Night Shade Disabled");
@@ -59,8 +59,8 @@ public class RavenSkin extends SubstanceSkin {
 	 */
 	public RavenSkin() {
 		ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-				this.getClass().getClassLoader().getResourceAsStream(
-						"org/pushingpixels/substance/api/skin/graphite.colorschemes"));
+				this.getClass().getClassLoader(),
+				"org/pushingpixels/substance/api/skin/graphite.colorschemes");
 
 		SubstanceColorScheme activeScheme = new EbonyColorScheme();
 		SubstanceColorScheme enabledScheme = new DarkMetallicColorScheme();
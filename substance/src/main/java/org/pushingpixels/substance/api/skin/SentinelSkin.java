@@ -63,8 +63,8 @@ public class SentinelSkin extends SubstanceSkin {
      */
     public SentinelSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/sentinel.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/sentinel.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Sentinel Active");
         SubstanceColorScheme enabledScheme = schemes.get("Sentinel Enabled");
         SubstanceColorScheme disabledScheme = schemes.get("Sentinel Disabled");
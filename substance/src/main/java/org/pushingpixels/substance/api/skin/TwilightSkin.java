@@ -81,8 +81,8 @@ public class TwilightSkin extends SubstanceSkin {
      */
     public TwilightSkin() {
         ColorSchemes schemes = SubstanceSkin.getColorSchemes(
-                this.getClass().getClassLoader().getResourceAsStream(
-                        "org/pushingpixels/substance/api/skin/twilight.colorschemes"));
+                this.getClass().getClassLoader(),
+                "org/pushingpixels/substance/api/skin/twilight.colorschemes");
         SubstanceColorScheme activeScheme = schemes.get("Twilight Active");
         SubstanceColorScheme enabledScheme = schemes.get("Twilight Enabled");
 
@@ -30,7 +30,9 @@
 package org.pushingpixels.substance.internal;
 
 import org.pushingpixels.substance.api.SubstanceSlices.AnimationFacet;
+import org.pushingpixels.trident.api.ease.CompiledEase;
 import org.pushingpixels.trident.api.ease.Spline;
+import org.pushingpixels.trident.api.ease.TimelineEase;
 import org.pushingpixels.trident.api.swing.SwingComponentTimeline;
 
 import java.awt.*;
@@ -46,7 +48,11 @@ import java.util.Set;
  * @see org.pushingpixels.substance.api.SubstanceCortex
  */
 public class AnimationConfigurationManager {
-    private static final Spline DEFAULT_EASE = new Spline(0.5f);
+    /**
+     * The default ease of all Substance timelines, sampled once so that the spline is not
+     * evaluated for each timeline on each pulse.
+     */
+    private static final TimelineEase DEFAULT_EASE = new CompiledEase(new Spline(0.5f));
 
     /**
      * Singleton instance.
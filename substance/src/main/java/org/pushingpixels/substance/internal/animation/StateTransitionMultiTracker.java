@@ -29,16 +29,31 @@
  */
 package org.pushingpixels.substance.internal.animation;
 
+import org.pushingpixels.substance.internal.utils.CellIndexMap;
+
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Tracks the state transitions of multiple sub-elements of a single component. Sub-elements
+ * that are identified by indexes (list rows, table cells, tabs) use the primitive
+ * <code>long</code> keys, and are tracked without allocating a key object on every lookup.
+ * Other sub-elements (such as tree paths) use object keys. The two kinds of keys are kept in
+ * separate maps, and have separate methods so that a boxed index is never matched against the
+ * wrong map.
+ *
+ * @param <T> Type of the object keys.
+ */
 public final class StateTransitionMultiTracker<T> {
-	private Map<Comparable<T>, StateTransitionTracker> trackerMap;
+	private Map<T, StateTransitionTracker> trackerMap;
+
+	private CellIndexMap<StateTransitionTracker> indexedTrackerMap;
 
 	private boolean isInCleaning;
 
 	public StateTransitionMultiTracker() {
 		this.trackerMap = new HashMap<>();
+		this.indexedTrackerMap = new CellIndexMap<>();
 	}
 
 	public synchronized void clear() {
@@ -46,60 +61,79 @@ public final class StateTransitionMultiTracker<T> {
 		for (StateTransitionTracker tracker : this.trackerMap.values()) {
 			tracker.endTransition();
 		}
+		this.indexedTrackerMap.forEach((key, tracker) -> tracker.endTransition());
 		this.trackerMap.clear();
+		this.indexedTrackerMap.clear();
 		this.isInCleaning = false;
 	}
 
 	public synchronized int size() {
-		return this.trackerMap.size();
+		return this.trackerMap.size() + this.indexedTrackerMap.size();
 	}
 
-	public synchronized StateTransitionTracker getTracker(Comparable<T> id) {
+	public synchronized StateTransitionTracker getTracker(T id) {
 		return this.trackerMap.get(id);
 	}
 
-	public synchronized void addTracker(final Comparable<T> id,
+	public synchronized StateTransitionTracker getIndexedTracker(long index) {
+		return this.indexedTrackerMap.get(index);
+	}
+
+	public synchronized void addTracker(final T id,
 			final StateTransitionTracker tracker) {
 		this.trackerMap.put(id, tracker);
+		tracker.addStateTransitionListener(new RemovalListener(tracker, () -> removeTracker(id)));
+	}
 
-		// System.out.println("Storing tracker @" + tracker.hashCode() + " for "
-		// + tracker.component.getClass().getSimpleName() + ":" + id);
-
-		StateTransitionListener listener = new StateTransitionListener() {
-			@Override
-			public void onModelStateTransition(
-					StateTransitionEvent stateTransitionEvent) {
-				if (isInCleaning) {
-					return;
-				}
-
-				if (!tracker.hasRunningTimelines()) {
-					// System.out.println("Removing tracker for " + id);
-                    removeTracker(id);
-					tracker.unregisterModelListeners();
-					tracker.removeStateTransitionListener(this);
-				}
-			}
-
-			@Override
-			public void onFocusStateTransition(
-					StateTransitionEvent stateTransitionEvent) {
-				if (isInCleaning) {
-                    return;
-                }
-
-				if (!tracker.hasRunningTimelines()) {
-					// System.out.println("Removing tracker for " + id);
-                    removeTracker(id);
-					tracker.unregisterModelListeners();
-					tracker.removeStateTransitionListener(this);
-				}
-			}
-		};
-		tracker.addStateTransitionListener(listener);
+	public synchronized void addIndexedTracker(final long index,
+			final StateTransitionTracker tracker) {
+		this.indexedTrackerMap.put(index, tracker);
+		tracker.addStateTransitionListener(
+				new RemovalListener(tracker, () -> removeIndexedTracker(index)));
 	}
 
-	public synchronized void removeTracker(final Comparable<T> id) {
+	public synchronized void removeTracker(final T id) {
 		trackerMap.remove(id);
 	}
+
+	public synchronized void removeIndexedTracker(final long index) {
+		indexedTrackerMap.remove(index);
+	}
+
+	/**
+	 * Removes the tracker once it has no running timelines.
+	 */
+	private class RemovalListener implements StateTransitionListener {
+		private final StateTransitionTracker tracker;
+
+		private final Runnable removal;
+
+		private RemovalListener(StateTransitionTracker tracker, Runnable removal) {
+			this.tracker = tracker;
+			this.removal = removal;
+		}
+
+		@Override
+		public void onModelStateTransition(StateTransitionEvent stateTransitionEvent) {
+			this.removeIfDone();
+		}
+
+		@Override
+		public void onFocusStateTransition(StateTransitionEvent stateTransitionEvent) {
+			this.removeIfDone();
+		}
+
+		private void removeIfDone() {
+			if (isInCleaning) {
+				return;
+			}
+
+			if (!tracker.hasRunningTimelines()) {
+				// System.out.println("Removing tracker for " + id);
+				removal.run();
+				tracker.unregisterModelListeners();
+				tracker.removeStateTransitionListener(this);
+			}
+		}
+	}
 }
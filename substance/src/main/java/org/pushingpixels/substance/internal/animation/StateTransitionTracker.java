@@ -352,12 +352,9 @@ public class StateTransitionTracker {
             // contribution.
             this.transitionPosition = this.modelStateInfo.stateContributionMap
                     .get(newState).getContribution();
-            transitionTimelineBuilder.addPropertyToInterpolate(
-                    Timeline.<Float>property("transitionPosition")
-                            .getWith((obj, fieldName) -> transitionPosition)
-                            .setWith((obj, fieldName, value) -> transitionPosition = value)
-                            .from(this.transitionPosition)
-                            .to(1.0f));
+            transitionTimelineBuilder.addFloatPropertyToInterpolate("transitionPosition",
+                    this.transitionPosition, 1.0f,
+                    (obj, fieldName, value) -> transitionPosition = value);
             transitionTimelineBuilder
                     .setDuration((long) (fullDuration * (1.0f - this.transitionPosition)));
             // if ((this.component instanceof JMenuItem)
@@ -378,11 +375,8 @@ public class StateTransitionTracker {
             // }
         } else {
             this.transitionPosition = 0.0f;
-            transitionTimelineBuilder.addPropertyToInterpolate(
-                    Timeline.<Float>property("transitionPosition")
-                            .getWith((obj, fieldName) -> transitionPosition)
-                            .setWith((obj, fieldName, value) -> transitionPosition = value)
-                            .from(0.0f).to(1.0f));
+            transitionTimelineBuilder.addFloatPropertyToInterpolate("transitionPosition",
+                    0.0f, 1.0f, (obj, fieldName, value) -> transitionPosition = value);
             // if ((this.component instanceof JMenuItem)
             // && "Check enabled unselected"
             // .equals(((JMenuItem) this.component).getText())) {
@@ -34,6 +34,7 @@ import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.painter.decoration.SubstanceDecorationPainter;
+import org.pushingpixels.substance.internal.utils.ComponentContextCache;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.utils.WidgetUtilities;
 
@@ -67,6 +68,23 @@ public class DecorationPainterUtils {
      */
     public static void setDecorationType(JComponent comp, DecorationAreaType type) {
         comp.putClientProperty(DECORATION_AREA_TYPE, type);
+        ComponentContextCache.invalidateAll();
+    }
+
+    /**
+     * Sets the decoration type of the specified component that is not part of a displayed
+     * hierarchy, such as an offscreen prototype. Unlike
+     * {@link #setDecorationType(JComponent, DecorationAreaType)}, only the cached contexts of
+     * the component and its children are dropped.
+     * 
+     * @param comp
+     *            Component.
+     * @param type
+     *            Decoration type of the component and its children.
+     */
+    public static void setDetachedDecorationType(JComponent comp, DecorationAreaType type) {
+        comp.putClientProperty(DECORATION_AREA_TYPE, type);
+        ComponentContextCache.invalidateSubtree(comp);
     }
 
     /**
@@ -78,9 +96,24 @@ public class DecorationPainterUtils {
     public static void clearDecorationType(JComponent comp) {
         if (comp != null) {
             comp.putClientProperty(DECORATION_AREA_TYPE, null);
+            ComponentContextCache.invalidateAll();
         }
     }
 
+    /**
+     * Sets the link to the invoker of the specified popup. The decoration area type of the
+     * popup and its children is then taken from the invoker.
+     * 
+     * @param popup
+     *            Popup component.
+     * @param link
+     *            Link to the popup invoker. Can be <code>null</code> to remove the link.
+     */
+    public static void setPopupInvokerLink(JComponent popup, PopupInvokerLink link) {
+        popup.putClientProperty(POPUP_INVOKER_LINK, link);
+        ComponentContextCache.invalidateAll();
+    }
+
     /**
      * Returns the decoration area type of the specified component. The component and its ancestor
      * hierarchy are scanned for the registered decoration area type. If
@@ -96,6 +129,14 @@ public class DecorationPainterUtils {
      * @return Decoration area type of the component.
      */
     public static DecorationAreaType getDecorationType(Component comp) {
+        ComponentContextCache.Context context = ComponentContextCache.getContext(comp);
+        if (context != null) {
+            DecorationAreaType cached = context.getDecorationType();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         JPopupMenu popupMenu = null;
         JComponent popupInvoker = null;
         Component c = comp;
@@ -104,6 +145,7 @@ public class DecorationPainterUtils {
                 JComponent jc = (JComponent) c;
                 Object prop = jc.getClientProperty(DECORATION_AREA_TYPE);
                 if (prop instanceof DecorationAreaType) {
+                    context.setDecorationType((DecorationAreaType) prop, null);
                     return (DecorationAreaType) prop;
                 }
                 Object invokerProp = jc.getClientProperty(POPUP_INVOKER_LINK);
@@ -119,15 +161,32 @@ public class DecorationPainterUtils {
         if (popupMenu != null) {
             Component invoker = popupMenu.getInvoker();
             if (popupMenu != invoker) {
-                return getDecorationType(popupMenu.getInvoker());
+                return getDecorationTypeThrough(context, invoker);
             }
         }
         if (popupInvoker != null) {
-            return getDecorationType(popupInvoker);
+            return getDecorationTypeThrough(context, popupInvoker);
+        }
+        if (context != null) {
+            context.setDecorationType(DecorationAreaType.NONE, null);
         }
         return DecorationAreaType.NONE;
     }
 
+    /**
+     * Returns the decoration area type of the specified popup invoker, and caches it for the
+     * popup component that was resolved through that invoker.
+     */
+    private static DecorationAreaType getDecorationTypeThrough(
+            ComponentContextCache.Context context, Component invoker) {
+        DecorationAreaType result = getDecorationType(invoker);
+        if ((context != null) && (invoker != null)) {
+            // The cached value is dropped together with the cached value of the invoker
+            context.setDecorationType(result, ComponentContextCache.getContext(invoker));
+        }
+        return result;
+    }
+
     /**
      * Returns the immediate decoration area type of the specified component. The component is
      * checked for the registered decoration area type. If
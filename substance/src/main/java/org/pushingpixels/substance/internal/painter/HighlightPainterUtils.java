@@ -96,15 +96,10 @@ public class HighlightPainterUtils {
             openSides = EnumSet.noneOf(Side.class);
         }
         if (rect.width * rect.height < 100000) {
-            String openKey = "";
-            for (Side oSide : openSides) {
-                openKey += oSide.name() + "-";
-            }
-
-            HashMapKey key = SubstanceCoreUtilities.getHashKey(highlightPainter.getDisplayName(),
+            CacheKey key = CacheKey.of(highlightPainter.getDisplayName(),
                     highlightBorderPainter.getDisplayName(), rect.width, rect.height,
                     fillScheme.getDisplayName(), borderScheme.getDisplayName(), borderAlpha,
-                    openKey);
+                    CacheKey.toMask(openSides));
             BufferedImage result = smallCache.get(key);
             if (result == null) {
                 result = createHighlighterImage(c, rect, borderAlpha, openSides, fillScheme,
@@ -222,9 +222,9 @@ public class SeparatorPainterUtils {
 		if ((width == 0) || (height == 0))
 			return;
 
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(fontSize, scheme.getDisplayName(), width,
-				height, orientation, hasShadow, maxGradLengthStart, maxGradLengthEnd,
-				toUseAlphaColors, backgrFill.getRGB());
+		CacheKey key = CacheKey.of(fontSize, scheme.getDisplayName(), width, height,
+				orientation, hasShadow, maxGradLengthStart, maxGradLengthEnd, toUseAlphaColors,
+				backgrFill.getRGB());
 
 		BufferedImage singleLine = cached.get(key);
 		if (singleLine == null) {
@@ -342,9 +342,8 @@ public class SeparatorPainterUtils {
 		int componentFontSize = SubstanceSizeUtils.getComponentFontSize(c);
 		Color backgrFill = SubstanceColorUtilities.getBackgroundFillColor(c);
 
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(componentFontSize,
-				scheme.getDisplayName(), 0, height, SwingConstants.VERTICAL, true, 0.0,
-				fadeStartFraction, backgrFill.getRGB());
+		CacheKey key = CacheKey.of(componentFontSize, scheme.getDisplayName(), 0, height,
+				true, fadeStartFraction, true, backgrFill.getRGB());
 
 		float borderStrokeWidth = SubstanceSizeUtils.getBorderStrokeWidth();
 		BufferedImage singleLine = cached.get(key);
@@ -419,9 +418,8 @@ public class SeparatorPainterUtils {
 		int componentFontSize = SubstanceSizeUtils.getComponentFontSize(c);
 		Color backgrFill = SubstanceColorUtilities.getBackgroundFillColor(c);
 
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(componentFontSize,
-				scheme.getDisplayName(), width, 0, SwingConstants.VERTICAL, true, 0.0,
-				fadeStartFraction, isLtr, backgrFill.getRGB());
+		CacheKey key = CacheKey.of(componentFontSize, scheme.getDisplayName(), width, 0,
+				false, fadeStartFraction, isLtr, backgrFill.getRGB());
 
 		float borderStrokeWidth = SubstanceSizeUtils.getBorderStrokeWidth();
 		BufferedImage singleLine = cached.get(key);
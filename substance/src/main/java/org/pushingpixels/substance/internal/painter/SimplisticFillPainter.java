@@ -68,4 +68,9 @@ public class SimplisticFillPainter extends StandardFillPainter {
 	public Color getBottomShineColor(SubstanceColorScheme fillScheme) {
 		return null;
 	}
+
+	@Override
+	public boolean isSliceable() {
+		return this.getClass() == SimplisticFillPainter.class;
+	}
 }
@@ -31,6 +31,7 @@ package org.pushingpixels.substance.internal.ui;
 
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.SubstanceSlices.ComponentStateFacet;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -46,6 +47,7 @@ import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicButtonListener;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -109,12 +111,33 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
             StateTransitionTracker stateTransitionTracker) {
         StateTransitionTracker.ModelStateInfo modelStateInfo =
                 stateTransitionTracker.getModelStateInfo();
-        Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates =
-                modelStateInfo.getStateContributionMap();
+        return getIcon(button, modelStateInfo.getCurrModelState(),
+                modelStateInfo.getStateContributionMap(),
+                stateTransitionTracker.getFacetStrength(ComponentStateFacet.SELECTION));
+    }
+
+    /**
+     * Renders the icon of the specified checkbox in the specified state into the cache. This
+     * can be called off the Event Dispatch Thread as long as the checkbox is not changed at the
+     * same time.
+     *
+     * @param button Checkbox.
+     * @param state  Checkbox state to render.
+     */
+    public static void prepareIcon(JToggleButton button, ComponentState state) {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel()) {
+            return;
+        }
+        getIcon(button, state, Collections.singletonMap(state,
+                new StateTransitionTracker.StateContributionInfo(1.0f, 1.0f)),
+                state.isFacetActive(ComponentStateFacet.SELECTION) ? 1.0f : 0.0f);
+    }
 
+    private static Icon getIcon(JToggleButton button, ComponentState currState,
+            Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates,
+            float visibility) {
         SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(button);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(button);
-        ComponentState currState = modelStateInfo.getCurrModelState();
 
         SubstanceColorScheme baseFillColorScheme = SubstanceColorSchemeUtilities
                 .getColorScheme(button, ColorSchemeAssociationKind.MARK_BOX, currState);
@@ -122,26 +145,26 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
                 .getColorScheme(button, ColorSchemeAssociationKind.MARK, currState);
         SubstanceColorScheme baseBorderColorScheme = SubstanceColorSchemeUtilities
                 .getColorScheme(button, ColorSchemeAssociationKind.BORDER, currState);
-        float visibility = stateTransitionTracker.getFacetStrength(ComponentStateFacet.SELECTION);
         boolean isCheckMarkFadingOut = !currState.isFacetActive(ComponentStateFacet.SELECTION);
         float alpha = SubstanceColorSchemeUtilities.getAlpha(button, currState);
 
         int fontSize = SubstanceSizeUtils.getComponentFontSize(button);
         int checkMarkSize = SubstanceSizeUtils.getCheckBoxMarkSize(fontSize);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+        CacheKey keyBase = CacheKey.of(fontSize, checkMarkSize,
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                 baseFillColorScheme.getDisplayName(), baseMarkColorScheme.getDisplayName(),
                 baseBorderColorScheme.getDisplayName(), visibility, isCheckMarkFadingOut,
                 alpha);
-        ImageWrapperIcon iconBase = icons.get(keyBase);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(button);
+        ImageWrapperIcon iconBase = icons.get(skin, keyBase);
         if (iconBase == null) {
             iconBase = new ImageWrapperIcon(
                     SubstanceImageCreator.getCheckBox(button, fillPainter, borderPainter,
                             checkMarkSize, currState, baseFillColorScheme, baseMarkColorScheme,
                             baseBorderColorScheme, visibility, isCheckMarkFadingOut,
                             alpha));
-            icons.put(keyBase, iconBase);
+            icons.put(skin, keyBase, iconBase);
         }
         if (currState.isDisabled() || (activeStates.size() == 1)) {
             return iconBase;
@@ -173,17 +196,18 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
                 SubstanceColorScheme borderColorScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey keyLayer = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+                CacheKey keyLayer = CacheKey.of(fontSize, checkMarkSize,
                         fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                         fillColorScheme.getDisplayName(), markColorScheme.getDisplayName(),
-                        borderColorScheme.getDisplayName(), visibility);
-                ImageWrapperIcon iconLayer = icons.get(keyLayer);
+                        borderColorScheme.getDisplayName(), visibility, isCheckMarkFadingOut,
+                        alpha);
+                ImageWrapperIcon iconLayer = icons.get(skin, keyLayer);
                 if (iconLayer == null) {
                     iconLayer = new ImageWrapperIcon(
                             SubstanceImageCreator.getCheckBox(button, fillPainter, borderPainter,
                                     checkMarkSize, currState, fillColorScheme, markColorScheme,
                                     borderColorScheme, visibility, isCheckMarkFadingOut, alpha));
-                    icons.put(keyLayer, iconLayer);
+                    icons.put(skin, keyLayer, iconLayer);
                 }
 
                 iconLayer.paintIcon(button, g2d, 0, 0);
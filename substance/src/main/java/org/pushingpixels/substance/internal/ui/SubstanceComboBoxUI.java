@@ -560,6 +560,15 @@ public class SubstanceComboBoxUI extends BasicComboBoxUI implements TransitionAw
         }
     }
 
+    /**
+     * Returns the arrow icon that is painted when the combobox is not editable.
+     *
+     * @return Arrow icon of non-editable combobox.
+     */
+    public Icon getUneditableArrowIcon() {
+        return this.uneditableArrowIcon;
+    }
+
     @Override
     public StateTransitionTracker getTransitionTracker() {
         return this.stateTransitionTracker;
@@ -56,7 +56,6 @@ import javax.swing.plaf.basic.BasicListUI;
 import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeListener;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -70,7 +69,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
     /**
      * Holds the list of currently selected indices.
      */
-    private Map<Integer, Object> selectedIndices;
+    private CellIndexMap<Object> selectedIndices;
 
     /**
      * Holds the currently rolled-over index, or -1 is there is none such.
@@ -302,7 +301,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
     private SubstanceListUI() {
         super();
         rolledOverIndex = -1;
-        selectedIndices = new HashMap<>();
+        selectedIndices = new CellIndexMap<>();
 
         this.stateTransitionMultiTracker = new StateTransitionMultiTracker<>();
     }
@@ -520,7 +519,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
             g2d.fillRect(cx, cy, cw, ch);
         }
 
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(row);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(row);
         if (tracker != null) {
             tracker.getModel().setEnabled(this.list.isEnabled() && rendererComponent.isEnabled());
         }
@@ -612,7 +611,8 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
         if (rendererComponent != null) {
             isEnabled = isEnabled && rendererComponent.isEnabled();
         }
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(cellIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                cellIndex);
         if (tracker == null) {
             boolean isRollover = (rolledOverIndex >= 0) && (rolledOverIndex == cellIndex);
             boolean isSelected = selectedIndices.containsKey(cellIndex);
@@ -629,7 +629,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
             Component rendererComponent) {
         if (this.stateTransitionMultiTracker.size() == 0)
             return null;
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(row);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(row);
         if (tracker == null) {
             return null;
         } else {
@@ -687,7 +687,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
 
     private StateTransitionTracker getTracker(final int row, boolean initialRollover,
             boolean initialSelected) {
-        StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(row);
+        StateTransitionTracker tracker = stateTransitionMultiTracker.getIndexedTracker(row);
         if (tracker == null) {
             ButtonModel model = new DefaultButtonModel();
             model.setSelected(initialSelected);
@@ -696,7 +696,7 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
             tracker.registerModelListeners();
             tracker.setRepaintCallback(() -> new CellRepaintCallback(list, row));
             tracker.setName("row " + row);
-            stateTransitionMultiTracker.addTracker(row, tracker);
+            stateTransitionMultiTracker.addIndexedTracker(row, tracker);
         }
         return tracker;
     }
@@ -43,7 +43,9 @@ import org.pushingpixels.trident.api.Timeline;
 import org.pushingpixels.trident.api.Timeline.RepeatBehavior;
 import org.pushingpixels.trident.api.Timeline.TimelineState;
 import org.pushingpixels.trident.api.callback.TimelineCallback;
+import org.pushingpixels.trident.api.ease.CompiledEase;
 import org.pushingpixels.trident.api.ease.Spline;
+import org.pushingpixels.trident.api.ease.TimelineEase;
 import org.pushingpixels.trident.api.swing.SwingComponentTimeline;
 
 import javax.swing.*;
@@ -90,6 +92,12 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
             new ColorSchemeSingleColorQuery[] { ColorSchemeSingleColorQuery.EXTRALIGHT,
                     ColorSchemeSingleColorQuery.LIGHT, ColorSchemeSingleColorQuery.MID });
 
+    /**
+     * Ease of the timeline that animates the displayed value. It is shared by all progress bars
+     * so that the spline is computed and sampled only once.
+     */
+    private static final TimelineEase DISPLAY_EASE = new CompiledEase(new Spline(0.4f));
+
     private final class SubstanceChangeListener implements ChangeListener {
         public void stateChanged(ChangeEvent e) {
             SubstanceCoreUtilities.testComponentStateChangeThreadingViolation(progressBar);
@@ -111,16 +119,15 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
 
             displayTimeline =
                     AnimationConfigurationManager.getInstance().timelineBuilder(progressBar)
-                            .addPropertyToInterpolate(Timeline.<Integer>property("displayedValue")
-                                    .from(displayedValue)
-                                    .to(currValue)
-                                    .setWith((obj, fieldName, value) -> {
+                            .addIntPropertyToInterpolate("displayedValue",
+                                    displayedValue, currValue,
+                                    (obj, fieldName, value) -> {
                                         displayedValue = value;
                                         if (progressBar != null) {
                                             progressBar.repaint();
                                         }
-                                    }))
-                            .setEase(new Spline(0.4f))
+                                    })
+                            .setEase(DISPLAY_EASE)
                             .build();
 
             // Do not animate progress bars used in cell renderers
@@ -244,8 +251,7 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
      */
     private static BufferedImage getStripe(int baseSize, boolean isRotated,
             SubstanceColorScheme colorScheme) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(baseSize, isRotated,
-                colorScheme.getDisplayName());
+        CacheKey key = CacheKey.of(baseSize, isRotated, colorScheme.getDisplayName());
         BufferedImage result = SubstanceProgressBarUI.stripeMap.get(key);
         if (result == null) {
             result = SubstanceImageCreator.getStripe(baseSize, colorScheme.getUltraLightColor());
@@ -272,7 +278,7 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
     private static BufferedImage getDeterminateBackground(JProgressBar bar, int width, int height,
             SubstanceColorScheme scheme, SubstanceFillPainter fillPainter, int orientation,
             ComponentOrientation componentOrientation) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, scheme.getDisplayName(),
+        CacheKey key = CacheKey.of(width, height, scheme.getDisplayName(),
                 fillPainter.getDisplayName(), orientation, componentOrientation);
         BufferedImage result = SubstanceProgressBarUI.backgroundMap.get(key);
         if (result == null) {
@@ -308,7 +314,7 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
     private static BufferedImage getDeterminateProgress(JProgressBar bar, int width, int height,
             boolean isFull, SubstanceColorScheme scheme, SubstanceFillPainter fillPainter,
             int orientation, ComponentOrientation componentOrientation) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, scheme.getDisplayName(),
+        CacheKey key = CacheKey.of(width, height, scheme.getDisplayName(),
                 fillPainter.getDisplayName(), orientation, componentOrientation);
         BufferedImage result = SubstanceProgressBarUI.progressMap.get(key);
         if (result == null) {
@@ -537,11 +543,8 @@ public class SubstanceProgressBarUI extends BasicProgressBarUI {
                                     progressBar.repaint();
                             }
                         })
-                        .addPropertyToInterpolate(
-                                Timeline.<Float>property("animationPosition")
-                                        .from(0.0f)
-                                        .to(1.0f)
-                                        .setWith((obj, fieldName, value) -> animationPosition = value))
+                        .addFloatPropertyToInterpolate("animationPosition", 0.0f, 1.0f,
+                                (obj, fieldName, value) -> animationPosition = value)
                         .build();
 
         this.indeterminateLoopTimeline.playLoop(RepeatBehavior.LOOP);
@@ -31,6 +31,7 @@ package org.pushingpixels.substance.internal.ui;
 
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.SubstanceSlices.ComponentStateFacet;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -53,6 +54,7 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeListener;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -144,15 +146,38 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
             StateTransitionTracker stateTransitionTracker) {
         StateTransitionTracker.ModelStateInfo modelStateInfo = stateTransitionTracker
                 .getModelStateInfo();
-        Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = modelStateInfo
-                .getStateContributionMap();
+        return getIcon(button, modelStateInfo.getCurrModelState(),
+                modelStateInfo.getStateContributionMap(),
+                stateTransitionTracker.getFacetStrength(ComponentStateFacet.SELECTION));
+    }
+
+    /**
+     * Renders the icon of the specified radio button in the specified state into the cache.
+     * This can be called off the Event Dispatch Thread as long as the radio button is not
+     * changed at the same time.
+     * 
+     * @param button
+     *            Radio button.
+     * @param state
+     *            Radio button state to render.
+     */
+    public static void prepareIcon(JToggleButton button, ComponentState state) {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel()) {
+            return;
+        }
+        getIcon(button, state, Collections.singletonMap(state,
+                new StateTransitionTracker.StateContributionInfo(1.0f, 1.0f)),
+                state.isFacetActive(ComponentStateFacet.SELECTION) ? 1.0f : 0.0f);
+    }
 
+    private static ImageWrapperIcon getIcon(JToggleButton button, ComponentState currState,
+            Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates,
+            float visibility) {
         int fontSize = SubstanceSizeUtils.getComponentFontSize(button);
         int checkMarkSize = SubstanceSizeUtils.getRadioButtonMarkSize(fontSize);
 
         SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(button);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(button);
-        ComponentState currState = modelStateInfo.getCurrModelState();
 
         SubstanceColorScheme baseFillColorScheme = SubstanceColorSchemeUtilities
                 .getColorScheme(button, ColorSchemeAssociationKind.MARK_BOX, currState);
@@ -160,19 +185,19 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
                 .getColorScheme(button, ColorSchemeAssociationKind.MARK, currState);
         SubstanceColorScheme baseBorderColorScheme = SubstanceColorSchemeUtilities
                 .getColorScheme(button, ColorSchemeAssociationKind.BORDER, currState);
-        float visibility = stateTransitionTracker.getFacetStrength(ComponentStateFacet.SELECTION);
         float alpha = SubstanceColorSchemeUtilities.getAlpha(button, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+        CacheKey keyBase = CacheKey.of(fontSize, checkMarkSize,
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                 baseFillColorScheme.getDisplayName(), baseMarkColorScheme.getDisplayName(),
                 baseBorderColorScheme.getDisplayName(), visibility, alpha);
-        ImageWrapperIcon iconBase = icons.get(keyBase);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(button);
+        ImageWrapperIcon iconBase = icons.get(skin, keyBase);
         if (iconBase == null) {
             iconBase = new ImageWrapperIcon(SubstanceImageCreator.getRadioButton(button, fillPainter,
                     borderPainter, checkMarkSize, currState, 0, baseFillColorScheme,
                     baseMarkColorScheme, baseBorderColorScheme, visibility, alpha));
-            icons.put(keyBase, iconBase);
+            icons.put(skin, keyBase, iconBase);
         }
         if (currState.isDisabled() || (activeStates.size() == 1)) {
             return iconBase;
@@ -203,17 +228,17 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
                 SubstanceColorScheme borderColorScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey keyLayer = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+                CacheKey keyLayer = CacheKey.of(fontSize, checkMarkSize,
                         fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                         fillColorScheme.getDisplayName(), markColorScheme.getDisplayName(),
                         borderColorScheme.getDisplayName(), visibility, alpha);
-                ImageWrapperIcon iconLayer = icons.get(keyLayer);
+                ImageWrapperIcon iconLayer = icons.get(skin, keyLayer);
                 if (iconLayer == null) {
                     iconLayer = new ImageWrapperIcon(
                             SubstanceImageCreator.getRadioButton(button, fillPainter, borderPainter,
                                     checkMarkSize, currState, 0, fillColorScheme, markColorScheme,
                                     borderColorScheme, visibility, alpha));
-                    icons.put(keyLayer, iconLayer);
+                    icons.put(skin, keyLayer, iconLayer);
                 }
 
                 iconLayer.paintIcon(button, g2d, 0, 0);
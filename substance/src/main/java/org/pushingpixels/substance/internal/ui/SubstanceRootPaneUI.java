@@ -770,6 +770,7 @@ public class SubstanceRootPaneUI extends BasicRootPaneUI {
             if ((oldValue != null) && (newValue == null)) {
                 rootPanesWithCustomSkin--;
             }
+            ComponentContextCache.invalidateAll();
         }
     }
 
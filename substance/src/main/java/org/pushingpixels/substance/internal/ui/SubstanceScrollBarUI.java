@@ -31,6 +31,7 @@ package org.pushingpixels.substance.internal.ui;
 
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.SubstanceWidget;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -243,10 +244,11 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
         SubstanceFillPainter painter = SubstanceCoreUtilities.getFillPainter(scrollBar);
         SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(scrollBar);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(scrollBar);
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, scheme.getDisplayName(),
+        CacheKey key = CacheKey.of(width, height, scheme.getDisplayName(),
                 borderScheme.getDisplayName(), painter.getDisplayName(), shaper.getDisplayName(),
                 borderPainter.getDisplayName());
-        BufferedImage result = SubstanceScrollBarUI.thumbVerticalMap.get(key);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(scrollBar);
+        BufferedImage result = SubstanceScrollBarUI.thumbVerticalMap.get(skin, key);
         if (result == null) {
             // System.out.println("Cache miss - computing");
             // System.out.println("New image for vertical thumb");
@@ -264,7 +266,7 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
                     borderScheme);
             result = SubstanceImageCreator.getRotated(result, 3);
             // System.out.println(key);
-            SubstanceScrollBarUI.thumbVerticalMap.put(key, result);
+            SubstanceScrollBarUI.thumbVerticalMap.put(skin, key, result);
         }
 
         return result;
@@ -357,7 +359,7 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
         SubstanceFillPainter painter = SubstanceCoreUtilities.getFillPainter(scrollBar);
         SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(scrollBar);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(scrollBar);
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, scheme.getDisplayName(),
+        CacheKey key = CacheKey.of(width, height, scheme.getDisplayName(),
                 borderScheme.getDisplayName(), painter.getDisplayName(), shaper.getDisplayName(),
                 borderPainter.getDisplayName());
 
@@ -365,7 +367,8 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
         float borderDelta = SubstanceSizeUtils.getBorderStrokeWidth() / 2.0f;
         Shape contour = SubstanceOutlineUtilities.getBaseOutline(width, height, radius, null,
                 borderDelta);
-        BufferedImage opaque = SubstanceScrollBarUI.thumbHorizontalMap.get(key);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(scrollBar);
+        BufferedImage opaque = SubstanceScrollBarUI.thumbHorizontalMap.get(skin, key);
         if (opaque == null) {
             // System.out.println("New image for horizontal thumb");
 
@@ -375,7 +378,7 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
 
             borderPainter.paintBorder(opaque.getGraphics(), scrollBar, width, height, contour, null,
                     borderScheme);
-            SubstanceScrollBarUI.thumbHorizontalMap.put(key, opaque);
+            SubstanceScrollBarUI.thumbHorizontalMap.put(skin, key, opaque);
         }
 
         return opaque;
@@ -1097,4 +1100,4 @@ public class SubstanceScrollBarUI extends BasicScrollBarUI implements Transition
         super.update(g, c);
         GhostPaintingUtils.paintGhostImages(c, g);
     }
-}
\ No newline at end of file
+}
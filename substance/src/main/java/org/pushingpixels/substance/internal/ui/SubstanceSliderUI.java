@@ -32,6 +32,7 @@ package org.pushingpixels.substance.internal.ui;
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
 import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
@@ -275,10 +276,11 @@ public class SubstanceSliderUI extends BasicSliderUI implements TransitionAwareU
         float radius = SubstanceSizeUtils.getClassicButtonCornerRadius(componentFontSize) / 2.0f;
         float borderThickness = (int) SubstanceSizeUtils.getBorderStrokeWidth();
 
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, radius, borderDelta,
-                borderThickness, fillColorScheme.getDisplayName(), borderScheme.getDisplayName());
+        CacheKey key = CacheKey.of(width, height, radius, borderDelta, borderThickness,
+                fillColorScheme.getDisplayName(), borderScheme.getDisplayName());
 
-        BufferedImage trackImage = trackCache.get(key);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(this.slider);
+        BufferedImage trackImage = trackCache.get(skin, key);
         if (trackImage == null) {
             trackImage = SubstanceCoreUtilities.getBlankImage(width + 1, height + 1);
             Graphics2D cacheGraphics = trackImage.createGraphics();
@@ -294,7 +296,7 @@ public class SubstanceSliderUI extends BasicSliderUI implements TransitionAwareU
             borderPainter.paintBorder(cacheGraphics, slider, width + 1, height + 1, contour,
                     contourInner, borderScheme);
 
-            trackCache.put(key, trackImage);
+            trackCache.put(skin, key, trackImage);
             cacheGraphics.dispose();
         }
 
@@ -734,13 +734,13 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
             // special handling of tabs placed in decoration areas
             tabColor = SubstanceColorUtilities.getBackgroundFillColor(compForBackground);
         }
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, tabPlacement,
+        CacheKey key = CacheKey.of(width, height, tabPlacement,
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
-                shaper.getDisplayName(), tabPlacement == SwingConstants.BOTTOM, side.name(),
-                colorScheme.getDisplayName(), borderScheme.getDisplayName(), tabColor);
+                shaper.getDisplayName(), side, colorScheme.getDisplayName(),
+                borderScheme.getDisplayName(), tabColor);
 
         SubstanceSkin skin = SubstanceCoreUtilities.getSkin(tabPane);
-        BufferedImage result = SubstanceTabbedPaneUI.backgroundMap.get(key);
+        BufferedImage result = SubstanceTabbedPaneUI.backgroundMap.get(skin, key);
         if (result == null) {
             BufferedImage backgroundImage = null;
 
@@ -770,9 +770,9 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
                     backgroundImage = SubstanceCoreUtilities.blendImagesVertical(backgroundImage,
                             fade, skin.getTabFadeStart(), skin.getTabFadeEnd());
             }
-            SubstanceTabbedPaneUI.backgroundMap.put(key, backgroundImage);
+            SubstanceTabbedPaneUI.backgroundMap.put(skin, key, backgroundImage);
         }
-        return backgroundMap.get(key);
+        return backgroundMap.get(skin, key);
     }
 
     /**
@@ -785,10 +785,11 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
         if (fillPainter == null)
             return null;
 
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, toPaintBorder,
+        CacheKey key = CacheKey.of(width, height, toPaintBorder,
                 fillPainter.getDisplayName(), fillScheme.getDisplayName(),
                 markScheme.getDisplayName());
-        BufferedImage result = SubstanceTabbedPaneUI.closeButtonMap.get(key);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(tabPane);
+        BufferedImage result = SubstanceTabbedPaneUI.closeButtonMap.get(skin, key);
         if (result == null) {
             result = SubstanceCoreUtilities.getBlankImage(width, height);
             Graphics2D finalGraphics = (Graphics2D) result.getGraphics().create();
@@ -820,7 +821,7 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
             closeIcon.paintIcon(tabPane, finalGraphics, 0, 0);
 
             finalGraphics.dispose();
-            SubstanceTabbedPaneUI.closeButtonMap.put(key, result);
+            SubstanceTabbedPaneUI.closeButtonMap.put(skin, key, result);
         }
         return result;
     }
@@ -848,6 +849,14 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
         // double scaleFactor = UIUtil.getScaleFactor();
         // Slightly reduce the tab width to create "gaps" between tab visuals
         w -= 1;
+        // The background is rendered once per tab height and stretched to the tab width. Classic
+        // shapers render the background one pixel narrower than requested.
+        boolean isSliced = NineSliceUtilities.canSlice(
+                SubstanceCoreUtilities.getFillPainter(this.tabPane),
+                SubstanceCoreUtilities.getBorderPainter(this.tabPane));
+        int renderWidth = isSliced ? NineSliceUtilities.getTemplateLength(w, h) : w;
+        int classicGap = (SubstanceCoreUtilities.getButtonShaper(this.tabPane)
+                instanceof ClassicButtonShaper) ? 1 : 0;
 
         // check if have windowModified property
         Component comp = this.tabPane.getComponentAt(tabIndex);
@@ -861,11 +870,11 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
             float cyclePos = this.modifiedTimelines.get(comp).getTimelinePosition();
 
             BufferedImage layer1 = SubstanceTabbedPaneUI.getFinalTabBackgroundImage(this.tabPane,
-                    tabIndex, x, y, w, h, tabPlacement, SubstanceSlices.Side.BOTTOM, colorScheme,
-                    baseBorderScheme);
+                    tabIndex, x, y, renderWidth, h, tabPlacement, SubstanceSlices.Side.BOTTOM,
+                    colorScheme, baseBorderScheme);
             BufferedImage layer2 = SubstanceTabbedPaneUI.getFinalTabBackgroundImage(this.tabPane,
-                    tabIndex, x, y, w, h, tabPlacement, SubstanceSlices.Side.BOTTOM, colorScheme2,
-                    baseBorderScheme);
+                    tabIndex, x, y, renderWidth, h, tabPlacement, SubstanceSlices.Side.BOTTOM,
+                    colorScheme2, baseBorderScheme);
 
             fullOpacity = SubstanceCoreUtilities.getBlankUnscaledImage(layer1);
             Graphics2D g2d = fullOpacity.createGraphics();
@@ -878,7 +887,7 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
             g2d.dispose();
         } else {
             BufferedImage layerBase = SubstanceTabbedPaneUI.getFinalTabBackgroundImage(this.tabPane,
-                    tabIndex, x, y, w, h, tabPlacement, SubstanceSlices.Side.BOTTOM,
+                    tabIndex, x, y, renderWidth, h, tabPlacement, SubstanceSlices.Side.BOTTOM,
                     baseColorScheme, baseBorderScheme);
 
             if ((modelStateInfo == null) || currState.isDisabled()
@@ -907,7 +916,7 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
                                 .getColorScheme(this.tabPane, tabIndex,
                                         ColorSchemeAssociationKind.TAB_BORDER, activeState);
                         BufferedImage layer = SubstanceTabbedPaneUI.getFinalTabBackgroundImage(
-                                this.tabPane, tabIndex, x, y, w, h, tabPlacement,
+                                this.tabPane, tabIndex, x, y, renderWidth, h, tabPlacement,
                                 SubstanceSlices.Side.BOTTOM, fillScheme, borderScheme);
                         g2d.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
                     }
@@ -939,7 +948,8 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
         graphics.clip(new Rectangle(x, y, w, h));
 
         float finalAlpha = 0.0f;
-        StateTransitionTracker tabTracker = this.stateTransitionMultiTracker.getTracker(tabIndex);
+        StateTransitionTracker tabTracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                tabIndex);
         if (!isSelected && (modelStateInfo != null)) {
             finalAlpha += tabTracker.getFacetStrength(ComponentStateFacet.ROLLOVER);
         } else {
@@ -952,7 +962,12 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
                 currState);
 
         graphics.setComposite(WidgetUtilities.getAlphaComposite(this.tabPane, finalAlpha, g));
-        NeonCortex.drawImage(graphics, fullOpacity, x, y);
+        if (isSliced) {
+            NineSliceUtilities.paintHorizontallySliced(graphics, fullOpacity,
+                    renderWidth - classicGap, x, y, w - classicGap, h);
+        } else {
+            NeonCortex.drawImage(graphics, fullOpacity, x, y);
+        }
 
         // Check if requested to paint close buttons.
         if (SubstanceCoreUtilities.hasCloseButton(this.tabPane, tabIndex) && isEnabled) {
@@ -2083,7 +2098,8 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
     private StateTransitionTracker.ModelStateInfo getModelStateInfo(int tabIndex) {
         if (this.stateTransitionMultiTracker.size() == 0)
             return null;
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(tabIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                tabIndex);
         if (tracker == null) {
             return null;
         } else {
@@ -2100,7 +2116,8 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
      */
     protected ComponentState getTabState(int tabIndex, boolean toAllowIgnoringSelectedState) {
         boolean isEnabled = this.tabPane.isEnabledAt(tabIndex);
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(tabIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                tabIndex);
         boolean ignoreSelectedState = toAllowIgnoringSelectedState
                 && (SubstanceCoreUtilities.getSkin(tabPane).getTabFadeEnd() <= 0.5);
         if (tracker == null) {
@@ -2206,7 +2223,8 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
         g2d.translate(iconRect.x, iconRect.y);
         if (SubstanceCoreUtilities.useThemedDefaultIcon(this.tabPane)) {
             ComponentState currState = this.getTabState(tabIndex, true);
-            StateTransitionTracker tabTracker = stateTransitionMultiTracker.getTracker(tabIndex);
+            StateTransitionTracker tabTracker = stateTransitionMultiTracker.getIndexedTracker(
+                    tabIndex);
 
             if (tabTracker == null) {
                 if (currState.isFacetActive(ComponentStateFacet.ROLLOVER)
@@ -2251,7 +2269,7 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
 
     private StateTransitionTracker getTracker(final int tabIndex, boolean initialRollover,
             boolean initialSelected) {
-        StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(tabIndex);
+        StateTransitionTracker tracker = stateTransitionMultiTracker.getIndexedTracker(tabIndex);
         if (tracker == null) {
             ButtonModel model = new DefaultButtonModel();
             model.setSelected(initialSelected);
@@ -2259,7 +2277,7 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
             tracker = new StateTransitionTracker(tabPane, model);
             tracker.registerModelListeners();
             tracker.setRepaintCallback(() -> new TabRepaintCallback(tabPane, tabIndex));
-            stateTransitionMultiTracker.addTracker(tabIndex, tracker);
+            stateTransitionMultiTracker.addIndexedTracker(tabIndex, tracker);
         }
         return tracker;
     }
@@ -2280,4 +2298,4 @@ public class SubstanceTabbedPaneUI extends BasicTabbedPaneUI {
         super.update(g2d, c);
         g2d.dispose();
     }
-}
\ No newline at end of file
+}
@@ -736,7 +736,8 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
             toEnable = toEnable && table.isEnabled();
         }
 
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(columnIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                columnIndex);
         if (tracker == null) {
             boolean isRollover = false;
             TableColumnModel columnModel = header.getColumnModel();
@@ -765,7 +766,8 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
     public StateTransitionTracker.ModelStateInfo getModelStateInfo(int columnIndex) {
         if (this.stateTransitionMultiTracker.size() == 0)
             return null;
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(columnIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                columnIndex);
         if (tracker == null) {
             return null;
         } else {
@@ -774,7 +776,7 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
     }
 
     public StateTransitionTracker getStateTransitionTracker(int columnIndex) {
-        return this.stateTransitionMultiTracker.getTracker(columnIndex);
+        return this.stateTransitionMultiTracker.getIndexedTracker(columnIndex);
     }
 
     /**
@@ -931,7 +933,7 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
 
     public StateTransitionTracker getTracker(final int columnIndex, boolean initialRollover,
             boolean initialSelected) {
-        StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(columnIndex);
+        StateTransitionTracker tracker = stateTransitionMultiTracker.getIndexedTracker(columnIndex);
         if (tracker == null) {
             ButtonModel model = new DefaultButtonModel();
             model.setSelected(initialSelected);
@@ -939,7 +941,7 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
             tracker = new StateTransitionTracker(header, model);
             tracker.registerModelListeners();
             tracker.setRepaintCallback(() -> new ColumnHeaderRepaintCallback(header, columnIndex));
-            stateTransitionMultiTracker.addTracker(columnIndex, tracker);
+            stateTransitionMultiTracker.addIndexedTracker(columnIndex, tracker);
         }
         return tracker;
     }
@@ -71,14 +71,21 @@ import java.util.*;
  */
 public class SubstanceTableUI extends BasicTableUI implements UpdateOptimizationAware {
     /**
-     * Holds the list of currently selected row-column indexes.
+     * Holds the currently selected cells.
      */
-    private Map<TableCellId, Object> selectedIndices;
+    private TableSelectionSnapshot selectionSnapshot;
 
     /**
-     * Holds the currently rolled-over row-column index, or <code>null</code> if none such.
+     * Holds the values of selected cells that have started a selection animation. Used to check
+     * that a deselected cell still shows the same value before fading it out. Cells without a
+     * recorded value (such as cells selected in bulk) are not faded out.
      */
-    private Set<TableCellId> rolledOverIndices;
+    private CellIndexMap<Object> selectedValues;
+
+    /**
+     * Holds the currently rolled-over cells, keyed by {@link CellIndexMap#key(int, int)}.
+     */
+    private CellIndexMap<Boolean> rolledOverIndices;
 
     private TableCellId focusedCellId;
 
@@ -138,8 +145,9 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
      */
     private SubstanceTableUI() {
         super();
-        this.selectedIndices = new HashMap<>();
-        this.rolledOverIndices = new HashSet<>();
+        this.selectionSnapshot = TableSelectionSnapshot.EMPTY;
+        this.selectedValues = new CellIndexMap<>();
+        this.rolledOverIndices = new CellIndexMap<>();
         this.stateTransitionMultiTracker = new StateTransitionMultiTracker<>();
         this.rolledOverColumn = -1;
         this.rolledOverRow = -1;
@@ -217,16 +225,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         }
         this.installEditorIfNecessary(Boolean.class, new BooleanEditor());
 
-        int rows = this.table.getRowCount();
-        int cols = this.table.getColumnCount();
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (this.table.isCellSelected(i, j)) {
-                    TableCellId cellId = new TableCellId(i, j);
-                    this.selectedIndices.put(cellId, this.table.getValueAt(i, j));
-                }
-            }
-        }
+        this.selectionSnapshot = TableSelectionSnapshot.of(this.table);
 
         // This is a little tricky, and hopefully will not
         // interfere with existing applications. The row height in tables
@@ -321,9 +320,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             this.uninstallEditorIfNecessary(entry.getKey(), entry.getValue());
         }
 
-        this.selectedIndices.clear();
-        // this.table.putClientProperty(SubstanceTableUI.SELECTED_INDICES,
-        // null);
+        this.resetSelection();
 
         super.uninstallDefaults();
     }
@@ -382,7 +379,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 }
                 // fix for defect 291 - track changes to the table.
                 table.getModel().addTableModelListener(substanceTableStateListener);
-                selectedIndices.clear();
+                resetSelection();
                 stateTransitionMultiTracker.clear();
                 SubstanceTableUI.this.syncSelection(true);
             }
@@ -395,7 +392,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 }
                 table.getColumnModel().getSelectionModel()
                         .addListSelectionListener(substanceTableStateListener);
-                selectedIndices.clear();
+                resetSelection();
                 stateTransitionMultiTracker.clear();
                 SubstanceTableUI.this.syncSelection(true);
 
@@ -419,7 +416,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                     old.removeListSelectionListener(substanceTableStateListener);
                 }
                 table.getSelectionModel().addListSelectionListener(substanceTableStateListener);
-                selectedIndices.clear();
+                resetSelection();
                 stateTransitionMultiTracker.clear();
                 SubstanceTableUI.this.syncSelection(true);
             }
@@ -435,7 +432,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 if (newSorter != null) {
                     newSorter.addRowSorterListener(substanceTableStateListener);
                 }
-                selectedIndices.clear();
+                resetSelection();
                 stateTransitionMultiTracker.clear();
                 SubstanceTableUI.this.syncSelection(true);
             }
@@ -923,9 +920,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         // alpha composite applied to it.
         g2d.setComposite(WidgetUtilities.getAlphaComposite(this.table, g));
 
-        TableCellId cellId = new TableCellId(row, column);
-
-        StateTransitionTracker.ModelStateInfo modelStateInfo = this.getModelStateInfo(cellId);
+        StateTransitionTracker.ModelStateInfo modelStateInfo = this.getModelStateInfo(row, column);
         Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = ((modelStateInfo == null)
                 ? null
                 : modelStateInfo.getStateContributionMap());
@@ -948,7 +943,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                     ? (isSelected ? ComponentState.ROLLOVER_SELECTED : ComponentState.ROLLOVER_UNSELECTED)
                     : (isSelected ? ComponentState.SELECTED : ComponentState.ENABLED);
         } else {
-            currState = ((modelStateInfo == null) ? this.getCellState(cellId)
+            currState = ((modelStateInfo == null) ? this.getCellState(row, column)
                     : modelStateInfo.getCurrModelState());
         }
 
@@ -996,16 +991,14 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 highlightOpenSides.add(SubstanceSlices.Side.BOTTOM);
             }
             if (row > 1) {
-                ComponentState upperNeighbourState = this
-                        .getCellState(new TableCellId(row - 1, column));
+                ComponentState upperNeighbourState = this.getCellState(row - 1, column);
                 if (currState == upperNeighbourState) {
                     // the cell above it is in the same state
                     highlightOpenSides.add(SubstanceSlices.Side.TOP);
                 }
             }
             if (column > 1) {
-                ComponentState leftNeighbourState = this
-                        .getCellState(new TableCellId(row, column - 1));
+                ComponentState leftNeighbourState = this.getCellState(row, column - 1);
                 if (currState == leftNeighbourState) {
                     // the cell to the left is in the same state
                     highlightOpenSides.add(SubstanceSlices.Side.LEFT);
@@ -1025,7 +1018,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             }
         }
 
-        boolean isRollover = this.rolledOverIndices.contains(cellId);
+        boolean isRollover = this.rolledOverIndices.containsKey(CellIndexMap.key(row, column));
         if (this.table.isEditing() && this.table.getEditingRow() == row
                 && this.table.getEditingColumn() == column) {
             Component component = this.table.getEditorComponent();
@@ -1169,7 +1162,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 // starts the fade sequence. So, we use the UI delegate to
                 // compute the selection status.
                 boolean isSelected = updateInfo.hasSelectionAnimations
-                        ? this.selectedIndices.containsKey(cellId)
+                        ? this.selectionSnapshot.isCellSelected(row, column)
                         : this.table.isCellSelected(row, column);
                 boolean newOpaque = !(isSelected || isRollover || hasHighlights);
 
@@ -1647,7 +1640,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                 // internal selection and focus tracking
                 // when the event is table update.
                 if (e.getType() != TableModelEvent.UPDATE) {
-                    selectedIndices.clear();
+                    resetSelection();
                     stateTransitionMultiTracker.clear();
                     focusedCellId = null;
                 }
@@ -1846,44 +1839,42 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
                     startRolloverRow = 0;
                     endRolloverRow = table.getRowCount() - 1;
                 }
-                Set<TableCellId> toRemove = new HashSet<>();
-                for (TableCellId currRolloverId : rolledOverIndices) {
-                    if ((currRolloverId.row < startRolloverRow)
-                            || (currRolloverId.row > endRolloverRow)
-                            || (currRolloverId.column < startRolloverColumn)
-                            || (currRolloverId.column > endRolloverColumn)) {
-                        fadeOutRollover(currRolloverId);
-                        toRemove.add(currRolloverId);
+                int fromRow = startRolloverRow;
+                int toRow = endRolloverRow;
+                int fromColumn = startRolloverColumn;
+                int toColumn = endRolloverColumn;
+                rolledOverIndices.removeIf((key, value) -> {
+                    int currRow = CellIndexMap.row(key);
+                    int currColumn = CellIndexMap.column(key);
+                    if ((currRow < fromRow) || (currRow > toRow) || (currColumn < fromColumn)
+                            || (currColumn > toColumn)) {
+                        fadeOutRollover(currRow, currColumn);
+                        return true;
                     }
-                }
-                for (TableCellId id : toRemove) {
-                    rolledOverIndices.remove(id);
-                }
+                    return false;
+                });
 
                 int totalRolloverCount = (endRolloverRow - startRolloverRow + 1)
                         * (endRolloverColumn - startRolloverColumn + 1);
                 if (totalRolloverCount > 20) {
                     for (int i = startRolloverRow; i <= endRolloverRow; i++) {
                         for (int j = startRolloverColumn; j <= endRolloverColumn; j++) {
-                            rolledOverIndices.add(new TableCellId(i, j));
+                            rolledOverIndices.put(CellIndexMap.key(i, j), Boolean.TRUE);
                         }
                     }
                     table.repaint();
                 } else {
                     for (int i = startRolloverRow; i <= endRolloverRow; i++) {
                         for (int j = startRolloverColumn; j <= endRolloverColumn; j++) {
-                            TableCellId currCellId = new TableCellId(i, j);
-                            if (rolledOverIndices.contains(currCellId))
+                            long currCellKey = CellIndexMap.key(i, j);
+                            if (rolledOverIndices.containsKey(currCellKey))
                                 continue;
-                            // System.out
-                            // .println("Getting rollover/in tracker for "
-                            // + currCellId);
-                            StateTransitionTracker tracker = getTracker(currCellId, false,
-                                    getCellState(currCellId)
+                            StateTransitionTracker tracker = getTracker(i, j, false,
+                                    getCellState(i, j)
                                             .isFacetActive(ComponentStateFacet.SELECTION));
                             tracker.getModel().setRollover(true);
 
-                            rolledOverIndices.add(currCellId);
+                            rolledOverIndices.put(currCellKey, Boolean.TRUE);
                         }
                     }
                 }
@@ -1893,21 +1884,18 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         /**
          * Initiates the fade out effect.
          */
-        private void fadeOutRollover(TableCellId tableCellId) {
-            if (rolledOverIndices.contains(tableCellId)) {
-                // System.out
-                // .println("Getting rollover/out tracker for " + cellId);
-                StateTransitionTracker tracker = getTracker(tableCellId, true,
-                        getCellState(tableCellId).isFacetActive(ComponentStateFacet.SELECTION));
+        private void fadeOutRollover(int row, int column) {
+            if (rolledOverIndices.containsKey(CellIndexMap.key(row, column))) {
+                StateTransitionTracker tracker = getTracker(row, column, true,
+                        getCellState(row, column).isFacetActive(ComponentStateFacet.SELECTION));
                 tracker.getModel().setRollover(false);
             }
         }
 
         private void fadeOutAllRollovers() {
             if (rolledOverIndices.size() < 20) {
-                for (TableCellId tcid : rolledOverIndices) {
-                    fadeOutRollover(tcid);
-                }
+                rolledOverIndices.forEach((key, value) ->
+                        fadeOutRollover(CellIndexMap.row(key), CellIndexMap.column(key)));
             }
         }
     }
@@ -1928,9 +1916,17 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
     TableCellId cellId;
 
     /**
-     * Synchronizes the current selection state.
+     * Resets the tracked cell selection.
+     */
+    private void resetSelection() {
+        this.selectionSnapshot = TableSelectionSnapshot.EMPTY;
+        this.selectedValues.clear();
+    }
+
+    /**
+     * Synchronizes the current selection state. Only the cells that have changed their
+     * selection state since the last synchronization are visited.
      */
-    // @SuppressWarnings("unchecked")
     protected void syncSelection(boolean enforceNoAnimations) {
         if (this.table == null) {
             // fix for defect 270 - if the UI delegate is updated
@@ -1951,7 +1947,6 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         // cells.
         if (!this._hasSelectionAnimations()) {
             stateTransitionMultiTracker.clear();
-            // this.prevStateMap.clear();
             table.repaint();
 
             // fix for issue 414 - track focus on tables
@@ -1962,135 +1957,113 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             return;
         }
 
-        Set<StateTransitionTracker> initiatedTrackers = new HashSet<>();
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                TableCellId cellId = new TableCellId(i, j);
-                if (this.table.isCellSelected(i, j)) {
-                    // check if was selected before
-                    if (!this.selectedIndices.containsKey(cellId)) {
-                        // start fading in
-                        if (!enforceNoAnimations) {
-                            // System.out
-                            // .println("Getting selection/in tracker for "
-                            // + cellId);
-                            StateTransitionTracker tracker = getTracker(cellId, getCellState(cellId)
-                                    .isFacetActive(ComponentStateFacet.ROLLOVER), false);
-                            tracker.getModel().setSelected(true);
-                            // System.out
-                            // .println("Selecting previously unselected "
-                            // + i + ":" + j);
-                            initiatedTrackers.add(tracker);
-                            if (initiatedTrackers.size() > 20) {
-                                stateTransitionMultiTracker.clear();
-                                initiatedTrackers.clear();
-                                enforceNoAnimations = true;
-                            }
-                        }
+        TableSelectionSnapshot oldSnapshot = this.selectionSnapshot;
+        TableSelectionSnapshot newSnapshot = TableSelectionSnapshot.of(this.table);
+        this.selectionSnapshot = newSnapshot;
 
-                        this.selectedIndices.put(cellId, this.table.getValueAt(i, j));
-                    }
-                } else {
-                    // check if was selected before and still points
-                    // to the same element
-                    if (this.selectedIndices.containsKey(cellId)) {
-                        // corner case when the model returns null
-                        Object oldValue = this.selectedIndices.get(cellId);
-                        if ((i >= this.table.getModel().getRowCount())
-                                || (j >= this.table.getModel().getColumnCount())) {
-                            // not only the content changed, but the model
-                            // dimensions as well
-                            continue;
-                        }
-                        Object currValue = this.table.getValueAt(i, j);
-                        boolean isSame = false;
-                        if (oldValue == null) {
-                            isSame = (currValue == null);
-                        } else {
-                            isSame = oldValue.equals(currValue);
-                        }
-                        if (isSame) {
-                            // start fading out
-                            if (!enforceNoAnimations) {
-                                // System.out
-                                // .println("Getting selection/out tracker for "
-                                // + cellId);
-                                StateTransitionTracker tracker = getTracker(cellId,
-                                        getCellState(cellId)
-                                                .isFacetActive(ComponentStateFacet.ROLLOVER),
-                                        true);
-                                tracker.getModel().setSelected(false);
-                                // System.out
-                                // .println("Unselecting previously selected "
-                                // + i + ":" + j);
-
-                                initiatedTrackers.add(tracker);
-                                if (initiatedTrackers.size() > 20) {
-                                    stateTransitionMultiTracker.clear();
-                                    initiatedTrackers.clear();
-                                    enforceNoAnimations = true;
-                                }
-                            }
-                        }
-                        this.selectedIndices.remove(cellId);
-                    }
+        if (!enforceNoAnimations) {
+            Set<StateTransitionTracker> initiatedTrackers = new HashSet<>();
+            newSnapshot.visitChangedCells(oldSnapshot, (row, column, isSelected) -> {
+                StateTransitionTracker tracker = isSelected ? fadeInSelection(row, column)
+                        : fadeOutSelection(row, column);
+                if (tracker != null) {
+                    initiatedTrackers.add(tracker);
                 }
+                return initiatedTrackers.size() <= 20;
+            });
+            if (initiatedTrackers.size() > 20) {
+                stateTransitionMultiTracker.clear();
+                enforceNoAnimations = true;
+            }
+        }
+        if (!this.selectedValues.isEmpty()) {
+            this.selectedValues.removeIf((key, value) -> !newSnapshot.isCellSelected(
+                    CellIndexMap.row(key), CellIndexMap.column(key)));
+        }
 
-                // handle focus animations
-                boolean cellHasFocus = isFocusOwner && (i == rowLeadIndex) && (j == colLeadIndex);
-                if (cellHasFocus) {
-                    // check if it's a different cell
-                    if ((this.focusedCellId == null) || !this.focusedCellId.equals(cellId)) {
-                        if (!enforceNoAnimations) {
-                            if (this.focusedCellId != null) {
-                                // fade out the previous focus holder
-
-                                ComponentState cellState = getCellState(this.focusedCellId);
-                                // System.out.println("Getting focus/out tracker for "
-                                // + cellId);
-                                StateTransitionTracker tracker = getTracker(this.focusedCellId,
-                                        cellState.isFacetActive(ComponentStateFacet.ROLLOVER),
-                                        cellState.isFacetActive(ComponentStateFacet.SELECTION));
-                                tracker.setFocusState(false);
-                            }
-
-                            // fade in the current cell (new focus holder)
-                            ComponentState cellState = getCellState(cellId);
+        // handle focus animations
+        boolean hasFocusedCell = isFocusOwner && (rowLeadIndex >= 0) && (rowLeadIndex < rows)
+                && (colLeadIndex >= 0) && (colLeadIndex < cols);
+        if ((this.focusedCellId != null) && (!hasFocusedCell
+                || (this.focusedCellId.row != rowLeadIndex)
+                || (this.focusedCellId.column != colLeadIndex))) {
+            if (!enforceNoAnimations) {
+                // fade out the previous focus holder
+                ComponentState cellState = getCellState(this.focusedCellId);
+                StateTransitionTracker tracker = getTracker(this.focusedCellId,
+                        cellState.isFacetActive(ComponentStateFacet.ROLLOVER),
+                        cellState.isFacetActive(ComponentStateFacet.SELECTION));
+                tracker.setFocusState(false);
+            }
+            this.focusedCellId = null;
+        }
+        if (hasFocusedCell && (this.focusedCellId == null)) {
+            TableCellId cellId = new TableCellId(rowLeadIndex, colLeadIndex);
+            if (!enforceNoAnimations) {
+                // fade in the current cell (new focus holder)
+                ComponentState cellState = getCellState(cellId);
+                StateTransitionTracker tracker = getTracker(cellId,
+                        cellState.isFacetActive(ComponentStateFacet.ROLLOVER),
+                        cellState.isFacetActive(ComponentStateFacet.SELECTION));
+                tracker.setFocusState(true);
+            }
 
-                            // System.out.println("Getting focus/in tracker for "
-                            // + currId);
-                            StateTransitionTracker tracker = getTracker(cellId,
-                                    cellState.isFacetActive(ComponentStateFacet.ROLLOVER),
-                                    cellState.isFacetActive(ComponentStateFacet.SELECTION));
-                            tracker.setFocusState(true);
-                        }
+            if (AnimationConfigurationManager.getInstance()
+                    .isAnimationAllowed(AnimationFacet.FOCUS, this.table)) {
+                // and store it for future checks
+                this.focusedCellId = cellId;
+            }
+        }
+    }
 
-                        if (AnimationConfigurationManager.getInstance()
-                                .isAnimationAllowed(AnimationFacet.FOCUS, this.table)) {
-                            // and store it for future checks
-                            this.focusedCellId = new TableCellId(i, j);
-                        }
-                    }
-                } else {
-                    // check if previously it held focus
-                    if (cellId.equals(this.focusedCellId)) {
-                        if (!enforceNoAnimations) {
-                            // fade it out
-                            ComponentState cellState = getCellState(cellId);
-                            // System.out.println("Getting focus/out tracker for "
-                            // + cellId);
-                            StateTransitionTracker tracker = getTracker(cellId,
-                                    cellState.isFacetActive(ComponentStateFacet.ROLLOVER),
-                                    cellState.isFacetActive(ComponentStateFacet.SELECTION));
-                            tracker.setFocusState(false);
-                        }
+    /**
+     * Starts the selection fade-in animation on a newly selected cell.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return The tracker of the started animation.
+     */
+    private StateTransitionTracker fadeInSelection(int row, int column) {
+        StateTransitionTracker tracker = getTracker(row, column,
+                getCellState(row, column).isFacetActive(ComponentStateFacet.ROLLOVER), false);
+        tracker.getModel().setSelected(true);
+        this.selectedValues.put(CellIndexMap.key(row, column), this.table.getValueAt(row, column));
+        return tracker;
+    }
 
-                        this.focusedCellId = null;
-                    }
-                }
-            }
+    /**
+     * Starts the selection fade-out animation on a previously selected cell, as long as it
+     * still points to the same value.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return The tracker of the started animation, or <code>null</code> if the cell does not
+     * point to the same value, or if its value has not been recorded.
+     */
+    private StateTransitionTracker fadeOutSelection(int row, int column) {
+        if ((row >= this.table.getModel().getRowCount())
+                || (column >= this.table.getModel().getColumnCount())) {
+            // not only the content changed, but the model
+            // dimensions as well
+            return null;
+        }
+        // The value is only recorded for cells that started a fade-in animation. Other cells
+        // (selected in bulk, or while the animations were suppressed) have no animation to
+        // fade out, and can not be checked to still point to the same value.
+        long key = CellIndexMap.key(row, column);
+        if (!this.selectedValues.containsKey(key)) {
+            return null;
         }
+        // corner case when the model returns null
+        Object oldValue = this.selectedValues.remove(key);
+        Object currValue = this.table.getValueAt(row, column);
+        if (!Objects.equals(oldValue, currValue)) {
+            return null;
+        }
+        StateTransitionTracker tracker = getTracker(row, column,
+                getCellState(row, column).isFacetActive(ComponentStateFacet.ROLLOVER), true);
+        tracker.getModel().setSelected(false);
+        return tracker;
     }
 
     /**
@@ -2100,22 +2073,32 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
      * @return The current state for the specified cell.
      */
     public ComponentState getCellState(TableCellId cellIndex) {
+        return this.getCellState(cellIndex.row, cellIndex.column);
+    }
+
+    /**
+     * Returns the current state for the specified cell.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return The current state for the specified cell.
+     */
+    public ComponentState getCellState(int row, int column) {
         boolean isEnabled = this.table.isEnabled();
 
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(cellIndex);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                CellIndexMap.key(row, column));
         if (tracker == null) {
-            int row = cellIndex.row;
-            int column = cellIndex.column;
-            TableCellId cellId = this.getId(row, column);
-            boolean isRollover = _hasRolloverAnimations() ? rolledOverIndices.contains(cellId) :
-                    (row == rolledOverRow);
+            boolean isRollover = _hasRolloverAnimations()
+                    ? rolledOverIndices.containsKey(CellIndexMap.key(row, column))
+                    : (row == rolledOverRow);
             boolean isSelected = false;
             boolean hasSelectionAnimations = (this.updateInfo != null)
                     ? this.updateInfo.hasSelectionAnimations
                     : this._hasSelectionAnimations();
             if (hasSelectionAnimations && AnimationConfigurationManager.getInstance()
                     .isAnimationAllowed(AnimationFacet.SELECTION, table))
-                isSelected = this.selectedIndices.containsKey(cellId);
+                isSelected = this.selectionSnapshot.isCellSelected(row, column);
             else {
                 isSelected = this.table.isCellSelected(row, column);
             }
@@ -2135,9 +2118,21 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
      * @return The current state for the specified cell.
      */
     public StateTransitionTracker.ModelStateInfo getModelStateInfo(TableCellId cellId) {
+        return this.getModelStateInfo(cellId.row, cellId.column);
+    }
+
+    /**
+     * Returns the current state for the specified cell.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return The current state for the specified cell.
+     */
+    public StateTransitionTracker.ModelStateInfo getModelStateInfo(int row, int column) {
         if (this.stateTransitionMultiTracker.size() == 0)
             return null;
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(cellId);
+        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getIndexedTracker(
+                CellIndexMap.key(row, column));
         if (tracker == null) {
             return null;
         } else {
@@ -2303,27 +2298,32 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
 
     private StateTransitionTracker getTracker(final TableCellId tableCellId,
             boolean initialRollover, boolean initialSelected) {
-        StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(tableCellId);
-        // System.out.println("TableID " + tableCellId + " has tracker "
-        // + ((tracker == null) ? "null" : ("@" + tracker.hashCode())));
+        return this.getTracker(tableCellId.row, tableCellId.column, initialRollover,
+                initialSelected);
+    }
+
+    private StateTransitionTracker getTracker(final int row, final int column,
+            boolean initialRollover, boolean initialSelected) {
+        long key = CellIndexMap.key(row, column);
+        StateTransitionTracker tracker = stateTransitionMultiTracker.getIndexedTracker(key);
         if (tracker == null) {
             ButtonModel model = new DefaultButtonModel();
             model.setSelected(initialSelected);
             model.setRollover(initialRollover);
             tracker = new StateTransitionTracker(table, model);
             tracker.registerModelListeners();
-            tracker.setRepaintCallback(
-                    () -> new CellRepaintCallback(table, tableCellId.row, tableCellId.column));
-            tracker.setName("row " + tableCellId.row + ", col " + tableCellId.column);
-            // System.out.println("TableID " + tableCellId +
-            // " has new tracker @"
-            // + tracker.hashCode());
-            stateTransitionMultiTracker.addTracker(tableCellId, tracker);
+            tracker.setRepaintCallback(() -> new CellRepaintCallback(table, row, column));
+            tracker.setName("row " + row + ", col " + column);
+            stateTransitionMultiTracker.addIndexedTracker(key, tracker);
         }
         return tracker;
     }
 
     public StateTransitionTracker getStateTransitionTracker(TableCellId tableId) {
-        return this.stateTransitionMultiTracker.getTracker(tableId);
+        return this.getStateTransitionTracker(tableId.row, tableId.column);
+    }
+
+    public StateTransitionTracker getStateTransitionTracker(int row, int column) {
+        return this.stateTransitionMultiTracker.getIndexedTracker(CellIndexMap.key(row, column));
     }
 }
@@ -73,12 +73,12 @@ public class SubstanceTreeUI extends BasicTreeUI {
 	/**
 	 * Holds the list of currently selected paths.
 	 */
-	private Map<TreePathId, Object> selectedPaths;
+	private Map<TreePath, Object> selectedPaths;
 
 	/**
 	 * Holds the currently rolled-over path or <code>null</code> if none such.
 	 */
-	private TreePathId currRolloverPathId;
+	private TreePath currRolloverPath;
 
 	/**
 	 * Listener that listens to changes on tree properties.
@@ -100,7 +100,7 @@ public class SubstanceTreeUI extends BasicTreeUI {
 	 */
 	private MouseListener substanceRowSelectionListener;
 
-	private StateTransitionMultiTracker<TreePathId> stateTransitionMultiTracker;
+	private StateTransitionMultiTracker<TreePath> stateTransitionMultiTracker;
 
 	/**
 	 * The current default color scheme. Is computed in
@@ -159,8 +159,7 @@ public class SubstanceTreeUI extends BasicTreeUI {
 
 		if (this.tree.getSelectionPaths() != null) {
 			for (TreePath selectionPath : this.tree.getSelectionPaths()) {
-				TreePathId pathId = new TreePathId(selectionPath);
-				selectedPaths.put(pathId, selectionPath.getLastPathComponent());
+				selectedPaths.put(selectionPath, selectionPath.getLastPathComponent());
 			}
 		}
 
@@ -227,8 +226,6 @@ public class SubstanceTreeUI extends BasicTreeUI {
 			return;
 		}
 
-		TreePathId pathId = new TreePathId(path);
-
 		Graphics2D g2d = (Graphics2D) g.create();
 		g2d.setComposite(WidgetUtilities.getAlphaComposite(tree, g));
 
@@ -236,11 +233,11 @@ public class SubstanceTreeUI extends BasicTreeUI {
 		// if (background == null)
 		// background = tree.getBackground();
 
-		StateTransitionTracker.ModelStateInfo modelStateInfo = getModelStateInfo(pathId);
+		StateTransitionTracker.ModelStateInfo modelStateInfo = getModelStateInfo(path);
 		Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = ((modelStateInfo == null)
 				? null
 				: modelStateInfo.getStateContributionMap());
-		ComponentState currState = ((modelStateInfo == null) ? getPathState(pathId)
+		ComponentState currState = ((modelStateInfo == null) ? getPathState(path)
 				: modelStateInfo.getCurrModelState());
 
 		// Compute the alpha values for the animation.
@@ -577,29 +574,26 @@ public class SubstanceTreeUI extends BasicTreeUI {
 			// .getClientProperty(SELECTED_INDICES);
 			if (tree.getSelectionPaths() != null) {
 				for (TreePath selectionPath : tree.getSelectionPaths()) {
-					TreePathId pathId = new TreePathId(selectionPath);
-
 					// check if was selected before
-					if (!selectedPaths.containsKey(pathId)) {
+					if (!selectedPaths.containsKey(selectionPath)) {
 						// start fading in
-						StateTransitionTracker tracker = getTracker(pathId,
-								(currRolloverPathId != null) && pathId.equals(currRolloverPathId),
-								false);
+						StateTransitionTracker tracker = getTracker(selectionPath,
+								selectionPath.equals(currRolloverPath), false);
 						tracker.getModel().setSelected(true);
-						selectedPaths.put(pathId, selectionPath.getLastPathComponent());
+						selectedPaths.put(selectionPath, selectionPath.getLastPathComponent());
 					}
 				}
 			}
 
-			for (Iterator<Map.Entry<TreePathId, Object>> it = selectedPaths.entrySet()
+			for (Iterator<Map.Entry<TreePath, Object>> it = selectedPaths.entrySet()
 					.iterator(); it.hasNext();) {
-				Map.Entry<TreePathId, Object> entry = it.next();
-				if (tree.getSelectionModel().isPathSelected(entry.getKey().path))
+				Map.Entry<TreePath, Object> entry = it.next();
+				if (tree.getSelectionModel().isPathSelected(entry.getKey()))
 					continue;
 				// fade out for deselected path
-				TreePathId pathId = entry.getKey();
-				StateTransitionTracker tracker = getTracker(pathId,
-						(currRolloverPathId != null) && pathId.equals(currRolloverPathId), true);
+				TreePath path = entry.getKey();
+				StateTransitionTracker tracker = getTracker(path,
+						path.equals(currRolloverPath), true);
 				tracker.getModel().setSelected(false);
 				it.remove();
 			}
@@ -704,7 +698,7 @@ public class SubstanceTreeUI extends BasicTreeUI {
 			// isInside = false;
 			this.fadeOut();
 			// System.out.println("Nulling RO index");
-			currRolloverPathId = null;
+			currRolloverPath = null;
 		}
 
 		public void mouseMoved(MouseEvent e) {
@@ -732,50 +726,37 @@ public class SubstanceTreeUI extends BasicTreeUI {
 			Rectangle bounds = tree.getPathBounds(closestPath);
 			if (bounds == null) {
 				this.fadeOut();
-				currRolloverPathId = null;
+				currRolloverPath = null;
 				return;
 			}
 			if ((e.getY() < bounds.y) || (e.getY() > (bounds.y + bounds.height))) {
 				this.fadeOut();
-				currRolloverPathId = null;
+				currRolloverPath = null;
 				return;
 			}
 			// check if this is the same index
-			TreePathId newPathId = new TreePathId(closestPath);
-			if ((currRolloverPathId != null) && newPathId.equals(currRolloverPathId)) {
-				// System.out.println("Same location " +
-				// System.currentTimeMillis());
-				// System.out.print("Current : ");
-				// for (Object o1 : currPathId.path.getPath()) {
-				// System.out.print(o1);
-				// }
-				// System.out.println("");
-				// System.out.print("Closest : ");
-				// for (Object o2 : newPathId.path.getPath()) {
-				// System.out.print(o2);
-				// }
-				// System.out.println("");
+			if (closestPath.equals(currRolloverPath)) {
 				return;
 			}
 
 			this.fadeOut();
 
-			StateTransitionTracker tracker = getTracker(newPathId, false,
-					selectedPaths.containsKey(newPathId));
+			StateTransitionTracker tracker = getTracker(closestPath, false,
+					selectedPaths.containsKey(closestPath));
 			tracker.getModel().setRollover(true);
 
-			currRolloverPathId = newPathId;
+			currRolloverPath = closestPath;
 		}
 
 		/**
 		 * Initiates the fade out effect.
 		 */
 		private void fadeOut() {
-			if (currRolloverPathId == null)
+			if (currRolloverPath == null)
 				return;
 
-			StateTransitionTracker tracker = getTracker(currRolloverPathId, true,
-					selectedPaths.containsKey(currRolloverPathId));
+			StateTransitionTracker tracker = getTracker(currRolloverPath, true,
+					selectedPaths.containsKey(currRolloverPath));
 			tracker.getModel().setRollover(false);
 		}
 	}
@@ -865,12 +846,23 @@ public class SubstanceTreeUI extends BasicTreeUI {
 	 * @return The current state for the specified path.
 	 */
 	public ComponentState getPathState(TreePathId pathId) {
+		return this.getPathState(pathId.path);
+	}
+
+	/**
+	 * Returns the current state for the specified path.
+	 * 
+	 * @param path
+	 *            Tree path.
+	 * @return The current state for the specified path.
+	 */
+	public ComponentState getPathState(TreePath path) {
 		boolean isEnabled = this.tree.isEnabled();
-		StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(pathId);
+		StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(path);
 		if (tracker == null) {
-			int rowIndex = this.tree.getRowForPath(pathId.path);
-			boolean isRollover = (this.currRolloverPathId != null)
-					&& pathId.equals(this.currRolloverPathId);
+			int rowIndex = this.tree.getRowForPath(path);
+			boolean isRollover = (this.currRolloverPath != null)
+					&& this.currRolloverPath.equals(path);
 			boolean isSelected = this.tree.isRowSelected(rowIndex);
 			return ComponentState.getState(isEnabled, isRollover, isSelected);
 		} else {
@@ -882,9 +874,13 @@ public class SubstanceTreeUI extends BasicTreeUI {
 	}
 
 	public StateTransitionTracker.ModelStateInfo getModelStateInfo(TreePathId pathId) {
+		return this.getModelStateInfo(pathId.path);
+	}
+
+	public StateTransitionTracker.ModelStateInfo getModelStateInfo(TreePath path) {
 		if (this.stateTransitionMultiTracker.size() == 0)
 			return null;
-		StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(pathId);
+		StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(path);
 		if (tracker == null) {
 			return null;
 		} else {
@@ -1002,17 +998,17 @@ public class SubstanceTreeUI extends BasicTreeUI {
 		return result;
 	}
 
-	private StateTransitionTracker getTracker(final TreePathId pathId, boolean initialRollover,
+	private StateTransitionTracker getTracker(final TreePath path, boolean initialRollover,
 			boolean initialSelected) {
-		StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(pathId);
+		StateTransitionTracker tracker = stateTransitionMultiTracker.getTracker(path);
 		if (tracker == null) {
 			ButtonModel model = new DefaultButtonModel();
 			model.setSelected(initialSelected);
 			model.setRollover(initialRollover);
 			tracker = new StateTransitionTracker(this.tree, model);
 			tracker.registerModelListeners();
-			tracker.setRepaintCallback(() -> new PathRepaintCallback(tree, pathId.path));
-			stateTransitionMultiTracker.addTracker(pathId, tracker);
+			tracker.setRepaintCallback(() -> new PathRepaintCallback(tree, path));
+			stateTransitionMultiTracker.addTracker(path, tracker);
 		}
 		return tracker;
 	}
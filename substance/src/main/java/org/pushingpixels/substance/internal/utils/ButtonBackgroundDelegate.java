@@ -31,6 +31,7 @@ package org.pushingpixels.substance.internal.utils;
 
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.SubstanceSlices.Side;
@@ -50,6 +51,7 @@ import org.pushingpixels.trident.api.Timeline.TimelineState;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -70,21 +72,21 @@ public class ButtonBackgroundDelegate {
      * Retrieves the background for the specified button.
      *
      * @param button        Button.
+     * @param currState     Current state of the button.
+     * @param activeStates  Contributions of all the active states of the button.
      * @param shaper        Button shaper.
      * @param fillPainter   Button fill painter.
      * @param borderPainter Button border painter.
-     * @param width         Button width.
+     * @param width         Background width. Can be smaller than the button width if the
+     *                      background is sliced.
      * @param height        Button height.
      * @return Button background.
      */
     private static BufferedImage getFullAlphaBackground(AbstractButton button,
+            ComponentState currState,
+            Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates,
             SubstanceButtonShaper shaper, SubstanceFillPainter fillPainter,
             SubstanceBorderPainter borderPainter, int width, int height) {
-        TransitionAwareUI transitionAwareUI = (TransitionAwareUI) button.getUI();
-        StateTransitionTracker.ModelStateInfo modelStateInfo = transitionAwareUI
-                .getTransitionTracker().getModelStateInfo();
-
-        ComponentState currState = modelStateInfo.getCurrModelState();
 
         // ComponentState prevState = stateTransitionModel.getPrevModelState();
 
@@ -115,6 +117,10 @@ public class ButtonBackgroundDelegate {
         // }
         boolean isContentAreaFilled = button.isContentAreaFilled();
         boolean isBorderPainted = button.isBorderPainted();
+        int straightSidesMask = CacheKey.toMask(straightSides);
+        int openSidesMask = CacheKey.toMask(openSides);
+        int fontSize = SubstanceSizeUtils.getComponentFontSize(button);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(button);
 
         // compute color scheme
         SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities.getColorScheme(button,
@@ -132,33 +138,33 @@ public class ButtonBackgroundDelegate {
                     SubstanceColorScheme colorScheme = SubstanceColorSchemeUtilities.ORANGE;
                     float cyclePos = modificationTimeline.getTimelinePosition();
 
-                    HashMapKey key1 = SubstanceCoreUtilities.getHashKey(width, height,
+                    CacheKey key1 = CacheKey.of(width, height,
                             colorScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                             shaper.getDisplayName(), fillPainter.getDisplayName(),
-                            borderPainter.getDisplayName(), straightSides, openSides,
+                            borderPainter.getDisplayName(), straightSidesMask, openSidesMask,
                             button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
-                            isBorderPainted, SubstanceSizeUtils.getComponentFontSize(button));
-                    BufferedImage layer1 = regularBackgrounds.get(key1);
+                            isBorderPainted, fontSize);
+                    BufferedImage layer1 = regularBackgrounds.get(skin, key1);
                     if (layer1 == null) {
                         layer1 = createBackgroundImage(button, shaper, fillPainter, borderPainter,
                                 width, height, colorScheme, baseBorderScheme, openSides,
                                 isContentAreaFilled, isBorderPainted);
 
-                        regularBackgrounds.put(key1, layer1);
+                        regularBackgrounds.put(skin, key1, layer1);
                     }
-                    HashMapKey key2 = SubstanceCoreUtilities.getHashKey(width, height,
+                    CacheKey key2 = CacheKey.of(width, height,
                             colorScheme2.getDisplayName(), baseBorderScheme.getDisplayName(),
                             shaper.getDisplayName(), fillPainter.getDisplayName(),
-                            borderPainter.getDisplayName(), straightSides, openSides,
+                            borderPainter.getDisplayName(), straightSidesMask, openSidesMask,
                             button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
-                            isBorderPainted, SubstanceSizeUtils.getComponentFontSize(button));
-                    BufferedImage layer2 = regularBackgrounds.get(key2);
+                            isBorderPainted, fontSize);
+                    BufferedImage layer2 = regularBackgrounds.get(skin, key2);
                     if (layer2 == null) {
                         layer2 = createBackgroundImage(button, shaper, fillPainter, borderPainter,
                                 width, height, colorScheme2, baseBorderScheme, openSides,
                                 isContentAreaFilled, isBorderPainted);
 
-                        regularBackgrounds.put(key2, layer2);
+                        regularBackgrounds.put(skin, key2, layer2);
                     }
 
                     BufferedImage result = SubstanceCoreUtilities.getBlankUnscaledImage(layer1);
@@ -179,24 +185,20 @@ public class ButtonBackgroundDelegate {
         // on pulsating buttons (such as default or close buttons
         // of modified frames).
 
-        Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = modelStateInfo
-                .getStateContributionMap();
-
         SubstanceColorScheme baseFillScheme = SubstanceColorSchemeUtilities.getColorScheme(button,
                 currState);
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(width, height,
+        CacheKey keyBase = CacheKey.of(width, height,
                 baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                 shaper.getDisplayName(), fillPainter.getDisplayName(),
-                borderPainter.getDisplayName(), straightSides, openSides,
-                button.getClass().getName(), isRoundButton, (int) (1000 * radius),
-                isContentAreaFilled, isBorderPainted,
-                SubstanceSizeUtils.getComponentFontSize(button));
-        BufferedImage layerBase = regularBackgrounds.get(keyBase);
+                borderPainter.getDisplayName(), straightSidesMask, openSidesMask,
+                button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
+                isBorderPainted, fontSize);
+        BufferedImage layerBase = regularBackgrounds.get(skin, keyBase);
         if (layerBase == null) {
             layerBase = createBackgroundImage(button, shaper, fillPainter, borderPainter, width,
                     height, baseFillScheme, baseBorderScheme, openSides, isContentAreaFilled,
                     isBorderPainted);
-            regularBackgrounds.put(keyBase, layerBase);
+            regularBackgrounds.put(skin, keyBase, layerBase);
         }
         if (currState.isDisabled() || (activeStates.size() == 1)) {
             return layerBase;
@@ -226,19 +228,18 @@ public class ButtonBackgroundDelegate {
                         .getColorScheme(button, activeState);
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
+                CacheKey key = CacheKey.of(width, height,
                         fillScheme.getDisplayName(), borderScheme.getDisplayName(),
                         shaper.getDisplayName(), fillPainter.getDisplayName(),
-                        borderPainter.getDisplayName(), straightSides, openSides,
-                        button.getClass().getName(), isRoundButton, (int) (1000 * radius),
-                        isContentAreaFilled, isBorderPainted,
-                        SubstanceSizeUtils.getComponentFontSize(button));
-                BufferedImage layer = regularBackgrounds.get(key);
+                        borderPainter.getDisplayName(), straightSidesMask, openSidesMask,
+                        button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
+                        isBorderPainted, fontSize);
+                BufferedImage layer = regularBackgrounds.get(skin, key);
                 if (layer == null) {
                     layer = createBackgroundImage(button, shaper, fillPainter, borderPainter, width,
                             height, fillScheme, borderScheme, openSides, isContentAreaFilled,
                             isBorderPainted);
-                    regularBackgrounds.put(key, layer);
+                    regularBackgrounds.put(skin, key, layer);
                 }
                 g2d.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
             }
@@ -315,9 +316,6 @@ public class ButtonBackgroundDelegate {
         SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(button);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(button);
 
-        BufferedImage bgImage = getFullAlphaBackground(button, shaper,
-                fillPainter, borderPainter, width, height);
-
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) button.getUI();
         StateTransitionTracker stateTransitionTracker = transitionAwareUI.getTransitionTracker();
         StateTransitionTracker.ModelStateInfo modelStateInfo = stateTransitionTracker
@@ -325,6 +323,12 @@ public class ButtonBackgroundDelegate {
         Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = modelStateInfo
                 .getStateContributionMap();
 
+        // Rectangular shapes are rendered once per height and stretched to the button width
+        int renderWidth = canSlice(shaper, fillPainter, borderPainter)
+                ? NineSliceUtilities.getTemplateLength(width, height) : width;
+        BufferedImage bgImage = getFullAlphaBackground(button, modelStateInfo.getCurrModelState(),
+                activeStates, shaper, fillPainter, borderPainter, renderWidth, height);
+
         // Two special cases here:
         // 1. Button has flat appearance.
         // 2. Button is disabled.
@@ -357,11 +361,52 @@ public class ButtonBackgroundDelegate {
             graphics.setComposite(WidgetUtilities.getAlphaComposite(button, extraAlpha, g));
             graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            NeonCortex.drawImage(graphics, bgImage, 0, y);
+            NineSliceUtilities.paintHorizontallySliced(graphics, bgImage, renderWidth, 0, y,
+                    width, height);
             graphics.dispose();
         }
     }
 
+    /**
+     * Renders the background of the specified button in the specified state into the cache,
+     * without painting it. This can be called off the Event Dispatch Thread as long as the
+     * button is not changed at the same time.
+     *
+     * @param button Button.
+     * @param state  Button state to render.
+     * @param width  Button width.
+     * @param height Button height.
+     */
+    public static void prepareBackground(AbstractButton button, ComponentState state, int width,
+            int height) {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel()
+                || SubstanceCoreUtilities.isButtonNeverPainted(button)
+                || SubstanceCoreUtilities.isScrollButton(button)
+                || SubstanceCoreUtilities.isSpinnerButton(button)) {
+            return;
+        }
+
+        SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(button);
+        SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(button);
+        SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(button);
+        int renderWidth = canSlice(shaper, fillPainter, borderPainter)
+                ? NineSliceUtilities.getTemplateLength(width, height) : width;
+        getFullAlphaBackground(button, state, Collections.singletonMap(state,
+                new StateTransitionTracker.StateContributionInfo(1.0f, 1.0f)), shaper,
+                fillPainter, borderPainter, renderWidth, height);
+    }
+
+    /**
+     * Returns indication whether the button background painted with the specified shaper and
+     * painters can be rendered once per height and stretched to the button width. The corner
+     * radius of rectangular shapers does not depend on the button width.
+     */
+    private static boolean canSlice(SubstanceButtonShaper shaper,
+            SubstanceFillPainter fillPainter, SubstanceBorderPainter borderPainter) {
+        return (shaper instanceof RectangularButtonShaper)
+                && NineSliceUtilities.canSlice(fillPainter, borderPainter);
+    }
+
     /**
      * Returns <code>true</code> if the specified <i>x,y </i> location is contained within the look
      * and feel's defined shape of the specified component. <code>x</code> and <code>y</code> are
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceSlices.Side;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Key of {@link LazyResettableHashMap}. A key is created with {@link #of(Object...)} from the
+ * components that describe the cached value, in a fixed order for each cache. The hash code is
+ * computed once at construction, and {@link #equals(Object)} compares it before it compares
+ * any of the components. Components are compared with their <code>equals</code>
+ * implementations, so they should be strings, boxed primitives, enums, colors or identity
+ * references. Keys in static caches store class names rather than classes, so that they do not
+ * keep the class loaders of application components reachable, and store sets of sides as
+ * masks computed by {@link #toMask(Set)}.
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class CacheKey {
+    private final Object[] components;
+
+    private final int hash;
+
+    private CacheKey(Object[] components) {
+        this.components = components;
+        this.hash = Arrays.hashCode(components);
+    }
+
+    /**
+     * Creates a new key. All keys of the same cache should pass the same number of components,
+     * in the same order and of the same types.
+     *
+     * @param components Key components. Can contain <code>null</code> values.
+     * @return Key.
+     */
+    public static CacheKey of(Object... components) {
+        return new CacheKey(components);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey other = (CacheKey) obj;
+        return (this.hash == other.hash) && Arrays.equals(this.components, other.components);
+    }
+
+    /**
+     * Returns a bit mask that represents the specified sides, to be stored in place of the
+     * set itself.
+     *
+     * @param sides Sides. Can be <code>null</code>.
+     * @return Bit mask with one bit per side ordinal.
+     */
+    public static int toMask(Set<Side> sides) {
+        if ((sides == null) || sides.isEmpty()) {
+            return 0;
+        }
+        int result = 0;
+        for (Side side : sides) {
+            result |= (1 << side.ordinal());
+        }
+        return result;
+    }
+}
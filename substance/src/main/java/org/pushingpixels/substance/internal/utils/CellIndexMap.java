@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map keyed by primitive <code>long</code> values. Used to track per-cell
+ * state (selection, rollover, animation trackers) of lists, tables and tabs without allocating a
+ * key object on every lookup. Table cells are packed into a single key with
+ * {@link #key(int, int)}, list rows and tab indexes are used as keys directly.
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <V> Value type.
+ * @author Kirill Grouchnikov
+ */
+public final class CellIndexMap<V> {
+    /**
+     * Callback for iterating over the map entries.
+     *
+     * @param <V> Value type.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    /**
+     * Predicate for removing map entries.
+     *
+     * @param <V> Value type.
+     */
+    @FunctionalInterface
+    public interface EntryPredicate<V> {
+        boolean test(long key, V value);
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stored in place of <code>null</code> values, as empty slots have <code>null</code> values.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public CellIndexMap() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Packs the row and column indexes of a cell into a single key.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return Key for the specified cell.
+     */
+    public static long key(int row, int column) {
+        return (((long) row) << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the row index packed in the specified key.
+     *
+     * @param key Key created by {@link #key(int, int)}.
+     * @return Row index packed in the key.
+     */
+    public static int row(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Returns the column index packed in the specified key.
+     *
+     * @param key Key created by {@link #key(int, int)}.
+     * @return Column index packed in the key.
+     */
+    public static int column(long key) {
+        return (int) key;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static Object mask(Object value) {
+        return (value == null) ? NULL_VALUE : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return (value == NULL_VALUE) ? null : (V) value;
+    }
+
+    private int indexOf(long key) {
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return (this.size > 0) && (this.indexOf(key) >= 0);
+    }
+
+    public V get(long key) {
+        if (this.size == 0) {
+            return null;
+        }
+        int index = this.indexOf(key);
+        return (index < 0) ? null : unmask(this.values[index]);
+    }
+
+    /**
+     * Associates the specified value with the specified key.
+     *
+     * @param key   Key.
+     * @param value Value.
+     * @return The previous value associated with the key, or <code>null</code> if none.
+     */
+    public V put(long key, V value) {
+        if (2 * (this.size + 1) > this.keys.length) {
+            this.resize(2 * this.keys.length);
+        }
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                V old = unmask(this.values[index]);
+                this.values[index] = mask(value);
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = mask(value);
+        this.size++;
+        return null;
+    }
+
+    public V remove(long key) {
+        if (this.size == 0) {
+            return null;
+        }
+        int index = this.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V old = unmask(this.values[index]);
+        this.removeAt(index);
+        return old;
+    }
+
+    public void clear() {
+        if (this.size == 0) {
+            return;
+        }
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Calls the specified consumer for every entry in this map. The consumer must not modify
+     * this map.
+     *
+     * @param consumer Entry consumer.
+     */
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (this.size == 0) {
+            return;
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.values[i] != null) {
+                consumer.accept(this.keys[i], unmask(this.values[i]));
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries that match the specified predicate.
+     *
+     * @param predicate Entry predicate.
+     * @return <code>true</code> if any entries were removed.
+     */
+    public boolean removeIf(EntryPredicate<? super V> predicate) {
+        if (this.size == 0) {
+            return false;
+        }
+        // Collect the matching keys first, as removal shifts the following entries
+        long[] toRemove = null;
+        int count = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if ((this.values[i] != null) && predicate.test(this.keys[i], unmask(this.values[i]))) {
+                if (toRemove == null) {
+                    toRemove = new long[this.size];
+                }
+                toRemove[count++] = this.keys[i];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            this.remove(toRemove[i]);
+        }
+        return count > 0;
+    }
+
+    /**
+     * Removes the entry at the specified slot, shifting back the following entries of the same
+     * probe sequence so that lookups do not need tombstones.
+     */
+    private void removeAt(int index) {
+        int mask = this.keys.length - 1;
+        this.values[index] = null;
+        this.size--;
+        int gap = index;
+        int curr = (index + 1) & mask;
+        while (this.values[curr] != null) {
+            int ideal = hash(this.keys[curr]) & mask;
+            // Move the entry into the gap if its ideal slot is not in (gap, curr]
+            boolean canMove = (gap <= curr) ? ((ideal <= gap) || (ideal > curr))
+                    : ((ideal <= gap) && (ideal > curr));
+            if (canMove) {
+                this.keys[gap] = this.keys[curr];
+                this.values[gap] = this.values[curr];
+                this.values[curr] = null;
+                gap = curr;
+            }
+            curr = (curr + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (this.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+}
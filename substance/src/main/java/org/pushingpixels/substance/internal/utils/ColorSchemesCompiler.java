@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceSkin;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build-time compiler of <code>.colorschemes</code> resources. Every resource under the source
+ * folder is parsed and written to the target folder in the compiled format read by
+ * {@link SubstanceColorSchemeUtilities#getColorSchemes(ClassLoader, String)}, keeping its
+ * relative path. Parsing the resources at build time also fails the build on malformed color
+ * scheme definitions instead of failing at skin creation.
+ *
+ * <p>This class is <b>for internal use only</b>.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ColorSchemesCompiler {
+    private static final String COLOR_SCHEMES_SUFFIX = ".colorschemes";
+
+    /**
+     * Compiles all color scheme resources under the source folder.
+     *
+     * @param args Source folder with <code>.colorschemes</code> resources and target folder
+     *             for the compiled resources.
+     * @throws IOException If a resource could not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ColorSchemesCompiler <source folder> <target folder>");
+            System.exit(1);
+        }
+        Path sourceFolder = Paths.get(args[0]);
+        Path targetFolder = Paths.get(args[1]);
+
+        List<Path> sources;
+        try (Stream<Path> paths = Files.walk(sourceFolder)) {
+            sources = paths.filter(path -> path.toString().endsWith(COLOR_SCHEMES_SUFFIX))
+                    .sorted().collect(Collectors.toList());
+        }
+        for (Path source : sources) {
+            Path target = targetFolder.resolve(sourceFolder.relativize(source).toString()
+                    + SubstanceColorSchemeUtilities.COMPILED_COLOR_SCHEMES_SUFFIX);
+            compile(source, target);
+        }
+        System.out.println("Compiled " + sources.size() + " color scheme resource(s) into "
+                + targetFolder);
+    }
+
+    private static void compile(Path source, Path target) throws IOException {
+        SubstanceSkin.ColorSchemes colorSchemes;
+        try (InputStream inputStream = Files.newInputStream(source)) {
+            colorSchemes = SubstanceColorSchemeUtilities.getColorSchemes(inputStream);
+        } catch (IllegalArgumentException iae) {
+            throw new IOException("Can't compile " + source, iae);
+        }
+        Files.createDirectories(target.getParent());
+        try (OutputStream outputStream = new BufferedOutputStream(
+                Files.newOutputStream(target))) {
+            SubstanceColorSchemeUtilities.writeCompiledColorSchemes(colorSchemes, outputStream);
+        }
+    }
+}
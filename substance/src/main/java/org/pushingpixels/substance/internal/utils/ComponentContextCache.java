@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceSkin;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the decoration area type and the skin resolved for each component, so that repeated
+ * lookups during painting do not walk the component hierarchy every time. A cached value is
+ * dropped when:
+ *
+ * <ul>
+ * <li>The component or one of its ancestors is moved to another parent. This is tracked with a
+ * {@link HierarchyListener} installed on each component that has a cached context.</li>
+ * <li>{@link #invalidateAll()} is called. This is done on changes to the decoration area type,
+ * popup invoker link and root pane skin properties, and on global skin changes. These are rare
+ * in the steady state, so they drop all cached values.</li>
+ * <li>The value was resolved through another component, such as the invoker of a popup menu,
+ * and the cached value of that component was dropped.</li>
+ * </ul>
+ *
+ * <p>This class is <b>for internal use only</b>.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class ComponentContextCache {
+    /**
+     * Guards all the cached state. Lookups are done mostly on the Event Dispatch Thread, but
+     * can also be done when painting offscreen on other threads.
+     */
+    private static final Object LOCK = new Object();
+
+    private static final Map<Component, Context> contexts = new WeakHashMap<>();
+
+    /**
+     * Incremented on every {@link #invalidateAll()} call. Contexts created with an older
+     * generation are stale.
+     */
+    private static long generation;
+
+    private static final HierarchyListener hierarchyListener = (HierarchyEvent e) -> {
+        if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+            invalidate(e.getComponent());
+        }
+    };
+
+    /**
+     * Resolved context of a single component.
+     */
+    public static final class Context {
+        private final long generation;
+        private boolean invalidated;
+
+        private DecorationAreaType decorationType;
+        private Context decorationTypeSource;
+
+        private SubstanceSkin skin;
+        private Context skinSource;
+
+        private Context(long generation) {
+            this.generation = generation;
+        }
+
+        private boolean isValid() {
+            return !this.invalidated && (this.generation == ComponentContextCache.generation);
+        }
+
+        private boolean hasValidDecorationType() {
+            return this.isValid() && (this.decorationType != null)
+                    && ((this.decorationTypeSource == null)
+                    || this.decorationTypeSource.hasValidDecorationType());
+        }
+
+        private boolean hasValidSkin() {
+            return this.isValid() && (this.skin != null)
+                    && ((this.skinSource == null) || this.skinSource.hasValidSkin());
+        }
+
+        /**
+         * Returns the cached decoration area type.
+         *
+         * @return The cached decoration area type, or <code>null</code> if it has not been
+         * resolved or is no longer valid.
+         */
+        public DecorationAreaType getDecorationType() {
+            synchronized (LOCK) {
+                return this.hasValidDecorationType() ? this.decorationType : null;
+            }
+        }
+
+        /**
+         * Caches the resolved decoration area type.
+         *
+         * @param decorationType Resolved decoration area type.
+         * @param source         Context of the component the decoration area type was resolved
+         *                       through, such as a popup invoker. Can be <code>null</code>.
+         */
+        public void setDecorationType(DecorationAreaType decorationType, Context source) {
+            synchronized (LOCK) {
+                this.decorationType = decorationType;
+                this.decorationTypeSource = source;
+            }
+        }
+
+        /**
+         * Returns the cached skin.
+         *
+         * @return The cached skin, or <code>null</code> if it has not been resolved or is no
+         * longer valid.
+         */
+        public SubstanceSkin getSkin() {
+            synchronized (LOCK) {
+                return this.hasValidSkin() ? this.skin : null;
+            }
+        }
+
+        /**
+         * Caches the resolved skin.
+         *
+         * @param skin   Resolved skin.
+         * @param source Context of the component the skin was resolved through, such as the
+         *               combobox of a combobox popup. Can be <code>null</code>.
+         */
+        public void setSkin(SubstanceSkin skin, Context source) {
+            synchronized (LOCK) {
+                this.skin = skin;
+                this.skinSource = source;
+            }
+        }
+    }
+
+    private ComponentContextCache() {
+    }
+
+    /**
+     * Returns the cached context of the specified component. If the component does not have a
+     * valid context, a new empty one is created.
+     *
+     * @param c Component.
+     * @return The cached context of the component, or <code>null</code> if the component is
+     * <code>null</code>.
+     */
+    public static Context getContext(Component c) {
+        if (c == null) {
+            return null;
+        }
+        boolean isNew;
+        Context context;
+        synchronized (LOCK) {
+            context = contexts.get(c);
+            if ((context != null) && context.isValid()) {
+                return context;
+            }
+            isNew = (context == null);
+            context = new Context(generation);
+            contexts.put(c, context);
+        }
+        if (isNew) {
+            // The listener stays installed once the component has a context, and the stale
+            // contexts are replaced in place
+            c.addHierarchyListener(hierarchyListener);
+        }
+        return context;
+    }
+
+    private static void invalidate(Component c) {
+        synchronized (LOCK) {
+            Context context = contexts.get(c);
+            if (context != null) {
+                context.invalidated = true;
+            }
+        }
+    }
+
+    /**
+     * Drops the cached contexts of the specified component and all its descendants. Contexts
+     * that were resolved through one of these components are dropped as well.
+     *
+     * @param c Root of the component subtree.
+     */
+    public static void invalidateSubtree(Component c) {
+        synchronized (LOCK) {
+            invalidateSubtreeLocked(c);
+        }
+    }
+
+    private static void invalidateSubtreeLocked(Component c) {
+        Context context = contexts.get(c);
+        if (context != null) {
+            context.invalidated = true;
+        }
+        if (c instanceof Container) {
+            for (Component child : ((Container) c).getComponents()) {
+                invalidateSubtreeLocked(child);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached contexts. Call this after changing a property that affects the resolved
+     * context of components, such as the decoration area type or the root pane skin.
+     */
+    public static void invalidateAll() {
+        synchronized (LOCK) {
+            generation++;
+        }
+    }
+
+    /**
+     * Drops all cached contexts and removes the hierarchy listeners from the components. Call
+     * this when Substance is no longer the current look-and-feel.
+     */
+    public static void clear() {
+        Component[] components;
+        synchronized (LOCK) {
+            generation++;
+            components = contexts.keySet().toArray(new Component[0]);
+            contexts.clear();
+        }
+        for (Component component : components) {
+            if (component != null) {
+                component.removeHierarchyListener(hierarchyListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceCacheStatistics;
+import org.pushingpixels.substance.api.SubstanceSkin;
+
+import javax.management.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Central manager of all {@link LazyResettableHashMap} render caches. All caches share a single
+ * memory budget, and the entries are evicted in an approximate segmented least-recently-used
+ * order. New entries go into the probation segment, and are promoted to the protected segment
+ * if they have been used by the time they reach the end of the probation segment. Entries that
+ * are used once (such as images rendered during a resize) are evicted before the entries that
+ * are used over and over.
+ *
+ * <p>Lookups do not take any lock. A cache hit only marks its entry as accessed, and the
+ * segments are reordered when entries are added and the budget is exceeded.</p>
+ *
+ * <p>Entries are grouped in partitions - one for each skin, one shared partition for entries
+ * that do not depend on the skin, and one retained partition for entries that do not depend on
+ * any global setting. A partition can be invalidated on its own when the matching skin is no
+ * longer in use. Skin partitions do not keep their skins alive.</p>
+ *
+ * <p>This class is <b>for internal use only</b>.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ImageCacheManager implements ImageCacheManagerMXBean {
+    /**
+     * Default memory budget of 64MB.
+     */
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * Estimated size of cached entries that are not images, such as shapes and color schemes.
+     */
+    private static final long NOMINAL_ENTRY_WEIGHT = 256;
+
+    /**
+     * Partition key for entries that do not depend on the skin.
+     */
+    static final Object SHARED_PARTITION = new Object();
+
+    /**
+     * Partition key for entries that depend neither on the skin nor on any other global
+     * setting. These entries are kept when the skin changes, and are only removed when the
+     * budget is exceeded or all caches are cleared.
+     */
+    static final Object RETAINED_PARTITION = new Object();
+
+    /**
+     * Name of the registered management bean.
+     */
+    private static final String OBJECT_NAME = "org.pushingpixels.substance:type=ImageCache";
+
+    private static final SkinPartition[] NO_SKIN_PARTITIONS = new SkinPartition[0];
+
+    /**
+     * A single instance of <code>this</code> manager.
+     */
+    private static ImageCacheManager instance = new ImageCacheManager();
+
+    /**
+     * A single cache entry. Each entry is linked into either the probation or the protected
+     * segment.
+     */
+    static final class Node {
+        final LazyResettableHashMap<?> owner;
+        final Object partition;
+        final CacheKey key;
+        final Object value;
+        final long weight;
+
+        /**
+         * Set on every cache hit without locking, and cleared when the entry is promoted to
+         * the protected segment.
+         */
+        volatile boolean isAccessed;
+
+        boolean isProtected;
+        Node prev;
+        Node next;
+
+        private Node(LazyResettableHashMap<?> owner, Object partition, CacheKey key,
+                Object value, long weight) {
+            this.owner = owner;
+            this.partition = partition;
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Counters of a single cache family.
+     */
+    static final class Stats {
+        private final String name;
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private long evictionCount;
+        private int entryCount;
+        private long byteSize;
+
+        private Stats(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Partition key for the entries of a single skin. Compares by identity, and does not keep
+     * the skin alive.
+     */
+    private static final class SkinPartition extends WeakReference<SubstanceSkin> {
+        private SkinPartition(SubstanceSkin skin) {
+            super(skin);
+        }
+    }
+
+    /**
+     * Sentinel of the probation segment. The most recently added entry is right after the
+     * sentinel, and the next entry to be evicted is right before it.
+     */
+    private final Node probation;
+
+    /**
+     * Sentinel of the protected segment.
+     */
+    private final Node protectedSegment;
+
+    /**
+     * Counters of each cache family, keyed by family name.
+     */
+    private final Map<String, Stats> stats;
+
+    /**
+     * Partitions of the skins that have cached entries. Replaced on every change, so that it
+     * can be scanned without locking.
+     */
+    private volatile SkinPartition[] skinPartitions;
+
+    private long budget;
+    private long byteSize;
+    private long protectedByteSize;
+    private int entryCount;
+
+    /**
+     * Returns the single instance of <code>this</code> class.
+     *
+     * @return The single instance of <code>this</code> class.
+     */
+    public static ImageCacheManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Simple constructor.
+     */
+    private ImageCacheManager() {
+        this.probation = createSentinel();
+        this.protectedSegment = createSentinel();
+        this.stats = new TreeMap<>();
+        this.skinPartitions = NO_SKIN_PARTITIONS;
+        this.budget = DEFAULT_BUDGET;
+    }
+
+    private static Node createSentinel() {
+        Node sentinel = new Node(null, null, null, null, 0);
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    /**
+     * Returns the counters for the specified cache family, creating them if necessary.
+     *
+     * @param name Cache family name.
+     * @return Counters for the specified cache family.
+     */
+    synchronized Stats getStats(String name) {
+        return this.stats.computeIfAbsent(name, Stats::new);
+    }
+
+    /**
+     * Returns the partition for the entries that were rendered for the specified skin.
+     *
+     * @param skin Skin. Can be <code>null</code>.
+     * @return Partition for the entries of the specified skin, or the shared partition if the
+     * skin is <code>null</code>.
+     */
+    Object getPartition(SubstanceSkin skin) {
+        if (skin == null) {
+            return SHARED_PARTITION;
+        }
+        for (SkinPartition partition : this.skinPartitions) {
+            if (partition.get() == skin) {
+                return partition;
+            }
+        }
+        return this.addSkinPartition(skin);
+    }
+
+    private synchronized SkinPartition addSkinPartition(SubstanceSkin skin) {
+        List<SkinPartition> live = new ArrayList<>(this.skinPartitions.length + 1);
+        for (SkinPartition partition : this.skinPartitions) {
+            SubstanceSkin partitionSkin = partition.get();
+            if (partitionSkin == skin) {
+                // Added by another thread
+                return partition;
+            }
+            if (partitionSkin == null) {
+                // The skin is gone, and its entries can not be looked up any more
+                this.invalidatePartition(this.probation, partition);
+                this.invalidatePartition(this.protectedSegment, partition);
+            } else {
+                live.add(partition);
+            }
+        }
+        SkinPartition result = new SkinPartition(skin);
+        live.add(result);
+        this.skinPartitions = live.toArray(NO_SKIN_PARTITIONS);
+        return result;
+    }
+
+    /**
+     * Returns the value registered in the specified cache and partition for the specified key.
+     * Does not take any lock.
+     *
+     * @param owner     Cache.
+     * @param partition Partition.
+     * @param key       Key.
+     * @return Registered value or <code>null</code> if none.
+     */
+    Object get(LazyResettableHashMap<?> owner, Object partition, CacheKey key) {
+        Map<CacheKey, Node> entries = owner.partitions.get(partition);
+        Node node = (entries == null) ? null : entries.get(key);
+        if (node == null) {
+            owner.stats.missCount.increment();
+            return null;
+        }
+        owner.stats.hitCount.increment();
+        if (!node.isAccessed) {
+            node.isAccessed = true;
+        }
+        return node.value;
+    }
+
+    /**
+     * Registers the value in the specified cache and partition for the specified key.
+     *
+     * @param owner     Cache.
+     * @param partition Partition.
+     * @param key       Key.
+     * @param value     Value.
+     */
+    synchronized void put(LazyResettableHashMap<?> owner, Object partition, CacheKey key,
+            Object value) {
+        Map<CacheKey, Node> entries = owner.partitions.get(partition);
+        if (entries != null) {
+            Node existing = entries.remove(key);
+            if (existing != null) {
+                remove(existing);
+            }
+        }
+        long weight = getWeight(value);
+        if (weight > this.budget) {
+            // Never cache an entry that would flush everything else
+            return;
+        }
+        if (entries == null) {
+            entries = new ConcurrentHashMap<>();
+            owner.partitions.put(partition, entries);
+        }
+        Node node = new Node(owner, partition, key, value, weight);
+        entries.put(key, node);
+        linkFirst(this.probation, node);
+        this.byteSize += weight;
+        this.entryCount++;
+        owner.stats.byteSize += weight;
+        owner.stats.entryCount++;
+        this.evictIfNecessary();
+    }
+
+    /**
+     * Removes all the entries of the specified cache.
+     *
+     * @param owner Cache.
+     */
+    synchronized void clear(LazyResettableHashMap<?> owner) {
+        for (Map<CacheKey, Node> entries : owner.partitions.values()) {
+            for (Node node : entries.values()) {
+                remove(node);
+            }
+        }
+        owner.partitions.clear();
+    }
+
+    /**
+     * Returns the number of entries in the specified cache.
+     *
+     * @param owner Cache.
+     * @return Number of entries in the specified cache.
+     */
+    synchronized int size(LazyResettableHashMap<?> owner) {
+        int result = 0;
+        for (Map<CacheKey, Node> entries : owner.partitions.values()) {
+            result += entries.size();
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the entries of the specified partition from all caches.
+     *
+     * @param partition Partition. Pass a skin to remove the entries that were rendered for that
+     *                  skin.
+     */
+    public synchronized void invalidatePartition(Object partition) {
+        Object target = partition;
+        if (partition == null) {
+            target = SHARED_PARTITION;
+        } else if (partition instanceof SubstanceSkin) {
+            target = null;
+            List<SkinPartition> remaining = new ArrayList<>(this.skinPartitions.length);
+            for (SkinPartition skinPartition : this.skinPartitions) {
+                if (skinPartition.get() == partition) {
+                    target = skinPartition;
+                } else {
+                    remaining.add(skinPartition);
+                }
+            }
+            if (target == null) {
+                // Nothing has been cached for this skin
+                return;
+            }
+            this.skinPartitions = remaining.toArray(NO_SKIN_PARTITIONS);
+        }
+        this.invalidatePartition(this.probation, target);
+        this.invalidatePartition(this.protectedSegment, target);
+    }
+
+    private void invalidatePartition(Node sentinel, Object partition) {
+        Node node = sentinel.next;
+        while (node != sentinel) {
+            Node next = node.next;
+            if (node.partition == partition) {
+                removeFromOwner(node);
+                remove(node);
+            }
+            node = next;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.clear(this.probation);
+        this.clear(this.protectedSegment);
+        this.skinPartitions = NO_SKIN_PARTITIONS;
+    }
+
+    private void clear(Node sentinel) {
+        Node node = sentinel.next;
+        while (node != sentinel) {
+            Node next = node.next;
+            node.owner.partitions.clear();
+            remove(node);
+            node = next;
+        }
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        for (Stats familyStats : this.stats.values()) {
+            familyStats.hitCount.reset();
+            familyStats.missCount.reset();
+            familyStats.evictionCount = 0;
+        }
+    }
+
+    @Override
+    public synchronized long getBudget() {
+        return this.budget;
+    }
+
+    @Override
+    public synchronized void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Cache budget cannot be negative");
+        }
+        this.budget = budget;
+        this.evictIfNecessary();
+    }
+
+    @Override
+    public synchronized long getByteSize() {
+        return this.byteSize;
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return this.entryCount;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        long result = 0;
+        for (Stats familyStats : this.stats.values()) {
+            result += familyStats.hitCount.sum();
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        long result = 0;
+        for (Stats familyStats : this.stats.values()) {
+            result += familyStats.missCount.sum();
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        long result = 0;
+        for (Stats familyStats : this.stats.values()) {
+            result += familyStats.evictionCount;
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized double getHitRate() {
+        long hitCount = this.getHitCount();
+        long lookupCount = hitCount + this.getMissCount();
+        return (lookupCount == 0) ? 0.0 : ((double) hitCount / lookupCount);
+    }
+
+    @Override
+    public synchronized List<SubstanceCacheStatistics> getCacheStatistics() {
+        List<SubstanceCacheStatistics> result = new ArrayList<>(this.stats.size());
+        for (Stats familyStats : this.stats.values()) {
+            result.add(new SubstanceCacheStatistics(familyStats.name, familyStats.entryCount,
+                    familyStats.byteSize, familyStats.hitCount.sum(),
+                    familyStats.missCount.sum(), familyStats.evictionCount));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Registers this manager with the platform MBean server. Does nothing if the manager is
+     * already registered or if the MBean server is not available.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException exc) {
+            // management is not available in this environment
+        }
+    }
+
+    /**
+     * Unregisters this manager from the platform MBean server.
+     */
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException | SecurityException exc) {
+            // management is not available in this environment
+        }
+    }
+
+    /**
+     * Evicts entries until the caches fit in the budget. Entries at the end of the probation
+     * segment that have been used since they were added are promoted to the protected segment
+     * instead, and the least recently promoted entries are demoted back once the protected
+     * segment takes more than its share of the budget. Probation entries go first.
+     */
+    private void evictIfNecessary() {
+        // Bounds the promotions, as concurrent cache hits can keep marking the entries
+        int promotionsLeft = this.entryCount;
+        while (this.byteSize > this.budget) {
+            Node victim = this.probation.prev;
+            if (victim == this.probation) {
+                victim = this.protectedSegment.prev;
+                if (victim == this.protectedSegment) {
+                    return;
+                }
+            } else if (victim.isAccessed && (promotionsLeft-- > 0)) {
+                this.promote(victim);
+                continue;
+            }
+            victim.owner.stats.evictionCount++;
+            removeFromOwner(victim);
+            remove(victim);
+        }
+    }
+
+    private void promote(Node node) {
+        unlink(node);
+        node.isAccessed = false;
+        node.isProtected = true;
+        this.protectedByteSize += node.weight;
+        linkFirst(this.protectedSegment, node);
+        long protectedBudget = this.budget - this.budget / 5;
+        while ((this.protectedByteSize > protectedBudget)
+                && (this.protectedSegment.prev != node)) {
+            Node demoted = this.protectedSegment.prev;
+            unlink(demoted);
+            demoted.isProtected = false;
+            this.protectedByteSize -= demoted.weight;
+            linkFirst(this.probation, demoted);
+        }
+    }
+
+    private void removeFromOwner(Node node) {
+        Map<CacheKey, Node> entries = node.owner.partitions.get(node.partition);
+        if (entries != null) {
+            entries.remove(node.key);
+            if (entries.isEmpty()) {
+                node.owner.partitions.remove(node.partition);
+            }
+        }
+    }
+
+    /**
+     * Unlinks the entry from its segment and updates the counters. Does not remove the entry
+     * from its owner.
+     */
+    private void remove(Node node) {
+        unlink(node);
+        this.byteSize -= node.weight;
+        this.entryCount--;
+        if (node.isProtected) {
+            this.protectedByteSize -= node.weight;
+        }
+        node.owner.stats.byteSize -= node.weight;
+        node.owner.stats.entryCount--;
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static void linkFirst(Node sentinel, Node node) {
+        node.prev = sentinel;
+        node.next = sentinel.next;
+        sentinel.next.prev = node;
+        sentinel.next = node;
+    }
+
+    /**
+     * Returns the estimated size of the specified value. Images are weighed by their pixel
+     * data.
+     */
+    private static long getWeight(Object value) {
+        if (value instanceof ImageWrapperIcon) {
+            value = ((ImageWrapperIcon) value).getImageSource();
+        }
+        if (value instanceof BufferedImage) {
+            BufferedImage image = (BufferedImage) value;
+            int bytesPerPixel = (image.getColorModel().getPixelSize() + 7) / 8;
+            return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+        }
+        return NOMINAL_ENTRY_WEIGHT;
+    }
+}
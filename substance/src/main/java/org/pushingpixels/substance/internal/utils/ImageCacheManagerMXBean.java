@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceCacheStatistics;
+
+import java.util.List;
+
+/**
+ * Management interface of the {@link ImageCacheManager}. This interface is <b>for internal use
+ * only</b>.
+ *
+ * @author Kirill Grouchnikov
+ */
+public interface ImageCacheManagerMXBean {
+    /**
+     * Returns the memory budget shared by all render caches.
+     *
+     * @return Memory budget in bytes.
+     */
+    long getBudget();
+
+    /**
+     * Sets the memory budget shared by all render caches. Entries are evicted right away if the
+     * caches are over the new budget.
+     *
+     * @param budget Memory budget in bytes.
+     */
+    void setBudget(long budget);
+
+    /**
+     * Returns the estimated size of all cached entries.
+     *
+     * @return Estimated size of all cached entries in bytes.
+     */
+    long getByteSize();
+
+    /**
+     * Returns the number of all cached entries.
+     *
+     * @return Number of all cached entries.
+     */
+    int getEntryCount();
+
+    /**
+     * Returns the number of lookups that found a cached entry, across all caches.
+     *
+     * @return Number of lookups that found a cached entry.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that did not find a cached entry, across all caches.
+     *
+     * @return Number of lookups that did not find a cached entry.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of entries evicted to stay within the budget, across all caches.
+     *
+     * @return Number of evicted entries.
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the fraction of lookups that found a cached entry, across all caches.
+     *
+     * @return Hit rate in the 0.0-1.0 range.
+     */
+    double getHitRate();
+
+    /**
+     * Returns the statistics of each cache family, sorted by name.
+     *
+     * @return Statistics of each cache family.
+     */
+    List<SubstanceCacheStatistics> getCacheStatistics();
+
+    /**
+     * Removes all cached entries.
+     */
+    void clear();
+
+    /**
+     * Resets the hit, miss and eviction counters of all caches.
+     */
+    void resetStatistics();
+}
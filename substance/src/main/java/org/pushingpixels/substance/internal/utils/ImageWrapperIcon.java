@@ -95,4 +95,8 @@ public class ImageWrapperIcon implements ResizableIcon, UIResource {
     public int getIconHeight() {
         return this.height;
     }
+
+    BufferedImage getImageSource() {
+        return this.imageSource;
+    }
 }
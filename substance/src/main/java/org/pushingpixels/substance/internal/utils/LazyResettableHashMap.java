@@ -29,63 +29,74 @@
  */
 package org.pushingpixels.substance.internal.utils;
 
-import java.util.LinkedList;
-import java.util.List;
+import org.pushingpixels.substance.api.SubstanceSkin;
+
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Lazily initialized hash map for caching images.
+ * Lazily initialized hash map for caching images. All maps share the memory budget of the
+ * {@link ImageCacheManager}, and the least recently used entries are evicted once the budget is
+ * exceeded.
  *
  * @param <T> Class for the stored values.
  * @author Kirill Grouchnikov
  */
 public class LazyResettableHashMap<T> {
     /**
-     * List of all existing maps.
+     * Entries of this map, keyed by partition. Managed by the {@link ImageCacheManager}, and
+     * read without locking.
      */
-    private static List<LazyResettableHashMap<?>> all;
+    final Map<Object, Map<CacheKey, ImageCacheManager.Node>> partitions;
 
     /**
-     * The delegate cache.
+     * Counters shared by all maps with the same display name.
      */
-    private Map<HashMapKey, T> cache;
+    final ImageCacheManager.Stats stats;
 
     /**
-     * Display name of this hash map. Is used for tracking the statistics.
+     * Creates a new hash map.
+     *
+     * @param displayName Display name of the new hash map. Is used for tracking the statistics.
      */
-    private String displayName;
+    public LazyResettableHashMap(String displayName) {
+        this.partitions = new ConcurrentHashMap<>();
+        this.stats = ImageCacheManager.getInstance().getStats(displayName);
+    }
 
     /**
-     * Creates a new hash map.
+     * Puts a new key-value pair in the map. The entry is treated as not depending on the
+     * current skin.
      *
-     * @param displayName Display name of the new hash map.
+     * @param key   Pair key.
+     * @param entry Pair value.
      */
-    public LazyResettableHashMap(String displayName) {
-        this.displayName = displayName;
-        if (all == null) {
-            all = new LinkedList<>();
-        }
-        all.add(this);
+    public void put(CacheKey key, T entry) {
+        ImageCacheManager.getInstance().put(this, ImageCacheManager.SHARED_PARTITION, key, entry);
     }
 
     /**
-     * Creates the delegate cache if necessary.
+     * Puts a new key-value pair in the partition of the specified skin.
+     *
+     * @param skin  Skin that was used to create the value.
+     * @param key   Pair key.
+     * @param entry Pair value.
      */
-    private void createIfNecessary() {
-        if (this.cache == null)
-            this.cache = new SoftHashMap<>();
+    public void put(SubstanceSkin skin, CacheKey key, T entry) {
+        ImageCacheManager.getInstance().put(this, getPartition(skin), key, entry);
     }
 
     /**
-     * Puts a new key-value pair in the map.
+     * Puts a new key-value pair in the map. The entry is treated as depending only on its key,
+     * and is kept when the skin changes. Use this only for values that are fully described by
+     * the key, such as images that are computed from colors and sizes.
      *
      * @param key   Pair key.
      * @param entry Pair value.
      */
-    public synchronized void put(HashMapKey key, T entry) {
-        this.createIfNecessary();
-        this.cache.put(key, entry);
+    public void putRetained(CacheKey key, T entry) {
+        ImageCacheManager.getInstance().put(this, ImageCacheManager.RETAINED_PARTITION, key,
+                entry);
     }
 
     /**
@@ -94,24 +105,39 @@ public class LazyResettableHashMap<T> {
      * @param key Key.
      * @return Registered value or <code>null</code> if none.
      */
-    public synchronized T get(HashMapKey key) {
-        if (this.cache == null)
-            return null;
-        return this.cache.get(key);
+    public T get(CacheKey key) {
+        return this.get(ImageCacheManager.SHARED_PARTITION, key);
+    }
+
+    /**
+     * Returns the value registered for the specified key in the partition of the specified
+     * skin.
+     *
+     * @param skin Skin that was used to create the value.
+     * @param key  Key.
+     * @return Registered value or <code>null</code> if none.
+     */
+    public T get(SubstanceSkin skin, CacheKey key) {
+        return this.get(getPartition(skin), key);
     }
 
     /**
-     * Checks whether there is a value associated with the specified key.
+     * Returns the value registered for the specified key with {@link #putRetained}.
      *
      * @param key Key.
-     * @return <code>true</code> if there is an associated value,
-     * <code>false</code> otherwise.
+     * @return Registered value or <code>null</code> if none.
      */
-    public boolean containsKey(HashMapKey key) {
-        if (this.cache == null) {
-            return false;
-        }
-        return this.cache.containsKey(key);
+    public T getRetained(CacheKey key) {
+        return this.get(ImageCacheManager.RETAINED_PARTITION, key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(Object partition, CacheKey key) {
+        return (T) ImageCacheManager.getInstance().get(this, partition, key);
+    }
+
+    private static Object getPartition(SubstanceSkin skin) {
+        return ImageCacheManager.getInstance().getPartition(skin);
     }
 
     /**
@@ -120,55 +146,20 @@ public class LazyResettableHashMap<T> {
      * @return The number of key-value pairs of this hash map.
      */
     public int size() {
-        if (this.cache == null) {
-            return 0;
-        }
-        return this.cache.size();
+        return ImageCacheManager.getInstance().size(this);
     }
 
     /**
-     * Resets all existing hash maps.
+     * Removes all the key-value pairs of this hash map.
      */
-    public static void reset() {
-        if (all != null) {
-            for (LazyResettableHashMap<?> map : all) {
-                if (map.cache != null) {
-                    map.cache.clear();
-                }
-            }
-        }
+    public void clear() {
+        ImageCacheManager.getInstance().clear(this);
     }
 
     /**
-     * Returns statistical information of the existing hash maps.
-     *
-     * @return Statistical information of the existing hash maps.
+     * Resets all existing hash maps.
      */
-    public static List<String> getStats() {
-        if (all != null) {
-            List<String> result = new LinkedList<>();
-
-            Map<String, Integer> mapCounter = new TreeMap<>();
-            Map<String, Integer> entryCounter = new TreeMap<>();
-
-            for (LazyResettableHashMap<?> map : all) {
-                String key = map.displayName;
-                if (!mapCounter.containsKey(key)) {
-                    mapCounter.put(key, 0);
-                    entryCounter.put(key, 0);
-                }
-                mapCounter.put(key, mapCounter.get(key) + 1);
-                entryCounter.put(key, entryCounter.get(key) + map.size());
-            }
-
-            for (Map.Entry<String, Integer> entry : mapCounter.entrySet()) {
-                String key = entry.getKey();
-                result.add(entry.getValue() + " " + key + " with "
-                        + entryCounter.get(key) + " entries total");
-            }
-
-            return result;
-        }
-        return null;
+    public static void reset() {
+        ImageCacheManager.getInstance().clear();
     }
 }
@@ -29,6 +29,9 @@
  */
 package org.pushingpixels.substance.internal.utils;
 
+import org.pushingpixels.substance.api.SubstanceCacheStatistics;
+import org.pushingpixels.substance.api.SubstanceCortex;
+
 import javax.swing.*;
 import java.awt.*;
 import java.io.BufferedWriter;
@@ -230,11 +233,8 @@ public class MemoryAnalyzer extends TrackableThread {
 			// gather statistics and print them to file
 			try (BufferedWriter bw = new BufferedWriter(new FileWriter(new File(this.filename), true))) {
 				bw.write(sdf.format(new Date()) + "\n");
-				java.util.List<String> stats = LazyResettableHashMap.getStats();
-				if (stats != null) {
-					for (String stat : stats) {
-						bw.write(stat + "\n");
-					}
+				for (SubstanceCacheStatistics stat : SubstanceCortex.GlobalScope.getCacheStatistics()) {
+					bw.write(stat + "\n");
 				}
 				ArrayList<String> usages = getUsages();
 				for (String usage : usages) {
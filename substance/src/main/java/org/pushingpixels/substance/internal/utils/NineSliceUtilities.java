@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
+import org.pushingpixels.substance.api.painter.fill.SubstanceFillPainter;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Utilities for nine-slice rendering of control backgrounds. A background is rendered once into
+ * a small template image. The corners and edges of the template are drawn as is, and the center
+ * is stretched to fill the requested size. Cached backgrounds then depend only on the template
+ * size and not on the control size, so resizing a control does not create new images.
+ *
+ * <p>Stretching is exact only for backgrounds that do not change along the stretched axis away
+ * from the edges. The core fill and border painters use gradients across the control thickness,
+ * and the corner radius of the core shapers does not depend on the control length once it is
+ * larger than the thickness. Callers should not slice backgrounds that do not follow these
+ * rules, and should check the painters with {@link #canSlice(SubstanceFillPainter,
+ * SubstanceBorderPainter)} before slicing.</p>
+ *
+ * <p>This class is <b>for internal use only</b>.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class NineSliceUtilities {
+    /**
+     * Length of the stretched center slice of a template, in logical pixels.
+     */
+    private static final int CENTER_LENGTH = 2;
+
+    /**
+     * Maximum number of extra logical pixels added to a template to align it with the device
+     * pixel grid.
+     */
+    private static final int MAX_PHASE_STEPS = 8;
+
+    /**
+     * Returns indication whether backgrounds painted by the specified painters can be sliced.
+     * Painters declare this with {@link SubstanceFillPainter#isSliceable()} and
+     * {@link SubstanceBorderPainter#isSliceable()}. Painters that do not, including
+     * application subclasses of the core painters, may paint content that changes along the
+     * control length, and their backgrounds should be rendered at full size.
+     *
+     * @param fillPainter   Fill painter. Can be <code>null</code> if the background is not
+     *                      filled.
+     * @param borderPainter Border painter. Can be <code>null</code> if the background has no
+     *                      border.
+     * @return <code>true</code> if the background can be sliced.
+     */
+    public static boolean canSlice(SubstanceFillPainter fillPainter,
+            SubstanceBorderPainter borderPainter) {
+        return ((fillPainter == null) || fillPainter.isSliceable())
+                && ((borderPainter == null) || borderPainter.isSliceable());
+    }
+
+    /**
+     * Returns the length of the template image to render for a background that is sliced along
+     * one axis. Each edge is at least as long as the background is thick, which covers the
+     * rounded corners and any blur along the outline. Under fractional scale factors the
+     * template is made slightly longer so that the stretched part is a whole number of device
+     * pixels, and the far edge is rendered at the same sub-pixel offset as in a full-size
+     * image.
+     *
+     * @param length    Background size along the sliced axis.
+     * @param thickness Background size along the other axis.
+     * @return Length of the template image. This is the original length if the background is
+     * too short to gain from slicing.
+     */
+    public static int getTemplateLength(int length, int thickness) {
+        double scaleFactor = NeonCortex.getScaleFactor();
+        int minTemplateLength = 2 * thickness + CENTER_LENGTH;
+        int maxTemplateLength = Math.min(length - 1, minTemplateLength + MAX_PHASE_STEPS);
+        for (int templateLength = minTemplateLength; templateLength <= maxTemplateLength;
+                templateLength++) {
+            double stretch = (length - templateLength) * scaleFactor;
+            if (Math.abs(stretch - Math.rint(stretch)) < 1.0e-6) {
+                return templateLength;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Paints the template image stretched horizontally to the specified size. The left and right
+     * edges of the template are painted as is, and the center is stretched.
+     *
+     * @param g             Graphics context.
+     * @param template      Template image created with
+     *                      {@link SubstanceCoreUtilities#getBlankImage(int, int)}.
+     * @param templateWidth Width of the template image in logical pixels, as returned by
+     *                      {@link #getTemplateLength(int, int)}.
+     * @param x             Horizontal location.
+     * @param y             Vertical location.
+     * @param width         Width to fill.
+     * @param height        Height to fill.
+     */
+    public static void paintHorizontallySliced(Graphics g, BufferedImage template,
+            int templateWidth, int x, int y, int width, int height) {
+        int edge = (templateWidth - CENTER_LENGTH) / 2;
+        paintSliced(g, template, templateWidth, height, x, y, width, height,
+                edge, 0, templateWidth - edge - CENTER_LENGTH, 0);
+    }
+
+    /**
+     * Paints the template image stretched vertically to the specified size. The top and bottom
+     * edges of the template are painted as is, and the center is stretched.
+     *
+     * @param g              Graphics context.
+     * @param template       Template image created with
+     *                       {@link SubstanceCoreUtilities#getBlankImage(int, int)}.
+     * @param templateHeight Height of the template image in logical pixels, as returned by
+     *                       {@link #getTemplateLength(int, int)}.
+     * @param x              Horizontal location.
+     * @param y              Vertical location.
+     * @param width          Width to fill.
+     * @param height         Height to fill.
+     */
+    public static void paintVerticallySliced(Graphics g, BufferedImage template,
+            int templateHeight, int x, int y, int width, int height) {
+        int edge = (templateHeight - CENTER_LENGTH) / 2;
+        paintSliced(g, template, width, templateHeight, x, y, width, height,
+                0, edge, 0, templateHeight - edge - CENTER_LENGTH);
+    }
+
+    /**
+     * Paints the template image sliced into nine parts and stretched to the specified size. The
+     * corners are painted as is, the edges are stretched along one axis, and the center is
+     * stretched along both axes. If the requested size matches the template size, the template
+     * is painted as is.
+     *
+     * @param g              Graphics context.
+     * @param template       Template image created with
+     *                       {@link SubstanceCoreUtilities#getBlankImage(int, int)}.
+     * @param templateWidth  Width of the template image in logical pixels.
+     * @param templateHeight Height of the template image in logical pixels.
+     * @param x              Horizontal location.
+     * @param y              Vertical location.
+     * @param width          Width to fill.
+     * @param height         Height to fill.
+     * @param left           Width of the left edge in logical pixels.
+     * @param top            Height of the top edge in logical pixels.
+     * @param right          Width of the right edge in logical pixels.
+     * @param bottom         Height of the bottom edge in logical pixels.
+     */
+    public static void paintSliced(Graphics g, BufferedImage template, int templateWidth,
+            int templateHeight, int x, int y, int width, int height, int left, int top,
+            int right, int bottom) {
+        if ((width == templateWidth) && (height == templateHeight)) {
+            g.drawImage(template, x, y, width, height, null);
+            return;
+        }
+
+        // Template images are allocated in device pixels
+        double scaleX = (double) template.getWidth() / templateWidth;
+        double scaleY = (double) template.getHeight() / templateHeight;
+        int[] srcX = { 0, (int) Math.round(left * scaleX),
+                (int) Math.round((templateWidth - right) * scaleX), template.getWidth() };
+        int[] srcY = { 0, (int) Math.round(top * scaleY),
+                (int) Math.round((templateHeight - bottom) * scaleY), template.getHeight() };
+        int[] dstX = { x, x + left, x + width - right, x + width };
+        int[] dstY = { y, y + top, y + height - bottom, y + height };
+
+        Graphics2D graphics = (Graphics2D) g.create();
+        AffineTransform transform = graphics.getTransform();
+        if ((transform.getType() & ~(AffineTransform.TYPE_TRANSLATION
+                | AffineTransform.TYPE_MASK_SCALE)) == 0) {
+            // Under fractional scale factors the slice boundaries fall inside device pixels,
+            // and each slice would be rounded on its own. Paint in device pixels instead so
+            // that all the slices share the same pixel grid.
+            for (int i = 0; i < 4; i++) {
+                dstX[i] = (int) Math.round(transform.getTranslateX()
+                        + dstX[i] * transform.getScaleX());
+                dstY[i] = (int) Math.round(transform.getTranslateY()
+                        + dstY[i] * transform.getScaleY());
+            }
+            graphics.setTransform(new AffineTransform());
+        }
+
+        for (int row = 0; row < 3; row++) {
+            if ((dstY[row + 1] <= dstY[row]) || (srcY[row + 1] <= srcY[row])) {
+                continue;
+            }
+            for (int column = 0; column < 3; column++) {
+                if ((dstX[column + 1] <= dstX[column]) || (srcX[column + 1] <= srcX[column])) {
+                    continue;
+                }
+                graphics.drawImage(template, dstX[column], dstY[row], dstX[column + 1],
+                        dstY[row + 1], srcX[column], srcY[row], srcX[column + 1],
+                        srcY[row + 1], null);
+            }
+        }
+        graphics.dispose();
+    }
+}
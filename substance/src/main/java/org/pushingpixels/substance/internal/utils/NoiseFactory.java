@@ -37,15 +37,25 @@ import java.awt.image.BufferedImage;
 import java.awt.image.ConvolveOp;
 import java.awt.image.DataBufferInt;
 import java.awt.image.Kernel;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * Factory for creating noise images.
+ * Factory for creating noise images. The noise rows are computed in parallel on the common
+ * fork-join pool, and the resulting images are cached. Since a noise image depends only on the
+ * colors and the parameters, the cached images are kept when the skin changes.
  * 
  * @author Kirill Grouchnikov.
  */
 public class NoiseFactory {
 	/**
-	 * Returns a noise image.
+	 * Cache of noise images.
+	 */
+	private static final LazyResettableHashMap<BufferedImage> noiseImages =
+			new LazyResettableHashMap<>("NoiseFactory");
+
+	/**
+	 * Returns a noise image. The returned image can be shared with other callers, and must not
+	 * be modified.
 	 * 
 	 * @param scheme
 	 *            The color scheme to use for rendering the image.
@@ -68,7 +78,22 @@ public class NoiseFactory {
 			boolean toBlur) {
 		Color c1 = SubstanceColorUtilities.getAlphaColor(scheme.getDarkColor(), 15);
 		Color c3 = scheme.getLightColor();
+		double scaleFactor = NeonCortex.getScaleFactor();
+
+		CacheKey key = CacheKey.of(c1.getRGB(), c3.getRGB(), width, height, xFactor,
+				yFactor, hasConstantZ, toBlur, scaleFactor);
+		BufferedImage result = noiseImages.getRetained(key);
+		if (result == null) {
+			result = createNoiseImage(c1.getRGB(), c3.getRGB(), width, height, xFactor,
+					yFactor, hasConstantZ, toBlur, scaleFactor);
+			noiseImages.putRetained(key, result);
+		}
+		return result;
+	}
 
+	private static BufferedImage createNoiseImage(int rgb1, int rgb3, int width, int height,
+			double xFactor, double yFactor, boolean hasConstantZ, boolean toBlur,
+			double scaleFactor) {
 		// Note that we are starting with non-hi DPI aware image for creating the
 		// source for the noise
 		BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
@@ -76,25 +101,12 @@ public class NoiseFactory {
 		// Borrow from Sebastien Petrucci fast blur code - direct access
 		// to the raster data
 		int[] dstBuffer = ((DataBufferInt) dst.getRaster().getDataBuffer()).getData();
-		// System.out.println((dstBuffer[0] >>> 24) & 0xFF);
 
-		double m2 = xFactor * width * xFactor * width + yFactor * height
-				* yFactor * height;
-		int pos = 0;
-		for (int j = 0; j < height; j++) {
-			double jj = yFactor * j;
-			for (int i = 0; i < width; i++) {
-				double ii = xFactor * i;
-				double z = hasConstantZ ? 1.0 : Math.sqrt(m2 - ii * ii - jj * jj);
-				double noise = 0.5 + 0.5 * PerlinNoiseGenerator.noise(ii, jj, z);
+		// The calling thread computes its share of the rows while the rest are computed
+		// on the common pool
+		new NoiseRowsTask(dstBuffer, width, height, xFactor, yFactor, hasConstantZ, rgb1,
+				rgb3).invoke();
 
-				double likeness = Math.max(0.0, Math.min(1.0, 2.0 * noise));
-				// likeness = 0.0;
-				dstBuffer[pos++] = SubstanceColorUtilities.getInterpolatedRGB(
-						c3, c1, likeness);
-			}
-		}
-		// System.out.println((dstBuffer[0] >>> 24) & 0xFF);
 		if (toBlur) {
 			// and staying here with non-hi DPI aware image for blurred noise
 			ConvolveOp convolve = new ConvolveOp(new Kernel(3, 3, new float[] {
@@ -104,7 +116,7 @@ public class NoiseFactory {
 		}
 		
 		// and now returning an image that is hi DPI aware if needed
-		if (NeonCortex.getScaleFactor() > 1.0) {
+		if (scaleFactor > 1.0) {
 			BufferedImage result = SubstanceCoreUtilities.getBlankImage(width, height);
 			Graphics2D g2d = result.createGraphics();
 			g2d.drawImage(dst, 0, 0, null);
@@ -114,4 +126,99 @@ public class NoiseFactory {
 			return dst;
 		}
 	}
+
+	/**
+	 * Computes a range of noise rows. Ranges that are too large are split in two halves that
+	 * are computed in parallel.
+	 */
+	private static final class NoiseRowsTask extends RecursiveAction {
+		/**
+		 * Number of pixels below which the rows are not split any further.
+		 */
+		private static final int SEQUENTIAL_THRESHOLD = 16 * 1024;
+
+		private final int[] dstBuffer;
+		private final int width;
+		private final double yFactor;
+		private final double m2;
+		private final boolean hasConstantZ;
+		private final int rgb1;
+		private final int rgb3;
+
+		/**
+		 * Stretched X coordinate of each column, shared by all the rows.
+		 */
+		private final double[] columnX;
+
+		/**
+		 * Square of the stretched X coordinate of each column, shared by all the rows.
+		 */
+		private final double[] columnXSquared;
+
+		private final int rowStart;
+		private final int rowEnd;
+
+		NoiseRowsTask(int[] dstBuffer, int width, int height, double xFactor,
+				double yFactor, boolean hasConstantZ, int rgb1, int rgb3) {
+			this.dstBuffer = dstBuffer;
+			this.width = width;
+			this.yFactor = yFactor;
+			this.m2 = xFactor * width * xFactor * width + yFactor * height
+					* yFactor * height;
+			this.hasConstantZ = hasConstantZ;
+			this.rgb1 = rgb1;
+			this.rgb3 = rgb3;
+			this.columnX = new double[width];
+			this.columnXSquared = new double[width];
+			for (int i = 0; i < width; i++) {
+				double ii = xFactor * i;
+				this.columnX[i] = ii;
+				this.columnXSquared[i] = ii * ii;
+			}
+			this.rowStart = 0;
+			this.rowEnd = height;
+		}
+
+		private NoiseRowsTask(NoiseRowsTask parent, int rowStart, int rowEnd) {
+			this.dstBuffer = parent.dstBuffer;
+			this.width = parent.width;
+			this.yFactor = parent.yFactor;
+			this.m2 = parent.m2;
+			this.hasConstantZ = parent.hasConstantZ;
+			this.rgb1 = parent.rgb1;
+			this.rgb3 = parent.rgb3;
+			this.columnX = parent.columnX;
+			this.columnXSquared = parent.columnXSquared;
+			this.rowStart = rowStart;
+			this.rowEnd = rowEnd;
+		}
+
+		@Override
+		protected void compute() {
+			int rowCount = this.rowEnd - this.rowStart;
+			if ((rowCount > 1) && ((long) rowCount * this.width > SEQUENTIAL_THRESHOLD)) {
+				int rowMiddle = (this.rowStart + this.rowEnd) >>> 1;
+				invokeAll(new NoiseRowsTask(this, this.rowStart, rowMiddle),
+						new NoiseRowsTask(this, rowMiddle, this.rowEnd));
+				return;
+			}
+
+			// Compute the noise one row at a time and interpolate the whole row at once
+			double[] likeness = new double[this.width];
+			for (int j = this.rowStart; j < this.rowEnd; j++) {
+				double jj = this.yFactor * j;
+				double jjSquared = jj * jj;
+				for (int i = 0; i < this.width; i++) {
+					double z = this.hasConstantZ ? 1.0
+							: Math.sqrt(this.m2 - this.columnXSquared[i] - jjSquared);
+					double noise = 0.5 + 0.5 * PerlinNoiseGenerator.noise(this.columnX[i],
+							jj, z);
+
+					likeness[i] = Math.max(0.0, Math.min(1.0, 2.0 * noise));
+				}
+				SubstanceColorUtilities.getInterpolatedRGB(this.rgb3, this.rgb1, likeness, 0,
+						this.dstBuffer, j * this.width, this.width);
+			}
+		}
+	}
 }
@@ -31,6 +31,7 @@ package org.pushingpixels.substance.internal.utils;
 
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.SubstanceSlices.Side;
@@ -109,8 +110,16 @@ public class PairwiseButtonBackgroundDelegate {
         boolean needsRotation = (openSides != null)
                 && (openSides.contains(Side.BOTTOM) || openSides.contains(Side.TOP));
 
-        BufferedImage baseLayer = getPairwiseFullAlphaBackground(button, fillPainter, shaper, width,
-                height, baseFillScheme, baseBorderScheme, toIgnoreOpenSides, needsRotation);
+        // The background is rendered once per thickness and stretched along the button length
+        boolean isSliced = NineSliceUtilities.canSlice(fillPainter,
+                SubstanceCoreUtilities.getBorderPainter(button));
+        int renderWidth = (needsRotation || !isSliced) ? width
+                : NineSliceUtilities.getTemplateLength(width, height);
+        int renderHeight = (needsRotation && isSliced)
+                ? NineSliceUtilities.getTemplateLength(height, width) : height;
+        BufferedImage baseLayer = getPairwiseFullAlphaBackground(button, fillPainter, shaper,
+                renderWidth, renderHeight, baseFillScheme, baseBorderScheme, toIgnoreOpenSides,
+                needsRotation);
         BufferedImage fullOpacity = null;
 
         Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates =
@@ -143,7 +152,8 @@ public class PairwiseButtonBackgroundDelegate {
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
                 BufferedImage layer = getPairwiseFullAlphaBackground(button, fillPainter, shaper,
-                        width, height, fillScheme, borderScheme, toIgnoreOpenSides, needsRotation);
+                        renderWidth, renderHeight, fillScheme, borderScheme, toIgnoreOpenSides,
+                        needsRotation);
 
                 g2fullOpacity.setComposite(AlphaComposite.SrcOver.derive(contribution));
                 g2fullOpacity.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
@@ -180,7 +190,13 @@ public class PairwiseButtonBackgroundDelegate {
         if (extraAlpha > 0.0f) {
             Graphics2D graphics = (Graphics2D) g.create();
             graphics.setComposite(WidgetUtilities.getAlphaComposite(button, extraAlpha, g));
-            NeonCortex.drawImage(graphics, fullOpacity, 0, 0);
+            if (needsRotation) {
+                NineSliceUtilities.paintVerticallySliced(graphics, fullOpacity, renderHeight, 0,
+                        0, width, height);
+            } else {
+                NineSliceUtilities.paintHorizontallySliced(graphics, fullOpacity, renderWidth, 0,
+                        0, width, height);
+            }
             graphics.dispose();
         }
     }
@@ -218,12 +234,14 @@ public class PairwiseButtonBackgroundDelegate {
                 && shaper instanceof RectangularButtonShaper) {
             radius = ((RectangularButtonShaper) shaper).getCornerRadius(button, 0.0f);
         }
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height, straightSides, openSides,
+        CacheKey key = CacheKey.of(width, height,
+                CacheKey.toMask(straightSides), CacheKey.toMask(openSides),
                 colorScheme.getDisplayName(), borderScheme.getDisplayName(),
                 button.getClass().getName(), fillPainter.getDisplayName(), shaper.getDisplayName(),
                 isBorderPainted, isContentAreaFilled, radius);
         // System.out.println("\tKey " + key);
-        BufferedImage finalBackground = pairwiseBackgrounds.get(key);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(button);
+        BufferedImage finalBackground = pairwiseBackgrounds.get(skin, key);
         if (finalBackground == null) {
             // System.out.println("\tNot found");
 
@@ -288,7 +306,7 @@ public class PairwiseButtonBackgroundDelegate {
                 }
             }
 
-            pairwiseBackgrounds.put(key, finalBackground);
+            pairwiseBackgrounds.put(skin, key, finalBackground);
         }
         return finalBackground;
     }
@@ -47,12 +47,13 @@ public class PerlinNoiseGenerator {
 	 * @return Noise for the specified coordinates.
 	 */
 	static public double noise(double x, double y, double z) {
-		int X = (int) Math.floor(x) & 255, // FIND UNIT CUBE THAT
-		Y = (int) Math.floor(y) & 255, // CONTAINS POINT.
-		Z = (int) Math.floor(z) & 255;
-		x -= Math.floor(x); // FIND RELATIVE X,Y,Z
-		y -= Math.floor(y); // OF POINT IN CUBE.
-		z -= Math.floor(z);
+		int xFloor = floor(x), yFloor = floor(y), zFloor = floor(z);
+		int X = xFloor & 255, // FIND UNIT CUBE THAT
+		Y = yFloor & 255, // CONTAINS POINT.
+		Z = zFloor & 255;
+		x -= xFloor; // FIND RELATIVE X,Y,Z
+		y -= yFloor; // OF POINT IN CUBE.
+		z -= zFloor;
 		double u = fade(x), // COMPUTE FADE CURVES
 		v = fade(y), // FOR EACH OF X,Y,Z.
 		w = fade(z);
@@ -71,6 +72,20 @@ public class PerlinNoiseGenerator {
 								p[BB + 1], x - 1, y - 1, z - 1))));
 	}
 
+	/**
+	 * Returns the largest integer that is not greater than the specified value. This is the
+	 * same as {@link Math#floor(double)} for all the values in the integer range, without
+	 * the conversion back to <code>double</code>.
+	 * 
+	 * @param t
+	 *            Value.
+	 * @return The floor of the value.
+	 */
+	static int floor(double t) {
+		int result = (int) t;
+		return (t < result) ? result - 1 : result;
+	}
+
 	/**
 	 * Fades the specified value.
 	 * 
@@ -98,17 +113,48 @@ public class PerlinNoiseGenerator {
 	}
 
 	/**
+	 * Returns the dot product of the gradient selected by the specified hash
+	 * and the specified vector.
+	 * 
 	 * @param hash
+	 *            Hash of the cube corner.
 	 * @param x
+	 *            X coordinate relative to the corner.
 	 * @param y
+	 *            Y coordinate relative to the corner.
 	 * @param z
-	 * @return
+	 *            Z coordinate relative to the corner.
+	 * @return Gradient value.
 	 */
 	static double grad(int hash, double x, double y, double z) {
 		int h = hash & 15; // CONVERT LO 4 BITS OF HASH CODE
-		double u = h < 8 ? x : y, // INTO 12 GRADIENT DIRECTIONS.
-		v = h < 4 ? y : (h == 12) || (h == 14) ? x : z;
-		return ((h & 1) == 0 ? u : -u) + ((h & 2) == 0 ? v : -v);
+		return GRAD_X[h] * x + GRAD_Y[h] * y + GRAD_Z[h] * z; // INTO 12 GRADIENT DIRECTIONS.
+	}
+
+	/**
+	 * X components of the gradient directions, indexed by the low four bits of the hash.
+	 */
+	private static final double[] GRAD_X = new double[16];
+
+	/**
+	 * Y components of the gradient directions, indexed by the low four bits of the hash.
+	 */
+	private static final double[] GRAD_Y = new double[16];
+
+	/**
+	 * Z components of the gradient directions, indexed by the low four bits of the hash.
+	 */
+	private static final double[] GRAD_Z = new double[16];
+
+	static {
+		// Each gradient adds or subtracts two of the three coordinates. These are the
+		// coordinates that the original code selected with branches on the hash bits.
+		for (int h = 0; h < 16; h++) {
+			double[] u = (h < 8) ? GRAD_X : GRAD_Y;
+			double[] v = (h < 4) ? GRAD_Y : ((h == 12) || (h == 14)) ? GRAD_X : GRAD_Z;
+			u[h] = ((h & 1) == 0) ? 1.0 : -1.0;
+			v[h] = ((h & 2) == 0) ? 1.0 : -1.0;
+		}
 	}
 
 	/**
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceCacheWarmUp;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSkin;
+import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+import org.pushingpixels.substance.internal.SubstanceSynapse;
+import org.pushingpixels.substance.internal.painter.DecorationPainterUtils;
+import org.pushingpixels.substance.internal.ui.SubstanceCheckBoxUI;
+import org.pushingpixels.substance.internal.ui.SubstanceComboBoxUI;
+import org.pushingpixels.substance.internal.ui.SubstanceRadioButtonUI;
+import org.pushingpixels.substance.internal.utils.border.SubstanceTextComponentBorder;
+import org.pushingpixels.substance.internal.utils.combo.ComboBoxBackgroundDelegate;
+import org.pushingpixels.substance.internal.utils.icon.ArrowButtonTransitionAwareIcon;
+import org.pushingpixels.substance.internal.utils.icon.SubstanceIconFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background warm-up of the render caches. Prototype controls are created on the Event Dispatch
+ * Thread and are never shown or changed afterwards. The images for each control, size and
+ * state are then rendered from the prototypes on background threads, through the same cache
+ * lookups that painting uses.
+ *
+ * <p>This class is <b>for internal use only</b>.</p>
+ *
+ * @author Kirill Grouchnikov
+ * @see SubstanceCortex.GlobalScope#warmUpRenderCaches(SubstanceCacheWarmUp)
+ */
+public class RenderCacheWarmUp {
+    /**
+     * Counter for naming the warm-up threads.
+     */
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final SubstanceCacheWarmUp warmUp;
+    private final CompletableFuture<SubstanceCacheWarmUp.Result> future;
+    private final Queue<Runnable> tasks;
+    private final AtomicInteger completedCount;
+    private final AtomicInteger failureCount;
+    private final AtomicInteger runningThreadCount;
+    private final AtomicLong renderNanos;
+    private final AtomicBoolean isProgressPending;
+    private JRootPane host;
+    private int taskCount;
+    private long startNanos;
+
+    private RenderCacheWarmUp(SubstanceCacheWarmUp warmUp) {
+        this.warmUp = warmUp;
+        this.future = new CompletableFuture<>();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.completedCount = new AtomicInteger();
+        this.failureCount = new AtomicInteger();
+        this.runningThreadCount = new AtomicInteger();
+        this.renderNanos = new AtomicLong();
+        this.isProgressPending = new AtomicBoolean();
+    }
+
+    /**
+     * Starts the specified warm-up. The prototype controls are created on the Event Dispatch
+     * Thread, and the rendering is done on background threads.
+     *
+     * @param warmUp Warm-up configuration.
+     * @return Future that is completed on the Event Dispatch Thread once the warm-up is done.
+     */
+    public static CompletableFuture<SubstanceCacheWarmUp.Result> start(
+            SubstanceCacheWarmUp warmUp) {
+        RenderCacheWarmUp result = new RenderCacheWarmUp(warmUp);
+        if (SwingUtilities.isEventDispatchThread()) {
+            result.startOnEdt();
+        } else {
+            SwingUtilities.invokeLater(result::startOnEdt);
+        }
+        return result.future;
+    }
+
+    private void startOnEdt() {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel()) {
+            this.future.completeExceptionally(
+                    new IllegalStateException("Substance is not the current look-and-feel"));
+            return;
+        }
+        this.startNanos = System.nanoTime();
+
+        SubstanceSkin skin = (this.warmUp.getSkin() != null) ? this.warmUp.getSkin()
+                : SubstanceCortex.GlobalScope.getCurrentSkin();
+        this.host = new JRootPane();
+        if (skin != SubstanceCortex.GlobalScope.getCurrentSkin()) {
+            // The images of a root pane skin are cached under that skin
+            this.host.putClientProperty(SubstanceSynapse.ROOT_PANE_SKIN, skin);
+        }
+
+        List<Runnable> taskList = new ArrayList<>();
+        for (DecorationAreaType decorationAreaType : this.warmUp.getDecorationAreaTypes()) {
+            this.addControlTasks(decorationAreaType, taskList);
+        }
+        this.addTitlePaneTasks(skin, taskList);
+
+        this.tasks.addAll(taskList);
+        this.taskCount = taskList.size();
+        int threadCount = Math.max(1, Math.min(this.warmUp.getThreadCount(), this.taskCount));
+        this.runningThreadCount.set(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(this::runTasks,
+                    "Substance cache warm-up " + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
+    private void addControlTasks(DecorationAreaType decorationAreaType, List<Runnable> taskList) {
+        JPanel panel = new JPanel();
+        // The panel is not displayed, so there is no need to drop the cached contexts of all the
+        // other components
+        DecorationPainterUtils.setDetachedDecorationType(panel, decorationAreaType);
+        this.host.getContentPane().add(panel);
+
+        JButton button = new JButton("Button");
+        JComboBox<String> comboBox = new JComboBox<>(new String[] { "Item" });
+        JTextField textField = new JTextField(10);
+        JCheckBox checkBox = new JCheckBox("Check box");
+        JRadioButton radioButton = new JRadioButton("Radio button");
+        panel.add(button);
+        panel.add(comboBox);
+        panel.add(textField);
+        panel.add(checkBox);
+        panel.add(radioButton);
+
+        // Non-editable comboboxes paint their own arrow, and editable ones paint the arrow
+        // button
+        List<Icon> comboBoxIcons = new ArrayList<>();
+        if (comboBox.getUI() instanceof SubstanceComboBoxUI) {
+            comboBoxIcons.add(((SubstanceComboBoxUI) comboBox.getUI()).getUneditableArrowIcon());
+        }
+        for (Component child : comboBox.getComponents()) {
+            if (child instanceof AbstractButton) {
+                comboBoxIcons.add(((AbstractButton) child).getIcon());
+            }
+        }
+        List<ArrowButtonTransitionAwareIcon> arrowIcons = new ArrayList<>();
+        for (Icon icon : comboBoxIcons) {
+            if (icon instanceof ArrowButtonTransitionAwareIcon) {
+                arrowIcons.add((ArrowButtonTransitionAwareIcon) icon);
+            }
+        }
+
+        // Resolve the skin and the decoration area of every prototype here, so that the
+        // background threads only read them
+        primeContexts(panel);
+
+        List<Dimension> buttonSizes = getSizes(this.warmUp.getButtonSizes(), button);
+        List<Dimension> comboBoxSizes = getSizes(this.warmUp.getComboBoxSizes(), comboBox);
+        List<Dimension> textFieldSizes = getSizes(this.warmUp.getTextFieldSizes(), textField);
+        for (ComponentState state : this.warmUp.getStates()) {
+            for (Dimension size : buttonSizes) {
+                taskList.add(() -> ButtonBackgroundDelegate.prepareBackground(button, state,
+                        size.width, size.height));
+            }
+            for (Dimension size : comboBoxSizes) {
+                taskList.add(() -> ComboBoxBackgroundDelegate.prepareBackground(comboBox, state,
+                        size.width, size.height));
+            }
+            for (Dimension size : textFieldSizes) {
+                taskList.add(() -> SubstanceTextComponentBorder.prepareBorder(textField, state,
+                        size.width, size.height));
+            }
+            taskList.add(() -> SubstanceCheckBoxUI.prepareIcon(checkBox, state));
+            taskList.add(() -> SubstanceRadioButtonUI.prepareIcon(radioButton, state));
+            for (ArrowButtonTransitionAwareIcon arrowIcon : arrowIcons) {
+                taskList.add(() -> arrowIcon.prepare(state));
+            }
+        }
+    }
+
+    private void addTitlePaneTasks(SubstanceSkin skin, List<Runnable> taskList) {
+        for (ComponentState state : this.warmUp.getStates()) {
+            for (SubstanceIconFactory.IconKind iconKind : SubstanceIconFactory.IconKind.values()) {
+                taskList.add(() -> SubstanceIconFactory.getTitlePaneIcon(iconKind,
+                        skin.getColorScheme(DecorationAreaType.PRIMARY_TITLE_PANE,
+                                ColorSchemeAssociationKind.MARK, state),
+                        skin.getBackgroundColorScheme(DecorationAreaType.PRIMARY_TITLE_PANE)));
+            }
+        }
+    }
+
+    private static void primeContexts(Component component) {
+        SubstanceCoreUtilities.getSkin(component);
+        SubstanceCortex.ComponentOrParentChainScope.getDecorationType(component);
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                primeContexts(child);
+            }
+        }
+    }
+
+    private static List<Dimension> getSizes(List<Dimension> sizes, JComponent prototype) {
+        return sizes.isEmpty() ? Collections.singletonList(prototype.getPreferredSize())
+                : sizes;
+    }
+
+    private void runTasks() {
+        try {
+            Runnable task;
+            while (!this.isStopped() && ((task = this.tasks.poll()) != null)) {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                } catch (RuntimeException re) {
+                    this.failureCount.incrementAndGet();
+                }
+                this.renderNanos.addAndGet(System.nanoTime() - start);
+                this.completedCount.incrementAndGet();
+                this.fireProgress();
+            }
+        } finally {
+            // An error thrown by a task ends this thread. The warm-up still has to finish when
+            // the last thread is done, so that the host is restored and listeners are notified.
+            if (this.runningThreadCount.decrementAndGet() == 0) {
+                SwingUtilities.invokeLater(this::finish);
+            }
+        }
+    }
+
+    private boolean isStopped() {
+        return this.future.isDone() || !SubstanceCoreUtilities.isCurrentLookAndFeel();
+    }
+
+    private void fireProgress() {
+        SubstanceCacheWarmUp.ProgressListener progressListener =
+                this.warmUp.getProgressListener();
+        if ((progressListener == null) || !this.isProgressPending.compareAndSet(false, true)) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            this.isProgressPending.set(false);
+            progressListener.onProgress(this.completedCount.get(), this.taskCount);
+        });
+    }
+
+    private void finish() {
+        if (this.host.getClientProperty(SubstanceSynapse.ROOT_PANE_SKIN) != null) {
+            // Removing the skin directly keeps its images in the caches
+            this.host.putClientProperty(SubstanceSynapse.ROOT_PANE_SKIN, null);
+        }
+        this.host = null;
+
+        int completed = this.completedCount.get();
+        this.future.complete(new SubstanceCacheWarmUp.Result(completed, this.failureCount.get(),
+                completed < this.taskCount, (System.nanoTime() - this.startNanos) / 1000000L,
+                this.renderNanos.get() / 1000000L));
+    }
+}
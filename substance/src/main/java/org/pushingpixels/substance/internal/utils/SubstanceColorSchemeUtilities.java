@@ -38,10 +38,7 @@ import org.pushingpixels.substance.api.colorscheme.*;
 import javax.swing.*;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.*;
 import java.util.*;
 import java.util.List;
 
@@ -292,6 +289,23 @@ public class SubstanceColorSchemeUtilities {
      */
     public final static SubstanceColorScheme GREEN = new BottleGreenColorScheme();
 
+    /**
+     * Suffix of compiled color scheme resources. The compiled version of
+     * <code>graphite.colorschemes</code> is <code>graphite.colorschemes.bin</code>.
+     */
+    public static final String COMPILED_COLOR_SCHEMES_SUFFIX = ".bin";
+
+    private static final int COMPILED_COLOR_SCHEMES_MAGIC = 0x53435343;
+
+    private static final short COMPILED_COLOR_SCHEMES_VERSION = 1;
+
+    /**
+     * Color schemes loaded with {@link #getColorSchemes(ClassLoader, String)}, per class loader
+     * and resource name.
+     */
+    private static final Map<ClassLoader, Map<String, SubstanceSkin.ColorSchemes>>
+            colorSchemesCache = new WeakHashMap<>();
+
     public static SubstanceColorScheme getLightColorScheme(String name, final Color[] colors) {
         if (colors == null) {
             throw new IllegalArgumentException("Color encoding cannot be null");
@@ -571,6 +585,16 @@ public class SubstanceColorSchemeUtilities {
             throw new IllegalArgumentException(ioe);
         }
 
+        return createColorSchemes(schemes);
+    }
+
+    private static SubstanceSkin.ColorSchemes createColorSchemes(
+            List<SubstanceColorScheme> schemes) {
+        // Keep the first scheme for each name, as with the linear lookup
+        Map<String, SubstanceColorScheme> schemesByName = new HashMap<>();
+        for (SubstanceColorScheme scheme : schemes) {
+            schemesByName.putIfAbsent(scheme.getDisplayName(), scheme);
+        }
         return new SubstanceSkin.ColorSchemes() {
             @Override
             public Collection<SubstanceColorScheme> getAll() {
@@ -579,16 +603,110 @@ public class SubstanceColorSchemeUtilities {
 
             @Override
             public SubstanceColorScheme get(String displayName) {
-                for (SubstanceColorScheme scheme : schemes) {
-                    if (scheme.getDisplayName().equals(displayName)) {
-                        return scheme;
-                    }
-                }
-                return null;
+                return schemesByName.get(displayName);
             }
         };
     }
 
+    /**
+     * Returns the color schemes in the specified resource. If a compiled version of the
+     * resource, written by {@link #writeCompiledColorSchemes(SubstanceSkin.ColorSchemes,
+     * OutputStream)}, is available next to it, the color schemes are read from the compiled
+     * version without parsing the text. The schemes are cached, so that skins that share the same
+     * resource, or are created more than once, read it only once.
+     *
+     * @param classLoader  Class loader to load the resource with.
+     * @param resourceName Name of the resource in the <code>.colorschemes</code> format.
+     * @return The color schemes in the resource.
+     */
+    public static SubstanceSkin.ColorSchemes getColorSchemes(ClassLoader classLoader,
+            String resourceName) {
+        synchronized (colorSchemesCache) {
+            Map<String, SubstanceSkin.ColorSchemes> loaderCache =
+                    colorSchemesCache.computeIfAbsent(classLoader, loader -> new HashMap<>());
+            SubstanceSkin.ColorSchemes result = loaderCache.get(resourceName);
+            if (result == null) {
+                result = loadColorSchemes(classLoader, resourceName);
+                loaderCache.put(resourceName, result);
+            }
+            return result;
+        }
+    }
+
+    private static SubstanceSkin.ColorSchemes loadColorSchemes(ClassLoader classLoader,
+            String resourceName) {
+        InputStream compiled = classLoader.getResourceAsStream(
+                resourceName + COMPILED_COLOR_SCHEMES_SUFFIX);
+        if (compiled != null) {
+            SubstanceSkin.ColorSchemes result = readCompiledColorSchemes(compiled);
+            if (result != null) {
+                return result;
+            }
+        }
+        InputStream text = classLoader.getResourceAsStream(resourceName);
+        if (text == null) {
+            throw new IllegalArgumentException("Can't find color schemes in " + resourceName);
+        }
+        return getColorSchemes(text);
+    }
+
+    /**
+     * Writes the specified color schemes in the compiled format read by
+     * {@link #getColorSchemes(ClassLoader, String)}. The stream is not closed.
+     *
+     * @param colorSchemes Color schemes.
+     * @param outputStream Stream to write the compiled color schemes to.
+     * @throws IOException If the color schemes could not be written.
+     */
+    public static void writeCompiledColorSchemes(SubstanceSkin.ColorSchemes colorSchemes,
+            OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(COMPILED_COLOR_SCHEMES_MAGIC);
+        output.writeShort(COMPILED_COLOR_SCHEMES_VERSION);
+        output.writeShort(colorSchemes.getAll().size());
+        for (SubstanceColorScheme scheme : colorSchemes.getAll()) {
+            output.writeUTF(scheme.getDisplayName());
+            output.writeBoolean(scheme.isDark());
+            output.writeInt(scheme.getUltraLightColor().getRGB());
+            output.writeInt(scheme.getExtraLightColor().getRGB());
+            output.writeInt(scheme.getLightColor().getRGB());
+            output.writeInt(scheme.getMidColor().getRGB());
+            output.writeInt(scheme.getDarkColor().getRGB());
+            output.writeInt(scheme.getUltraDarkColor().getRGB());
+            output.writeInt(scheme.getForegroundColor().getRGB());
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads color schemes in the compiled format. Returns <code>null</code> if the stream was
+     * written by a different version of the compiler, so that the caller can fall back to the
+     * text resource.
+     */
+    private static SubstanceSkin.ColorSchemes readCompiledColorSchemes(InputStream inputStream) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if ((input.readInt() != COMPILED_COLOR_SCHEMES_MAGIC)
+                    || (input.readShort() != COMPILED_COLOR_SCHEMES_VERSION)) {
+                return null;
+            }
+            int count = input.readShort();
+            List<SubstanceColorScheme> schemes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = input.readUTF();
+                boolean isDark = input.readBoolean();
+                Color[] colors = new Color[7];
+                for (int j = 0; j < colors.length; j++) {
+                    colors[j] = new Color(input.readInt(), true);
+                }
+                schemes.add(isDark ? getDarkColorScheme(name, colors)
+                        : getLightColorScheme(name, colors));
+            }
+            return createColorSchemes(schemes);
+        } catch (IOException ioe) {
+            throw new IllegalArgumentException(ioe);
+        }
+    }
+
     /**
      * Returns a shifted color scheme. This method is for internal use only.
      *
@@ -606,11 +724,8 @@ public class SubstanceColorSchemeUtilities {
     public static SubstanceColorScheme getShiftedScheme(SubstanceColorScheme orig,
             Color backgroundShiftColor, double backgroundShiftFactor, Color foregroundShiftColor,
             double foregroundShiftFactor) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(orig.getDisplayName(),
-                backgroundShiftColor == null ? "" : backgroundShiftColor.getRGB(),
-                backgroundShiftFactor,
-                foregroundShiftColor == null ? "" : foregroundShiftColor.getRGB(),
-                foregroundShiftFactor);
+        CacheKey key = CacheKey.of(orig.getDisplayName(), backgroundShiftColor,
+                backgroundShiftFactor, foregroundShiftColor, foregroundShiftFactor);
         SubstanceColorScheme result = shiftedCache.get(key);
         if (result == null) {
             result = orig.shift(backgroundShiftColor, backgroundShiftFactor, foregroundShiftColor,
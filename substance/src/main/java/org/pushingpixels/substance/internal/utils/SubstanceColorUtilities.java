@@ -53,6 +53,60 @@ import java.util.Map;
  * @author Kirill Grouchnikov
  */
 public class SubstanceColorUtilities {
+    /**
+     * Linear values of the 8-bit sRGB channel values.
+     */
+    private static final double[] SRGB_TO_LINEAR = new double[256];
+
+    /**
+     * For each 8-bit sRGB channel value, the smallest linear value that is converted to it.
+     */
+    private static final double[] LINEAR_TO_SRGB_THRESHOLDS = new double[256];
+
+    /**
+     * Number of equal buckets that the 0..1 range of linear values is split into.
+     */
+    private static final int LINEAR_BUCKET_COUNT = 4096;
+
+    /**
+     * For each bucket of linear values, the 8-bit sRGB channel value at the start of the
+     * bucket. The sRGB values are spaced wider than the buckets, so a lookup needs at most a
+     * couple of steps along {@link #LINEAR_TO_SRGB_THRESHOLDS} from here.
+     */
+    private static final int[] LINEAR_TO_SRGB_BUCKETS = new int[LINEAR_BUCKET_COUNT + 1];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            SRGB_TO_LINEAR[i] = EOCF_sRGB(i / 255.0f);
+        }
+
+        // Find the exact boundaries of the rounding in getSrgbChannelValueExact with bisection,
+        // so that the lookups return the same values as the conversion with Math.pow
+        LINEAR_TO_SRGB_THRESHOLDS[0] = Double.NEGATIVE_INFINITY;
+        double low = 0.0;
+        for (int i = 1; i < 256; i++) {
+            double high = 1.0;
+            while (Math.nextUp(low) < high) {
+                double middle = (low + high) / 2.0;
+                if (getSrgbChannelValueExact(middle) >= i) {
+                    high = middle;
+                } else {
+                    low = middle;
+                }
+            }
+            LINEAR_TO_SRGB_THRESHOLDS[i] = high;
+        }
+
+        int value = 0;
+        for (int bucket = 0; bucket <= LINEAR_BUCKET_COUNT; bucket++) {
+            double linear = (double) bucket / LINEAR_BUCKET_COUNT;
+            while ((value < 255) && (linear >= LINEAR_TO_SRGB_THRESHOLDS[value + 1])) {
+                value++;
+            }
+            LINEAR_TO_SRGB_BUCKETS[bucket] = value;
+        }
+    }
+
     /**
      * Returns the color of the top portion of border in control backgrounds.
      *
@@ -163,6 +217,66 @@ public class SubstanceColorUtilities {
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
+    /**
+     * Interpolates colors for a sequence of pixels. Each pixel gets its own likeness, which
+     * makes this suitable for filling images such as noise textures. This is much faster than
+     * calling {@link #getInterpolatedRGB(Color, Color, double)} for each pixel, as the colors
+     * are converted to linear sRGB only once.
+     *
+     * @param rgb1           The first color as an ARGB value
+     * @param rgb2           The second color as an ARGB value
+     * @param rgb1Likeness   Likeness for each pixel. The closer the value is to 0.0, the closer
+     *                       the matching pixel will be to <code>rgb2</code>.
+     * @param likenessOffset Index of the likeness of the first pixel.
+     * @param result         Array to store the interpolated ARGB values in.
+     * @param resultOffset   Index of the first pixel to store.
+     * @param length         Number of pixels to interpolate.
+     */
+    public static void getInterpolatedRGB(int rgb1, int rgb2, double[] rgb1Likeness,
+            int likenessOffset, int[] result, int resultOffset, int length) {
+        int alpha1 = (rgb1 >>> 24) & 0xFF;
+        int alpha2 = (rgb2 >>> 24) & 0xFF;
+        int red1 = (rgb1 >>> 16) & 0xFF;
+        int red2 = (rgb2 >>> 16) & 0xFF;
+        int green1 = (rgb1 >>> 8) & 0xFF;
+        int green2 = (rgb2 >>> 8) & 0xFF;
+        int blue1 = rgb1 & 0xFF;
+        int blue2 = rgb2 & 0xFF;
+
+        double linearRed1 = SRGB_TO_LINEAR[red1];
+        double linearRed2 = SRGB_TO_LINEAR[red2];
+        double linearGreen1 = SRGB_TO_LINEAR[green1];
+        double linearGreen2 = SRGB_TO_LINEAR[green2];
+        double linearBlue1 = SRGB_TO_LINEAR[blue1];
+        double linearBlue2 = SRGB_TO_LINEAR[blue2];
+
+        for (int i = 0; i < length; i++) {
+            double likeness = rgb1Likeness[likenessOffset + i];
+            if ((likeness < 0.0) || (likeness > 1.0)) {
+                throw new IllegalArgumentException(
+                        "Color likeness should be in 0.0-1.0 range [is " + likeness + "]");
+            }
+            int rgb;
+            if (likeness == 1.0) {
+                rgb = (alpha1 << 24) | (red1 << 16) | (green1 << 8) | blue1;
+            } else if (likeness == 0.0) {
+                rgb = (alpha2 << 24) | (red2 << 16) | (green2 << 8) | blue2;
+            } else {
+                double likeness2 = 1.0f - likeness;
+                int r = (red1 == red2) ? red1
+                        : getSrgbChannelValue(likeness * linearRed1 + likeness2 * linearRed2);
+                int g = (green1 == green2) ? green1
+                        : getSrgbChannelValue(likeness * linearGreen1 + likeness2 * linearGreen2);
+                int b = (blue1 == blue2) ? blue1
+                        : getSrgbChannelValue(likeness * linearBlue1 + likeness2 * linearBlue2);
+                int a = (alpha1 == alpha2) ? alpha1
+                        : (int) Math.round(likeness * alpha1 + (1.0 - likeness) * alpha2);
+                rgb = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+            result[resultOffset + i] = rgb;
+        }
+    }
+
     private static int getInterpolatedChannelValue(int value1, int value2, double value1Likeness) {
         if (value1 == value2) {
             return value1;
@@ -174,21 +288,38 @@ public class SubstanceColorUtilities {
             return value2;
         }
 
-        // Step 1 - convert channel from electro to optical
-        double optical1 = EOCF_sRGB(value1 / 255.0f);
-        double optical2 = EOCF_sRGB(value2 / 255.0f);
-
-        // Step 2 - interpolate
-        double interpolatedOptical = value1Likeness * optical1 +
-                (1.0f - value1Likeness) * optical2;
+        // Convert the channels from electro to optical, interpolate and convert back
+        return getSrgbChannelValue(value1Likeness * SRGB_TO_LINEAR[value1] +
+                (1.0f - value1Likeness) * SRGB_TO_LINEAR[value2]);
+    }
 
-        // Step 3 - convert interpolated from optical to electro
-        double interpolatedElectro = OECF_sRGB(interpolatedOptical);
+    /**
+     * Returns the 8-bit sRGB channel value for the specified linear value. This matches
+     * rounding the result of {@link #OECF_sRGB(double)} to the 0..255 range, but uses the
+     * lookup tables instead of {@link Math#pow(double, double)}.
+     *
+     * @param linear Linear channel value.
+     * @return 8-bit sRGB channel value.
+     */
+    private static int getSrgbChannelValue(double linear) {
+        if (!(linear > 0.0)) {
+            return 0;
+        }
+        if (linear >= 1.0) {
+            return 255;
+        }
+        int result = LINEAR_TO_SRGB_BUCKETS[(int) (linear * LINEAR_BUCKET_COUNT)];
+        while ((result < 255) && (linear >= LINEAR_TO_SRGB_THRESHOLDS[result + 1])) {
+            result++;
+        }
+        return result;
+    }
 
-        // Step 4 - convert to 0..255 range
+    // Converts a linear value to 8-bit sRGB the slow way. Used to build the lookup tables.
+    private static int getSrgbChannelValueExact(double linear) {
         // using some interpolation values (such as 0.29 from issue 401)
         // results in an incorrect final value without Math.round.
-        int result = (int) Math.round(interpolatedElectro * 255.0f);
+        int result = (int) Math.round(OECF_sRGB(linear) * 255.0f);
         if (result < 0) {
             result = 0;
         }
@@ -1489,12 +1489,25 @@ public class SubstanceCoreUtilities {
         if (!SubstanceRootPaneUI.hasCustomSkinOnAtLeastOneRootPane())
             return SubstanceCortex.GlobalScope.getCurrentSkin();
 
+        ComponentContextCache.Context context = ComponentContextCache.getContext(c);
+        if (context != null) {
+            SubstanceSkin cached = context.getSkin();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         SubstanceComboPopup comboPopup = (SubstanceComboPopup) SwingUtilities
                 .getAncestorOfClass(SubstanceComboPopup.class, c);
         if (comboPopup != null) {
             // special case for combobox popup - take the skin
             // of the combobox itself - issue 439
-            return getSkin(comboPopup.getCombobox());
+            JComboBox<Object> combobox = comboPopup.getCombobox();
+            SubstanceSkin result = getSkin(combobox);
+            if ((context != null) && (combobox != null)) {
+                context.setSkin(result, ComponentContextCache.getContext(combobox));
+            }
+            return result;
         }
 
         JRootPane rootPane = SwingUtilities.getRootPane(c);
@@ -1515,22 +1528,16 @@ public class SubstanceCoreUtilities {
                 rootPane = ((JInternalFrame) frame).getRootPane();
             }
         }
+        SubstanceSkin result = SubstanceCortex.GlobalScope.getCurrentSkin();
         if (rootPane != null) {
             Object skinProp = rootPane.getClientProperty(SubstanceSynapse.ROOT_PANE_SKIN);
             if (skinProp instanceof SubstanceSkin)
-                return (SubstanceSkin) skinProp;
+                result = (SubstanceSkin) skinProp;
         }
-        return SubstanceCortex.GlobalScope.getCurrentSkin();
-    }
-
-    /**
-     * Returns a hash key for the specified parameters.
-     *
-     * @param objects Key components.
-     * @return Hash key.
-     */
-    public static HashMapKey getHashKey(Object... objects) {
-        return new HashMapKey(objects);
+        if ((context != null) && (result != null)) {
+            context.setSkin(result, null);
+        }
+        return result;
     }
 
     /**
@@ -87,6 +87,11 @@ public final class SubstanceImageCreator {
         public Color getBottomFillColor(SubstanceColorScheme fillScheme) {
             return super.getTopFillColor(fillScheme);
         }
+
+        @Override
+        public boolean isSliceable() {
+            return this.getClass() == SimplisticSoftBorderReverseFillPainter.class;
+        }
     }
 
     /**
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import javax.swing.*;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable snapshot of the cell selection of a {@link JTable}. For tables that use the default
+ * {@link JTable} cell selection logic, the snapshot stores the selected row and column intervals
+ * and never enumerates individual cells. Tables that override the selection logic are captured
+ * cell by cell.
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class TableSelectionSnapshot {
+    /**
+     * Visitor for cells that have changed their selection state between two snapshots.
+     */
+    @FunctionalInterface
+    public interface ChangedCellVisitor {
+        /**
+         * Called for each cell that has changed its selection state.
+         *
+         * @param row        Cell row.
+         * @param column     Cell column.
+         * @param isSelected <code>true</code> if the cell is selected in the new snapshot,
+         *                   <code>false</code> if the cell was selected in the old snapshot.
+         * @return <code>true</code> to continue visiting the changed cells, <code>false</code>
+         * to stop.
+         */
+        boolean visit(int row, int column, boolean isSelected);
+    }
+
+    private static final int[] NO_RANGES = new int[0];
+
+    /**
+     * Snapshot with no selected cells.
+     */
+    public static final TableSelectionSnapshot EMPTY = new TableSelectionSnapshot(NO_RANGES,
+            NO_RANGES, null);
+
+    /**
+     * Tracks which table classes override the default cell selection logic of {@link JTable}.
+     */
+    private static final ClassValue<Boolean> HAS_CUSTOM_CELL_SELECTION =
+            new ClassValue<Boolean>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    try {
+                        return (type.getMethod("isCellSelected", int.class, int.class)
+                                .getDeclaringClass() != JTable.class)
+                                || (type.getMethod("isRowSelected", int.class)
+                                .getDeclaringClass() != JTable.class)
+                                || (type.getMethod("isColumnSelected", int.class)
+                                .getDeclaringClass() != JTable.class);
+                    } catch (NoSuchMethodException nsme) {
+                        return true;
+                    }
+                }
+            };
+
+    /**
+     * Selected row intervals as sorted, disjoint pairs of inclusive [start, end] indices.
+     */
+    private final int[] rowRanges;
+
+    /**
+     * Selected column intervals as sorted, disjoint pairs of inclusive [start, end] indices.
+     */
+    private final int[] columnRanges;
+
+    /**
+     * Selected columns of each row for tables with custom selection logic, <code>null</code>
+     * otherwise. Rows without selected cells have <code>null</code> entries. Kept per row so
+     * that cell indexes do not overflow on large tables.
+     */
+    private final BitSet[] cells;
+
+    private TableSelectionSnapshot(int[] rowRanges, int[] columnRanges, BitSet[] cells) {
+        this.rowRanges = rowRanges;
+        this.columnRanges = columnRanges;
+        this.cells = cells;
+    }
+
+    /**
+     * Captures the current cell selection of the specified table.
+     *
+     * @param table Table.
+     * @return Snapshot of the current cell selection of the table.
+     */
+    public static TableSelectionSnapshot of(JTable table) {
+        int rowCount = table.getRowCount();
+        int columnCount = table.getColumnCount();
+        if ((rowCount == 0) || (columnCount == 0)) {
+            return EMPTY;
+        }
+
+        if (HAS_CUSTOM_CELL_SELECTION.get(table.getClass())) {
+            BitSet[] cells = null;
+            for (int i = 0; i < rowCount; i++) {
+                for (int j = 0; j < columnCount; j++) {
+                    if (table.isCellSelected(i, j)) {
+                        if (cells == null) {
+                            cells = new BitSet[rowCount];
+                        }
+                        if (cells[i] == null) {
+                            cells[i] = new BitSet(columnCount);
+                        }
+                        cells[i].set(j);
+                    }
+                }
+            }
+            return (cells == null) ? EMPTY
+                    : new TableSelectionSnapshot(NO_RANGES, NO_RANGES, cells);
+        }
+
+        boolean rowSelectionAllowed = table.getRowSelectionAllowed();
+        boolean columnSelectionAllowed = table.getColumnSelectionAllowed();
+        if (!rowSelectionAllowed && !columnSelectionAllowed) {
+            return EMPTY;
+        }
+        int[] rowRanges = rowSelectionAllowed
+                ? getRanges(table.getSelectionModel(), rowCount)
+                : new int[] { 0, rowCount - 1 };
+        int[] columnRanges = columnSelectionAllowed
+                ? getRanges(table.getColumnModel().getSelectionModel(), columnCount)
+                : new int[] { 0, columnCount - 1 };
+        if ((rowRanges.length == 0) || (columnRanges.length == 0)) {
+            return EMPTY;
+        }
+        return new TableSelectionSnapshot(rowRanges, columnRanges, null);
+    }
+
+    private static int[] getRanges(ListSelectionModel selectionModel, int count) {
+        int min = selectionModel.getMinSelectionIndex();
+        int max = Math.min(selectionModel.getMaxSelectionIndex(), count - 1);
+        if ((min < 0) || (min > max)) {
+            return NO_RANGES;
+        }
+        if (selectionModel.getSelectionMode() != ListSelectionModel.MULTIPLE_INTERVAL_SELECTION) {
+            // single interval between min and max
+            return new int[] { min, max };
+        }
+
+        int[] ranges = new int[8];
+        int size = 0;
+        int start = -1;
+        for (int i = min; i <= max + 1; i++) {
+            boolean isSelected = (i <= max) && selectionModel.isSelectedIndex(i);
+            if (isSelected && (start < 0)) {
+                start = i;
+            } else if (!isSelected && (start >= 0)) {
+                if (size == ranges.length) {
+                    ranges = Arrays.copyOf(ranges, 2 * size);
+                }
+                ranges[size++] = start;
+                ranges[size++] = i - 1;
+                start = -1;
+            }
+        }
+        return Arrays.copyOf(ranges, size);
+    }
+
+    /**
+     * Returns indication whether this snapshot has no selected cells.
+     *
+     * @return <code>true</code> if this snapshot has no selected cells, <code>false</code>
+     * otherwise.
+     */
+    public boolean isEmpty() {
+        // Snapshots with custom selection logic are only created with selected cells
+        return (this.cells == null) && (this.rowRanges.length == 0);
+    }
+
+    /**
+     * Returns indication whether the specified cell is selected in this snapshot.
+     *
+     * @param row    Cell row.
+     * @param column Cell column.
+     * @return <code>true</code> if the specified cell is selected in this snapshot,
+     * <code>false</code> otherwise.
+     */
+    public boolean isCellSelected(int row, int column) {
+        if ((row < 0) || (column < 0)) {
+            return false;
+        }
+        if (this.cells != null) {
+            return (row < this.cells.length) && (this.cells[row] != null)
+                    && this.cells[row].get(column);
+        }
+        return inRanges(this.rowRanges, row) && inRanges(this.columnRanges, column);
+    }
+
+    private static boolean inRanges(int[] ranges, int index) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ranges[2 * mid + 1] < index) {
+                low = mid + 1;
+            } else if (ranges[2 * mid] > index) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits all the cells that have changed their selection state from the specified old
+     * snapshot to this snapshot. The work done is proportional to the number of selection
+     * intervals and the number of visited cells, and not to the size of the table.
+     *
+     * @param old     Old snapshot.
+     * @param visitor Visitor for the changed cells.
+     */
+    public void visitChangedCells(TableSelectionSnapshot old, ChangedCellVisitor visitor) {
+        if ((this.cells != null) || (old.cells != null)) {
+            this.visitChangedCellsByCell(old, visitor);
+            return;
+        }
+
+        int[] rowSegments = getSegments(old.rowRanges, this.rowRanges);
+        int[] columnSegments = getSegments(old.columnRanges, this.columnRanges);
+        for (int r = 0; r < rowSegments.length; r += 3) {
+            boolean rowInOld = (rowSegments[r + 2] & IN_OLD) != 0;
+            boolean rowInNew = (rowSegments[r + 2] & IN_NEW) != 0;
+            for (int c = 0; c < columnSegments.length; c += 3) {
+                boolean wasSelected = rowInOld && ((columnSegments[c + 2] & IN_OLD) != 0);
+                boolean isSelected = rowInNew && ((columnSegments[c + 2] & IN_NEW) != 0);
+                if (wasSelected == isSelected) {
+                    continue;
+                }
+                for (int i = rowSegments[r]; i <= rowSegments[r + 1]; i++) {
+                    for (int j = columnSegments[c]; j <= columnSegments[c + 1]; j++) {
+                        if (!visitor.visit(i, j, isSelected)) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void visitChangedCellsByCell(TableSelectionSnapshot old,
+            ChangedCellVisitor visitor) {
+        BitSet oldColumns = old.getSelectedColumns();
+        BitSet newColumns = this.getSelectedColumns();
+        int rows = Math.max(old.getRowLimit(), this.getRowLimit());
+        BitSet changed = new BitSet();
+        for (int i = 0; i < rows; i++) {
+            BitSet oldRow = old.getRowCells(i, oldColumns);
+            BitSet newRow = this.getRowCells(i, newColumns);
+            if ((oldRow == null) && (newRow == null)) {
+                continue;
+            }
+            changed.clear();
+            if (newRow != null) {
+                changed.or(newRow);
+            }
+            if (oldRow != null) {
+                changed.xor(oldRow);
+            }
+            for (int j = changed.nextSetBit(0); j >= 0; j = changed.nextSetBit(j + 1)) {
+                if (!visitor.visit(i, j, (newRow != null) && newRow.get(j))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the selected columns of the selected rows of an interval-based snapshot.
+     *
+     * @return Selected columns, or <code>null</code> for snapshots with custom selection logic.
+     */
+    private BitSet getSelectedColumns() {
+        if (this.cells != null) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (int c = 0; c < this.columnRanges.length; c += 2) {
+            result.set(this.columnRanges[c], this.columnRanges[c + 1] + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the rows that have selected cells.
+     */
+    private int getRowLimit() {
+        if (this.cells != null) {
+            return this.cells.length;
+        }
+        return (this.rowRanges.length == 0) ? 0 : this.rowRanges[this.rowRanges.length - 1] + 1;
+    }
+
+    /**
+     * Returns the selected columns of the specified row.
+     *
+     * @param row             Row.
+     * @param selectedColumns The result of {@link #getSelectedColumns()} on this snapshot.
+     * @return Selected columns of the row, or <code>null</code> if the row has no selected
+     * cells.
+     */
+    private BitSet getRowCells(int row, BitSet selectedColumns) {
+        if (this.cells != null) {
+            return (row < this.cells.length) ? this.cells[row] : null;
+        }
+        return inRanges(this.rowRanges, row) ? selectedColumns : null;
+    }
+
+    private static final int IN_OLD = 1;
+    private static final int IN_NEW = 2;
+
+    /**
+     * Splits the union of two range lists into segments that have the same membership in both
+     * lists.
+     *
+     * @param oldRanges Old ranges.
+     * @param newRanges New ranges.
+     * @return Triplets of inclusive [start, end] segment indices and a combination of
+     * {@link #IN_OLD} and {@link #IN_NEW} membership flags.
+     */
+    private static int[] getSegments(int[] oldRanges, int[] newRanges) {
+        // Boundaries are the starts and (exclusive) ends of all the ranges
+        int[] boundaries = new int[2 * (oldRanges.length + newRanges.length)];
+        int count = 0;
+        for (int i = 0; i < oldRanges.length; i += 2) {
+            boundaries[count++] = oldRanges[i];
+            boundaries[count++] = oldRanges[i + 1] + 1;
+        }
+        for (int i = 0; i < newRanges.length; i += 2) {
+            boundaries[count++] = newRanges[i];
+            boundaries[count++] = newRanges[i + 1] + 1;
+        }
+        boundaries = Arrays.copyOf(boundaries, count);
+        Arrays.sort(boundaries);
+
+        int[] segments = new int[3 * Math.max(count, 1)];
+        int size = 0;
+        int oldIndex = 0;
+        int newIndex = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int start = boundaries[i];
+            int end = boundaries[i + 1] - 1;
+            if (start > end) {
+                continue;
+            }
+            while ((oldIndex < oldRanges.length) && (oldRanges[oldIndex + 1] < start)) {
+                oldIndex += 2;
+            }
+            while ((newIndex < newRanges.length) && (newRanges[newIndex + 1] < start)) {
+                newIndex += 2;
+            }
+            int flags = 0;
+            if ((oldIndex < oldRanges.length) && (oldRanges[oldIndex] <= start)) {
+                flags |= IN_OLD;
+            }
+            if ((newIndex < newRanges.length) && (newRanges[newIndex] <= start)) {
+                flags |= IN_NEW;
+            }
+            if (flags != 0) {
+                segments[size++] = start;
+                segments[size++] = end;
+                segments[size++] = flags;
+            }
+        }
+        return Arrays.copyOf(segments, size);
+    }
+}
@@ -172,8 +172,7 @@ public class SubstanceBorder implements Border, UIResource {
 				finalAlpha, g));
 
 		if (width * height < 100000) {
-			HashMapKey hashKey = SubstanceCoreUtilities.getHashKey(
-					SubstanceCoreUtilities.getBorderPainter(c).getDisplayName(),
+			CacheKey hashKey = CacheKey.of(SubstanceCoreUtilities.getBorderPainter(c).getDisplayName(),
 					SubstanceSizeUtils.getComponentFontSize(c), width, height, radius,
 					borderColorScheme.getDisplayName());
 			BufferedImage result = smallImageCache.get(hashKey);
@@ -127,8 +127,7 @@ public class SubstanceTableCellBorder implements Border, UIResource {
 				.getColorScheme(c, ColorSchemeAssociationKind.HIGHLIGHT_BORDER,
 						currState);
 
-		HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(
-				SubstanceSizeUtils.getComponentFontSize(c), width, height,
+		CacheKey baseKey = CacheKey.of(SubstanceSizeUtils.getComponentFontSize(c), width, height,
 				radius, baseBorderScheme.getDisplayName());
 		BufferedImage baseLayer = smallImageCache.get(baseKey);
 		float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(c, currState);
@@ -163,8 +162,7 @@ public class SubstanceTableCellBorder implements Border, UIResource {
 								ColorSchemeAssociationKind.HIGHLIGHT_BORDER,
 								activeState);
 
-				HashMapKey key = SubstanceCoreUtilities.getHashKey(
-						SubstanceSizeUtils.getComponentFontSize(c), width,
+				CacheKey key = CacheKey.of(SubstanceSizeUtils.getComponentFontSize(c), width,
 						height, radius, borderScheme.getDisplayName());
 				BufferedImage layer = smallImageCache.get(key);
 				float activeAlpha = SubstanceColorSchemeUtilities.getAlpha(c, activeState);
@@ -29,7 +29,6 @@
  */
 package org.pushingpixels.substance.internal.utils.border;
 
-import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -59,7 +58,7 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
     protected Insets myInsets;
 
     /**
-     * Cache of small border images.
+     * Cache of border template images.
      */
     private static LazyResettableHashMap<BufferedImage> smallImageCache = new LazyResettableHashMap<>(
             "SubstanceTextComponentBorder");
@@ -104,8 +103,13 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
         Graphics2D graphics = (Graphics2D) g.create();
         JTextComponent componentForTransitions = SubstanceCoreUtilities
                 .getTextComponentForTransitions(c);
-        boolean useCache = (width * height < 100000);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(c);
+        // The border is rendered once into a small template, and its edges are stretched
+        // to the component size
+        int edge = (int) Math.ceil(SubstanceSizeUtils.getBorderStrokeWidth()) + 1;
+        int templateWidth = NineSliceUtilities.getTemplateLength(width, edge);
+        int templateHeight = NineSliceUtilities.getTemplateLength(height, edge);
+        graphics.translate(x, y);
         if (componentForTransitions != null) {
             ComponentUI ui = componentForTransitions.getUI();
             if (ui instanceof TransitionAwareUI) {
@@ -120,31 +124,15 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                     currState = ComponentState.DISABLED_SELECTED;
                 }
 
-                graphics.translate(x, y);
-
                 SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(componentForTransitions, ColorSchemeAssociationKind.BORDER,
                                 currState);
                 float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(c, currState);
                 graphics.setComposite(AlphaComposite.SrcOver.derive(baseAlpha));
-                if (useCache) {
-                    HashMapKey baseHashKey = SubstanceCoreUtilities.getHashKey(
-                            borderPainter.getDisplayName(), width, height,
-                            baseBorderScheme.getDisplayName());
-                    BufferedImage baseLayer = smallImageCache.get(baseHashKey);
-                    if (baseLayer == null) {
-                        baseLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                        Graphics2D g2base = baseLayer.createGraphics();
-                        SubstanceImageCreator.paintSimpleBorder(c, g2base, width, height,
-                                baseBorderScheme);
-                        g2base.dispose();
-                        smallImageCache.put(baseHashKey, baseLayer);
-                    }
-                    NeonCortex.drawImage(graphics, baseLayer, 0, 0);
-                } else {
-                    SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height,
-                            baseBorderScheme);
-                }
+                BufferedImage baseLayer = getBorderImage(c, borderPainter, templateWidth,
+                        templateHeight, baseBorderScheme);
+                paintSliced(graphics, baseLayer, templateWidth, templateHeight, width, height,
+                        edge);
 
                 if (!currState.isDisabled() && (activeStates.size() > 1)) {
                     for (Map.Entry<ComponentState, StateTransitionTracker.StateContributionInfo> activeEntry : activeStates
@@ -169,27 +157,13 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                                         ColorSchemeAssociationKind.BORDER, activeState);
                         graphics.setComposite(AlphaComposite.SrcOver.derive(alpha * contribution));
 
-                        if (useCache) {
-                            HashMapKey extraHashKey = SubstanceCoreUtilities.getHashKey(
-                                    borderPainter.getDisplayName(), width, height,
-                                    borderScheme.getDisplayName());
-                            BufferedImage extraLayer = smallImageCache.get(extraHashKey);
-                            if (extraLayer == null) {
-                                extraLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                                Graphics2D g2extra = extraLayer.createGraphics();
-                                SubstanceImageCreator.paintSimpleBorder(c, g2extra, width, height,
-                                        baseBorderScheme);
-                                g2extra.dispose();
-                                smallImageCache.put(extraHashKey, extraLayer);
-                            }
-
-                            NeonCortex.drawImage(graphics, extraLayer, 0, 0);
-                        } else {
-                            SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height,
-                                    borderScheme);
-                        }
+                        BufferedImage extraLayer = getBorderImage(c, borderPainter,
+                                templateWidth, templateHeight, borderScheme);
+                        paintSliced(graphics, extraLayer, templateWidth, templateHeight, width,
+                                height, edge);
                     }
                 }
+                graphics.dispose();
                 return;
             }
         }
@@ -198,28 +172,80 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                 : ComponentState.DISABLED_UNSELECTED;
         SubstanceColorScheme borderColorScheme = SubstanceColorSchemeUtilities.getColorScheme(c,
                 ColorSchemeAssociationKind.BORDER, currState);
-        graphics.translate(x, y);
 
-        if (useCache) {
-            HashMapKey baseHashKey = SubstanceCoreUtilities.getHashKey(
-                    borderPainter.getDisplayName(), width, height,
-                    borderColorScheme.getDisplayName());
-            BufferedImage baseLayer = smallImageCache.get(baseHashKey);
-            if (baseLayer == null) {
-                baseLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                Graphics2D g2base = baseLayer.createGraphics();
-                SubstanceImageCreator.paintSimpleBorder(c, g2base, width, height,
-                        borderColorScheme);
-                g2base.dispose();
-                smallImageCache.put(baseHashKey, baseLayer);
-            }
+        BufferedImage baseLayer = getBorderImage(c, borderPainter, templateWidth, templateHeight,
+                borderColorScheme);
+        paintSliced(graphics, baseLayer, templateWidth, templateHeight, width, height, edge);
+
+        graphics.dispose();
+    }
+
+    /**
+     * Renders the border of the specified text component in the specified state into the
+     * cache, without painting it. This can be called off the Event Dispatch Thread as long as
+     * the component is not changed at the same time.
+     *
+     * @param c      Text component, or a component that hosts one.
+     * @param state  Component state to render.
+     * @param width  Component width.
+     * @param height Component height.
+     */
+    public static void prepareBorder(JComponent c, ComponentState state, int width,
+            int height) {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel() || (width <= 0) || (height <= 0)) {
+            return;
+        }
 
-            NeonCortex.drawImage(graphics, baseLayer, 0, 0);
+        JTextComponent componentForTransitions = SubstanceCoreUtilities
+                .getTextComponentForTransitions(c);
+        JComponent schemeComponent = c;
+        if ((componentForTransitions != null)
+                && (componentForTransitions.getUI() instanceof TransitionAwareUI)) {
+            schemeComponent = componentForTransitions;
+            if (state.isDisabled()) {
+                state = ComponentState.DISABLED_SELECTED;
+            }
         } else {
-            SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height, borderColorScheme);
+            state = state.isDisabled() ? ComponentState.DISABLED_UNSELECTED
+                    : ComponentState.ENABLED;
         }
+        SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities.getColorScheme(
+                schemeComponent, ColorSchemeAssociationKind.BORDER, state);
 
-        graphics.dispose();
+        int edge = (int) Math.ceil(SubstanceSizeUtils.getBorderStrokeWidth()) + 1;
+        getBorderImage(c, SubstanceCoreUtilities.getBorderPainter(c),
+                NineSliceUtilities.getTemplateLength(width, edge),
+                NineSliceUtilities.getTemplateLength(height, edge), borderScheme);
+    }
+
+    /**
+     * Returns the border template image of the specified size.
+     */
+    private static BufferedImage getBorderImage(JComponent c,
+            SubstanceBorderPainter borderPainter, int width, int height,
+            SubstanceColorScheme borderScheme) {
+        CacheKey key = CacheKey.of(borderPainter.getDisplayName(), width, height,
+                borderScheme.getDisplayName());
+        BufferedImage result = smallImageCache.get(key);
+        if (result == null) {
+            result = SubstanceCoreUtilities.getBlankImage(width, height);
+            Graphics2D g2d = result.createGraphics();
+            SubstanceImageCreator.paintSimpleBorder(c, g2d, width, height, borderScheme);
+            g2d.dispose();
+            smallImageCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Paints the border template stretched to the specified size.
+     */
+    private static void paintSliced(Graphics2D graphics, BufferedImage template,
+            int templateWidth, int templateHeight, int width, int height, int edge) {
+        int horizontalEdge = (templateWidth < width) ? edge : 0;
+        int verticalEdge = (templateHeight < height) ? edge : 0;
+        NineSliceUtilities.paintSliced(graphics, template, templateWidth, templateHeight, 0, 0,
+                width, height, horizontalEdge, verticalEdge, horizontalEdge, verticalEdge);
     }
 
     @Override
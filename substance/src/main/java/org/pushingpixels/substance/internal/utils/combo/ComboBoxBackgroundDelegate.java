@@ -29,8 +29,8 @@
  */
 package org.pushingpixels.substance.internal.utils.combo;
 
-import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
@@ -42,6 +42,7 @@ import org.pushingpixels.substance.internal.utils.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -63,11 +64,40 @@ public class ComboBoxBackgroundDelegate {
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) combo.getUI();
         StateTransitionTracker.ModelStateInfo modelStateInfo = transitionAwareUI
                 .getTransitionTracker().getModelStateInfo();
-        ComponentState currState = modelStateInfo.getCurrModelState();
+        return getFullAlphaBackground(combo, modelStateInfo.getCurrModelState(),
+                modelStateInfo.getStateContributionMap(), fillPainter, borderPainter, width,
+                height);
+    }
 
-        Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = modelStateInfo
-                .getStateContributionMap();
+    /**
+     * Renders the background of the specified combobox in the specified state into the cache,
+     * without painting it. This can be called off the Event Dispatch Thread as long as the
+     * combobox is not changed at the same time.
+     *
+     * @param combo  Combobox.
+     * @param state  Combobox state to render.
+     * @param width  Combobox width.
+     * @param height Combobox height.
+     */
+    public static void prepareBackground(JComboBox combo, ComponentState state, int width,
+            int height) {
+        if (!SubstanceCoreUtilities.isCurrentLookAndFeel()) {
+            return;
+        }
 
+        SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(combo);
+        SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(combo);
+        getFullAlphaBackground(combo, state, Collections.singletonMap(state,
+                new StateTransitionTracker.StateContributionInfo(1.0f, 1.0f)), fillPainter,
+                borderPainter, NineSliceUtilities.canSlice(fillPainter, borderPainter)
+                        ? NineSliceUtilities.getTemplateLength(width, height) : width, height);
+    }
+
+    private static BufferedImage getFullAlphaBackground(JComboBox combo,
+            ComponentState currState,
+            Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates,
+            SubstanceFillPainter fillPainter, SubstanceBorderPainter borderPainter, int width,
+            int height) {
         int comboFontSize = SubstanceSizeUtils.getComponentFontSize(combo);
         float radius = SubstanceSizeUtils.getClassicButtonCornerRadius(comboFontSize);
 
@@ -76,15 +106,16 @@ public class ComboBoxBackgroundDelegate {
         SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities.getColorScheme(combo,
                 ColorSchemeAssociationKind.BORDER, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(width, height,
+        CacheKey keyBase = CacheKey.of(width, height,
                 baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                 combo.getClass().getName(), radius, comboFontSize);
-        BufferedImage layerBase = regularBackgrounds.get(keyBase);
+        SubstanceSkin skin = SubstanceCoreUtilities.getSkin(combo);
+        BufferedImage layerBase = regularBackgrounds.get(skin, keyBase);
         if (layerBase == null) {
             layerBase = createBackgroundImage(combo, fillPainter, borderPainter, width,
                     height, baseFillScheme, baseBorderScheme, radius);
-            regularBackgrounds.put(keyBase, layerBase);
+            regularBackgrounds.put(skin, keyBase, layerBase);
         }
         if (currState.isDisabled() || (activeStates.size() == 1)) {
             return layerBase;
@@ -113,15 +144,15 @@ public class ComboBoxBackgroundDelegate {
                         .getColorScheme(combo, activeState);
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(combo, ColorSchemeAssociationKind.BORDER, activeState);
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
+                CacheKey key = CacheKey.of(width, height,
                         fillScheme.getDisplayName(), borderScheme.getDisplayName(),
                         fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                         combo.getClass().getName(), radius, comboFontSize);
-                BufferedImage layer = regularBackgrounds.get(key);
+                BufferedImage layer = regularBackgrounds.get(skin, key);
                 if (layer == null) {
                     layer = createBackgroundImage(combo, fillPainter, borderPainter, width,
                             height, fillScheme, borderScheme, radius);
-                    regularBackgrounds.put(key, layer);
+                    regularBackgrounds.put(skin, key, layer);
                 }
                 g2d.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
             }
@@ -171,7 +202,11 @@ public class ComboBoxBackgroundDelegate {
         SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(combo);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(combo);
 
-        BufferedImage bgImage = getFullAlphaBackground(combo, fillPainter, borderPainter, width, height);
+        // The background is rendered once per height and stretched to the combobox width
+        int renderWidth = NineSliceUtilities.canSlice(fillPainter, borderPainter)
+                ? NineSliceUtilities.getTemplateLength(width, height) : width;
+        BufferedImage bgImage = getFullAlphaBackground(combo, fillPainter, borderPainter,
+                renderWidth, height);
 
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) combo.getUI();
         StateTransitionTracker stateTransitionTracker = transitionAwareUI.getTransitionTracker();
@@ -212,7 +247,8 @@ public class ComboBoxBackgroundDelegate {
             graphics.setComposite(WidgetUtilities.getAlphaComposite(combo, extraAlpha, g));
             graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            NeonCortex.drawImage(graphics, bgImage, 0, y);
+            NineSliceUtilities.paintHorizontallySliced(graphics, bgImage, renderWidth, 0, y,
+                    width, height);
             graphics.dispose();
         }
     }
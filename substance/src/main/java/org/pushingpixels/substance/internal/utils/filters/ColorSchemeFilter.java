@@ -36,10 +36,9 @@ package org.pushingpixels.substance.internal.utils.filters;
 
 import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
-import org.pushingpixels.substance.internal.utils.HashMapKey;
+import org.pushingpixels.substance.internal.utils.CacheKey;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
 import org.pushingpixels.substance.internal.utils.SubstanceColorUtilities;
-import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -52,7 +51,14 @@ import java.util.*;
  */
 
 public class ColorSchemeFilter extends NeonAbstractFilter {
-    private int[] interpolated;
+    /**
+     * Hue, saturation and brightness of the scheme colors mapped to each brightness step.
+     * These are computed once so that {@link #mixColor(int[])} only needs to convert the
+     * source pixels.
+     */
+    private float[] interpolatedHue;
+    private float[] interpolatedSaturation;
+    private float[] interpolatedBrightness;
 
     private static final int MAPSTEPS = 512;
 
@@ -63,8 +69,7 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
 
     public static ColorSchemeFilter getColorSchemeFilter(SubstanceColorScheme scheme,
             float originalBrightnessFactor) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(scheme.getDisplayName(),
-                originalBrightnessFactor);
+        CacheKey key = CacheKey.of(scheme.getDisplayName(), originalBrightnessFactor);
         ColorSchemeFilter filter = filters.get(key);
         if (filter == null) {
             filter = new ColorSchemeFilter(scheme, originalBrightnessFactor);
@@ -144,14 +149,14 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
         schemeBrightness = new ArrayList<>(stretchedColorMapping.keySet());
         Collections.sort(schemeBrightness);
 
-        this.interpolated = new int[MAPSTEPS];
+        int[] interpolated = new int[MAPSTEPS];
         for (int i = 0; i < MAPSTEPS; i++) {
             int brightness = (int) (256.0 * i / MAPSTEPS);
             if (schemeBrightness.contains(brightness)) {
-                this.interpolated[i] = stretchedColorMapping.get(brightness).getRGB();
+                interpolated[i] = stretchedColorMapping.get(brightness).getRGB();
             } else {
                 if (hasSameBrightness) {
-                    this.interpolated[i] = stretchedColorMapping.get(lowestSchemeBrightness)
+                    interpolated[i] = stretchedColorMapping.get(lowestSchemeBrightness)
                             .getRGB();
                 } else {
                     int currIndex = 0;
@@ -162,7 +167,7 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
                             // interpolate
                             Color currStopColor = stretchedColorMapping.get(currStopValue);
                             Color nextStopColor = stretchedColorMapping.get(nextStopValue);
-                            this.interpolated[i] = SubstanceColorUtilities.getInterpolatedRGB(
+                            interpolated[i] = SubstanceColorUtilities.getInterpolatedRGB(
                                     currStopColor, nextStopColor,
                                     1.0 - (double) (brightness - currStopValue)
                                             / (double) (nextStopValue - currStopValue));
@@ -173,6 +178,19 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
                 }
             }
         }
+
+        this.interpolatedHue = new float[MAPSTEPS];
+        this.interpolatedSaturation = new float[MAPSTEPS];
+        this.interpolatedBrightness = new float[MAPSTEPS];
+        float[] hsb = new float[3];
+        for (int i = 0; i < MAPSTEPS; i++) {
+            int pixelColor = interpolated[i];
+            Color.RGBtoHSB((pixelColor >>> 16) & 0xFF, (pixelColor >>> 8) & 0xFF,
+                    pixelColor & 0xFF, hsb);
+            this.interpolatedHue[i] = hsb[0];
+            this.interpolatedSaturation[i] = hsb[1];
+            this.interpolatedBrightness[i] = hsb[2];
+        }
     }
 
     @Override
@@ -193,6 +211,7 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
     }
 
     private void mixColor(int[] pixels) {
+        float[] hsb = new float[3];
         for (int i = 0; i < pixels.length; i++) {
             int argb = pixels[i];
 
@@ -202,24 +221,20 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
             int g = (argb >>> 8) & 0xFF;
             int b = (argb >>> 0) & 0xFF;
 
-            float[] hsb = Color.RGBtoHSB(r, g, b, null);
-            int pixelColor = interpolated[brightness * MAPSTEPS / 256];
-
-            int ri = (pixelColor >>> 16) & 0xFF;
-            int gi = (pixelColor >>> 8) & 0xFF;
-            int bi = (pixelColor >>> 0) & 0xFF;
-            float[] hsbi = Color.RGBtoHSB(ri, gi, bi, null);
+            Color.RGBtoHSB(r, g, b, hsb);
+            int index = brightness * MAPSTEPS / 256;
 
-            hsb[0] = hsbi[0];
-            hsb[1] = hsbi[1];
+            float mappedBrightness = this.interpolatedBrightness[index];
+            float pixelBrightness;
             if (this.originalBrightnessFactor >= 0.0f) {
-                hsb[2] = this.originalBrightnessFactor * hsb[2]
-                        + (1.0f - this.originalBrightnessFactor) * hsbi[2];
+                pixelBrightness = this.originalBrightnessFactor * hsb[2]
+                        + (1.0f - this.originalBrightnessFactor) * mappedBrightness;
             } else {
-                hsb[2] = hsb[2] * hsbi[2] * (1.0f + this.originalBrightnessFactor);
+                pixelBrightness = hsb[2] * mappedBrightness * (1.0f + this.originalBrightnessFactor);
             }
 
-            int result = Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]);
+            int result = Color.HSBtoRGB(this.interpolatedHue[index],
+                    this.interpolatedSaturation[index], pixelBrightness);
 
             pixels[i] = (argb & 0xFF000000) | ((result >> 16) & 0xFF) << 16
                     | ((result >> 8) & 0xFF) << 8 | (result & 0xFF);
@@ -138,37 +138,7 @@ public class ArrowButtonTransitionAwareIcon implements Icon {
 		ComponentState currState = isMenu ? modelStateInfo.getCurrModelStateNoSelection() 
 				: modelStateInfo.getCurrModelState();
 
-		// Use HIGHLIGHT for rollover menus (arrow icons) and MARK for the rest
-		ColorSchemeAssociationKind baseAssociationKind =
-				isMenu && currState.isFacetActive(ComponentStateFacet.ROLLOVER) 
-					? ColorSchemeAssociationKind.HIGHLIGHT
-					: ColorSchemeAssociationKind.MARK;
-		SubstanceColorScheme baseScheme = SubstanceColorSchemeUtilities
-				.getColorScheme(this.component, baseAssociationKind, currState);
-		float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(
-				this.component, currState);
-
-		HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(
-				this.component.getClass().getName(), this.orientation, 
-				SubstanceSizeUtils.getComponentFontSize(this.component), 
-				baseScheme.getDisplayName(), baseAlpha);
-		ResizableIcon layerBase = iconMap.get(keyBase);
-		if (layerBase == null) {
-			ResizableIcon baseFullOpacity = this.delegate.getColorSchemeIcon(baseScheme);
-			if (baseAlpha == 1.0f) {
-				layerBase = baseFullOpacity;
-				iconMap.put(keyBase, layerBase);
-			} else {
-				BufferedImage baseImage = SubstanceCoreUtilities.getBlankImage(
-						baseFullOpacity.getIconWidth(), baseFullOpacity.getIconHeight());
-				Graphics2D g2base = baseImage.createGraphics();
-				g2base.setComposite(AlphaComposite.SrcOver.derive(baseAlpha));
-				baseFullOpacity.paintIcon(this.component, g2base, 0, 0);
-				g2base.dispose();
-				layerBase = new ImageWrapperIcon(baseImage);
-				iconMap.put(keyBase, layerBase);
-			}
-		}
+		ResizableIcon layerBase = this.getLayer(currState, isMenu);
 
 		if (currState.isDisabled() || (activeStates.size() == 1)) {
 			return layerBase;
@@ -206,38 +176,7 @@ public class ArrowButtonTransitionAwareIcon implements Icon {
 			if (stateContribution > 0.0f) {
 				g2d.setComposite(AlphaComposite.SrcOver.derive(stateContribution));
 
-				ColorSchemeAssociationKind associationKind = 
-						isMenu && activeState.isFacetActive(ComponentStateFacet.ROLLOVER) 
-								? ColorSchemeAssociationKind.HIGHLIGHT
-								: ColorSchemeAssociationKind.MARK;
-				SubstanceColorScheme scheme = SubstanceColorSchemeUtilities
-						.getColorScheme(this.component, associationKind, activeState);
-				float alpha = SubstanceColorSchemeUtilities.getAlpha(
-						this.component, activeState);
-
-				HashMapKey key = SubstanceCoreUtilities
-						.getHashKey(this.component.getClass().getName(),
-								this.orientation, SubstanceSizeUtils
-										.getComponentFontSize(this.component),
-								scheme.getDisplayName(), alpha);
-				ResizableIcon layer = iconMap.get(key);
-				if (layer == null) {
-					ResizableIcon fullOpacity = this.delegate.getColorSchemeIcon(scheme);
-					if (alpha == 1.0f) {
-						layer = fullOpacity;
-						iconMap.put(key, layer);
-					} else {
-						BufferedImage image = SubstanceCoreUtilities
-								.getBlankImage(fullOpacity.getIconWidth(),
-										fullOpacity.getIconHeight());
-						Graphics2D g2layer = image.createGraphics();
-						g2layer.setComposite(AlphaComposite.SrcOver.derive(alpha));
-						fullOpacity.paintIcon(this.component, g2layer, 0, 0);
-						g2layer.dispose();
-						layer = new ImageWrapperIcon(image);
-						iconMap.put(key, layer);
-					}
-				}
+				ResizableIcon layer = this.getLayer(activeState, isMenu);
 				layer.paintIcon(this.component, g2d, 0, 0);
 			}
 		}
@@ -245,6 +184,53 @@ public class ArrowButtonTransitionAwareIcon implements Icon {
 		return new ImageWrapperIcon(result);
 	}
 
+	/**
+	 * Renders the icon layer of the specified state into the cache. This can be
+	 * called off the Event Dispatch Thread as long as the component is not
+	 * changed at the same time.
+	 * 
+	 * @param state
+	 *            Component state to render.
+	 */
+	public void prepare(ComponentState state) {
+		this.getLayer(state, this.component instanceof JMenu);
+	}
+
+	/**
+	 * Returns the full icon of the specified state.
+	 */
+	private ResizableIcon getLayer(ComponentState state, boolean isMenu) {
+		// Use HIGHLIGHT for rollover menus (arrow icons) and MARK for the rest
+		ColorSchemeAssociationKind associationKind =
+				isMenu && state.isFacetActive(ComponentStateFacet.ROLLOVER)
+					? ColorSchemeAssociationKind.HIGHLIGHT
+					: ColorSchemeAssociationKind.MARK;
+		SubstanceColorScheme scheme = SubstanceColorSchemeUtilities
+				.getColorScheme(this.component, associationKind, state);
+		float alpha = SubstanceColorSchemeUtilities.getAlpha(this.component, state);
+
+		CacheKey key = CacheKey.of(this.component.getClass().getName(), this.orientation,
+				SubstanceSizeUtils.getComponentFontSize(this.component),
+				scheme.getDisplayName(), alpha);
+		ResizableIcon layer = iconMap.get(key);
+		if (layer == null) {
+			ResizableIcon fullOpacity = this.delegate.getColorSchemeIcon(scheme);
+			if (alpha == 1.0f) {
+				layer = fullOpacity;
+			} else {
+				BufferedImage image = SubstanceCoreUtilities.getBlankImage(
+						fullOpacity.getIconWidth(), fullOpacity.getIconHeight());
+				Graphics2D g2layer = image.createGraphics();
+				g2layer.setComposite(AlphaComposite.SrcOver.derive(alpha));
+				fullOpacity.paintIcon(this.component, g2layer, 0, 0);
+				g2layer.dispose();
+				layer = new ImageWrapperIcon(image);
+			}
+			iconMap.put(key, layer);
+		}
+		return layer;
+	}
+
 	@Override
 	public int getIconHeight() {
 		return this.iconHeight;
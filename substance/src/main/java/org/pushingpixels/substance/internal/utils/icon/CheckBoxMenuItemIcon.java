@@ -116,7 +116,7 @@ public class CheckBoxMenuItemIcon implements Icon, UIResource {
         int fontSize = SubstanceSizeUtils.getComponentFontSize(this.menuItem);
         int checkMarkSize = this.size + 3;
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+        CacheKey keyBase = CacheKey.of(fontSize, checkMarkSize,
                 fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                 baseFillColorScheme.getDisplayName(), baseMarkColorScheme.getDisplayName(),
                 baseBorderColorScheme.getDisplayName(), visibility, isCheckMarkFadingOut,
@@ -160,10 +160,11 @@ public class CheckBoxMenuItemIcon implements Icon, UIResource {
                         .getColorScheme(this.menuItem, ColorSchemeAssociationKind.BORDER,
                                 activeState);
 
-                HashMapKey keyLayer = SubstanceCoreUtilities.getHashKey(fontSize, checkMarkSize,
+                CacheKey keyLayer = CacheKey.of(fontSize, checkMarkSize,
                         fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                         fillColorScheme.getDisplayName(), markColorScheme.getDisplayName(),
-                        borderColorScheme.getDisplayName(), visibility, alpha);
+                        borderColorScheme.getDisplayName(), visibility, isCheckMarkFadingOut,
+                        alpha);
                 ImageWrapperIcon iconLayer = iconMap.get(keyLayer);
                 if (iconLayer == null) {
                     iconLayer = new ImageWrapperIcon(SubstanceImageCreator.getCheckBox(
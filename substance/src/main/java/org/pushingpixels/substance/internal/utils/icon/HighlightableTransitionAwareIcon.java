@@ -117,7 +117,7 @@ public class HighlightableTransitionAwareIcon implements Icon {
                 this.component, baseAssociationKind, currState);
         float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(this.component, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(this.component.getClass().getName(),
+        CacheKey keyBase = CacheKey.of(this.component.getClass().getName(),
                 this.uniqueIconTypeId, SubstanceSizeUtils.getComponentFontSize(this.component),
                 baseScheme.getDisplayName(), baseAlpha);
         ResizableIcon layerBase = iconMap.get(keyBase);
@@ -168,8 +168,8 @@ public class HighlightableTransitionAwareIcon implements Icon {
                         this.component, associationKind, activeState);
                 float alpha = SubstanceColorSchemeUtilities.getAlpha(this.component, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(
-                        this.component.getClass().getName(), this.uniqueIconTypeId,
+                CacheKey key = CacheKey.of(this.component.getClass().getName(),
+                        this.uniqueIconTypeId,
                         SubstanceSizeUtils.getComponentFontSize(this.component),
                         scheme.getDisplayName(), alpha);
                 ResizableIcon layer = iconMap.get(key);
@@ -113,7 +113,7 @@ public class RadioButtonMenuItemIcon implements Icon, UIResource {
         float visibility = stateTransitionTracker.getFacetStrength(ComponentStateFacet.SELECTION);
         float alpha = SubstanceColorSchemeUtilities.getAlpha(this.menuItem, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(fontSize,
+        CacheKey keyBase = CacheKey.of(fontSize,
                 checkMarkSize, fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                 baseFillColorScheme.getDisplayName(), baseMarkColorScheme.getDisplayName(),
                 baseBorderColorScheme.getDisplayName(), visibility, alpha);
@@ -155,11 +155,10 @@ public class RadioButtonMenuItemIcon implements Icon, UIResource {
                 SubstanceColorScheme borderColorScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(this.menuItem, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey keyLayer = SubstanceCoreUtilities.getHashKey(
-                        fontSize, checkMarkSize, fillPainter.getDisplayName(),
-                        borderPainter.getDisplayName(), fillColorScheme.getDisplayName(),
-                        markColorScheme.getDisplayName(), borderColorScheme.getDisplayName(),
-                        visibility, alpha);
+                CacheKey keyLayer = CacheKey.of(fontSize, checkMarkSize,
+                        fillPainter.getDisplayName(), borderPainter.getDisplayName(),
+                        fillColorScheme.getDisplayName(), markColorScheme.getDisplayName(),
+                        borderColorScheme.getDisplayName(), visibility, alpha);
                 ImageWrapperIcon iconLayer = iconMap.get(keyLayer);
                 if (iconLayer == null) {
                     iconLayer = new ImageWrapperIcon(SubstanceImageCreator.getRadioButton(
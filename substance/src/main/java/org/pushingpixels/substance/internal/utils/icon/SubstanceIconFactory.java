@@ -90,7 +90,7 @@ public class SubstanceIconFactory {
      * @return Icon for horizontal slider in {@link SubstanceSliderUI}.
      */
     public static Icon getSliderHorizontalIcon(int size, boolean isMirrorred) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(size, isMirrorred);
+        CacheKey key = CacheKey.of(size, isMirrorred);
         if (SubstanceIconFactory.sliderHorizontalIcons.get(key) == null) {
             Icon icon = new SliderHorizontalIcon(size, isMirrorred);
             SubstanceIconFactory.sliderHorizontalIcons.put(key, icon);
@@ -106,7 +106,7 @@ public class SubstanceIconFactory {
      * @return Round icon for slider in {@link SubstanceSliderUI}.
      */
     public static Icon getSliderRoundIcon(int size) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(size);
+        CacheKey key = CacheKey.of(size, false);
         if (SubstanceIconFactory.sliderRoundIcons.get(key) == null) {
             Icon icon = new SliderRoundIcon(size);
             SubstanceIconFactory.sliderRoundIcons.put(key, icon);
@@ -124,7 +124,7 @@ public class SubstanceIconFactory {
      * @return Icon for vertical slider in {@link SubstanceSliderUI}.
      */
     public static Icon getSliderVerticalIcon(int size, boolean isMirrorred) {
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(size, isMirrorred);
+        CacheKey key = CacheKey.of(size, isMirrorred);
         if (SubstanceIconFactory.sliderVerticalIcons.get(key) == null) {
             Icon icon = new SliderVerticalIcon(size, isMirrorred);
             SubstanceIconFactory.sliderVerticalIcons.put(key, icon);
@@ -136,7 +136,7 @@ public class SubstanceIconFactory {
         int fontSize = SubstanceSizeUtils.getComponentFontSize(tree);
         int size = SubstanceSizeUtils.getTreeIconSize(fontSize);
 
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(size, isCollapsed);
+        CacheKey key = CacheKey.of(size, isCollapsed);
         if (SubstanceIconFactory.treeIcons.get(key) == null) {
             ResizableIcon icon = new TreeIcon(size, isCollapsed);
             SubstanceIconFactory.treeIcons.put(key, icon);
@@ -199,7 +199,7 @@ public class SubstanceIconFactory {
             SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities
                     .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, currState);
 
-            HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(this.size, width,
+            CacheKey baseKey = CacheKey.of(this.size, width, null,
                     baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
                     fillPainter.getDisplayName(), borderPainter.getDisplayName(), this.isMirrorred);
 
@@ -234,7 +234,7 @@ public class SubstanceIconFactory {
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(this.size, width,
+                CacheKey key = CacheKey.of(this.size, width, null,
                         fillScheme.getDisplayName(), borderScheme.getDisplayName(),
                         fillPainter.getDisplayName(), borderPainter.getDisplayName(),
                         this.isMirrorred);
@@ -365,9 +365,9 @@ public class SubstanceIconFactory {
             SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities
                     .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, currState);
 
-            HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(this.size, width,
+            CacheKey baseKey = CacheKey.of(this.size, width, null,
                     baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
-                    fillPainter.getDisplayName(), borderPainter.getDisplayName());
+                    fillPainter.getDisplayName(), borderPainter.getDisplayName(), false);
 
             ImageWrapperIcon baseLayer = SliderRoundIcon.icons.get(baseKey);
             if (baseLayer == null) {
@@ -402,9 +402,9 @@ public class SubstanceIconFactory {
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(this.size, width,
+                CacheKey key = CacheKey.of(this.size, width, null,
                         fillScheme.getDisplayName(), borderScheme.getDisplayName(),
-                        fillPainter.getDisplayName(), borderPainter.getDisplayName());
+                        fillPainter.getDisplayName(), borderPainter.getDisplayName(), false);
 
                 ImageWrapperIcon layer = SliderRoundIcon.icons.get(key);
                 if (layer == null) {
@@ -541,7 +541,7 @@ public class SubstanceIconFactory {
             SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities
                     .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, currState);
 
-            HashMapKey baseKey = SubstanceCoreUtilities.getHashKey(this.size, height,
+            CacheKey baseKey = CacheKey.of(this.size, height,
                     slider.getComponentOrientation(), baseFillScheme.getDisplayName(),
                     baseBorderScheme.getDisplayName(), fillPainter.getDisplayName(),
                     borderPainter.getDisplayName(), this.isMirrorred);
@@ -579,7 +579,7 @@ public class SubstanceIconFactory {
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(slider, ColorSchemeAssociationKind.BORDER, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(this.size, height,
+                CacheKey key = CacheKey.of(this.size, height,
                         slider.getComponentOrientation(), fillScheme.getDisplayName(),
                         borderScheme.getDisplayName(), fillPainter.getDisplayName(),
                         borderPainter.getDisplayName(), this.isMirrorred);
@@ -711,9 +711,8 @@ public class SubstanceIconFactory {
 
             int fontSize = SubstanceSizeUtils.getComponentFontSize(tree);
 
-            HashMapKey key = SubstanceCoreUtilities.getHashKey(fontSize,
-                    fillScheme.getDisplayName(), borderScheme.getDisplayName(),
-                    markScheme.getDisplayName(), isCollapsed);
+            CacheKey key = CacheKey.of(fontSize, fillScheme.getDisplayName(),
+                    borderScheme.getDisplayName(), markScheme.getDisplayName(), isCollapsed);
 
             ImageWrapperIcon result = TreeIcon.icons.get(key);
             if (result != null) {
@@ -818,7 +817,7 @@ public class SubstanceIconFactory {
 
         LazyResettableHashMap<ImageWrapperIcon> kindMap =
                 SubstanceIconFactory.titlePaneIcons.get(iconKind);
-        HashMapKey key = SubstanceCoreUtilities.getHashKey(scheme.getDisplayName(),
+        CacheKey key = CacheKey.of(scheme.getDisplayName(),
                 backgroundScheme.getDisplayName());
         ImageWrapperIcon result = kindMap.get(key);
         if (result != null)
@@ -842,4 +841,4 @@ public class SubstanceIconFactory {
         return result;
     }
 
-}
\ No newline at end of file
+}
@@ -165,7 +165,7 @@ public class TransitionAwareIcon implements Icon {
                 baseAssociationKind, currState);
         float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(this.comp, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(this.uniqueIconTypeId,
+        CacheKey keyBase = CacheKey.of(this.uniqueIconTypeId,
                 SubstanceSizeUtils.getComponentFontSize(this.comp), baseScheme.getDisplayName(),
                 baseAlpha);
         ResizableIcon layerBase = iconMap.get(keyBase);
@@ -217,7 +217,7 @@ public class TransitionAwareIcon implements Icon {
                         this.comp, associationKind, activeState);
                 float alpha = SubstanceColorSchemeUtilities.getAlpha(this.comp, activeState);
 
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(this.uniqueIconTypeId,
+                CacheKey key = CacheKey.of(this.uniqueIconTypeId,
                         SubstanceSizeUtils.getComponentFontSize(this.comp), scheme.getDisplayName(),
                         alpha);
                 ResizableIcon layer = iconMap.get(key);
@@ -33,7 +33,6 @@ import org.pushingpixels.substance.api.*;
 import org.pushingpixels.substance.api.SubstanceSlices.FocusKind;
 import org.pushingpixels.substance.api.colorscheme.ColorSchemeTransform;
 import org.pushingpixels.substance.api.text.SubstanceTextArea;
-import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.widget.animation.effects.GhostPaintingUtils;
 
@@ -207,11 +206,9 @@ public class RootPaneTitlePaneUiDebugger extends SubstanceWidget<JRootPane> {
                         showCacheStats.addActionListener(
                                 (ActionEvent event) -> SwingUtilities.invokeLater(() -> {
                                     final JTextArea textArea = new SubstanceTextArea();
-                                    java.util.List<String> stats = LazyResettableHashMap.getStats();
-                                    if (stats != null) {
-                                        for (String stat : stats) {
-                                            textArea.append(stat + "\n");
-                                        }
+                                    for (SubstanceCacheStatistics stat :
+                                            SubstanceCortex.GlobalScope.getCacheStatistics()) {
+                                        textArea.append(stat + "\n");
                                     }
                                     final JDialog dialog = new JDialog(
                                             SwingUtilities.getWindowAncestor(jcomp),
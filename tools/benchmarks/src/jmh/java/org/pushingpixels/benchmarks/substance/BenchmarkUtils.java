@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.skin.SkinInfo;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+/**
+ * Utilities shared by the Substance benchmarks. Substance requires components to be created
+ * and skins to be set on the Event Dispatch Thread, and these utilities run such code
+ * synchronously on that thread. Painters and UI delegates that do not change the state of
+ * the components are then called on the benchmark thread to render into offscreen images. The
+ * components are never shown, and are not accessed by any other thread while the benchmark
+ * runs.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class BenchmarkUtils {
+    /**
+     * Sets the skin with the specified display name as the global Substance skin.
+     *
+     * @param skinDisplayName Display name of a core Substance skin, such as
+     *                        <code>Business</code>.
+     * @throws IllegalArgumentException If there is no skin with the specified display name.
+     */
+    public static void setSkin(String skinDisplayName) {
+        SkinInfo skinInfo = SubstanceCortex.GlobalScope.getAllSkins().get(skinDisplayName);
+        if (skinInfo == null) {
+            throw new IllegalArgumentException("Unknown skin " + skinDisplayName);
+        }
+        runOnEdt(() -> {
+            if (!SubstanceCortex.GlobalScope.setSkin(skinInfo.getClassName())) {
+                throw new IllegalStateException("Could not set skin " + skinDisplayName);
+            }
+        });
+    }
+
+    /**
+     * Runs the specified code on the Event Dispatch Thread and waits for it to complete.
+     *
+     * @param runnable Code to run.
+     */
+    public static void runOnEdt(Runnable runnable) {
+        callOnEdt(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the specified code on the Event Dispatch Thread and returns its result.
+     *
+     * @param callable Code to run.
+     * @param <T>      Result type.
+     * @return The result of the code.
+     */
+    public static <T> T callOnEdt(Callable<T> callable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            try {
+                return callable.call();
+            } catch (RuntimeException exc) {
+                throw exc;
+            } catch (Exception exc) {
+                throw new IllegalStateException(exc);
+            }
+        }
+
+        Object[] result = new Object[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    result[0] = callable.call();
+                } catch (RuntimeException exc) {
+                    throw exc;
+                } catch (Exception exc) {
+                    throw new IllegalStateException(exc);
+                }
+            });
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exc);
+        } catch (InvocationTargetException exc) {
+            Throwable cause = exc.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        @SuppressWarnings("unchecked")
+        T typedResult = (T) result[0];
+        return typedResult;
+    }
+
+    /**
+     * Creates an offscreen image to render into. The image is not scaled for high DPI screens,
+     * since benchmarks run in headless mode with the scale factor of 1.
+     *
+     * @param width  Image width.
+     * @param height Image height.
+     * @return Offscreen image.
+     */
+    public static BufferedImage createOffscreenImage(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.internal.utils.ButtonBackgroundDelegate;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ButtonBackgroundDelegate}. The cached benchmark measures the steady
+ * state where the button background is found in the render caches. The uncached benchmark
+ * clears the render caches before each call, and measures the full cost of rendering the
+ * background layers and storing them in the caches.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ButtonBackgroundBenchmark {
+    @Param({"Business", "Graphite", "Nebula", "Twilight"})
+    public String skin;
+
+    @Param({"120", "480"})
+    public int width;
+
+    @Param({"28"})
+    public int height;
+
+    private JButton button;
+
+    private ButtonBackgroundDelegate delegate;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setSkin(this.skin);
+        this.button = BenchmarkUtils.callOnEdt(() -> {
+            JButton result = new JButton("Benchmark");
+            result.setSize(this.width, this.height);
+            return result;
+        });
+        this.delegate = new ButtonBackgroundDelegate();
+        this.image = BenchmarkUtils.createOffscreenImage(this.width, this.height);
+    }
+
+    @Benchmark
+    public BufferedImage cachedBackground() {
+        Graphics2D g2d = this.image.createGraphics();
+        this.delegate.updateBackground(g2d, this.button);
+        g2d.dispose();
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage uncachedBackground() {
+        // Clearing a handful of cache entries is cheap compared to rendering them
+        SubstanceCortex.GlobalScope.clearImageCaches();
+        Graphics2D g2d = this.image.createGraphics();
+        this.delegate.updateBackground(g2d, this.button);
+        g2d.dispose();
+        return this.image;
+    }
+}
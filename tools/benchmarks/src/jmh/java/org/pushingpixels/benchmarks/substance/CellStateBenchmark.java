@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.internal.ui.SubstanceTableUI.TableCellId;
+import org.pushingpixels.substance.internal.utils.CellIndexMap;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for looking up the per-cell state of lists, tables and tabs. The lookup benchmarks
+ * compare {@link CellIndexMap} with a hash map keyed by {@link TableCellId} objects, which is
+ * how the table UI delegate used to key its cell state. The rollover benchmark moves the mouse
+ * over the cells of a table. Run with the <code>gc</code> profiler and compare the
+ * <code>gc.alloc.rate.norm</code> values to see the allocations per lookup and per mouse move.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CellStateBenchmark {
+    private static final int COLUMN_COUNT = 8;
+
+    /**
+     * Number of mouse moves passed to the Event Dispatch Thread at once, so that the cost of
+     * passing the work to that thread is shared by many moves.
+     */
+    private static final int MOVES_PER_INVOCATION = 256;
+
+    @Param({"16", "1024"})
+    public int trackedRowCount;
+
+    private CellIndexMap<Object> cellIndexMap;
+
+    private Map<TableCellId, Object> cellIdMap;
+
+    private int lookupCursor;
+
+    private JTable table;
+
+    private MouseMotionListener[] mouseMotionListeners;
+
+    private MouseEvent[] mouseMoves;
+
+    @Setup
+    public void setup() {
+        this.cellIndexMap = new CellIndexMap<>();
+        this.cellIdMap = new HashMap<>();
+        for (int row = 0; row < this.trackedRowCount; row++) {
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                Object value = new Object();
+                this.cellIndexMap.put(CellIndexMap.key(row, column), value);
+                this.cellIdMap.put(new TableCellId(row, column), value);
+            }
+        }
+        this.lookupCursor = 0;
+
+        BenchmarkUtils.setSkin("Business");
+        BenchmarkUtils.runOnEdt(() -> {
+            this.table = new JTable(new DefaultTableModel(this.trackedRowCount, COLUMN_COUNT));
+            this.table.setSize(640, this.table.getPreferredSize().height);
+            this.table.doLayout();
+            this.mouseMotionListeners = this.table.getMouseMotionListeners();
+
+            // Sweep the mouse over the cells, moving to a new cell on every event
+            int rowHeight = this.table.getRowHeight();
+            int columnWidth = this.table.getWidth() / COLUMN_COUNT;
+            this.mouseMoves = new MouseEvent[MOVES_PER_INVOCATION];
+            for (int i = 0; i < MOVES_PER_INVOCATION; i++) {
+                int row = (i / COLUMN_COUNT) % this.trackedRowCount;
+                int column = i % COLUMN_COUNT;
+                this.mouseMoves[i] = new MouseEvent(this.table, MouseEvent.MOUSE_MOVED, 0L, 0,
+                        column * columnWidth + columnWidth / 2, row * rowHeight + rowHeight / 2,
+                        0, false);
+            }
+        });
+    }
+
+    private int nextCell() {
+        int cell = this.lookupCursor;
+        this.lookupCursor = (cell + 1) % (this.trackedRowCount * COLUMN_COUNT);
+        return cell;
+    }
+
+    @Benchmark
+    public Object cellIndexMapLookup() {
+        int cell = this.nextCell();
+        return this.cellIndexMap.get(CellIndexMap.key(cell / COLUMN_COUNT, cell % COLUMN_COUNT));
+    }
+
+    @Benchmark
+    public Object cellIdMapLookup() {
+        int cell = this.nextCell();
+        return this.cellIdMap.get(new TableCellId(cell / COLUMN_COUNT, cell % COLUMN_COUNT));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES_PER_INVOCATION)
+    public JTable tableRollover() {
+        BenchmarkUtils.runOnEdt(() -> {
+            for (MouseEvent mouseMove : this.mouseMoves) {
+                for (MouseMotionListener listener : this.mouseMotionListeners) {
+                    listener.mouseMoved(mouseMove);
+                }
+            }
+        });
+        return this.table;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.internal.utils.filters.ColorSchemeFilter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link ColorSchemeFilter} that is used to colorize icons and other images
+ * with the colors of a color scheme. The source image is a gradient that spans the full
+ * brightness range, so that every part of the filter map is used.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColorSchemeFilterBenchmark {
+    @Param({"Business", "Graphite"})
+    public String skin;
+
+    @Param({"16", "64", "256"})
+    public int size;
+
+    private ColorSchemeFilter filter;
+
+    private BufferedImage source;
+
+    private BufferedImage destination;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setSkin(this.skin);
+        SubstanceColorScheme scheme = SubstanceCortex.GlobalScope.getCurrentSkin()
+                .getActiveColorScheme(DecorationAreaType.NONE);
+        this.filter = ColorSchemeFilter.getColorSchemeFilter(scheme, 0.5f);
+
+        this.source = BenchmarkUtils.createOffscreenImage(this.size, this.size);
+        Graphics2D g2d = this.source.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, Color.black, this.size, this.size,
+                new Color(255, 255, 255, 128)));
+        g2d.fillOval(0, 0, this.size, this.size);
+        g2d.dispose();
+        this.destination = this.filter.createCompatibleDestImage(this.source, null);
+    }
+
+    @Benchmark
+    public BufferedImage filterToNewImage() {
+        return this.filter.filter(this.source, null);
+    }
+
+    @Benchmark
+    public BufferedImage filterToExistingImage() {
+        return this.filter.filter(this.source, this.destination);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.colorscheme.MetallicColorScheme;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.internal.utils.NoiseFactory;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link NoiseFactory} that renders the noise tiles of the marble and other
+ * noise-based painters. The default parameters match the tile of the marble noise decoration
+ * painter. Noise tiles are cached, and the benchmarks that measure the rendering clear the
+ * render caches before each call.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NoiseFactoryBenchmark {
+    @Param({"100", "400"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean toBlur;
+
+    private SubstanceColorScheme scheme;
+
+    @Setup
+    public void setup() {
+        this.scheme = new MetallicColorScheme();
+    }
+
+    @Benchmark
+    public BufferedImage noise() {
+        SubstanceCortex.GlobalScope.clearImageCaches();
+        return NoiseFactory.getNoiseImage(this.scheme, this.size, this.size, 0.8, 0.8, false,
+                this.toBlur);
+    }
+
+    @Benchmark
+    public BufferedImage noiseWithConstantZ() {
+        SubstanceCortex.GlobalScope.clearImageCaches();
+        return NoiseFactory.getNoiseImage(this.scheme, this.size, this.size, 0.8, 0.8, true,
+                this.toBlur);
+    }
+
+    @Benchmark
+    public BufferedImage cachedNoise() {
+        return NoiseFactory.getNoiseImage(this.scheme, this.size, this.size, 0.8, 0.8, false,
+                this.toBlur);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSkin;
+import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
+import org.pushingpixels.substance.api.painter.decoration.SubstanceDecorationPainter;
+import org.pushingpixels.substance.api.painter.fill.SubstanceFillPainter;
+import org.pushingpixels.substance.api.painter.highlight.SubstanceHighlightPainter;
+import org.pushingpixels.substance.api.shaper.SubstanceButtonShaper;
+import org.pushingpixels.substance.internal.utils.SubstanceSizeUtils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the fill, border, highlight and decoration painters of Substance skins. The
+ * painters are called directly, bypassing the render caches of the UI delegates, so that the
+ * numbers reflect the cost of rendering a single control background, border, highlight or
+ * decoration area.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PainterBenchmark {
+    @Param({"Business", "Graphite", "Nebula", "Twilight"})
+    public String skin;
+
+    @Param({"120", "480"})
+    public int width;
+
+    @Param({"28"})
+    public int height;
+
+    private JButton button;
+
+    private JPanel panel;
+
+    private SubstanceSkin currentSkin;
+
+    private Shape contour;
+
+    private Shape innerContour;
+
+    private SubstanceColorScheme fillScheme;
+
+    private SubstanceColorScheme borderScheme;
+
+    private SubstanceColorScheme highlightScheme;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setSkin(this.skin);
+        BenchmarkUtils.runOnEdt(() -> {
+            this.button = new JButton("Benchmark");
+            this.button.setSize(this.width, this.height);
+            this.panel = new JPanel();
+            this.panel.setSize(this.width, 4 * this.height);
+        });
+
+        this.currentSkin = SubstanceCortex.GlobalScope.getCurrentSkin();
+        SubstanceButtonShaper shaper = this.currentSkin.getButtonShaper();
+        float borderDelta = SubstanceSizeUtils.getBorderStrokeWidth() / 2.0f;
+        float borderThickness = SubstanceSizeUtils.getBorderStrokeWidth();
+        this.contour = shaper.getButtonOutline(this.button, borderDelta, this.width,
+                this.height, false);
+        this.innerContour = shaper.getButtonOutline(this.button, borderDelta + borderThickness,
+                this.width, this.height, true);
+        this.fillScheme = this.currentSkin.getColorScheme(this.button,
+                ColorSchemeAssociationKind.FILL, ComponentState.ROLLOVER_UNSELECTED);
+        this.borderScheme = this.currentSkin.getColorScheme(this.button,
+                ColorSchemeAssociationKind.BORDER, ComponentState.ROLLOVER_UNSELECTED);
+        this.highlightScheme = this.currentSkin.getColorScheme(this.button,
+                ColorSchemeAssociationKind.HIGHLIGHT, ComponentState.ROLLOVER_SELECTED);
+        this.image = BenchmarkUtils.createOffscreenImage(this.width, 4 * this.height);
+    }
+
+    @Benchmark
+    public BufferedImage fillPainter() {
+        SubstanceFillPainter fillPainter = this.currentSkin.getFillPainter();
+        Graphics2D g2d = this.image.createGraphics();
+        fillPainter.paintContourBackground(g2d, this.button, this.width, this.height,
+                this.contour, false, this.fillScheme, true);
+        g2d.dispose();
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage borderPainter() {
+        SubstanceBorderPainter borderPainter = this.currentSkin.getBorderPainter();
+        Graphics2D g2d = this.image.createGraphics();
+        borderPainter.paintBorder(g2d, this.button, this.width, this.height, this.contour,
+                borderPainter.isPaintingInnerContour() ? this.innerContour : null,
+                this.borderScheme);
+        g2d.dispose();
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage highlightPainter() {
+        SubstanceHighlightPainter highlightPainter = this.currentSkin.getHighlightPainter();
+        Graphics2D g2d = this.image.createGraphics();
+        highlightPainter.paintHighlight(g2d, this.button, this.width, this.height,
+                this.highlightScheme);
+        g2d.dispose();
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage decorationPainter() {
+        SubstanceDecorationPainter decorationPainter = this.currentSkin.getDecorationPainter();
+        Graphics2D g2d = this.image.createGraphics();
+        decorationPainter.paintDecorationArea(g2d, this.panel, DecorationAreaType.HEADER,
+                this.width, 4 * this.height, this.currentSkin);
+        g2d.dispose();
+        return this.image;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for switching between two Substance skins. Since there are no windows in headless
+ * mode, the component tree UI update that Substance does for all open windows is done
+ * explicitly on a panel with a mix of core controls. The paint benchmark also paints the panel
+ * after the switch, which includes rendering all the control backgrounds for the new skin.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SkinSwitchBenchmark {
+    @Param({"Business"})
+    public String fromSkin;
+
+    @Param({"Graphite"})
+    public String toSkin;
+
+    @Param({"0", "100"})
+    public int controlCount;
+
+    private JPanel panel;
+
+    private BufferedImage image;
+
+    private boolean isToSkinSet;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setSkin(this.fromSkin);
+        this.isToSkinSet = false;
+        this.panel = BenchmarkUtils.callOnEdt(() -> {
+            JPanel result = new JPanel(new GridLayout(0, 4));
+            for (int i = 0; i < this.controlCount; i++) {
+                switch (i % 4) {
+                    case 0:
+                        result.add(new JButton("Button " + i));
+                        break;
+                    case 1:
+                        result.add(new JCheckBox("Check " + i, i % 3 == 0));
+                        break;
+                    case 2:
+                        result.add(new JComboBox<>(new String[] { "Item " + i }));
+                        break;
+                    default:
+                        result.add(new JTextField("Text " + i));
+                }
+            }
+            result.setSize(result.getPreferredSize());
+            result.doLayout();
+            return result;
+        });
+        this.image = BenchmarkUtils.createOffscreenImage(Math.max(1, this.panel.getWidth()),
+                Math.max(1, this.panel.getHeight()));
+    }
+
+    private void switchSkin() {
+        this.isToSkinSet = !this.isToSkinSet;
+        BenchmarkUtils.setSkin(this.isToSkinSet ? this.toSkin : this.fromSkin);
+        SwingUtilities.updateComponentTreeUI(this.panel);
+    }
+
+    @Benchmark
+    public JPanel switchSkinOnly() {
+        BenchmarkUtils.runOnEdt(this::switchSkin);
+        return this.panel;
+    }
+
+    @Benchmark
+    public BufferedImage switchSkinAndPaint() {
+        BenchmarkUtils.runOnEdt(() -> {
+            this.switchSkin();
+            this.panel.doLayout();
+            Graphics2D g2d = this.image.createGraphics();
+            this.panel.paint(g2d);
+            g2d.dispose();
+        });
+        return this.image;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.substance;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for painting tables with large models. The table is sized to show all its rows,
+ * and each call paints a viewport-sized part of it with the table UI delegate, in the same way
+ * a table in a scroll pane is painted. Cell renderers change the state of their components,
+ * which must be done on the Event Dispatch Thread, and the painting is done on that thread.
+ * The cost of passing each call to that thread is small compared to painting the table.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableBenchmark {
+    private static final int VIEWPORT_WIDTH = 640;
+
+    private static final int VIEWPORT_HEIGHT = 480;
+
+    @Param({"Business", "Graphite"})
+    public String skin;
+
+    @Param({"1000", "100000"})
+    public int rowCount;
+
+    private JTable table;
+
+    private BufferedImage image;
+
+    private int scrollOffset;
+
+    /**
+     * Table model with a mix of column classes, so that the default renderers for strings,
+     * numbers and booleans are all used.
+     */
+    private static class BenchmarkTableModel extends AbstractTableModel {
+        private final int rowCount;
+
+        private BenchmarkTableModel(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int getRowCount() {
+            return this.rowCount;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 8;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return "Column " + column;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            switch (columnIndex % 4) {
+                case 1:
+                    return Integer.class;
+                case 2:
+                    return Boolean.class;
+                case 3:
+                    return Double.class;
+                default:
+                    return String.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            switch (columnIndex % 4) {
+                case 1:
+                    return rowIndex * columnIndex;
+                case 2:
+                    return (rowIndex + columnIndex) % 3 == 0;
+                case 3:
+                    return rowIndex / (columnIndex + 1.0);
+                default:
+                    return "Cell " + rowIndex + ":" + columnIndex;
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setSkin(this.skin);
+        this.image = BenchmarkUtils.createOffscreenImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        this.table = BenchmarkUtils.callOnEdt(() -> {
+            JTable result = new JTable(new BenchmarkTableModel(this.rowCount));
+            result.getSelectionModel().setSelectionInterval(this.rowCount / 2,
+                    this.rowCount / 2 + 4);
+            result.setSize(VIEWPORT_WIDTH, result.getPreferredSize().height);
+            result.doLayout();
+            return result;
+        });
+        this.scrollOffset = 0;
+    }
+
+    private BufferedImage paintViewport(int y) {
+        BenchmarkUtils.runOnEdt(() -> {
+            Graphics2D g2d = this.image.createGraphics();
+            g2d.translate(0, -y);
+            g2d.clipRect(0, y, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            this.table.getUI().update(g2d, this.table);
+            g2d.dispose();
+        });
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage paintMiddle() {
+        return this.paintViewport(this.table.getHeight() / 2);
+    }
+
+    @Benchmark
+    public BufferedImage paintScrolling() {
+        // Scroll by one row on every call, wrapping around at the end of the table
+        this.scrollOffset += this.table.getRowHeight();
+        if (this.scrollOffset > this.table.getHeight() - VIEWPORT_HEIGHT) {
+            this.scrollOffset = 0;
+        }
+        return this.paintViewport(this.scrollOffset);
+    }
+}
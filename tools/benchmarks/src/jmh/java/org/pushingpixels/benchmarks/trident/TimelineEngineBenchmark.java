@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.trident;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.trident.api.Timeline;
+import org.pushingpixels.trident.api.TridentConfig;
+import org.pushingpixels.trident.api.callback.TimelineCallbackAdapter;
+import org.pushingpixels.trident.api.interpolator.KeyFrames;
+import org.pushingpixels.trident.api.interpolator.KeyTimes;
+import org.pushingpixels.trident.api.interpolator.KeyValues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for a single pulse of the timeline engine with a number of running timelines.
+ * Each benchmark call advances all the timelines by one pulse and waits for their callbacks to
+ * run. The timelines loop, so the number of running timelines does not change during the
+ * measurement.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimelineEngineBenchmark {
+    /**
+     * Object with a property that is animated by the timelines.
+     */
+    public static class Target {
+        private float value;
+
+        public float getValue() {
+            return this.value;
+        }
+
+        public void setValue(float value) {
+            this.value = value;
+        }
+    }
+
+    @Param({"10", "1000", "100000"})
+    public int timelineCount;
+
+    /**
+     * What the timelines do on each pulse:
+     * <ul>
+     * <li><code>empty</code> - nothing but the position update</li>
+     * <li><code>reflectiveProperty</code> - set a property with the default setter</li>
+     * <li><code>boxedProperty</code> - set a <code>Float</code> property with a custom
+     * setter</li>
+     * <li><code>floatProperty</code> - set a primitive <code>float</code> property</li>
+     * <li><code>keyFrames</code> - set a property that goes through key frames</li>
+     * <li><code>callback</code> - call a pulse callback</li>
+     * </ul>
+     */
+    @Param({"empty", "reflectiveProperty", "boxedProperty", "floatProperty", "keyFrames",
+            "callback"})
+    public String timelineKind;
+
+    private TridentConfig.ManualPulseSource pulseSource;
+
+    private List<Timeline> timelines;
+
+    private float callbackSum;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        this.pulseSource = TridentBenchmarkUtils.getPulseSource();
+        this.timelines = new ArrayList<>(this.timelineCount);
+        KeyFrames<Float> keyFrames = new KeyFrames<>(KeyValues.create(0.0f, 0.8f, 0.2f, 1.0f),
+                new KeyTimes(0.0f, 0.3f, 0.7f, 1.0f));
+        for (int i = 0; i < this.timelineCount; i++) {
+            Target target = new Target();
+            Timeline.Builder builder = Timeline.builder(target)
+                    .setDuration(1000 + (i % 7) * 100);
+            switch (this.timelineKind) {
+                case "empty":
+                    break;
+                case "reflectiveProperty":
+                    builder.addPropertyToInterpolate("value", 0.0f, 1.0f);
+                    break;
+                case "boxedProperty":
+                    builder.addPropertyToInterpolate(Timeline.<Float>property("value")
+                            .from(0.0f).to(1.0f)
+                            .setWith((obj, fieldName, value) -> target.value = value));
+                    break;
+                case "floatProperty":
+                    builder.addFloatPropertyToInterpolate("value", 0.0f, 1.0f,
+                            (obj, fieldName, value) -> target.value = value);
+                    break;
+                case "keyFrames":
+                    builder.addPropertyToInterpolate(Timeline.<Float>property("value")
+                            .goingThrough(keyFrames)
+                            .setWith((obj, fieldName, value) -> target.value = value));
+                    break;
+                case "callback":
+                    builder.addCallback(new TimelineCallbackAdapter() {
+                        @Override
+                        public void onTimelinePulse(float durationFraction,
+                                float timelinePosition) {
+                            callbackSum += timelinePosition;
+                        }
+                    });
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown timeline kind " + this.timelineKind);
+            }
+            Timeline timeline = builder.build();
+            timeline.playLoop(Timeline.RepeatBehavior.REVERSE);
+            this.timelines.add(timeline);
+        }
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        for (Timeline timeline : this.timelines) {
+            timeline.abort();
+        }
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+        this.timelines = null;
+    }
+
+    @Benchmark
+    public void pulse() throws InterruptedException {
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+    }
+}
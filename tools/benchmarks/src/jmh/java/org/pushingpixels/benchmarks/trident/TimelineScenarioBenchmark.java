@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.trident;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.trident.api.Timeline;
+import org.pushingpixels.trident.api.TimelineScenario;
+import org.pushingpixels.trident.api.TridentConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for a single pulse of the timeline engine with a number of running timeline
+ * scenarios. Each scenario has four timelines that animate a primitive property, and loops so
+ * that the scenarios keep starting new timelines during the measurement.
+ *
+ * @author Kirill Grouchnikov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimelineScenarioBenchmark {
+    private static final int TIMELINES_PER_SCENARIO = 4;
+
+    @Param({"10", "1000"})
+    public int scenarioCount;
+
+    @Param({"sequence", "parallel", "rendezvous"})
+    public String scenarioKind;
+
+    private TridentConfig.ManualPulseSource pulseSource;
+
+    private List<TimelineScenario> scenarios;
+
+    private float value;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        this.pulseSource = TridentBenchmarkUtils.getPulseSource();
+        this.scenarios = new ArrayList<>(this.scenarioCount);
+        for (int i = 0; i < this.scenarioCount; i++) {
+            TimelineScenario scenario = this.createScenario();
+            for (int j = 0; j < TIMELINES_PER_SCENARIO; j++) {
+                if ((j == TIMELINES_PER_SCENARIO / 2)
+                        && (scenario instanceof TimelineScenario.RendezvousSequence)) {
+                    ((TimelineScenario.RendezvousSequence) scenario).rendezvous();
+                }
+                scenario.addScenarioActor(Timeline.builder(this)
+                        .setDuration(200 + j * 100)
+                        .addFloatPropertyToInterpolate("value", 0.0f, 1.0f,
+                                (obj, fieldName, value) -> this.value = value)
+                        .build());
+            }
+            scenario.playLoop();
+            this.scenarios.add(scenario);
+        }
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+    }
+
+    private TimelineScenario createScenario() {
+        switch (this.scenarioKind) {
+            case "sequence":
+                return new TimelineScenario.Sequence();
+            case "parallel":
+                return new TimelineScenario.Parallel();
+            case "rendezvous":
+                return new TimelineScenario.RendezvousSequence();
+            default:
+                throw new IllegalArgumentException("Unknown scenario kind " + this.scenarioKind);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        for (TimelineScenario scenario : this.scenarios) {
+            scenario.cancel();
+        }
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+        this.scenarios = null;
+    }
+
+    @Benchmark
+    public void pulse() throws InterruptedException {
+        TridentBenchmarkUtils.pulse(this.pulseSource);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.benchmarks.trident;
+
+import org.pushingpixels.trident.api.TridentConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilities shared by the Trident benchmarks. The benchmarks drive the timeline engine with a
+ * {@link TridentConfig.ManualPulseSource}, so that each benchmark call fires exactly one pulse
+ * that advances the timelines by {@link #PULSE_NANOS}, without waiting for the pulse thread.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class TridentBenchmarkUtils {
+    /**
+     * Time between two pulses. This matches the default pulse source of 25 frames per second.
+     */
+    public static final long PULSE_NANOS = TimeUnit.MILLISECONDS.toNanos(40);
+
+    /**
+     * Returns the manual pulse source of the timeline engine, installing it on the first call.
+     *
+     * @return The manual pulse source.
+     */
+    public static synchronized TridentConfig.ManualPulseSource getPulseSource() {
+        TridentConfig config = TridentConfig.getInstance();
+        if (!(config.getPulseSource() instanceof TridentConfig.ManualPulseSource)) {
+            config.setPulseSource(new TridentConfig.ManualPulseSource());
+        }
+        return (TridentConfig.ManualPulseSource) config.getPulseSource();
+    }
+
+    /**
+     * Fires a single pulse and waits for the Trident callback thread to process its callbacks.
+     * Waiting for the callbacks keeps the callback queue from growing when the benchmark fires
+     * pulses faster than the callbacks can run.
+     *
+     * @param pulseSource Pulse source.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public static void pulse(TridentConfig.ManualPulseSource pulseSource)
+            throws InterruptedException {
+        pulseSource.pulse(PULSE_NANOS);
+        pulseSource.awaitCallbacks();
+    }
+}
@@ -30,68 +30,232 @@
 package org.pushingpixels.ignite;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileType;
 import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.pushingpixels.photon.api.transcoder.LanguageRenderer;
-import org.pushingpixels.photon.api.transcoder.SvgBatchBaseConverter;
-import org.pushingpixels.photon.api.transcoder.SvgTranscoder;
-import org.pushingpixels.photon.api.transcoder.TranscoderListener;
+import org.pushingpixels.photon.api.transcoder.kotlin.KotlinLanguageRenderer;
 
+import javax.inject.Inject;
 import java.io.File;
-import java.io.InputStream;
-import java.io.PrintWriter;
-import java.io.Writer;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.nio.file.Path;
 
 public abstract class IgniteBaseTask extends DefaultTask {
+    @Inject
+    public abstract WorkerExecutor getWorkerExecutor();
+
+    protected static String getOutputFileNameExtension(String outputLanguage) {
+        return ("java".compareTo(outputLanguage) == 0) ? ".java" : ".kt";
+    }
+
+    protected static String getTemplateFileName(String outputLanguage,
+            boolean useResizableTemplate) {
+        String templateFileName = "/org/pushingpixels/photon/api/transcoder/" + outputLanguage + "/"
+                + "SvgTranscoderTemplate";
+        templateFileName += (useResizableTemplate ? "Resizable" : "Plain");
+        templateFileName += ".templ";
+        return templateFileName;
+    }
+
+    protected static String getOutputClassName(String outputClassNamePrefix, File svgFile) {
+        String svgClassName = outputClassNamePrefix
+                + svgFile.getName().substring(0, svgFile.getName().length() - 4);
+        svgClassName = svgClassName.replace('-', '_');
+        svgClassName = svgClassName.replace(' ', '_');
+        return svgClassName;
+    }
+
+    /**
+     * Returns the default output directory for the classes generated by this task. Each task
+     * gets its own folder under the build directory.
+     *
+     * @return The default output directory for the classes generated by this task.
+     */
+    @Internal
+    protected Provider<Directory> getDefaultOutputDirectory() {
+        return getProject().getLayout().getBuildDirectory().dir(
+                "generated/sources/ignite/" + getName());
+    }
+
+    /**
+     * Checks that the output directory is dedicated to the generated classes. Gradle owns
+     * everything under an output directory, and deletes it when the input directory
+     * becomes empty. An output directory that is, contains or is contained in the input
+     * directory or any of the source directories of the project would lose hand-written
+     * files. Output directories under the build directory can be registered as source
+     * directories.
+     *
+     * @param inputRootDirectory  Root input directory.
+     * @param outputRootDirectory Root output directory.
+     * @throws InvalidUserDataException If the output directory is not a dedicated directory.
+     */
+    protected void checkOutputDirectory(File inputRootDirectory, File outputRootDirectory) {
+        if (overlaps(inputRootDirectory, outputRootDirectory)) {
+            throw new InvalidUserDataException("Output directory "
+                    + outputRootDirectory.getAbsolutePath()
+                    + " overlaps the input directory " + inputRootDirectory.getAbsolutePath());
+        }
+
+        // Gradle owns the build directory, and it never has hand-written files
+        File buildDirectory = getProject().getLayout().getBuildDirectory().get().getAsFile();
+        Path buildPath = buildDirectory.toPath().toAbsolutePath().normalize();
+        Path outputPath = outputRootDirectory.toPath().toAbsolutePath().normalize();
+        if (outputPath.startsWith(buildPath) && !outputPath.equals(buildPath)) {
+            return;
+        }
+
+        SourceSetContainer sourceSets =
+                getProject().getExtensions().findByType(SourceSetContainer.class);
+        if (sourceSets == null) {
+            return;
+        }
+        for (SourceSet sourceSet : sourceSets) {
+            for (File sourceDirectory : sourceSet.getAllSource().getSrcDirs()) {
+                if (overlaps(sourceDirectory, outputRootDirectory)) {
+                    throw new InvalidUserDataException("Output directory "
+                            + outputRootDirectory.getAbsolutePath()
+                            + " overlaps the source directory "
+                            + sourceDirectory.getAbsolutePath() + " of source set '"
+                            + sourceSet.getName() + "'. Use a dedicated directory, such as "
+                            + getDefaultOutputDirectory().get().getAsFile().getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static boolean overlaps(File first, File second) {
+        Path firstPath = first.toPath().toAbsolutePath().normalize();
+        Path secondPath = second.toPath().toAbsolutePath().normalize();
+        return firstPath.startsWith(secondPath) || secondPath.startsWith(firstPath);
+    }
+
+    /**
+     * @deprecated Use {@link #transcodeAllFilesInFolder(File, File, String, String, String,
+     * String)} that takes the output language. The output file name extension is derived from
+     * the output language.
+     */
+    @Deprecated
     protected void transcodeAllFilesInFolder(File inputFolder, File outputFolder,
             String outputClassNamePrefix, String outputFileNameExtension,
             String outputPackageName, LanguageRenderer languageRenderer,
             String templateFileName) {
-        Logger logger = getLogger();
+        String outputLanguage = (languageRenderer instanceof KotlinLanguageRenderer)
+                ? "kotlin" : "java";
+        transcodeAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix,
+                outputLanguage, outputPackageName, templateFileName);
+    }
 
+    protected void transcodeAllFilesInFolder(File inputFolder, File outputFolder,
+            String outputClassNamePrefix, String outputLanguage,
+            String outputPackageName, String templateFileName) {
         File[] svgFiles = inputFolder.listFiles((directory, name) -> name.endsWith(".svg"));
         if (svgFiles == null) {
             return;
         }
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
         for (File file : svgFiles) {
-            String svgClassName = outputClassNamePrefix
-                    + file.getName().substring(0, file.getName().length() - 4);
-            svgClassName = svgClassName.replace('-', '_');
-            svgClassName = svgClassName.replace(' ', '_');
-            String classFilename =
-                    outputFolder + File.separator + svgClassName + outputFileNameExtension;
-
-            logger.trace("Processing " + file.getName());
-
-            try (Writer pw = new PrintWriter(classFilename);
-                 InputStream templateStream = SvgBatchBaseConverter.class
-                         .getResourceAsStream(templateFileName)) {
-                if (templateStream == null) {
-                    logger.error("Couldn't load " + templateFileName);
-                    return;
+            submitTranscode(workQueue, file, outputFolder, outputClassNamePrefix,
+                    outputLanguage, outputPackageName, templateFileName);
+        }
+        // Preserve the synchronous semantics for direct invocations from other tasks
+        workQueue.await();
+    }
+
+    /**
+     * Transcodes the SVG files that have been added or modified since the last execution of
+     * this task, and deletes the classes generated from SVG files that have been removed. On a
+     * non-incremental execution (first run, changed task configuration, etc) Gradle reports all
+     * the SVG files as added.
+     *
+     * @param inputChanges          Input changes of this task execution.
+     * @param inputRootDirectory    Root input directory tracked by the input changes.
+     * @param outputRootDirectory   Root output directory.
+     * @param recursive             If <code>true</code>, SVG files in sub-folders are
+     *                              transcoded into matching output sub-folders and
+     *                              sub-packages. Otherwise only SVG files directly in the root
+     *                              input directory are transcoded.
+     * @param outputClassNamePrefix Prefix for the names of the generated classes.
+     * @param outputLanguage        Output language, <code>java</code> or <code>kotlin</code>.
+     * @param outputPackageName     Package name for SVG files in the root input directory.
+     * @param templateFileName      Template file name.
+     */
+    protected void transcodeFileChanges(InputChanges inputChanges,
+            Provider<Directory> inputRootDirectory, File outputRootDirectory, boolean recursive,
+            String outputClassNamePrefix, String outputLanguage,
+            String outputPackageName, String templateFileName) {
+        checkOutputDirectory(inputRootDirectory.get().getAsFile(), outputRootDirectory);
+
+        Logger logger = getLogger();
+        logger.trace((inputChanges.isIncremental() ? "Incremental" : "Full")
+                + " transcoding of " + inputRootDirectory.get().getAsFile().getAbsolutePath());
+
+        Path inputRootPath = inputRootDirectory.get().getAsFile().toPath();
+        String outputFileNameExtension = getOutputFileNameExtension(outputLanguage);
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+
+        for (FileChange change : inputChanges.getFileChanges(inputRootDirectory)) {
+            File file = change.getFile();
+            if ((change.getFileType() != FileType.FILE) || !file.getName().endsWith(".svg")) {
+                continue;
+            }
+
+            Path relativeFolder = inputRootPath.relativize(file.toPath()).getParent();
+            if (!recursive && (relativeFolder != null)) {
+                continue;
+            }
+
+            // Mirror the input sub-folder structure to the output and to the package name
+            File outputFolder = outputRootDirectory;
+            String packageName = outputPackageName;
+            if (relativeFolder != null) {
+                for (Path segment : relativeFolder) {
+                    outputFolder = new File(outputFolder, segment.toString());
+                    packageName = packageName + "." + segment;
                 }
+            }
 
-                final CountDownLatch latch = new CountDownLatch(1);
-
-                SvgTranscoder transcoder = new SvgTranscoder(file.toURI().toURL().toString(),
-                        svgClassName, languageRenderer);
-                transcoder.setPackageName(outputPackageName);
-                transcoder.setListener(new TranscoderListener() {
-                    public Writer getWriter() {
-                        return pw;
-                    }
-
-                    public void finished() {
-                        latch.countDown();
-                    }
-                });
-                transcoder.transcode(templateStream);
-                // Limit the processing to 10 seconds to prevent infinite hang
-                latch.await(10, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                logger.error("Transcoding failed", e);
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                File classFile = new File(outputFolder,
+                        getOutputClassName(outputClassNamePrefix, file) + outputFileNameExtension);
+                logger.trace("Removing " + classFile.getAbsolutePath());
+                classFile.delete();
+                continue;
             }
+
+            if (!outputFolder.exists()) {
+                outputFolder.mkdirs();
+            }
+            submitTranscode(workQueue, file, outputFolder, outputClassNamePrefix,
+                    outputLanguage, packageName, templateFileName);
         }
     }
-}
\ No newline at end of file
+
+    private void submitTranscode(WorkQueue workQueue, File svgFile, File outputFolder,
+            String outputClassNamePrefix, String outputLanguage,
+            String outputPackageName, String templateFileName) {
+        String svgClassName = getOutputClassName(outputClassNamePrefix, svgFile);
+        File classFile = new File(outputFolder,
+                svgClassName + getOutputFileNameExtension(outputLanguage));
+
+        getLogger().trace("Processing " + svgFile.getName());
+
+        workQueue.submit(IgniteTranscodeAction.class, parameters -> {
+            parameters.getSvgFile().set(svgFile);
+            parameters.getOutputFile().set(classFile);
+            parameters.getClassName().set(svgClassName);
+            parameters.getPackageName().set(outputPackageName);
+            parameters.getOutputLanguage().set(outputLanguage);
+            parameters.getTemplateFileName().set(templateFileName);
+        });
+    }
+}
@@ -29,18 +29,17 @@
  */
 package org.pushingpixels.ignite;
 
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.logging.Logger;
-import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputDirectory;
-import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.*;
 import org.gradle.api.tasks.options.Option;
+import org.gradle.work.InputChanges;
 import org.pushingpixels.photon.api.transcoder.LanguageRenderer;
-import org.pushingpixels.photon.api.transcoder.java.JavaLanguageRenderer;
 import org.pushingpixels.photon.api.transcoder.kotlin.KotlinLanguageRenderer;
 
 import java.io.File;
 
-public class IgniteDeepTask extends IgniteBaseTask {
+public abstract class IgniteDeepTask extends IgniteBaseTask {
     private String outputRootPackageName;
 
     private String outputLanguage;
@@ -49,9 +48,15 @@ public class IgniteDeepTask extends IgniteBaseTask {
 
     private boolean useResizableTemplate;
 
-    private File inputRootDirectory;
+    private final DirectoryProperty inputRootDirectory =
+            getProject().getObjects().directoryProperty();
 
-    private File outputRootDirectory;
+    private final DirectoryProperty outputRootDirectory =
+            getProject().getObjects().directoryProperty();
+
+    public IgniteDeepTask() {
+        this.outputRootDirectory.convention(getDefaultOutputDirectory());
+    }
 
     @Input
     public String getOutputRootPackageName() {
@@ -94,67 +99,110 @@ public class IgniteDeepTask extends IgniteBaseTask {
     }
 
     @InputDirectory
-    public File getInputRootDirectory() {
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public DirectoryProperty getInputRootDirectory() {
         return inputRootDirectory;
     }
 
-    @Option(option = "inputRootDirectory", description = "Configures the input root directory.")
+    /**
+     * @deprecated Use {@link #getInputRootDirectory()} to configure the input root directory, or the
+     * <code>--inputRootDirectory</code> command line option.
+     */
+    @Deprecated
     public void setInputRootDirectory(File inputRootDirectory) {
-        this.inputRootDirectory = inputRootDirectory;
+        this.getInputRootDirectory().set(inputRootDirectory);
     }
 
-    @InputDirectory
-    public File getOutputRootDirectory() {
+    @Option(option = "inputRootDirectory", description = "Configures the input root directory.")
+    public void setInputRootDirectoryPath(String inputRootDirectoryPath) {
+        this.inputRootDirectory.set(getProject().file(inputRootDirectoryPath));
+    }
+
+    @OutputDirectory
+    public DirectoryProperty getOutputRootDirectory() {
         return outputRootDirectory;
     }
 
-    @Option(option = "outputRootDirectory", description = "Configures the output root directory.")
+    /**
+     * @deprecated Use {@link #getOutputRootDirectory()} to configure the output root directory, or the
+     * <code>--outputRootDirectory</code> command line option.
+     */
+    @Deprecated
     public void setOutputRootDirectory(File outputRootDirectory) {
-        this.outputRootDirectory = outputRootDirectory;
+        this.getOutputRootDirectory().set(outputRootDirectory);
+    }
+
+    @Option(option = "outputRootDirectory", description = "Configures the output root directory.")
+    public void setOutputRootDirectoryPath(String outputRootDirectoryPath) {
+        this.outputRootDirectory.set(getProject().file(outputRootDirectoryPath));
     }
 
     @TaskAction
+    public void transcodeChanges(InputChanges inputChanges) {
+        getLogger().trace("Processing " + inputRootDirectory.get().getAsFile().getAbsolutePath()
+                + " to " + outputRootPackageName + " in " + outputLanguage);
+
+        this.transcodeFileChanges(inputChanges, inputRootDirectory,
+                outputRootDirectory.get().getAsFile(), true,
+                outputClassNamePrefix, outputLanguage, outputRootPackageName,
+                getTemplateFileName(outputLanguage, useResizableTemplate));
+    }
+
+    /**
+     * Transcodes all the SVG files regardless of their up-to-date status. This is kept for build
+     * scripts that configure and invoke this task directly from another task's action.
+     */
     public void transcode() {
         Logger logger = getLogger();
 
-        logger.trace("Working on files in " + inputRootDirectory.getAbsolutePath());
+        File inputRoot = inputRootDirectory.get().getAsFile();
+        File outputRoot = outputRootDirectory.get().getAsFile();
 
-        if (!this.inputRootDirectory.exists()) {
+        logger.trace("Working on files in " + inputRoot.getAbsolutePath());
+
+        if (!inputRoot.exists()) {
             return;
         }
 
-        this.outputRootDirectory.mkdirs();
-
-        boolean renderAsKotlinCode = ("kotlin".compareTo(outputLanguage) == 0);
+        checkOutputDirectory(inputRoot, outputRoot);
+        outputRoot.mkdirs();
 
-        LanguageRenderer languageRenderer = renderAsKotlinCode
-                ? new KotlinLanguageRenderer()
-                : new JavaLanguageRenderer();
-        String outputFileNameExtension = ("java".compareTo(outputLanguage) == 0) ? ".java" : ".kt";
-
-        logger.trace("Processing " + inputRootDirectory.getAbsolutePath() + " to " + outputRootPackageName +
+        logger.trace("Processing " + inputRoot.getAbsolutePath() + " to " + outputRootPackageName +
                 " in " + outputLanguage);
 
-        String templateFileName = "/org/pushingpixels/photon/api/transcoder/" + outputLanguage + "/"
-                + "SvgTranscoderTemplate";
-        templateFileName += (useResizableTemplate ? "Resizable" : "Plain");
-        templateFileName += ".templ";
+        String templateFileName = getTemplateFileName(outputLanguage, useResizableTemplate);
 
-        processFolder(inputRootDirectory, outputRootDirectory, outputClassNamePrefix, outputFileNameExtension,
-                outputRootPackageName, languageRenderer, templateFileName);
+        processFolder(inputRoot, outputRoot, outputClassNamePrefix, outputLanguage,
+                outputRootPackageName, templateFileName);
     }
 
+    /**
+     * @deprecated Use {@link #processFolder(File, File, String, String, String, String)} that
+     * takes the output language. The output file name extension is derived from the output
+     * language.
+     */
+    @Deprecated
     protected void processFolder(File inputFolder, File outputFolder,
             String outputClassNamePrefix, String outputFileNameExtension,
             String outputPackageName, LanguageRenderer languageRenderer,
             String templateFile) {
+        String outputLanguage = (languageRenderer instanceof KotlinLanguageRenderer)
+                ? "kotlin" : "java";
+        processFolder(inputFolder, outputFolder, outputClassNamePrefix, outputLanguage,
+                outputPackageName, templateFile);
+    }
+
+    protected void processFolder(File inputFolder, File outputFolder,
+            String outputClassNamePrefix, String outputLanguage,
+            String outputPackageName, String templateFile) {
 
         Logger logger = getLogger();
         logger.trace("Working on files in " + inputFolder.getAbsolutePath());
 
         // Transcode all SVG files in this folder
-        transcodeAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix, outputFileNameExtension,
-                outputPackageName, languageRenderer, templateFile);
+        transcodeAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix, outputLanguage,
+                outputPackageName, templateFile);
 
         // Now scan the folder for sub-folders
         for (File inputSubfolder : inputFolder.listFiles(
@@ -169,9 +217,8 @@ public class IgniteDeepTask extends IgniteBaseTask {
             }
 
             // And recursively process SVG content (and possible folders)
-            processFolder(inputSubfolder, outputSubfolder, outputClassNamePrefix, outputFileNameExtension,
-                    outputPackageName + "." + subfolderName, languageRenderer,
-                    templateFile);
+            processFolder(inputSubfolder, outputSubfolder, outputClassNamePrefix, outputLanguage,
+                    outputPackageName + "." + subfolderName, templateFile);
         }
         System.out.println();
     }
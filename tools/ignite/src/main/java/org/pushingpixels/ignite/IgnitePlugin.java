@@ -29,13 +29,19 @@
  */
 package org.pushingpixels.ignite;
 
+import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.util.GradleVersion;
 
 @SuppressWarnings({"unused", "RedundantSuppression"})
 public class IgnitePlugin implements Plugin<Project> {
 
     public void apply(Project project) {
+        // The tasks use the incremental task and the worker APIs
+        if (GradleVersion.current().compareTo(GradleVersion.version("5.6")) < 0) {
+            throw new GradleException("Ignite requires Gradle 5.6 or later");
+        }
         project.getTasks().create("ignite", IgniteTask.class);
         project.getTasks().create("igniteDeep", IgniteDeepTask.class);
     }
@@ -29,18 +29,15 @@
  */
 package org.pushingpixels.ignite;
 
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.logging.Logger;
-import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputDirectory;
-import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.*;
 import org.gradle.api.tasks.options.Option;
-import org.pushingpixels.photon.api.transcoder.LanguageRenderer;
-import org.pushingpixels.photon.api.transcoder.java.JavaLanguageRenderer;
-import org.pushingpixels.photon.api.transcoder.kotlin.KotlinLanguageRenderer;
+import org.gradle.work.InputChanges;
 
 import java.io.File;
 
-public class IgniteTask extends IgniteBaseTask {
+public abstract class IgniteTask extends IgniteBaseTask {
     private String outputPackageName;
 
     private String outputLanguage;
@@ -49,9 +46,15 @@ public class IgniteTask extends IgniteBaseTask {
 
     private boolean useResizableTemplate;
 
-    private File inputDirectory;
+    private final DirectoryProperty inputDirectory =
+            getProject().getObjects().directoryProperty();
 
-    private File outputDirectory;
+    private final DirectoryProperty outputDirectory =
+            getProject().getObjects().directoryProperty();
+
+    public IgniteTask() {
+        this.outputDirectory.convention(getDefaultOutputDirectory());
+    }
 
     @Input
     public String getOutputPackageName() {
@@ -94,54 +97,82 @@ public class IgniteTask extends IgniteBaseTask {
     }
 
     @InputDirectory
-    public File getInputDirectory() {
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public DirectoryProperty getInputDirectory() {
         return inputDirectory;
     }
 
-    @Option(option = "inputDirectory", description = "Configures the input directory.")
+    /**
+     * @deprecated Use {@link #getInputDirectory()} to configure the input directory, or the
+     * <code>--inputDirectory</code> command line option.
+     */
+    @Deprecated
     public void setInputDirectory(File inputDirectory) {
-        this.inputDirectory = inputDirectory;
+        this.getInputDirectory().set(inputDirectory);
     }
 
-    @InputDirectory
-    public File getOutputDirectory() {
+    @Option(option = "inputDirectory", description = "Configures the input directory.")
+    public void setInputDirectoryPath(String inputDirectoryPath) {
+        this.inputDirectory.set(getProject().file(inputDirectoryPath));
+    }
+
+    @OutputDirectory
+    public DirectoryProperty getOutputDirectory() {
         return outputDirectory;
     }
 
-    @Option(option = "outputDirectory", description = "Configures the output directory.")
+    /**
+     * @deprecated Use {@link #getOutputDirectory()} to configure the output directory, or the
+     * <code>--outputDirectory</code> command line option.
+     */
+    @Deprecated
     public void setOutputDirectory(File outputDirectory) {
-        this.outputDirectory = outputDirectory;
+        this.getOutputDirectory().set(outputDirectory);
+    }
+
+    @Option(option = "outputDirectory", description = "Configures the output directory.")
+    public void setOutputDirectoryPath(String outputDirectoryPath) {
+        this.outputDirectory.set(getProject().file(outputDirectoryPath));
     }
 
     @TaskAction
+    public void transcodeChanges(InputChanges inputChanges) {
+        getLogger().trace("Processing " + inputDirectory.get().getAsFile().getAbsolutePath()
+                + " to " + outputPackageName + " in " + outputLanguage);
+
+        this.transcodeFileChanges(inputChanges, inputDirectory,
+                outputDirectory.get().getAsFile(), false,
+                outputClassNamePrefix, outputLanguage, outputPackageName,
+                getTemplateFileName(outputLanguage, useResizableTemplate));
+    }
+
+    /**
+     * Transcodes all the SVG files regardless of their up-to-date status. This is kept for build
+     * scripts that configure and invoke this task directly from another task's action.
+     */
     public void transcode() {
         Logger logger = getLogger();
 
-        logger.trace("Working on files in " + inputDirectory.getAbsolutePath());
+        File inputRoot = inputDirectory.get().getAsFile();
+        File outputRoot = outputDirectory.get().getAsFile();
+
+        logger.trace("Working on files in " + inputRoot.getAbsolutePath());
 
-        if (!this.inputDirectory.exists()) {
+        if (!inputRoot.exists()) {
             return;
         }
 
-        this.outputDirectory.mkdirs();
-
-        boolean renderAsKotlinCode = ("kotlin".compareTo(outputLanguage) == 0);
-
-        LanguageRenderer languageRenderer = renderAsKotlinCode
-                ? new KotlinLanguageRenderer()
-                : new JavaLanguageRenderer();
-        String outputFileNameExtension = ("java".compareTo(outputLanguage) == 0) ? ".java" : ".kt";
+        checkOutputDirectory(inputRoot, outputRoot);
+        outputRoot.mkdirs();
 
-        logger.trace("Processing " + inputDirectory.getAbsolutePath() + " to " + outputPackageName +
+        logger.trace("Processing " + inputRoot.getAbsolutePath() + " to " + outputPackageName +
                 " in " + outputLanguage);
 
-        String templateFileName = "/org/pushingpixels/photon/api/transcoder/" + outputLanguage + "/"
-                + "SvgTranscoderTemplate";
-        templateFileName += (useResizableTemplate ? "Resizable" : "Plain");
-        templateFileName += ".templ";
+        String templateFileName = getTemplateFileName(outputLanguage, useResizableTemplate);
 
-        this.transcodeAllFilesInFolder(inputDirectory, outputDirectory,
-                outputClassNamePrefix, outputFileNameExtension,
-                outputPackageName, languageRenderer, templateFileName);
+        this.transcodeAllFilesInFolder(inputRoot, outputRoot,
+                outputClassNamePrefix, outputLanguage,
+                outputPackageName, templateFileName);
     }
 }
\ No newline at end of file
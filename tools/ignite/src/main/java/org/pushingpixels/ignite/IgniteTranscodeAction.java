@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.ignite;
+
+import org.gradle.api.GradleException;
+import org.gradle.workers.WorkAction;
+import org.pushingpixels.photon.api.transcoder.LanguageRenderer;
+import org.pushingpixels.photon.api.transcoder.SvgBatchBaseConverter;
+import org.pushingpixels.photon.api.transcoder.SvgTranscoder;
+import org.pushingpixels.photon.api.transcoder.TranscoderListener;
+import org.pushingpixels.photon.api.transcoder.java.JavaLanguageRenderer;
+import org.pushingpixels.photon.api.transcoder.kotlin.KotlinLanguageRenderer;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transcodes a single SVG file. Instances are created and scheduled by the Gradle worker
+ * API, so that the files of a single Ignite task are transcoded in parallel.
+ *
+ * @author Kirill Grouchnikov
+ */
+public abstract class IgniteTranscodeAction implements WorkAction<IgniteTranscodeParameters> {
+    @Override
+    public void execute() {
+        IgniteTranscodeParameters parameters = getParameters();
+        File svgFile = parameters.getSvgFile().get().getAsFile();
+        File outputFile = parameters.getOutputFile().get().getAsFile();
+        String templateFileName = parameters.getTemplateFileName().get();
+
+        LanguageRenderer languageRenderer = "kotlin".equals(parameters.getOutputLanguage().get())
+                ? new KotlinLanguageRenderer()
+                : new JavaLanguageRenderer();
+
+        boolean finished = false;
+        try (Writer pw = new PrintWriter(outputFile);
+             InputStream templateStream = SvgBatchBaseConverter.class
+                     .getResourceAsStream(templateFileName)) {
+            if (templateStream == null) {
+                throw new GradleException("Couldn't load " + templateFileName);
+            }
+
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            SvgTranscoder transcoder = new SvgTranscoder(svgFile.toURI().toURL().toString(),
+                    parameters.getClassName().get(), languageRenderer);
+            transcoder.setPackageName(parameters.getPackageName().get());
+            transcoder.setListener(new TranscoderListener() {
+                public Writer getWriter() {
+                    return pw;
+                }
+
+                public void finished() {
+                    latch.countDown();
+                }
+            });
+            transcoder.transcode(templateStream);
+            // Limit the processing to 10 seconds to prevent infinite hang
+            finished = latch.await(10, TimeUnit.SECONDS);
+        } catch (GradleException ge) {
+            throw ge;
+        } catch (Exception e) {
+            throw new GradleException("Transcoding " + svgFile.getName() + " failed", e);
+        } finally {
+            if (!finished) {
+                // Do not leave partial content behind, as Gradle would consider it up to date
+                outputFile.delete();
+            }
+        }
+        if (!finished) {
+            throw new GradleException("Transcoding " + svgFile.getName() + " timed out");
+        }
+    }
+}
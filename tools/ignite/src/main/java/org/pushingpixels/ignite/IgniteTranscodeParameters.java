@@ -27,42 +27,28 @@
  * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
  * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.pushingpixels.substance.internal.utils;
+package org.pushingpixels.ignite;
 
-import java.util.Arrays;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkParameters;
 
 /**
- * Implementation of a key for the {@link LazyResettableHashMap}.
- * 
+ * Parameters of a single unit of Ignite work - transcoding one SVG file into one
+ * Java / Kotlin class.
+ *
  * @author Kirill Grouchnikov
  */
-public class HashMapKey {
-	/**
-	 * Fields that represent this key object.
-	 */
-	private Object[] keyFields;
+public interface IgniteTranscodeParameters extends WorkParameters {
+    RegularFileProperty getSvgFile();
+
+    RegularFileProperty getOutputFile();
+
+    Property<String> getClassName();
 
-	/**
-	 * Creates a new key object.
-	 * 
-	 * @param fields
-	 *            Fields of the key object.
-	 */
-	public HashMapKey(Object... fields) {
-		this.keyFields = fields;
-	}
+    Property<String> getPackageName();
 
-	@Override
-	public int hashCode() {
-		return Arrays.deepHashCode(this.keyFields);
-	}
+    Property<String> getOutputLanguage();
 
-	@Override
-	public boolean equals(Object obj) {
-		if (!(obj instanceof HashMapKey)) {
-			return false;
-		}
-		HashMapKey key2 = (HashMapKey) obj;
-		return Arrays.equals(this.keyFields, key2.keyFields);
-	}
+    Property<String> getTemplateFileName();
 }
@@ -121,45 +121,15 @@ public class DynamicPerformanceSuite {
         JPanel emptyPanel = new JPanel();
         this.tabs.addTab("Empty", emptyPanel);
 
-        ButtonsPanel buttonsPanel = new ButtonsPanel();
-        this.scanAndAddTab("Buttons", buttonsPanel);
-
-        CombosPanel combosPanel = new CombosPanel();
-        this.scanAndAddTab("Combos", combosPanel);
-
-        TablePanel tablePanel = new TablePanel();
-        this.scanAndAddTab("Table", tablePanel);
-
-        ListPanel listPanel = new ListPanel();
-        this.scanAndAddTab("List", listPanel);
-
-        SliderPanel slidersPanel = new SliderPanel();
-        this.scanAndAddTab("Sliders", slidersPanel);
-
-        ProgressBarPanel progressBarsPanel = new ProgressBarPanel();
-        this.scanAndAddTab("Progress bars", progressBarsPanel);
-
-        TextFieldsPanel textFieldsPanel = new TextFieldsPanel();
-        this.scanAndAddTab("Text fields", textFieldsPanel);
-
-        TextAreasPanel textAreasPanel = new TextAreasPanel();
-        this.scanAndAddTab("Text areas", textAreasPanel);
-
-        TabsPanel tabsPanel = new TabsPanel();
-        this.scanAndAddTab("Tabs", tabsPanel);
-
-        BigTextAreaPanel bigTextAreaPanel = new BigTextAreaPanel();
-        this.scanAndAddTab("Text area", bigTextAreaPanel);
-
-        TreePanel treePanel = new TreePanel();
-        this.scanAndAddTab("Tree", treePanel);
-
-        SpinnerPanel spinnersPanel = new SpinnerPanel();
-        this.scanAndAddTab("Spinners", spinnersPanel);
-
-        JMenuBar menuBar = new LightbeamMenuBar();
-        this.frame.setJMenuBar(menuBar);
-        this.scan("Menu bar", menuBar);
+        for (Map.Entry<String, Component> entry : createScenarioComponents().entrySet()) {
+            Component comp = entry.getValue();
+            if (comp instanceof JMenuBar) {
+                this.frame.setJMenuBar((JMenuBar) comp);
+                this.scan(entry.getKey(), comp);
+            } else {
+                this.scanAndAddTab(entry.getKey(), comp);
+            }
+        }
 
         JPanel controls = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
@@ -364,11 +334,41 @@ public class DynamicPerformanceSuite {
         });
     }
 
-    private void scan(String title, Component comp) {
+    /**
+     * Creates the components that host the performance scenarios. This method should run on
+     * event dispatch thread.
+     *
+     * @return Scenario components, keyed by title in the display order. The menu bar
+     * scenarios are hosted by a {@link JMenuBar}, and all other scenarios by panels.
+     */
+    public static Map<String, Component> createScenarioComponents() {
+        Map<String, Component> result = new LinkedHashMap<>();
+        result.put("Buttons", new ButtonsPanel());
+        result.put("Combos", new CombosPanel());
+        result.put("Table", new TablePanel());
+        result.put("List", new ListPanel());
+        result.put("Sliders", new SliderPanel());
+        result.put("Progress bars", new ProgressBarPanel());
+        result.put("Text fields", new TextFieldsPanel());
+        result.put("Text areas", new TextAreasPanel());
+        result.put("Tabs", new TabsPanel());
+        result.put("Text area", new BigTextAreaPanel());
+        result.put("Tree", new TreePanel());
+        result.put("Spinners", new SpinnerPanel());
+        result.put("Menu bar", new LightbeamMenuBar());
+        return result;
+    }
+
+    /**
+     * Returns the performance scenarios of the specified component. These are returned by the
+     * methods of the component class marked with {@link PerformanceScenarioParticipant}.
+     *
+     * @param comp Component.
+     * @return Performance scenarios sorted by name.
+     */
+    public static List<PerformanceScenario> getScenarios(Component comp) {
         Class<?> compClass = comp.getClass();
         List<PerformanceScenario> scenarioList = new LinkedList<>();
-        ComponentInfo componentInfo = new ComponentInfo(comp, scenarioList);
-        scenarios.put(title, componentInfo);
         for (Method m : compClass.getDeclaredMethods()) {
             // check annotation
             if (m.getAnnotation(PerformanceScenarioParticipant.class) != null) {
@@ -377,13 +377,18 @@ public class DynamicPerformanceSuite {
                         && (m.getParameterTypes().length == 0)) {
                     try {
                         PerformanceScenario scenario = (PerformanceScenario) m.invoke(comp);
-                        componentInfo.scenarios.add(scenario);
+                        scenarioList.add(scenario);
                     } catch (Exception exc) {
                     }
                 }
             }
         }
-        componentInfo.scenarios.sort(Comparator.comparing(PerformanceScenario::getName));
+        scenarioList.sort(Comparator.comparing(PerformanceScenario::getName));
+        return scenarioList;
+    }
+
+    private void scan(String title, Component comp) {
+        scenarios.put(title, new ComponentInfo(comp, getScenarios(comp)));
     }
 
     private void scanAndAddTab(String tabTitle, Component tabComp) {
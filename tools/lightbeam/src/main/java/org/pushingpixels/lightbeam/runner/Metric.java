@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+/**
+ * Metrics collected for each measured iteration of a performance scenario.
+ *
+ * @author Kirill Grouchnikov
+ */
+public enum Metric {
+    /**
+     * CPU time spent on the event dispatch thread.
+     */
+    EDT_CPU_TIME("edtCpuTime", "ms"),
+
+    /**
+     * Elapsed time from the start of the first scenario step to the end of the last one.
+     */
+    WALL_TIME("wallTime", "ms"),
+
+    /**
+     * Memory allocated on the event dispatch thread.
+     */
+    ALLOCATED_BYTES("allocatedBytes", "bytes");
+
+    private final String id;
+
+    private final String unit;
+
+    Metric(String id, String unit) {
+        this.id = id;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the identifier of this metric in the result files.
+     *
+     * @return Identifier of this metric.
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the unit of the values of this metric.
+     *
+     * @return Unit of the values of this metric.
+     */
+    public String getUnit() {
+        return this.unit;
+    }
+
+    /**
+     * Returns the metric with the specified identifier.
+     *
+     * @param id Metric identifier, as returned by {@link #getId()}.
+     * @return Metric with the specified identifier.
+     * @throws IllegalArgumentException If there is no metric with the specified identifier.
+     */
+    public static Metric fromId(String id) {
+        for (Metric metric : values()) {
+            if (metric.id.equals(id)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric " + id);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of the values of a single metric across the measured iterations of a
+ * performance scenario. Percentiles are computed with linear interpolation between the two
+ * closest ranks.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class MetricSummary {
+    /**
+     * Names of the statistics that can be passed to {@link #get(String)}.
+     */
+    public static final String[] STATISTICS = { "min", "mean", "p50", "p90", "p99", "max" };
+
+    private final int count;
+
+    private final double min;
+
+    private final double mean;
+
+    private final double p50;
+
+    private final double p90;
+
+    private final double p99;
+
+    private final double max;
+
+    private final double[] samples;
+
+    /**
+     * Creates a summary from the statistics read from a result file.
+     *
+     * @param count   Number of samples.
+     * @param min     Minimum value.
+     * @param mean    Mean value.
+     * @param p50     Median value.
+     * @param p90     90th percentile.
+     * @param p99     99th percentile.
+     * @param max     Maximum value.
+     * @param samples Sample values. Can be <code>null</code> if the file does not list them.
+     */
+    public MetricSummary(int count, double min, double mean, double p50, double p90,
+            double p99, double max, double[] samples) {
+        this.count = count;
+        this.min = min;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+        this.samples = samples;
+    }
+
+    /**
+     * Computes the summary of the specified samples.
+     *
+     * @param samples Sample values in measurement order. Must not be empty.
+     * @return Summary of the samples.
+     */
+    public static MetricSummary of(double[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("No samples to summarize");
+        }
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double sum = 0.0;
+        for (double sample : sorted) {
+            sum += sample;
+        }
+        return new MetricSummary(sorted.length, sorted[0], sum / sorted.length,
+                percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                sorted[sorted.length - 1], samples.clone());
+    }
+
+    private static double percentile(double[] sorted, double fraction) {
+        double position = fraction * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+        return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public double getMin() {
+        return this.min;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public double getP50() {
+        return this.p50;
+    }
+
+    public double getP90() {
+        return this.p90;
+    }
+
+    public double getP99() {
+        return this.p99;
+    }
+
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the sample values in measurement order.
+     *
+     * @return Sample values, or <code>null</code> if this summary was read from a file that
+     * does not list them.
+     */
+    public double[] getSamples() {
+        return (this.samples == null) ? null : this.samples.clone();
+    }
+
+    /**
+     * Returns the statistic with the specified name.
+     *
+     * @param statistic One of the names in {@link #STATISTICS}.
+     * @return Value of the statistic.
+     * @throws IllegalArgumentException If the statistic name is not known.
+     */
+    public double get(String statistic) {
+        switch (statistic) {
+            case "min":
+                return this.min;
+            case "mean":
+                return this.mean;
+            case "p50":
+                return this.p50;
+            case "p90":
+                return this.p90;
+            case "p99":
+                return this.p99;
+            case "max":
+                return this.max;
+            default:
+                throw new IllegalArgumentException("Unknown statistic " + statistic);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Compares two sets of scenario results and reports the scenarios that got slower.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ResultComparison {
+    /**
+     * Compares the candidate results with the baseline results. Each scenario that is present
+     * in both sets is listed with the values of the specified statistic and the relative
+     * change. A scenario is a regression if the statistic grew by more than the threshold.
+     *
+     * @param baseline         Baseline results.
+     * @param candidate        Candidate results.
+     * @param metric           Metric to compare.
+     * @param statistic        Statistic to compare, one of {@link MetricSummary#STATISTICS}.
+     * @param thresholdPercent Largest growth, in percent, that is not a regression.
+     * @param out              Stream for the comparison report.
+     * @return The number of regressions.
+     */
+    public static int compare(List<ScenarioResult> baseline, List<ScenarioResult> candidate,
+            Metric metric, String statistic, double thresholdPercent, PrintStream out) {
+        Map<String, ScenarioResult> baselineByKey = new LinkedHashMap<>();
+        for (ScenarioResult result : baseline) {
+            baselineByKey.put(result.getKey(), result);
+        }
+
+        out.println(String.format(Locale.US, "Comparing %s %s [%s], threshold %.1f%%",
+                metric.getId(), statistic, metric.getUnit(), thresholdPercent));
+        int regressions = 0;
+        Set<String> matchedKeys = new HashSet<>();
+        for (ScenarioResult candidateResult : candidate) {
+            ScenarioResult baselineResult = baselineByKey.get(candidateResult.getKey());
+            if (baselineResult == null) {
+                out.println(String.format(Locale.US, "%1$12s %2$12s %3$8s %4$-10s %5$s", "",
+                        "", "", "NEW", candidateResult.getKey()));
+                continue;
+            }
+            matchedKeys.add(candidateResult.getKey());
+
+            MetricSummary baselineSummary = baselineResult.getMetrics().get(metric);
+            MetricSummary candidateSummary = candidateResult.getMetrics().get(metric);
+            if ((baselineSummary == null) || (candidateSummary == null)) {
+                String status = (candidateResult.getError() != null) ? "FAILED" : "MISSING";
+                out.println(String.format(Locale.US, "%1$12s %2$12s %3$8s %4$-10s %5$s", "",
+                        "", "", status, candidateResult.getKey()));
+                if (candidateResult.getError() != null) {
+                    regressions++;
+                }
+                continue;
+            }
+
+            double baselineValue = baselineSummary.get(statistic);
+            double candidateValue = candidateSummary.get(statistic);
+            double change;
+            if (baselineValue == 0.0) {
+                change = (candidateValue == 0.0) ? 0.0 : Double.POSITIVE_INFINITY;
+            } else {
+                change = 100.0 * (candidateValue - baselineValue) / baselineValue;
+            }
+            String status = "";
+            if (change > thresholdPercent) {
+                status = "REGRESSION";
+                regressions++;
+            } else if (change < -thresholdPercent) {
+                status = "IMPROVED";
+            }
+            out.println(String.format(Locale.US, "%1$12.2f %2$12.2f %3$+7.1f%% %4$-10s %5$s",
+                    baselineValue, candidateValue, change, status, candidateResult.getKey()));
+        }
+        for (String baselineKey : baselineByKey.keySet()) {
+            if (!matchedKeys.contains(baselineKey)) {
+                out.println(String.format(Locale.US, "%1$12s %2$12s %3$8s %4$-10s %5$s", "",
+                        "", "", "REMOVED", baselineKey));
+            }
+        }
+        out.println("\n" + regressions + " regression(s)");
+        return regressions;
+    }
+}
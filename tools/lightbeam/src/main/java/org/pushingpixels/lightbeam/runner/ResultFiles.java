@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Writes and reads the result files of {@link ScenarioRunner}. Results can be written as JSON,
+ * which also lists the individual samples, or as CSV with one row per scenario and metric.
+ * Both formats can be read back for comparison.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ResultFiles {
+    private static final String CSV_HEADER =
+            "lookAndFeel,group,scenario,metric,unit,count,min,mean,p50,p90,p99,max,error";
+
+    /**
+     * Writes the results as JSON.
+     *
+     * @param properties Properties of the run, such as the Java version and the iteration
+     *                   counts. The values must be strings, numbers or booleans.
+     * @param results    Scenario results.
+     * @param writer     Writer.
+     */
+    public static void writeJson(Map<String, Object> properties, List<ScenarioResult> results,
+            Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("{");
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            out.println("  " + quote(property.getKey()) + ": "
+                    + toJsonValue(property.getValue()) + ",");
+        }
+        out.println("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            ScenarioResult result = results.get(i);
+            out.println("    {");
+            out.println("      \"lookAndFeel\": " + quote(result.getLookAndFeel()) + ",");
+            out.println("      \"group\": " + quote(result.getGroup()) + ",");
+            out.println("      \"scenario\": " + quote(result.getScenario()) + ",");
+            if (result.getError() != null) {
+                out.println("      \"error\": " + quote(result.getError()) + ",");
+            }
+            out.println("      \"metrics\": {");
+            Iterator<Map.Entry<Metric, MetricSummary>> metricIterator =
+                    result.getMetrics().entrySet().iterator();
+            while (metricIterator.hasNext()) {
+                Map.Entry<Metric, MetricSummary> entry = metricIterator.next();
+                MetricSummary summary = entry.getValue();
+                StringBuilder line = new StringBuilder();
+                line.append("        ").append(quote(entry.getKey().getId())).append(": { ");
+                line.append("\"unit\": ").append(quote(entry.getKey().getUnit()));
+                line.append(", \"count\": ").append(summary.getCount());
+                for (String statistic : MetricSummary.STATISTICS) {
+                    line.append(", ").append(quote(statistic)).append(": ")
+                            .append(format(summary.get(statistic)));
+                }
+                double[] samples = summary.getSamples();
+                if (samples != null) {
+                    line.append(", \"samples\": [");
+                    for (int j = 0; j < samples.length; j++) {
+                        line.append((j > 0) ? ", " : "").append(format(samples[j]));
+                    }
+                    line.append("]");
+                }
+                line.append(" }").append(metricIterator.hasNext() ? "," : "");
+                out.println(line);
+            }
+            out.println("      }");
+            out.println("    }" + ((i < results.size() - 1) ? "," : ""));
+        }
+        out.println("  ]");
+        out.println("}");
+        out.flush();
+    }
+
+    /**
+     * Writes the results as CSV, with one row for each scenario and metric. Scenarios that
+     * failed have a single row with the error and no metric.
+     *
+     * @param results Scenario results.
+     * @param writer  Writer.
+     */
+    public static void writeCsv(List<ScenarioResult> results, Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println(CSV_HEADER);
+        for (ScenarioResult result : results) {
+            String prefix = csvField(result.getLookAndFeel()) + ","
+                    + csvField(result.getGroup()) + "," + csvField(result.getScenario()) + ",";
+            String error = (result.getError() == null) ? "" : csvField(result.getError());
+            if (result.getMetrics().isEmpty()) {
+                out.println(prefix + ",,,,,,,,," + error);
+                continue;
+            }
+            for (Map.Entry<Metric, MetricSummary> entry : result.getMetrics().entrySet()) {
+                MetricSummary summary = entry.getValue();
+                StringBuilder line = new StringBuilder(prefix);
+                line.append(entry.getKey().getId()).append(",");
+                line.append(entry.getKey().getUnit()).append(",");
+                line.append(summary.getCount());
+                for (String statistic : MetricSummary.STATISTICS) {
+                    line.append(",").append(format(summary.get(statistic)));
+                }
+                line.append(",").append(error);
+                out.println(line);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the results from a file written by {@link #writeJson(Map, List, Writer)} or
+     * {@link #writeCsv(List, Writer)}. The format is detected from the file contents.
+     *
+     * @param path Path of the result file.
+     * @return Scenario results.
+     * @throws IOException If the file cannot be read or is not a valid result file.
+     */
+    public static List<ScenarioResult> read(Path path) throws IOException {
+        String contents = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        try {
+            return contents.trim().startsWith("{") ? readJson(contents) : readCsv(contents);
+        } catch (RuntimeException exc) {
+            throw new IOException("Could not read " + path + ": " + exc.getMessage(), exc);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ScenarioResult> readJson(String contents) {
+        Map<String, Object> root = (Map<String, Object>) new JsonParser(contents).parse();
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Object resultObject : (List<Object>) root.get("results")) {
+            Map<String, Object> result = (Map<String, Object>) resultObject;
+            Map<Metric, MetricSummary> metrics = new EnumMap<>(Metric.class);
+            Map<String, Object> metricObjects = (Map<String, Object>) result.get("metrics");
+            for (Map.Entry<String, Object> entry : metricObjects.entrySet()) {
+                Map<String, Object> metric = (Map<String, Object>) entry.getValue();
+                double[] samples = null;
+                if (metric.containsKey("samples")) {
+                    List<Object> sampleObjects = (List<Object>) metric.get("samples");
+                    samples = new double[sampleObjects.size()];
+                    for (int i = 0; i < samples.length; i++) {
+                        samples[i] = (Double) sampleObjects.get(i);
+                    }
+                }
+                metrics.put(Metric.fromId(entry.getKey()), new MetricSummary(
+                        ((Double) metric.get("count")).intValue(), (Double) metric.get("min"),
+                        (Double) metric.get("mean"), (Double) metric.get("p50"),
+                        (Double) metric.get("p90"), (Double) metric.get("p99"),
+                        (Double) metric.get("max"), samples));
+            }
+            results.add(new ScenarioResult((String) result.get("lookAndFeel"),
+                    (String) result.get("group"), (String) result.get("scenario"), metrics,
+                    (String) result.get("error")));
+        }
+        return results;
+    }
+
+    private static List<ScenarioResult> readCsv(String contents) {
+        // Rows of the same scenario are next to each other, and are merged into one result
+        Map<String, List<String[]>> rowsByScenario = new LinkedHashMap<>();
+        String[] lines = contents.split("\r?\n");
+        if ((lines.length == 0) || !CSV_HEADER.equals(lines[0].trim())) {
+            throw new IllegalArgumentException("Missing CSV header");
+        }
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].trim().isEmpty()) {
+                continue;
+            }
+            String[] fields = parseCsvLine(lines[i]);
+            if (fields.length != 13) {
+                throw new IllegalArgumentException("Malformed CSV line " + (i + 1));
+            }
+            String key = fields[0] + "\n" + fields[1] + "\n" + fields[2];
+            rowsByScenario.computeIfAbsent(key, k -> new ArrayList<>()).add(fields);
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (List<String[]> rows : rowsByScenario.values()) {
+            Map<Metric, MetricSummary> metrics = new EnumMap<>(Metric.class);
+            String error = null;
+            for (String[] fields : rows) {
+                if (!fields[12].isEmpty()) {
+                    error = fields[12];
+                }
+                if (fields[3].isEmpty()) {
+                    continue;
+                }
+                metrics.put(Metric.fromId(fields[3]), new MetricSummary(
+                        Integer.parseInt(fields[5]), Double.parseDouble(fields[6]),
+                        Double.parseDouble(fields[7]), Double.parseDouble(fields[8]),
+                        Double.parseDouble(fields[9]), Double.parseDouble(fields[10]),
+                        Double.parseDouble(fields[11]), null));
+            }
+            String[] first = rows.get(0);
+            results.add(new ScenarioResult(first[0], first[1], first[2], metrics, error));
+        }
+        return results;
+    }
+
+    private static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if ((i + 1 < line.length()) && (line.charAt(i + 1) == '"')) {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String csvField(String value) {
+        String singleLine = value.replace('\n', ' ').replace('\r', ' ');
+        if (singleLine.contains(",") || singleLine.contains("\"")) {
+            return "\"" + singleLine.replace("\"", "\"\"") + "\"";
+        }
+        return singleLine;
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && (Math.abs(value) < 1.0e15)) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.US, "%.4f", value);
+    }
+
+    private static String toJsonValue(Object value) {
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return quote(String.valueOf(value));
+    }
+
+    private static String quote(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    /**
+     * Minimal JSON parser for reading the result files. Objects are returned as maps, arrays
+     * as lists, and all numbers as doubles.
+     */
+    private static class JsonParser {
+        private final String text;
+
+        private int position;
+
+        private JsonParser(String text) {
+            this.text = text;
+            this.position = 0;
+        }
+
+        private Object parse() {
+            Object result = this.parseValue();
+            this.skipWhitespace();
+            if (this.position != this.text.length()) {
+                throw this.error("Unexpected content");
+            }
+            return result;
+        }
+
+        private Object parseValue() {
+            this.skipWhitespace();
+            if (this.position >= this.text.length()) {
+                throw this.error("Unexpected end of input");
+            }
+            char c = this.text.charAt(this.position);
+            switch (c) {
+                case '{':
+                    return this.parseObject();
+                case '[':
+                    return this.parseArray();
+                case '"':
+                    return this.parseString();
+                case 't':
+                    this.expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    this.expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    this.expect("null");
+                    return null;
+                default:
+                    return this.parseNumber();
+            }
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            this.position++;
+            this.skipWhitespace();
+            if (this.peek() == '}') {
+                this.position++;
+                return result;
+            }
+            while (true) {
+                this.skipWhitespace();
+                String key = this.parseString();
+                this.skipWhitespace();
+                this.expect(":");
+                result.put(key, this.parseValue());
+                this.skipWhitespace();
+                char c = this.next();
+                if (c == '}') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw this.error("Expected , or }");
+                }
+            }
+        }
+
+        private List<Object> parseArray() {
+            List<Object> result = new ArrayList<>();
+            this.position++;
+            this.skipWhitespace();
+            if (this.peek() == ']') {
+                this.position++;
+                return result;
+            }
+            while (true) {
+                result.add(this.parseValue());
+                this.skipWhitespace();
+                char c = this.next();
+                if (c == ']') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw this.error("Expected , or ]");
+                }
+            }
+        }
+
+        private String parseString() {
+            if (this.next() != '"') {
+                throw this.error("Expected string");
+            }
+            StringBuilder result = new StringBuilder();
+            while (true) {
+                char c = this.next();
+                if (c == '"') {
+                    return result.toString();
+                }
+                if (c != '\\') {
+                    result.append(c);
+                    continue;
+                }
+                char escaped = this.next();
+                switch (escaped) {
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'b':
+                        result.append('\b');
+                        break;
+                    case 'f':
+                        result.append('\f');
+                        break;
+                    case 'u':
+                        if (this.position + 4 > this.text.length()) {
+                            throw this.error("Unexpected end of input");
+                        }
+                        result.append((char) Integer.parseInt(
+                                this.text.substring(this.position, this.position + 4), 16));
+                        this.position += 4;
+                        break;
+                    default:
+                        result.append(escaped);
+                }
+            }
+        }
+
+        private Double parseNumber() {
+            int start = this.position;
+            while ((this.position < this.text.length())
+                    && ("+-0123456789.eE".indexOf(this.text.charAt(this.position)) >= 0)) {
+                this.position++;
+            }
+            if (start == this.position) {
+                throw this.error("Unexpected character");
+            }
+            return Double.valueOf(this.text.substring(start, this.position));
+        }
+
+        private void expect(String token) {
+            if (!this.text.startsWith(token, this.position)) {
+                throw this.error("Expected " + token);
+            }
+            this.position += token.length();
+        }
+
+        private char peek() {
+            if (this.position >= this.text.length()) {
+                throw this.error("Unexpected end of input");
+            }
+            return this.text.charAt(this.position);
+        }
+
+        private char next() {
+            char result = this.peek();
+            this.position++;
+            return result;
+        }
+
+        private void skipWhitespace() {
+            while ((this.position < this.text.length())
+                    && Character.isWhitespace(this.text.charAt(this.position))) {
+                this.position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + this.position);
+        }
+    }
+}
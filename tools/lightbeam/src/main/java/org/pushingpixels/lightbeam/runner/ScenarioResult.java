@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result of running a single performance scenario under a single look-and-feel.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ScenarioResult {
+    private final String lookAndFeel;
+
+    private final String group;
+
+    private final String scenario;
+
+    private final Map<Metric, MetricSummary> metrics;
+
+    private final String error;
+
+    /**
+     * Creates a new scenario result.
+     *
+     * @param lookAndFeel Class name of the look-and-feel.
+     * @param group       Title of the group that hosts the scenario, such as
+     *                    <code>Buttons</code>.
+     * @param scenario    Scenario name.
+     * @param metrics     Summaries of the collected metrics. Metrics that are not supported by
+     *                    the virtual machine are not included.
+     * @param error       Description of the error that stopped the scenario, or
+     *                    <code>null</code> if the scenario ran to completion.
+     */
+    public ScenarioResult(String lookAndFeel, String group, String scenario,
+            Map<Metric, MetricSummary> metrics, String error) {
+        this.lookAndFeel = lookAndFeel;
+        this.group = group;
+        this.scenario = scenario;
+        this.metrics = metrics.isEmpty() ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(metrics));
+        this.error = error;
+    }
+
+    public String getLookAndFeel() {
+        return this.lookAndFeel;
+    }
+
+    public String getGroup() {
+        return this.group;
+    }
+
+    public String getScenario() {
+        return this.scenario;
+    }
+
+    public Map<Metric, MetricSummary> getMetrics() {
+        return this.metrics;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    /**
+     * Returns the key that identifies the same scenario in different result files.
+     *
+     * @return Key of this result.
+     */
+    public String getKey() {
+        return this.lookAndFeel + " : " + this.group + " : " + this.scenario;
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.lightbeam.runner;
+
+import org.pushingpixels.lightbeam.DynamicPerformanceSuite;
+import org.pushingpixels.lightbeam.PerformanceScenario;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Command-line runner for the performance scenarios of {@link DynamicPerformanceSuite}. The
+ * scenarios run under each of the specified look-and-feels without showing any windows, so
+ * the runner can also be used in headless mode. The scenario components are hosted in a root
+ * pane with the same layout as the frame of the suite, and after each scenario step the root
+ * pane is painted into an offscreen image on the event dispatch thread.
+ *
+ * <p>Each scenario first runs for a number of warm-up iterations, and then for a number of
+ * measured iterations. The scenarios are run in a round-robin order, so that the warm-up of
+ * one scenario benefits all the others. For each measured iteration, the runner collects
+ * the CPU time and the allocated memory of the event dispatch thread, and the elapsed wall
+ * time. The results are written as JSON or CSV, with percentiles of each metric.</p>
+ *
+ * <p>The runner can also compare two result files and list the scenarios that got slower.
+ * The exit code is 1 if there are regressions above the threshold, so that upgrades of a
+ * look-and-feel library can be gated on the comparison.</p>
+ *
+ * <p>Scenarios that need to show windows, such as menu selection, fail in headless mode.
+ * Failed scenarios are listed with their error and are not run again.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class ScenarioRunner {
+    private static final int HOST_WIDTH = 860;
+
+    private static final int HOST_HEIGHT = 600;
+
+    private final ThreadMXBean threadBean;
+
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    private final long edtThreadId;
+
+    private JTabbedPane tabs;
+
+    private JRootPane host;
+
+    private BufferedImage offscreen;
+
+    /**
+     * Information on a single registered scenario and the samples collected for it.
+     */
+    private static class ScenarioRun {
+        private final String group;
+
+        private final Component groupComponent;
+
+        private final PerformanceScenario scenario;
+
+        private final Map<Metric, double[]> samples;
+
+        private String error;
+
+        private ScenarioRun(String group, Component groupComponent,
+                PerformanceScenario scenario, int measuredIterations) {
+            this.group = group;
+            this.groupComponent = groupComponent;
+            this.scenario = scenario;
+            this.samples = new EnumMap<>(Metric.class);
+            for (Metric metric : Metric.values()) {
+                this.samples.put(metric, new double[measuredIterations]);
+            }
+        }
+    }
+
+    private ScenarioRunner() {
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        if (this.threadBean.isThreadCpuTimeSupported()) {
+            this.threadBean.setThreadCpuTimeEnabled(true);
+        }
+        if ((this.threadBean instanceof com.sun.management.ThreadMXBean)
+                && ((com.sun.management.ThreadMXBean) this.threadBean)
+                .isThreadAllocatedMemorySupported()) {
+            this.allocationBean = (com.sun.management.ThreadMXBean) this.threadBean;
+            this.allocationBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.allocationBean = null;
+        }
+        this.edtThreadId = callOnEdt(() -> Thread.currentThread().getId());
+    }
+
+    /**
+     * Runs all the scenarios under the specified look-and-feel.
+     *
+     * @param lookAndFeel        Class name of the look-and-feel.
+     * @param scenarioFilter     If not <code>null</code>, only the scenarios with this name
+     *                           are run.
+     * @param warmUpIterations   Number of warm-up iterations.
+     * @param measuredIterations Number of measured iterations.
+     * @return Results of all the scenarios.
+     */
+    private List<ScenarioResult> run(String lookAndFeel, String scenarioFilter,
+            int warmUpIterations, int measuredIterations) {
+        List<ScenarioRun> runs = callOnEdt(() -> {
+            UIManager.setLookAndFeel(lookAndFeel);
+            return this.createHost(scenarioFilter, measuredIterations);
+        });
+
+        for (int iteration = 0; iteration < warmUpIterations + measuredIterations;
+                iteration++) {
+            boolean isMeasured = (iteration >= warmUpIterations);
+            for (ScenarioRun run : runs) {
+                if (run.error != null) {
+                    continue;
+                }
+                try {
+                    this.runIteration(run, isMeasured ? iteration - warmUpIterations : -1);
+                } catch (RuntimeException exc) {
+                    Throwable cause = (exc.getCause() != null) ? exc.getCause() : exc;
+                    run.error = cause.toString();
+                    System.err.println("Scenario failed: " + run.group + " : "
+                            + run.scenario.getName() + " : " + run.error);
+                }
+            }
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (ScenarioRun run : runs) {
+            Map<Metric, MetricSummary> metrics = new EnumMap<>(Metric.class);
+            if (run.error == null) {
+                for (Map.Entry<Metric, double[]> entry : run.samples.entrySet()) {
+                    if ((entry.getKey() == Metric.ALLOCATED_BYTES)
+                            && (this.allocationBean == null)) {
+                        continue;
+                    }
+                    if ((entry.getKey() == Metric.EDT_CPU_TIME)
+                            && !this.threadBean.isThreadCpuTimeSupported()) {
+                        continue;
+                    }
+                    metrics.put(entry.getKey(), MetricSummary.of(entry.getValue()));
+                }
+            }
+            results.add(new ScenarioResult(lookAndFeel, run.group, run.scenario.getName(),
+                    metrics, run.error));
+        }
+        return results;
+    }
+
+    private List<ScenarioRun> createHost(String scenarioFilter, int measuredIterations) {
+        // The same layout as in the dynamic performance suite - the empty tab is selected
+        // for the menu bar scenarios so that only the menus are painted
+        this.tabs = new JTabbedPane();
+        this.tabs.addTab("Empty", new JPanel());
+        this.host = new JRootPane();
+        this.host.getContentPane().add(this.tabs, BorderLayout.CENTER);
+
+        List<ScenarioRun> runs = new ArrayList<>();
+        for (Map.Entry<String, Component> entry :
+                DynamicPerformanceSuite.createScenarioComponents().entrySet()) {
+            Component comp = entry.getValue();
+            if (comp instanceof JMenuBar) {
+                this.host.setJMenuBar((JMenuBar) comp);
+            } else {
+                this.tabs.addTab(entry.getKey(), comp);
+            }
+            for (PerformanceScenario scenario : DynamicPerformanceSuite.getScenarios(comp)) {
+                if ((scenarioFilter == null) || scenarioFilter.equals(scenario.getName())) {
+                    runs.add(new ScenarioRun(entry.getKey(), comp, scenario,
+                            measuredIterations));
+                }
+            }
+        }
+        this.host.setSize(HOST_WIDTH, HOST_HEIGHT);
+        layOut(this.host);
+        this.offscreen = new BufferedImage(HOST_WIDTH, HOST_HEIGHT,
+                BufferedImage.TYPE_INT_ARGB);
+        return runs;
+    }
+
+    /**
+     * Lays out the specified component and all its children. Since the host is never shown,
+     * {@link Container#validate()} does not lay it out.
+     *
+     * @param comp Component to lay out.
+     */
+    private static void layOut(Component comp) {
+        if (comp instanceof Container) {
+            Container container = (Container) comp;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layOut(child);
+            }
+        }
+    }
+
+    private void paintHost() {
+        layOut(this.host);
+        Graphics2D g2d = this.offscreen.createGraphics();
+        this.host.paint(g2d);
+        g2d.dispose();
+    }
+
+    /**
+     * Runs a single iteration of the specified scenario.
+     *
+     * @param run           Scenario run.
+     * @param measuredIndex   Index of the measured iteration, or -1 for a warm-up iteration.
+     */
+    private void runIteration(ScenarioRun run, int measuredIndex) {
+        PerformanceScenario scenario = run.scenario;
+        runOnEdt(() -> {
+            boolean isTabPanel = (this.tabs.indexOfComponent(run.groupComponent) >= 0);
+            this.tabs.setVisible(isTabPanel);
+            if (isTabPanel) {
+                this.tabs.setSelectedComponent(run.groupComponent);
+            } else {
+                this.tabs.setSelectedIndex(0);
+            }
+            // Lay out the selected tab before the scenario setup queries its components
+            layOut(this.host);
+            scenario.setup();
+            this.paintHost();
+        });
+
+        int stepCount = scenario.getIterationCount();
+        long startCpu = this.threadBean.isThreadCpuTimeSupported()
+                ? this.threadBean.getThreadCpuTime(this.edtThreadId) : 0;
+        long startAllocated = (this.allocationBean != null)
+                ? this.allocationBean.getThreadAllocatedBytes(this.edtThreadId) : 0;
+        long start = System.nanoTime();
+
+        for (int step = 0; step < stepCount; step++) {
+            int currentStep = step;
+            runOnEdt(() -> {
+                scenario.runSingleIteration(currentStep);
+                this.paintHost();
+            });
+        }
+
+        long wallTime = System.nanoTime() - start;
+        long cpuTime = this.threadBean.isThreadCpuTimeSupported()
+                ? this.threadBean.getThreadCpuTime(this.edtThreadId) - startCpu : 0;
+        long allocated = (this.allocationBean != null)
+                ? this.allocationBean.getThreadAllocatedBytes(this.edtThreadId)
+                - startAllocated : 0;
+
+        runOnEdt(scenario::tearDown);
+
+        System.err.println(String.format(Locale.US,
+                "%1$4d [cpu %2$4d / alloc %3$7d KB] %4$s %5$15s : %6$s", wallTime / 1000000,
+                cpuTime / 1000000, allocated / 1024, (measuredIndex >= 0) ? " " : "w",
+                run.group, scenario.getName()));
+        if (measuredIndex >= 0) {
+            run.samples.get(Metric.EDT_CPU_TIME)[measuredIndex] = cpuTime / 1.0e6;
+            run.samples.get(Metric.WALL_TIME)[measuredIndex] = wallTime / 1.0e6;
+            run.samples.get(Metric.ALLOCATED_BYTES)[measuredIndex] = allocated;
+        }
+    }
+
+    private static void runOnEdt(Runnable runnable) {
+        callOnEdt(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private static <T> T callOnEdt(Callable<T> callable) {
+        Object[] result = new Object[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    result[0] = callable.call();
+                } catch (RuntimeException exc) {
+                    throw exc;
+                } catch (Exception exc) {
+                    throw new IllegalStateException(exc);
+                }
+            });
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exc);
+        } catch (InvocationTargetException exc) {
+            throw new IllegalStateException(exc.getCause());
+        }
+        @SuppressWarnings("unchecked")
+        T typedResult = (T) result[0];
+        return typedResult;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage:");
+        System.err.println("  ScenarioRunner [--laf <class>[,<class>...]] [--warmup <count>]"
+                + " [--iterations <count>]");
+        System.err.println("                 [--scenario <name>] [--format json|csv]"
+                + " [--output <file>]");
+        System.err.println("  ScenarioRunner --compare <baseline> <candidate>"
+                + " [--metric edtCpuTime|wallTime|allocatedBytes]");
+        System.err.println("                 [--statistic min|mean|p50|p90|p99|max]"
+                + " [--threshold <percent>]");
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> lookAndFeels = new ArrayList<>();
+        int warmUpIterations = 5;
+        int measuredIterations = 10;
+        String scenarioFilter = null;
+        String format = "json";
+        String output = null;
+        String baselineFile = null;
+        String candidateFile = null;
+        Metric metric = Metric.EDT_CPU_TIME;
+        String statistic = "p50";
+        double threshold = 10.0;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--laf":
+                        lookAndFeels.addAll(Arrays.asList(args[++i].split(",")));
+                        break;
+                    case "--warmup":
+                        warmUpIterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--iterations":
+                        measuredIterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--scenario":
+                        scenarioFilter = args[++i];
+                        break;
+                    case "--format":
+                        format = args[++i];
+                        break;
+                    case "--output":
+                        output = args[++i];
+                        break;
+                    case "--compare":
+                        baselineFile = args[++i];
+                        candidateFile = args[++i];
+                        break;
+                    case "--metric":
+                        metric = Metric.fromId(args[++i]);
+                        break;
+                    case "--statistic":
+                        statistic = args[++i];
+                        if (!Arrays.asList(MetricSummary.STATISTICS).contains(statistic)) {
+                            throw new IllegalArgumentException("Unknown statistic " + statistic);
+                        }
+                        break;
+                    case "--threshold":
+                        threshold = Double.parseDouble(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (!"json".equals(format) && !"csv".equals(format)) {
+                throw new IllegalArgumentException("Unknown format " + format);
+            }
+            if ((warmUpIterations < 0) || (measuredIterations < 1)) {
+                throw new IllegalArgumentException("Invalid iteration count");
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException exc) {
+            System.err.println((exc instanceof IndexOutOfBoundsException)
+                    ? "Missing option value" : exc.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        if (baselineFile != null) {
+            int regressions = ResultComparison.compare(
+                    ResultFiles.read(Paths.get(baselineFile)),
+                    ResultFiles.read(Paths.get(candidateFile)), metric, statistic, threshold,
+                    System.out);
+            System.exit((regressions > 0) ? 1 : 0);
+            return;
+        }
+
+        if (lookAndFeels.isEmpty()) {
+            lookAndFeels.add(UIManager.getLookAndFeel().getClass().getName());
+        }
+
+        ScenarioRunner runner = new ScenarioRunner();
+        List<ScenarioResult> results = new ArrayList<>();
+        for (String lookAndFeel : lookAndFeels) {
+            System.err.println(">>>>>>>>>>>>>>>>>>>>> " + lookAndFeel);
+            results.addAll(runner.run(lookAndFeel, scenarioFilter, warmUpIterations,
+                    measuredIterations));
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("javaVersion", System.getProperty("java.version"));
+        properties.put("javaVendor", System.getProperty("java.vendor"));
+        properties.put("os", System.getProperty("os.name") + " "
+                + System.getProperty("os.version"));
+        properties.put("headless", GraphicsEnvironment.isHeadless());
+        properties.put("warmUpIterations", warmUpIterations);
+        properties.put("measuredIterations", measuredIterations);
+
+        Writer writer = (output == null)
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8);
+        try {
+            if ("csv".equals(format)) {
+                ResultFiles.writeCsv(results, writer);
+            } else {
+                ResultFiles.writeJson(properties, results, writer);
+            }
+        } finally {
+            writer.flush();
+            if (output != null) {
+                writer.close();
+            }
+        }
+        System.exit(0);
+    }
+}
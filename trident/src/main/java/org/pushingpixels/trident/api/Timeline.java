@@ -43,6 +43,7 @@ import org.pushingpixels.trident.internal.swing.SwingUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -113,7 +114,10 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
      */
     float timelinePosition;
 
-    long timeUntilPlay;
+    /**
+     * Time left in the {@link TimelineState#READY} state, in nanoseconds.
+     */
+    long nanosUntilPlay;
 
     /**
      * Indication whether the looping timeline should stop at reaching the end of the cycle.
@@ -121,8 +125,49 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
      */
     boolean toCancelAtCycleBreak;
 
+    /**
+     * State stack of this timeline. Only changed by the timeline engine while it holds its
+     * lock.
+     */
     private Stack<TimelineState> stateStack;
 
+    /**
+     * The top of {@link #stateStack}, published for threads that do not hold the lock of the
+     * timeline engine.
+     */
+    private volatile TimelineState state;
+
+    /**
+     * The state below {@link TimelineState#SUSPENDED} on {@link #stateStack}, recorded when the
+     * timeline is suspended.
+     */
+    private volatile TimelineState stateBeforeSuspend;
+
+    /**
+     * The number of operations (play, cancel, suspend etc) on this timeline that have been
+     * submitted to the timeline engine and have not run yet.
+     *
+     * @see #getState()
+     */
+    final AtomicInteger pendingOperationCount = new AtomicInteger();
+
+    /**
+     * The state this timeline will be in once all of its pending operations have run. Only
+     * meaningful while {@link #pendingOperationCount} is positive.
+     */
+    private volatile TimelineState projectedState;
+
+    /**
+     * The state below {@link TimelineState#SUSPENDED} for {@link #projectedState}.
+     */
+    private volatile TimelineState projectedStateBeforeSuspend;
+
+    /**
+     * Guards the updates to {@link #projectedState} from the threads that submit operations on
+     * this timeline. Never held by the timeline engine.
+     */
+    private final Object projectionLock = new Object();
+
     private TimelineEase ease;
 
     private int doneCount;
@@ -237,12 +282,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
                 final float durationFraction, final float timelinePosition) {
             // special handling for chained callbacks not running on UI
             // thread
-            boolean shouldRunOnUIThread = false;
-            Class<?> clazz = callback.getClass();
-            while ((clazz != null) && !shouldRunOnUIThread) {
-                shouldRunOnUIThread = clazz.isAnnotationPresent(RunOnEventDispatchThread.class);
-                clazz = clazz.getSuperclass();
-            }
+            boolean shouldRunOnUIThread =
+                    SwingUtils.isRunOnEventDispatchThread(callback.getClass());
             if (shouldRunOnUIThread && Timeline.this.mainObjectIsUiComponent) {
                 SwingUtils.runOnEventDispatchThread(
                         () -> callback.onTimelineStateChanged(oldState, newState, durationFraction,
@@ -280,12 +321,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
                 final float timelinePosition) {
             // special handling for chained callbacks not running on UI
             // thread
-            boolean shouldRunOnUIThread = false;
-            Class<?> clazz = callback.getClass();
-            while ((clazz != null) && !shouldRunOnUIThread) {
-                shouldRunOnUIThread = clazz.isAnnotationPresent(RunOnEventDispatchThread.class);
-                clazz = clazz.getSuperclass();
-            }
+            boolean shouldRunOnUIThread =
+                    SwingUtils.isRunOnEventDispatchThread(callback.getClass());
             if (shouldRunOnUIThread && Timeline.this.mainObjectIsUiComponent) {
                 SwingUtils.runOnEventDispatchThread(() -> {
                     if (Timeline.this.getState() == TimelineState.CANCELLED) {
@@ -345,6 +382,7 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
 
         this.stateStack = new Stack<>();
         this.stateStack.push(TimelineState.IDLE);
+        this.state = TimelineState.IDLE;
         this.doneCount = 0;
 
         this.ease = DEFAULT_EASE;
@@ -375,7 +413,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
             throw new IllegalArgumentException(
                     "Required skip longer than initial delay + duration");
         }
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, () -> {
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY,
+                TimelineState.PLAYING_FORWARD, () -> {
             Timeline.this.isLooping = false;
             TimelineEngine.getInstance().play(Timeline.this, false, msToSkip);
         });
@@ -390,21 +429,24 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
             throw new IllegalArgumentException(
                     "Required skip longer than initial delay + duration");
         }
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, () -> {
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY,
+                TimelineState.PLAYING_REVERSE, () -> {
             Timeline.this.isLooping = false;
             TimelineEngine.getInstance().playReverse(Timeline.this, false, msToSkip);
         });
     }
 
     public void replay() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, () -> {
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY,
+                TimelineState.PLAYING_FORWARD, () -> {
             Timeline.this.isLooping = false;
             TimelineEngine.getInstance().play(Timeline.this, true, 0);
         });
     }
 
     public void replayReverse() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, () -> {
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY,
+                TimelineState.PLAYING_REVERSE, () -> {
             Timeline.this.isLooping = false;
             TimelineEngine.getInstance().playReverse(Timeline.this, true, 0);
         });
@@ -434,7 +476,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
                         "Can't loop a timeline that has at least one property with .fromCurrent()");
             }
         }
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, () -> {
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.PLAY, null,
+                () -> {
             Timeline.this.isLooping = true;
             Timeline.this.repeatCount = loopCount;
             Timeline.this.repeatBehavior = repeatBehavior;
@@ -453,7 +496,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
      * @see #abort()
      */
     public void cancel() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.CANCEL, null);
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.CANCEL, null,
+                null);
     }
 
     /**
@@ -467,7 +511,8 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
      * @see #abort()
      */
     public void end() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.END, null);
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.END, null,
+                null);
     }
 
     /**
@@ -478,16 +523,18 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
      * @see #end()
      */
     public void abort() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.ABORT, null);
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.ABORT, null,
+                null);
     }
 
     public void suspend() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.SUSPEND,
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.SUSPEND, null,
                 null);
     }
 
     public void resume() {
-        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.RESUME, null);
+        TimelineEngine.getInstance().runTimelineOperation(this, TimelineOperationKind.RESUME, null,
+                null);
     }
 
     /**
@@ -518,8 +565,86 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
         return this.durationFraction;
     }
 
+    /**
+     * Returns the current state of this timeline. The operations that change the state, such
+     * as {@link #play()}, {@link #cancel()} or {@link #suspend()}, are run by the timeline
+     * engine. If the engine is in the middle of a pulse, they run at the end of that pulse, and
+     * return before the state has changed. While any of these operations are pending, this
+     * method returns the state the timeline will be in once they have run. The returned state
+     * therefore reflects all the operations on this timeline that have returned before this
+     * call, on any thread. This method never blocks.
+     *
+     * @return The current state of this timeline.
+     */
     public final TimelineState getState() {
-        return this.stateStack.peek();
+        if ((this.pendingOperationCount.get() > 0)
+                && !TimelineEngine.getInstance().isEngineLockHeldByCurrentThread()) {
+            // The engine itself works on the actual state
+            return this.projectedState;
+        }
+        return this.state;
+    }
+
+    /**
+     * Counts an operation that is about to be submitted to the timeline engine, and updates
+     * the state returned by {@link #getState()} to the state this timeline will be in once
+     * the operation has run. The transitions mirror those done by the timeline engine.
+     *
+     * @param operationKind The operation kind.
+     * @param playingState  For {@link TimelineOperationKind#PLAY}, the direction to play in, or
+     *                      <code>null</code> for looping.
+     */
+    void projectOperation(TimelineOperationKind operationKind, TimelineState playingState) {
+        synchronized (this.projectionLock) {
+            TimelineState current;
+            TimelineState beforeSuspend;
+            if (this.pendingOperationCount.get() > 0) {
+                current = this.projectedState;
+                beforeSuspend = this.projectedStateBeforeSuspend;
+            } else {
+                current = this.state;
+                beforeSuspend = this.stateBeforeSuspend;
+            }
+            boolean isRunning = (current == TimelineState.READY)
+                    || (current == TimelineState.PLAYING_FORWARD)
+                    || (current == TimelineState.PLAYING_REVERSE)
+                    || (current == TimelineState.SUSPENDED);
+            TimelineState projected = current;
+            switch (operationKind) {
+            case PLAY:
+                if (!isRunning) {
+                    projected = TimelineState.READY;
+                } else if (playingState != null) {
+                    TimelineState resumed = (current == TimelineState.SUSPENDED)
+                            ? beforeSuspend : current;
+                    projected = (resumed == TimelineState.READY) ? TimelineState.READY
+                            : playingState;
+                }
+                break;
+            case CANCEL:
+            case END:
+            case ABORT:
+                projected = TimelineState.IDLE;
+                break;
+            case SUSPEND:
+                if ((current == TimelineState.READY)
+                        || (current == TimelineState.PLAYING_FORWARD)
+                        || (current == TimelineState.PLAYING_REVERSE)) {
+                    beforeSuspend = current;
+                    projected = TimelineState.SUSPENDED;
+                }
+                break;
+            case RESUME:
+                if (current == TimelineState.SUSPENDED) {
+                    projected = beforeSuspend;
+                }
+                break;
+            }
+            this.projectedStateBeforeSuspend = beforeSuspend;
+            this.projectedState = projected;
+            // Counted after the projection is published, so that getState() sees it
+            this.pendingOperationCount.incrementAndGet();
+        }
     }
 
     @Override
@@ -572,11 +697,17 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
         if (state == TimelineState.DONE) {
             this.doneCount++;
         }
+        if (state == TimelineState.SUSPENDED) {
+            this.stateBeforeSuspend = this.state;
+        }
         this.stateStack.add(state);
+        this.state = state;
     }
 
     TimelineState popState() {
-        return this.stateStack.pop();
+        TimelineState popped = this.stateStack.pop();
+        this.state = this.stateStack.peek();
+        return popped;
     }
 
     public final long getDuration() {
@@ -721,6 +852,43 @@ public class Timeline implements TimelineScenario.TimelineScenarioActor {
                     toSupplier(toSupplier));
         }
 
+        /**
+         * Adds a <code>float</code> property that is interpolated between the two values and
+         * passed to the setter as a primitive, without boxing on timeline pulses.
+         */
+        @SuppressWarnings("unchecked")
+        public B addFloatPropertyToInterpolate(String propName, float from, float to,
+                TimelinePropertyBuilder.FloatPropertySetter setter) {
+            this.propertiesToInterpolate.add(TimelinePropertyBuilder.getFloatFieldInfo(
+                    this.mainObject, propName, from, to, setter));
+            return (B) this;
+        }
+
+        /**
+         * Adds an <code>int</code> property that is interpolated between the two values and
+         * passed to the setter as a primitive, without boxing on timeline pulses.
+         */
+        @SuppressWarnings("unchecked")
+        public B addIntPropertyToInterpolate(String propName, int from, int to,
+                TimelinePropertyBuilder.IntPropertySetter setter) {
+            this.propertiesToInterpolate.add(TimelinePropertyBuilder.getIntFieldInfo(
+                    this.mainObject, propName, from, to, setter));
+            return (B) this;
+        }
+
+        /**
+         * Adds a color property that is interpolated between the two packed ARGB values in the
+         * same way as {@link java.awt.Color} properties, and passed to the setter as a packed
+         * ARGB value without allocating {@link java.awt.Color} objects on timeline pulses.
+         */
+        @SuppressWarnings("unchecked")
+        public B addColorPropertyToInterpolate(String propName, int fromArgb, int toArgb,
+                TimelinePropertyBuilder.IntPropertySetter setter) {
+            this.propertiesToInterpolate.add(TimelinePropertyBuilder.getColorFieldInfo(
+                    this.mainObject, propName, fromArgb, toArgb, setter));
+            return (B) this;
+        }
+
         @SuppressWarnings("unchecked")
         public B addCallback(TimelineCallback callback) {
             this.callbacks.add(callback);
@@ -31,14 +31,22 @@ package org.pushingpixels.trident.api;
 
 import org.pushingpixels.trident.api.Timeline.TimelineState;
 import org.pushingpixels.trident.api.TimelineScenario.TimelineScenarioState;
-import org.pushingpixels.trident.api.swing.RunOnEventDispatchThread;
+import org.pushingpixels.trident.internal.metrics.TimelineEngineMetrics;
 import org.pushingpixels.trident.internal.swing.SwingUtils;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The Trident timeline engine. This is the main entry point to play {@link Timeline}s and
@@ -54,9 +62,12 @@ class TimelineEngine {
     public static boolean DEBUG_MODE = false;
 
     /**
-     * Single instance of <code>this</code> class.
+     * Holder of the single instance of <code>this</code> class, so that getting it does not
+     * require synchronization.
      */
-    private static TimelineEngine instance;
+    private static class InstanceHolder {
+        private static final TimelineEngine INSTANCE = new TimelineEngine();
+    }
 
     /**
      * All currently running timelines.
@@ -69,7 +80,10 @@ class TimelineEngine {
 
     private Set<TimelineScenario> runningScenarios;
 
-    long lastIterationTimeStamp;
+    /**
+     * {@link TridentConfig.PulseSource#nanoTime()} value at the start of the last pulse.
+     */
+    long lastIterationTimeStampNanos;
 
     /**
      * Identifies a main object and an optional secondary ID.
@@ -137,12 +151,60 @@ class TimelineEngine {
     }
 
     /**
-     * The timeline thread.
+     * The timeline thread. Replaced when the pulse source changes, and when the previous thread
+     * has been stopped by an interrupt.
+     */
+    private volatile TridentAnimationThread animatorThread;
+
+    /**
+     * Guards {@link #runningTimelines}, {@link #runningScenarios} and the state of the timelines
+     * in them. Held by the animator thread for the duration of each pulse, and by the thread
+     * that runs the pending commands.
+     */
+    private final ReentrantLock engineLock = new ReentrantLock();
+
+    /**
+     * Pending timeline and scenario commands (play, cancel, suspend, etc). Application threads
+     * add commands to this queue instead of waiting for the engine lock.
+     *
+     * @see #submitCommand(Runnable)
      */
-    TridentAnimationThread animatorThread;
+    private final Queue<Runnable> commandQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of commands in {@link #commandQueue}. Used to bound the number of commands
+     * run by a single thread, so that it does not keep running commands that other threads keep
+     * submitting.
+     */
+    private final AtomicInteger pendingCommandCount = new AtomicInteger();
+
+    /**
+     * The number of pulses processed by {@link #animatorThread}. Only written by that thread.
+     * Static so that it can be read without creating the engine.
+     */
+    static volatile long pulseWakeupCount;
+
+    /**
+     * The number of times {@link #animatorThread} has parked itself when there were no
+     * running timelines and scenarios. Only written by that thread. Static so that it can be
+     * read without creating the engine.
+     */
+    static volatile long idleParkCount;
 
     private BlockingQueue<Runnable> callbackQueue;
 
+    /**
+     * Indicates whether {@link #updateTimelines()} is in progress. Guarded by
+     * {@link #engineLock}.
+     */
+    private boolean isPulseInProgress;
+
+    /**
+     * The callbacks produced by the pulse in progress. Created on the first callback of each
+     * pulse. Guarded by {@link #engineLock}.
+     */
+    private PulseCallbacks pulseCallbacks;
+
     private TimelineCallbackThread callbackThread;
 
     class TridentAnimationThread extends Thread {
@@ -155,21 +217,55 @@ class TimelineEngine {
         @Override
         public final void run() {
             TridentConfig.PulseSource pulseSource = TridentConfig.getInstance().getPulseSource();
-            lastIterationTimeStamp = System.currentTimeMillis();
-            while (true) {
+            engineLock.lock();
+            try {
+                lastIterationTimeStampNanos = pulseSource.nanoTime();
+            } finally {
+                engineLock.unlock();
+            }
+            // Interrupting this thread stops it. The pulse sources keep the interrupted status
+            // so that it can be checked here. The thread also stops once it has been replaced,
+            // in case the pulse source has cleared the interrupted status.
+            while (this.isCurrent()) {
+                if (isIdle()) {
+                    // Nothing to animate. Park until a timeline or a scenario is played.
+                    idleParkCount++;
+                    do {
+                        LockSupport.park(this);
+                        if (!this.isCurrent()) {
+                            return;
+                        }
+                    } while (isIdle());
+                    // Do not count the idle time towards the first pulse after resuming
+                    pulseSource.resume();
+                    engineLock.lock();
+                    try {
+                        lastIterationTimeStampNanos = pulseSource.nanoTime();
+                    } finally {
+                        engineLock.unlock();
+                    }
+                }
                 pulseSource.waitUntilNextPulse();
-                updateTimelines();
+                if (!this.isCurrent()) {
+                    break;
+                }
+                pulseWakeupCount++;
+                updateTimelines(pulseSource);
                 // engine.currLoopId++;
             }
         }
 
-        @Override
-        public void interrupt() {
-            System.err.println("Interrupted");
-            super.interrupt();
+        private boolean isCurrent() {
+            return !this.isInterrupted() && (animatorThread == this);
         }
     }
 
+    /**
+     * The maximum number of callbacks that {@link TimelineCallbackThread} runs before it posts
+     * the EDT-bound work collected from them.
+     */
+    private static final int MAX_BATCHED_CALLBACKS = 256;
+
     private class TimelineCallbackThread extends Thread {
         public TimelineCallbackThread() {
             super();
@@ -179,13 +275,27 @@ class TimelineEngine {
 
         @Override
         public void run() {
+            // Collect the EDT-bound callbacks and repaints, and post them together once
+            // there are no more pending callbacks, after the callbacks of each pulse, or
+            // after MAX_BATCHED_CALLBACKS other callbacks. The last two keep the UI updating
+            // when callbacks are added faster than they are run.
+            SwingUtils.startBatching();
+            int batchedCount = 0;
             while (true) {
+                boolean isPulse = false;
                 try {
                     Runnable runnable = callbackQueue.take();
+                    isPulse = (runnable instanceof PulseCallbacks);
                     runnable.run();
                 } catch (Throwable t) {
                     t.printStackTrace();
                 }
+                batchedCount++;
+                if (isPulse || (batchedCount >= MAX_BATCHED_CALLBACKS)
+                        || callbackQueue.isEmpty()) {
+                    SwingUtils.flushBatch();
+                    batchedCount = 0;
+                }
             }
         }
     }
@@ -208,32 +318,129 @@ class TimelineEngine {
      * 
      * @return Singleton instance.
      */
-    public synchronized static TimelineEngine getInstance() {
-        if (TimelineEngine.instance == null) {
-            TimelineEngine.instance = new TimelineEngine();
+    public static TimelineEngine getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns indication whether there are no running timelines, scenarios and pending commands.
+     *
+     * @return <code>true</code> if there are no running timelines, scenarios and pending
+     * commands.
+     */
+    private boolean isIdle() {
+        if (!this.commandQueue.isEmpty()) {
+            return false;
+        }
+        engineLock.lock();
+        try {
+            return this.runningTimelines.isEmpty() && this.runningScenarios.isEmpty();
+        } finally {
+            engineLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up the animator thread if it has been parked by the lack of running timelines and
+     * scenarios.
+     */
+    private void wakeUpAnimatorThread() {
+        TridentAnimationThread thread = this.animatorThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Submits a command that changes the state of timelines or scenarios. The command is added
+     * to the command queue. If the engine lock is available, the calling thread runs all the
+     * pending commands right away. Otherwise (for example, when the animator thread is in the
+     * middle of a pulse) this method returns immediately, and the commands are run by the thread
+     * that holds the lock before it releases it. In either case, commands run in the order
+     * in which they were submitted.
+     *
+     * @param command Command to run.
+     */
+    private void submitCommand(Runnable command) {
+        this.getAnimatorThread();
+        this.commandQueue.add(command);
+        this.pendingCommandCount.incrementAndGet();
+        // Do not run commands re-entrantly in the middle of a pulse. The animator thread runs
+        // them at the end of the pulse.
+        if (!this.engineLock.isHeldByCurrentThread() && this.engineLock.tryLock()) {
+            try {
+                this.runPendingCommands();
+            } finally {
+                this.engineLock.unlock();
+            }
+        }
+        this.wakeUpAnimatorThread();
+    }
+
+    /**
+     * Returns indication whether the current thread holds {@link #engineLock}. Does not block.
+     *
+     * @return <code>true</code> if the current thread is running a pulse or pending commands.
+     */
+    boolean isEngineLockHeldByCurrentThread() {
+        return this.engineLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Runs the commands that are pending at the time of this call. Must be called with
+     * {@link #engineLock} held.
+     */
+    private void runPendingCommands() {
+        for (int count = this.pendingCommandCount.get(); count > 0; count--) {
+            Runnable command = this.commandQueue.poll();
+            if (command == null) {
+                break;
+            }
+            this.pendingCommandCount.decrementAndGet();
+            try {
+                command.run();
+            } catch (RuntimeException exc) {
+                exc.printStackTrace();
+            }
         }
-        return TimelineEngine.instance;
     }
 
     /**
      * Updates all timelines that are currently registered with <code>this</code> tracker.
+     *
+     * @param pulseSource The pulse source that fired this pulse. Its clock is used to measure
+     *                    the time since the previous pulse.
      */
-    void updateTimelines() {
-        synchronized (LOCK) {
+    void updateTimelines(TridentConfig.PulseSource pulseSource) {
+        long lockRequestNanos = System.nanoTime();
+        engineLock.lock();
+        long updateStartNanos = System.nanoTime();
+        int runningTimelineCount = 0;
+        int runningScenarioCount = 0;
+        int callbackQueueDepth;
+        long updateNanos;
+        this.isPulseInProgress = true;
+        try {
+            this.runPendingCommands();
+            runningTimelineCount = this.runningTimelines.size();
+            runningScenarioCount = this.runningScenarios.size();
+
+            // Measure from the start of one pulse to the start of the next one, so that the
+            // time spent processing the timelines is not lost
+            long pulseStartNanos = pulseSource.nanoTime();
             if ((this.runningTimelines.size() == 0) && (this.runningScenarios.size() == 0)) {
-                this.lastIterationTimeStamp = System.currentTimeMillis();
+                this.lastIterationTimeStampNanos = pulseStartNanos;
                 return;
             }
 
-            long passedSinceLastIteration = (System.currentTimeMillis()
-                    - this.lastIterationTimeStamp);
+            long passedSinceLastIteration = pulseStartNanos - this.lastIterationTimeStampNanos;
             if (passedSinceLastIteration < 0) {
                 // ???
                 passedSinceLastIteration = 0;
             }
             if (DEBUG_MODE) {
-                System.out.println(
-                        "Elapsed since last iteration: " + passedSinceLastIteration + "ms");
+                System.out.println("Elapsed since last iteration: "
+                        + TimeUnit.NANOSECONDS.toMicros(passedSinceLastIteration) + "us");
             }
 
             // System.err.println("Periodic update on "
@@ -261,9 +468,9 @@ class TimelineEngine {
 
                 boolean timelineWasInReadyState = false;
                 if (timeline.getState() == TimelineState.READY) {
-                    if ((timeline.timeUntilPlay - passedSinceLastIteration) > 0) {
+                    if ((timeline.nanosUntilPlay - passedSinceLastIteration) > 0) {
                         // still needs to wait in the READY state
-                        timeline.timeUntilPlay -= passedSinceLastIteration;
+                        timeline.nanosUntilPlay -= passedSinceLastIteration;
                         continue;
                     }
 
@@ -290,7 +497,7 @@ class TimelineEngine {
                 case PLAYING_FORWARD:
                     if (!timelineWasInReadyState) {
                         timeline.durationFraction = timeline.durationFraction
-                                + (float) passedSinceLastIteration / (float) timeline.getDuration();
+                                + getDurationFraction(timeline, passedSinceLastIteration);
                     }
                     timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
                     if (DEBUG_MODE) {
@@ -319,7 +526,8 @@ class TimelineEngine {
                                     timeline.replaceState(TimelineState.PLAYING_REVERSE);
                                     if (timeline.getCycleDelay() > 0) {
                                         timeline.pushState(TimelineState.READY);
-                                        timeline.timeUntilPlay = timeline.getCycleDelay();
+                                        timeline.nanosUntilPlay =
+                                                TimeUnit.MILLISECONDS.toNanos(timeline.getCycleDelay());
                                     }
                                     this.callbackCallTimelineStateChanged(timeline,
                                             TimelineState.PLAYING_FORWARD);
@@ -328,7 +536,8 @@ class TimelineEngine {
                                     timeline.timelinePosition = 0.0f;
                                     if (timeline.getCycleDelay() > 0) {
                                         timeline.pushState(TimelineState.READY);
-                                        timeline.timeUntilPlay = timeline.getCycleDelay();
+                                        timeline.nanosUntilPlay =
+                                                TimeUnit.MILLISECONDS.toNanos(timeline.getCycleDelay());
                                         this.callbackCallTimelineStateChanged(timeline,
                                                 TimelineState.PLAYING_FORWARD);
                                     } else {
@@ -349,7 +558,7 @@ class TimelineEngine {
                 case PLAYING_REVERSE:
                     if (!timelineWasInReadyState) {
                         timeline.durationFraction = timeline.durationFraction
-                                - (float) passedSinceLastIteration / (float) timeline.getDuration();
+                                - getDurationFraction(timeline, passedSinceLastIteration);
                     }
                     timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
                     // state.timelinePosition = state.timelinePosition
@@ -381,7 +590,8 @@ class TimelineEngine {
                                 timeline.replaceState(TimelineState.PLAYING_FORWARD);
                                 if (timeline.getCycleDelay() > 0) {
                                     timeline.pushState(TimelineState.READY);
-                                    timeline.timeUntilPlay = timeline.getCycleDelay();
+                                    timeline.nanosUntilPlay =
+                                            TimeUnit.MILLISECONDS.toNanos(timeline.getCycleDelay());
                                 }
                                 this.callbackCallTimelineStateChanged(timeline,
                                         TimelineState.PLAYING_REVERSE);
@@ -448,67 +658,197 @@ class TimelineEngine {
             // System.err.println("Periodic update done");
 
             // this.nothingTracked = (this.runningTimelines.size() == 0);
-            this.lastIterationTimeStamp = System.currentTimeMillis();
+            this.lastIterationTimeStampNanos = pulseStartNanos;
+        } finally {
+            // Run the commands submitted during this pulse
+            this.runPendingCommands();
+            if (this.pulseCallbacks != null) {
+                this.pulseCallbacks.queuedNanos = System.nanoTime();
+                this.callbackQueue.add(this.pulseCallbacks);
+                this.pulseCallbacks = null;
+            }
+            callbackQueueDepth = this.callbackQueue.size();
+            this.isPulseInProgress = false;
+            updateNanos = System.nanoTime() - updateStartNanos;
+            engineLock.unlock();
+
+            // Report outside the lock so that the metrics listeners do not delay the
+            // application threads that are waiting for it
+            TimelineEngineMetrics.getInstance().recordPulse(runningTimelineCount,
+                    runningScenarioCount, updateNanos, updateStartNanos - lockRequestNanos,
+                    callbackQueueDepth);
         }
     }
 
+    /**
+     * Returns the fraction of the timeline duration that corresponds to the specified
+     * elapsed time.
+     *
+     * @param timeline     Timeline.
+     * @param elapsedNanos Elapsed time in nanoseconds.
+     * @return The fraction of the timeline duration.
+     */
+    private static float getDurationFraction(Timeline timeline, long elapsedNanos) {
+        return (float) ((double) elapsedNanos
+                / (double) TimeUnit.MILLISECONDS.toNanos(timeline.getDuration()));
+    }
+
     private void callbackCallTimelineStateChanged(final Timeline timeline,
             final TimelineState oldState) {
-        final TimelineState newState = timeline.getState();
-        final float durationFraction = timeline.durationFraction;
-        final float timelinePosition = timeline.timelinePosition;
-        Runnable callbackRunnable = () -> {
-            boolean shouldRunOnUIThread = false;
-            Class<?> clazz = timeline.callbackChain.getClass();
-            while ((clazz != null) && !shouldRunOnUIThread) {
-                shouldRunOnUIThread = clazz.isAnnotationPresent(RunOnEventDispatchThread.class);
-                clazz = clazz.getSuperclass();
-            }
-            if (shouldRunOnUIThread && SwingUtils.isUiComponent(timeline.getMainObject())) {
-                if (DEBUG_MODE) {
-                    System.out.println("Scheduling callback state change from " + oldState.name()
-                            + " to " + newState.name() + " on timeline " + timeline.id);
-                }
-                // System.out.println("Will update from " + oldState + " to " + newState);
-                SwingUtils.runOnEventDispatchThread(
-                        () -> timeline.callbackChain.onTimelineStateChanged(oldState, newState,
-                                durationFraction, timelinePosition));
-            } else {
-                if (DEBUG_MODE) {
-                    System.out.println("Calling callback state change from " + oldState.name()
-                            + " to " + newState.name() + " on timeline " + timeline.id);
-                }
-                // System.out.println("Updating from " + oldState + " to " + newState);
-                timeline.callbackChain.onTimelineStateChanged(oldState, newState, durationFraction,
-                        timelinePosition);
-            }
-        };
         if (DEBUG_MODE) {
             System.out.println("Scheduling callback runnable for " + oldState.name() + " to "
-                    + newState.name() + " on timeline " + timeline.id);
+                    + timeline.getState().name() + " on timeline " + timeline.id);
+        }
+        if (this.isPulseInProgress) {
+            this.getPulseCallbacks().add(timeline, oldState);
+            return;
         }
-        this.callbackQueue.add(callbackRunnable);
+        final TimelineState newState = timeline.getState();
+        final float durationFraction = timeline.durationFraction;
+        final float timelinePosition = timeline.timelinePosition;
+        this.callbackQueue.add(() -> dispatchTimelineStateChanged(timeline, oldState, newState,
+                durationFraction, timelinePosition));
     }
 
     private void callbackCallTimelinePulse(final Timeline timeline) {
+        if (this.isPulseInProgress) {
+            this.getPulseCallbacks().add(timeline, null);
+            return;
+        }
         final float durationFraction = timeline.durationFraction;
         final float timelinePosition = timeline.timelinePosition;
-        Runnable callbackRunnable = () -> {
-            boolean shouldRunOnUIThread = false;
-            Class<?> clazz = timeline.callbackChain.getClass();
-            while ((clazz != null) && !shouldRunOnUIThread) {
-                shouldRunOnUIThread = clazz.isAnnotationPresent(RunOnEventDispatchThread.class);
-                clazz = clazz.getSuperclass();
-            }
-            if (shouldRunOnUIThread && SwingUtils.isUiComponent(timeline.getMainObject())) {
-                SwingUtils.runOnEventDispatchThread(
-                        () -> timeline.callbackChain.onTimelinePulse(durationFraction,
-                                timelinePosition));
-            } else {
-                timeline.callbackChain.onTimelinePulse(durationFraction, timelinePosition);
+        this.callbackQueue.add(() -> dispatchTimelinePulse(timeline, durationFraction,
+                timelinePosition));
+    }
+
+    private PulseCallbacks getPulseCallbacks() {
+        if (this.pulseCallbacks == null) {
+            this.pulseCallbacks = new PulseCallbacks();
+        }
+        return this.pulseCallbacks;
+    }
+
+    /**
+     * Calls the state change callbacks of the specified timeline. Runs on the callback thread.
+     */
+    private static void dispatchTimelineStateChanged(final Timeline timeline,
+            final TimelineState oldState, final TimelineState newState,
+            final float durationFraction, final float timelinePosition) {
+        boolean shouldRunOnUIThread =
+                SwingUtils.isRunOnEventDispatchThread(timeline.callbackChain.getClass());
+        if (shouldRunOnUIThread && SwingUtils.isUiComponent(timeline.getMainObject())) {
+            if (DEBUG_MODE) {
+                System.out.println("Scheduling callback state change from " + oldState.name()
+                        + " to " + newState.name() + " on timeline " + timeline.id);
+            }
+            // System.out.println("Will update from " + oldState + " to " + newState);
+            SwingUtils.runOnEventDispatchThread(
+                    () -> timeline.callbackChain.onTimelineStateChanged(oldState, newState,
+                            durationFraction, timelinePosition));
+        } else {
+            if (DEBUG_MODE) {
+                System.out.println("Calling callback state change from " + oldState.name()
+                        + " to " + newState.name() + " on timeline " + timeline.id);
+            }
+            // System.out.println("Updating from " + oldState + " to " + newState);
+            timeline.callbackChain.onTimelineStateChanged(oldState, newState, durationFraction,
+                    timelinePosition);
+        }
+    }
+
+    /**
+     * Calls the pulse callbacks of the specified timeline. Runs on the callback thread.
+     */
+    private static void dispatchTimelinePulse(final Timeline timeline,
+            final float durationFraction, final float timelinePosition) {
+        boolean shouldRunOnUIThread =
+                SwingUtils.isRunOnEventDispatchThread(timeline.callbackChain.getClass());
+        if (shouldRunOnUIThread && SwingUtils.isUiComponent(timeline.getMainObject())) {
+            SwingUtils.runOnEventDispatchThread(
+                    () -> timeline.callbackChain.onTimelinePulse(durationFraction,
+                            timelinePosition));
+        } else {
+            timeline.callbackChain.onTimelinePulse(durationFraction, timelinePosition);
+        }
+    }
+
+    /**
+     * All the timeline callbacks produced by a single pulse. The callbacks are recorded in
+     * arrays instead of allocating a runnable for each one of them, and are passed to the
+     * callback thread as a single unit at the end of the pulse.
+     */
+    private static class PulseCallbacks implements Runnable {
+        private Timeline[] timelines = new Timeline[16];
+
+        /**
+         * Old state for state change callbacks, <code>null</code> for pulse callbacks.
+         */
+        private TimelineState[] oldStates = new TimelineState[16];
+
+        private TimelineState[] newStates = new TimelineState[16];
+
+        private float[] durationFractions = new float[16];
+
+        private float[] timelinePositions = new float[16];
+
+        private int size;
+
+        /**
+         * The {@link System#nanoTime()} value at which these callbacks were passed to the
+         * callback thread.
+         */
+        private long queuedNanos;
+
+        private void add(Timeline timeline, TimelineState oldState) {
+            if (this.size == this.timelines.length) {
+                int newLength = 2 * this.size;
+                this.timelines = Arrays.copyOf(this.timelines, newLength);
+                this.oldStates = Arrays.copyOf(this.oldStates, newLength);
+                this.newStates = Arrays.copyOf(this.newStates, newLength);
+                this.durationFractions = Arrays.copyOf(this.durationFractions, newLength);
+                this.timelinePositions = Arrays.copyOf(this.timelinePositions, newLength);
             }
-        };
-        this.callbackQueue.add(callbackRunnable);
+            this.timelines[this.size] = timeline;
+            this.oldStates[this.size] = oldState;
+            this.newStates[this.size] = timeline.getState();
+            this.durationFractions[this.size] = timeline.durationFraction;
+            this.timelinePositions[this.size] = timeline.timelinePosition;
+            this.size++;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < this.size; i++) {
+                try {
+                    if (this.oldStates[i] == null) {
+                        dispatchTimelinePulse(this.timelines[i], this.durationFractions[i],
+                                this.timelinePositions[i]);
+                    } else {
+                        dispatchTimelineStateChanged(this.timelines[i], this.oldStates[i],
+                                this.newStates[i], this.durationFractions[i],
+                                this.timelinePositions[i]);
+                    }
+                } catch (Throwable t) {
+                    t.printStackTrace();
+                }
+            }
+            TimelineEngineMetrics.getInstance().recordCallbacks(startNanos - this.queuedNanos,
+                    System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Waits until the callback thread has run all the callbacks that were queued before this
+     * call. Callbacks that the callback thread passes on to the Event Dispatch Thread may still
+     * be pending when this method returns.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    void awaitCallbacks() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.callbackQueue.add(latch::countDown);
+        latch.await();
     }
 
     private void callbackCallTimelineScenarioEnded(final TimelineScenario timelineScenario) {
@@ -524,11 +864,9 @@ class TimelineEngine {
      * @return An existing running timeline that matches the specified parameters.
      */
     private Timeline getRunningTimeline(Timeline timeline) {
-        synchronized (LOCK) {
-            if (this.runningTimelines.contains(timeline))
-                return timeline;
-            return null;
-        }
+        if (this.runningTimelines.contains(timeline))
+            return timeline;
+        return null;
     }
 
     /**
@@ -538,175 +876,178 @@ class TimelineEngine {
      *            Timeline to add.
      */
     private void addTimeline(Timeline timeline) {
-        synchronized (LOCK) {
-            FullObjectID cid = new FullObjectID(timeline.getMainObject(),
-                    timeline.getSecondaryId());
-            timeline.fullObjectID = cid;
-            this.runningTimelines.add(timeline);
-            // this.nothingTracked = false;
-            if (DEBUG_MODE) {
-                System.out.println(
-                        "Added (" + timeline.id + ") on [" + timeline.fullObjectID + "]. State - "
-                        // + timeline.timelineKind.toString() + " with state "
-                                + timeline.getState().name() + ". Callback - "
-                                + (timeline.callbackChain == null ? "no" : "yes"));
-            }
+        FullObjectID cid = new FullObjectID(timeline.getMainObject(),
+                timeline.getSecondaryId());
+        timeline.fullObjectID = cid;
+        this.runningTimelines.add(timeline);
+        // this.nothingTracked = false;
+        if (DEBUG_MODE) {
+            System.out.println(
+                    "Added (" + timeline.id + ") on [" + timeline.fullObjectID + "]. State - "
+                    // + timeline.timelineKind.toString() + " with state "
+                            + timeline.getState().name() + ". Callback - "
+                            + (timeline.callbackChain == null ? "no" : "yes"));
         }
     }
 
     void play(Timeline timeline, boolean reset, long msToSkip) {
-        synchronized (LOCK) {
-            getAnimatorThread();
+        getAnimatorThread();
 
-            // see if it's already tracked
-            Timeline existing = this.getRunningTimeline(timeline);
-            if (existing == null) {
-                TimelineState oldState = timeline.getState();
-                timeline.timeUntilPlay = timeline.getInitialDelay() - msToSkip;
-                if (timeline.timeUntilPlay < 0) {
-                    timeline.durationFraction = (float) -timeline.timeUntilPlay
-                            / (float) timeline.getDuration();
-                    timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
-                    timeline.timeUntilPlay = 0;
-                } else {
-                    timeline.durationFraction = 0.0f;
-                    timeline.timelinePosition = 0.0f;
-                }
-                timeline.pushState(TimelineState.PLAYING_FORWARD);
-                timeline.pushState(TimelineState.READY);
-                this.addTimeline(timeline);
+        // see if it's already tracked
+        Timeline existing = this.getRunningTimeline(timeline);
+        if (existing == null) {
+            TimelineState oldState = timeline.getState();
+            timeline.nanosUntilPlay =
+                    TimeUnit.MILLISECONDS.toNanos(timeline.getInitialDelay() - msToSkip);
+            if (timeline.nanosUntilPlay < 0) {
+                timeline.durationFraction = getDurationFraction(timeline,
+                        -timeline.nanosUntilPlay);
+                timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
+                timeline.nanosUntilPlay = 0;
+            } else {
+                timeline.durationFraction = 0.0f;
+                timeline.timelinePosition = 0.0f;
+            }
+            timeline.pushState(TimelineState.PLAYING_FORWARD);
+            timeline.pushState(TimelineState.READY);
+            this.addTimeline(timeline);
 
-                this.callbackCallTimelineStateChanged(timeline, oldState);
+            this.callbackCallTimelineStateChanged(timeline, oldState);
+        } else {
+            TimelineState oldState = existing.getState();
+            if (oldState == TimelineState.SUSPENDED) {
+                // playing a suspended timeline resumes it in the requested
+                // direction
+                existing.popState();
+            }
+            if (existing.getState() == TimelineState.READY) {
+                // the timeline remains READY, but after that it will be
+                // PLAYING_FORWARD
+                existing.popState();
+                existing.replaceState(TimelineState.PLAYING_FORWARD);
+                existing.pushState(TimelineState.READY);
             } else {
-                TimelineState oldState = existing.getState();
-                if (oldState == TimelineState.READY) {
-                    // the timeline remains READY, but after that it will be
-                    // PLAYING_FORWARD
-                    existing.popState();
-                    existing.replaceState(TimelineState.PLAYING_FORWARD);
-                    existing.pushState(TimelineState.READY);
-                } else {
-                    // change the timeline state
-                    existing.replaceState(TimelineState.PLAYING_FORWARD);
-                    if (oldState != existing.getState()) {
-                        this.callbackCallTimelineStateChanged(timeline, oldState);
-                    }
-                }
-                if (reset) {
-                    existing.durationFraction = 0.0f;
-                    existing.timelinePosition = 0.0f;
-                    this.callbackCallTimelinePulse(existing);
-                }
+                // change the timeline state
+                existing.replaceState(TimelineState.PLAYING_FORWARD);
+            }
+            if (oldState != existing.getState()) {
+                this.callbackCallTimelineStateChanged(timeline, oldState);
+            }
+            if (reset) {
+                existing.durationFraction = 0.0f;
+                existing.timelinePosition = 0.0f;
+                this.callbackCallTimelinePulse(existing);
             }
         }
     }
 
     void playScenario(TimelineScenario scenario) {
-        synchronized (LOCK) {
-            getAnimatorThread();
-            Set<TimelineScenario.TimelineScenarioActor> readyActors = scenario.getReadyActors();
+        getAnimatorThread();
+        Set<TimelineScenario.TimelineScenarioActor> readyActors = scenario.getReadyActors();
 
-            // System.err.println(Thread.currentThread().getName() +
-            // " : adding");
-            this.runningScenarios.add(scenario);
-            for (TimelineScenario.TimelineScenarioActor readyActor : readyActors) {
-                readyActor.play();
-            }
+        // System.err.println(Thread.currentThread().getName() +
+        // " : adding");
+        this.runningScenarios.add(scenario);
+        for (TimelineScenario.TimelineScenarioActor readyActor : readyActors) {
+            readyActor.play();
         }
     }
 
     void playReverse(Timeline timeline, boolean reset, long msToSkip) {
-        synchronized (LOCK) {
-            getAnimatorThread();
-            if (timeline.isLooping) {
-                throw new IllegalArgumentException("Timeline must not be marked as looping");
-            }
+        getAnimatorThread();
+        if (timeline.isLooping) {
+            throw new IllegalArgumentException("Timeline must not be marked as looping");
+        }
 
-            // see if it's already tracked
-            Timeline existing = this.getRunningTimeline(timeline);
-            if (existing == null) {
-                TimelineState oldState = timeline.getState();
-                timeline.timeUntilPlay = timeline.getInitialDelay() - msToSkip;
-                if (timeline.timeUntilPlay < 0) {
-                    timeline.durationFraction = 1.0f
-                            - (float) -timeline.timeUntilPlay / (float) timeline.getDuration();
-                    timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
-                    timeline.timeUntilPlay = 0;
-                } else {
-                    timeline.durationFraction = 1.0f;
-                    timeline.timelinePosition = 1.0f;
-                }
-                timeline.pushState(TimelineState.PLAYING_REVERSE);
-                timeline.pushState(TimelineState.READY);
+        // see if it's already tracked
+        Timeline existing = this.getRunningTimeline(timeline);
+        if (existing == null) {
+            TimelineState oldState = timeline.getState();
+            timeline.nanosUntilPlay =
+                    TimeUnit.MILLISECONDS.toNanos(timeline.getInitialDelay() - msToSkip);
+            if (timeline.nanosUntilPlay < 0) {
+                timeline.durationFraction = 1.0f
+                        - getDurationFraction(timeline, -timeline.nanosUntilPlay);
+                timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
+                timeline.nanosUntilPlay = 0;
+            } else {
+                timeline.durationFraction = 1.0f;
+                timeline.timelinePosition = 1.0f;
+            }
+            timeline.pushState(TimelineState.PLAYING_REVERSE);
+            timeline.pushState(TimelineState.READY);
 
-                this.addTimeline(timeline);
-                this.callbackCallTimelineStateChanged(timeline, oldState);
+            this.addTimeline(timeline);
+            this.callbackCallTimelineStateChanged(timeline, oldState);
+        } else {
+            TimelineState oldState = existing.getState();
+            if (oldState == TimelineState.SUSPENDED) {
+                // playing a suspended timeline resumes it in the requested
+                // direction
+                existing.popState();
+            }
+            if (existing.getState() == TimelineState.READY) {
+                // the timeline remains READY, but after that it will be
+                // PLAYING_REVERSE
+                existing.popState();
+                existing.replaceState(TimelineState.PLAYING_REVERSE);
+                existing.pushState(TimelineState.READY);
             } else {
-                TimelineState oldState = existing.getState();
-                if (oldState == TimelineState.READY) {
-                    // the timeline remains READY, but after that it will be
-                    // PLAYING_REVERSE
-                    existing.popState();
-                    existing.replaceState(TimelineState.PLAYING_REVERSE);
-                    existing.pushState(TimelineState.READY);
-                } else {
-                    // change the timeline state
-                    existing.replaceState(TimelineState.PLAYING_REVERSE);
-                    if (oldState != existing.getState()) {
-                        this.callbackCallTimelineStateChanged(timeline, oldState);
-                    }
-                }
-                if (reset) {
-                    existing.durationFraction = 1.0f;
-                    existing.timelinePosition = 1.0f;
-                    this.callbackCallTimelinePulse(existing);
-                }
+                // change the timeline state
+                existing.replaceState(TimelineState.PLAYING_REVERSE);
+            }
+            if (oldState != existing.getState()) {
+                this.callbackCallTimelineStateChanged(timeline, oldState);
+            }
+            if (reset) {
+                existing.durationFraction = 1.0f;
+                existing.timelinePosition = 1.0f;
+                this.callbackCallTimelinePulse(existing);
             }
         }
     }
 
     void playLoop(Timeline timeline, long msToSkip) {
-        synchronized (LOCK) {
-            getAnimatorThread();
-            if (!timeline.isLooping) {
-                throw new IllegalArgumentException("Timeline must be marked as looping");
-            }
-
-            // see if it's already tracked
-            Timeline existing = this.getRunningTimeline(timeline);
-            if (existing == null) {
-                TimelineState oldState = timeline.getState();
-                timeline.timeUntilPlay = timeline.getInitialDelay() - msToSkip;
-                if (timeline.timeUntilPlay < 0) {
-                    timeline.durationFraction = (float) -timeline.timeUntilPlay
-                            / (float) timeline.getDuration();
-                    timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
-                    timeline.timeUntilPlay = 0;
-                } else {
-                    timeline.durationFraction = 0.0f;
-                    timeline.timelinePosition = 0.0f;
-                }
-                timeline.pushState(TimelineState.PLAYING_FORWARD);
-                timeline.pushState(TimelineState.READY);
-                timeline.toCancelAtCycleBreak = false;
+        getAnimatorThread();
+        if (!timeline.isLooping) {
+            throw new IllegalArgumentException("Timeline must be marked as looping");
+        }
 
-                this.addTimeline(timeline);
-                this.callbackCallTimelineStateChanged(timeline, oldState);
+        // see if it's already tracked
+        Timeline existing = this.getRunningTimeline(timeline);
+        if (existing == null) {
+            TimelineState oldState = timeline.getState();
+            timeline.nanosUntilPlay =
+                    TimeUnit.MILLISECONDS.toNanos(timeline.getInitialDelay() - msToSkip);
+            if (timeline.nanosUntilPlay < 0) {
+                timeline.durationFraction = getDurationFraction(timeline,
+                        -timeline.nanosUntilPlay);
+                timeline.timelinePosition = timeline.getEase().map(timeline.durationFraction);
+                timeline.nanosUntilPlay = 0;
             } else {
-                existing.toCancelAtCycleBreak = false;
-                existing.repeatCount = timeline.repeatCount;
+                timeline.durationFraction = 0.0f;
+                timeline.timelinePosition = 0.0f;
             }
+            timeline.pushState(TimelineState.PLAYING_FORWARD);
+            timeline.pushState(TimelineState.READY);
+            timeline.toCancelAtCycleBreak = false;
+
+            this.addTimeline(timeline);
+            this.callbackCallTimelineStateChanged(timeline, oldState);
+        } else {
+            existing.toCancelAtCycleBreak = false;
+            existing.repeatCount = timeline.repeatCount;
         }
     }
 
     /**
      * Stops tracking of all timelines. Note that this function <b>does not</b> stop the timeline
      * engine thread ({@link #animatorThread}) and the timeline callback thread
-     * ({@link #callbackThread}).
+     * ({@link #callbackThread}). As with all other timeline operations, this can complete
+     * asynchronously if the engine is in the middle of a pulse.
      */
     public void cancelAllTimelines() {
-        synchronized (LOCK) {
-            getAnimatorThread();
+        this.submitCommand(() -> {
             for (Timeline timeline : this.runningTimelines) {
                 TimelineState oldState = timeline.getState();
                 while (timeline.getState() != TimelineState.IDLE)
@@ -718,7 +1059,7 @@ class TimelineEngine {
             }
             this.runningTimelines.clear();
             this.runningScenarios.clear();
-        }
+        });
     }
 
     /**
@@ -727,11 +1068,37 @@ class TimelineEngine {
      * @return The animator thread.
      */
     private TridentAnimationThread getAnimatorThread() {
-        if (this.animatorThread == null) {
-            this.animatorThread = new TridentAnimationThread();
-            this.animatorThread.start();
+        TridentAnimationThread thread = this.animatorThread;
+        if ((thread == null) || !thread.isAlive()) {
+            synchronized (this) {
+                thread = this.animatorThread;
+                // Replace a thread that has been stopped by an interrupt
+                if ((thread == null) || !thread.isAlive()) {
+                    thread = new TridentAnimationThread();
+                    this.animatorThread = thread;
+                    thread.start();
+                }
+            }
+        }
+        return thread;
+    }
+
+    /**
+     * Stops the animator thread, if it has been started, and starts a new one. The new thread
+     * uses the current pulse source of {@link TridentConfig}. The previous thread stops once
+     * its current wait or pulse ends.
+     */
+    void restartAnimatorThread() {
+        TridentAnimationThread thread;
+        synchronized (this) {
+            thread = this.animatorThread;
+            if (thread == null) {
+                return;
+            }
+            this.animatorThread = null;
         }
-        return this.animatorThread;
+        thread.interrupt();
+        this.getAnimatorThread();
     }
 
     /**
@@ -849,36 +1216,37 @@ class TimelineEngine {
 
     @SuppressWarnings("incomplete-switch")
     void runTimelineOperation(Timeline timeline, TimelineOperationKind operationKind,
-            Runnable operationRunnable) {
-        synchronized (LOCK) {
-            this.getAnimatorThread();
-            switch (operationKind) {
-            case CANCEL:
-                this.cancelTimeline(timeline);
-                return;
-            case END:
-                this.endTimeline(timeline);
-                return;
-            case RESUME:
-                this.resumeTimeline(timeline);
-                return;
-            case SUSPEND:
-                this.suspendTimeline(timeline);
-                return;
-            case ABORT:
-                this.abortTimeline(timeline);
-                return;
+            TimelineState playingState, Runnable operationRunnable) {
+        // Counted before it is submitted, so that Timeline.getState() returns the state the
+        // timeline will have once this operation has run
+        timeline.projectOperation(operationKind, playingState);
+        this.submitCommand(() -> {
+            try {
+                switch (operationKind) {
+                case CANCEL:
+                    this.cancelTimeline(timeline);
+                    return;
+                case END:
+                    this.endTimeline(timeline);
+                    return;
+                case RESUME:
+                    this.resumeTimeline(timeline);
+                    return;
+                case SUSPEND:
+                    this.suspendTimeline(timeline);
+                    return;
+                case ABORT:
+                    this.abortTimeline(timeline);
+                    return;
+                }
+                operationRunnable.run();
+            } finally {
+                timeline.pendingOperationCount.decrementAndGet();
             }
-            operationRunnable.run();
-        }
+        });
     }
 
     void runTimelineScenario(Runnable timelineScenarioRunnable) {
-        synchronized (LOCK) {
-            this.getAnimatorThread();
-            timelineScenarioRunnable.run();
-        }
+        this.submitCommand(timelineScenarioRunnable);
     }
-
-    static final Object LOCK = new Object();
 }
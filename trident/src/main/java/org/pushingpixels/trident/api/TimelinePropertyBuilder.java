@@ -31,11 +31,18 @@ package org.pushingpixels.trident.api;
 
 import org.pushingpixels.trident.api.interpolator.KeyFrames;
 import org.pushingpixels.trident.api.interpolator.PropertyInterpolator;
+import org.pushingpixels.trident.internal.swing.AWTPropertyInterpolators;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 public class TimelinePropertyBuilder<T> {
@@ -63,18 +70,41 @@ public class TimelinePropertyBuilder<T> {
     }
 
     /**
-     * Default property setter.
+     * Defines how to set a primitive <code>float</code> property.
+     */
+    @FunctionalInterface
+    public interface FloatPropertySetter {
+        void set(Object obj, String fieldName, float value);
+    }
+
+    /**
+     * Defines how to set a primitive <code>int</code> property. This is also used for colors
+     * that are interpolated as packed ARGB values.
+     */
+    @FunctionalInterface
+    public interface IntPropertySetter {
+        void set(Object obj, String fieldName, int value);
+    }
+
+    /**
+     * Default property setter. The setter method is resolved once per class and property name,
+     * and is invoked through a method handle.
      */
     public static class DefaultPropertySetter<T> implements PropertySetter<T> {
-        private Method setterMethod;
+        private MethodHandle setterHandle;
 
         public DefaultPropertySetter(Object obj, String fieldName) {
-            setterMethod = getSetter(obj, fieldName);
+            setterHandle = getSetter(obj, fieldName);
         }
 
         public void set(Object obj, String fieldName, T value) {
+            if (setterHandle == null) {
+                throw new RuntimeException(
+                        "Unable to set the value of the field '" + fieldName + "'",
+                        new NoSuchMethodException("No public setter for '" + fieldName + "'"));
+            }
             try {
-                setterMethod.invoke(obj, value);
+                setterHandle.invokeExact(obj, (Object) value);
             } catch (Throwable t) {
                 throw new RuntimeException(
                         "Unable to set the value of the field '" + fieldName + "'", t);
@@ -83,19 +113,25 @@ public class TimelinePropertyBuilder<T> {
     }
 
     /**
-     * Default property getter.
+     * Default property getter. The getter method is resolved once per class and property name,
+     * and is invoked through a method handle.
      */
     public static class DefaultPropertyGetter<T> implements PropertyGetter<T> {
-        private Method getterMethod;
+        private MethodHandle getterHandle;
 
         public DefaultPropertyGetter(Object obj, String fieldName) {
-            getterMethod = getGetter(obj, fieldName);
+            getterHandle = getGetter(obj, fieldName);
         }
 
         @SuppressWarnings("unchecked")
         public T get(Object obj, String fieldName) {
+            if (getterHandle == null) {
+                throw new RuntimeException(
+                        "Unable to get the value of the field '" + fieldName + "'",
+                        new NoSuchMethodException("No public getter for '" + fieldName + "'"));
+            }
             try {
-                return (T) getterMethod.invoke(obj);
+                return (T) (Object) getterHandle.invokeExact(obj);
             } catch (Throwable t) {
                 throw new RuntimeException(
                         "Unable to get the value of the field '" + fieldName + "'", t);
@@ -300,6 +336,30 @@ public class TimelinePropertyBuilder<T> {
                 this.to, this.toSupplier, this.interpolator, this.setter);
     }
 
+    static AbstractFieldInfo<Void> getFloatFieldInfo(Object obj, String fieldName, float from,
+            float to, FloatPropertySetter setter) {
+        if (setter == null) {
+            throw new IllegalArgumentException("Setter for '" + fieldName + "' must be provided");
+        }
+        return new FloatFieldInfo(obj, fieldName, from, to, setter);
+    }
+
+    static AbstractFieldInfo<Void> getIntFieldInfo(Object obj, String fieldName, int from,
+            int to, IntPropertySetter setter) {
+        if (setter == null) {
+            throw new IllegalArgumentException("Setter for '" + fieldName + "' must be provided");
+        }
+        return new IntFieldInfo(obj, fieldName, from, to, setter);
+    }
+
+    static AbstractFieldInfo<Void> getColorFieldInfo(Object obj, String fieldName, int fromArgb,
+            int toArgb, IntPropertySetter setter) {
+        if (setter == null) {
+            throw new IllegalArgumentException("Setter for '" + fieldName + "' must be provided");
+        }
+        return new ColorFieldInfo(obj, fieldName, fromArgb, toArgb, setter);
+    }
+
     abstract static class AbstractFieldInfo<F> {
         protected Object object;
 
@@ -495,10 +555,174 @@ public class TimelinePropertyBuilder<T> {
         }
     }
 
-    private static Method getSetter(Object object, String propertyName) {
+    /**
+     * Base class for properties that are interpolated between two fixed primitive values and set
+     * with a primitive setter. These do not allocate any objects on timeline pulses.
+     */
+    private abstract static class PrimitiveFieldInfo extends AbstractFieldInfo<Void> {
+        PrimitiveFieldInfo(Object obj, String fieldName) {
+            super(obj, fieldName, null, null);
+        }
+
+        @Override
+        void onStart() {
+        }
+
+        @Override
+        void updateFrom() {
+        }
+
+        @Override
+        void updateTo() {
+        }
+
+        @Override
+        boolean isFromCurrent() {
+            return false;
+        }
+
+        @Override
+        void updateFieldValue(float timelinePosition) {
+            try {
+                this.setFieldValue(timelinePosition);
+            } catch (Throwable exc) {
+                System.err.println("Exception occurred in updating field '" + this.fieldName
+                        + "' of object " + ((this.object == null) ? "[NONE]"
+                        : this.object.getClass().getCanonicalName())
+                        + " at timeline position " + timelinePosition);
+                exc.printStackTrace();
+            }
+        }
+
+        abstract void setFieldValue(float timelinePosition);
+    }
+
+    private static class FloatFieldInfo extends PrimitiveFieldInfo {
+        private final float floatFrom;
+        private final float floatTo;
+        private final FloatPropertySetter floatSetter;
+
+        FloatFieldInfo(Object obj, String fieldName, float from, float to,
+                FloatPropertySetter setter) {
+            super(obj, fieldName);
+            this.floatFrom = from;
+            this.floatTo = to;
+            this.floatSetter = setter;
+        }
+
+        @Override
+        void setFieldValue(float timelinePosition) {
+            this.floatSetter.set(this.object, this.fieldName,
+                    this.floatFrom + (this.floatTo - this.floatFrom) * timelinePosition);
+        }
+    }
+
+    private static class IntFieldInfo extends PrimitiveFieldInfo {
+        private final int intFrom;
+        private final int intTo;
+        private final IntPropertySetter intSetter;
+
+        IntFieldInfo(Object obj, String fieldName, int from, int to, IntPropertySetter setter) {
+            super(obj, fieldName);
+            this.intFrom = from;
+            this.intTo = to;
+            this.intSetter = setter;
+        }
+
+        @Override
+        void setFieldValue(float timelinePosition) {
+            this.intSetter.set(this.object, this.fieldName,
+                    (int) (this.intFrom + (this.intTo - this.intFrom) * timelinePosition));
+        }
+    }
+
+    private static class ColorFieldInfo extends PrimitiveFieldInfo {
+        private final int argbFrom;
+        private final int argbTo;
+        private final IntPropertySetter argbSetter;
+
+        ColorFieldInfo(Object obj, String fieldName, int fromArgb, int toArgb,
+                IntPropertySetter setter) {
+            super(obj, fieldName);
+            this.argbFrom = fromArgb;
+            this.argbTo = toArgb;
+            this.argbSetter = setter;
+        }
+
+        @Override
+        void setFieldValue(float timelinePosition) {
+            this.argbSetter.set(this.object, this.fieldName,
+                    AWTPropertyInterpolators.getInterpolatedARGB(this.argbFrom, this.argbTo,
+                            1.0f - timelinePosition));
+        }
+    }
+
+    private static final MethodType SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType GETTER_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Resolved setters by class and property name. The handles are adapted to
+     * {@link #SETTER_TYPE}, and an empty value marks a property that has no setter.
+     */
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> SETTERS =
+            new ClassValue<ConcurrentMap<String, Optional<MethodHandle>>>() {
+                @Override
+                protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(
+                        Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Resolved getters by class and property name. The handles are adapted to
+     * {@link #GETTER_TYPE}, and an empty value marks a property that has no getter.
+     */
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> GETTERS =
+            new ClassValue<ConcurrentMap<String, Optional<MethodHandle>>>() {
+                @Override
+                protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(
+                        Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static MethodHandle getSetter(Object object, String propertyName) {
+        Class<?> clazz = object.getClass();
+        return SETTERS.get(clazz).computeIfAbsent(propertyName,
+                (String name) -> Optional.ofNullable(
+                        toHandle(findSetter(clazz, name), SETTER_TYPE))).orElse(null);
+    }
+
+    private static MethodHandle getGetter(Object object, String propertyName) {
+        Class<?> clazz = object.getClass();
+        return GETTERS.get(clazz).computeIfAbsent(propertyName,
+                (String name) -> Optional.ofNullable(
+                        toHandle(findGetter(clazz, name), GETTER_TYPE))).orElse(null);
+    }
+
+    /**
+     * Converts the accessor method to a method handle of the specified type. Primitive
+     * parameters and return values are unboxed and boxed by the handle, in the same way as
+     * {@link Method#invoke(Object, Object...)} does.
+     */
+    private static MethodHandle toHandle(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException iae) {
+            return null;
+        }
+    }
+
+    private static Method findSetter(Class<?> clazz, String propertyName) {
         String setterMethodName = "set" + Character.toUpperCase(propertyName.charAt(0))
                 + propertyName.substring(1);
-        Class<?> oClazz = object.getClass();
+        Class<?> oClazz = clazz;
         while (oClazz != null) {
             for (Method m : oClazz.getMethods()) {
                 if (setterMethodName.equals(m.getName()) && (m.getParameterTypes().length == 1)
@@ -512,10 +736,10 @@ public class TimelinePropertyBuilder<T> {
         return null;
     }
 
-    private static Method getGetter(Object object, String propertyName) {
+    private static Method findGetter(Class<?> clazz, String propertyName) {
         String getterMethodName = "get" + Character.toUpperCase(propertyName.charAt(0))
                 + propertyName.substring(1);
-        Class<?> oClazz = object.getClass();
+        Class<?> oClazz = clazz;
         while (oClazz != null) {
             for (Method m : oClazz.getMethods()) {
                 if (getterMethodName.equals(m.getName()) && (m.getParameterTypes().length == 0)
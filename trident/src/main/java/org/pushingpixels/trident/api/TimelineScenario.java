@@ -127,7 +127,7 @@ public class TimelineScenario {
     }
 
     private void checkDoneActors() {
-        synchronized (TimelineEngine.LOCK) {
+        synchronized (this) {
             for (Iterator<TimelineScenarioActor> itRunning = this.runningActors
                     .iterator(); itRunning.hasNext();) {
                 TimelineScenarioActor stillRunning = itRunning.next();
@@ -140,7 +140,7 @@ public class TimelineScenario {
     }
 
     Set<TimelineScenarioActor> getReadyActors() {
-        synchronized (TimelineEngine.LOCK) {
+        synchronized (this) {
             if (this.state == TimelineScenarioState.SUSPENDED)
                 return new HashSet<>();
 
@@ -184,7 +184,7 @@ public class TimelineScenario {
     }
 
     public void cancel() {
-        synchronized (TimelineEngine.LOCK) {
+        synchronized (this) {
             TimelineScenarioState oldState = this.state;
             if (oldState != TimelineScenarioState.PLAYING)
                 return;
@@ -204,7 +204,7 @@ public class TimelineScenario {
     }
 
     public void suspend() {
-        synchronized (TimelineEngine.LOCK) {
+        synchronized (this) {
             TimelineScenarioState oldState = this.state;
             if (oldState != TimelineScenarioState.PLAYING)
                 return;
@@ -220,7 +220,7 @@ public class TimelineScenario {
     }
 
     public void resume() {
-        synchronized (TimelineEngine.LOCK) {
+        synchronized (this) {
             TimelineScenarioState oldState = this.state;
             if (oldState != TimelineScenarioState.SUSPENDED)
                 return;
@@ -29,16 +29,21 @@
  */
 package org.pushingpixels.trident.api;
 
-import org.pushingpixels.trident.api.TimelineEngine.TridentAnimationThread;
 import org.pushingpixels.trident.internal.interpolator.CorePropertyInterpolators;
 import org.pushingpixels.trident.api.interpolator.PropertyInterpolator;
 import org.pushingpixels.trident.api.interpolator.PropertyInterpolatorSource;
+import org.pushingpixels.trident.api.metrics.TimelineEngineMetricsListener;
+import org.pushingpixels.trident.api.metrics.TimelineEngineMetricsMXBean;
+import org.pushingpixels.trident.internal.metrics.TimelineEngineMetrics;
 import org.pushingpixels.trident.internal.swing.AWTPropertyInterpolators;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 public class TridentConfig {
     private static TridentConfig config;
@@ -49,6 +54,25 @@ public class TridentConfig {
 
     public interface PulseSource {
         void waitUntilNextPulse();
+
+        /**
+         * Called when the pulse thread resumes after being parked while there were no running
+         * timelines and scenarios. Pulse sources that schedule pulses relative to the previous
+         * one should restart their schedule here.
+         */
+        default void resume() {
+        }
+
+        /**
+         * Returns the current time of this pulse source. The timeline engine uses this clock
+         * to measure the time that has passed between two consecutive pulses.
+         *
+         * @return The current time in nanoseconds. Only the difference between two values
+         * returned by this method is meaningful.
+         */
+        default long nanoTime() {
+            return System.nanoTime();
+        }
     }
 
     public static class FixedRatePulseSource implements TridentConfig.PulseSource {
@@ -63,14 +87,241 @@ public class TridentConfig {
             try {
                 Thread.sleep(this.msDelay);
             } catch (InterruptedException ie) {
-                ie.printStackTrace();
+                // Keep the interrupted status for the pulse thread
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Pulse source that fires pulses at a fixed target frame rate. Unlike
+     * {@link FixedRatePulseSource} that sleeps for a fixed delay after each pulse, this pulse
+     * source schedules each pulse against a {@link System#nanoTime()} deadline. The time spent
+     * processing the previous pulse, as well as any overshoot of the previous wait, is taken
+     * out of the next wait, so that the pulses do not drift. If the pulse thread falls behind by
+     * more than a full frame, the schedule is restarted from the current time instead of firing
+     * a burst of pulses to catch up.
+     *
+     * <p>This pulse source also measures the actual interval between consecutive pulses. The
+     * statistics are available with {@link #getAverageFrameIntervalNanos()} and
+     * {@link #getFrameJitterNanos()} and can be reset with {@link #resetStatistics()}.</p>
+     */
+    public static class FixedFrameRatePulseSource implements TridentConfig.PulseSource {
+        private final long frameIntervalNanos;
+
+        private boolean isScheduled;
+
+        private long nextPulseNanos;
+
+        private boolean hasLastPulse;
+
+        private long lastPulseNanos;
+
+        private long frameCount;
+
+        private long frameIntervalSumNanos;
+
+        private double frameDeviationSquareSum;
+
+        private long minFrameIntervalNanos;
+
+        private long maxFrameIntervalNanos;
+
+        public FixedFrameRatePulseSource(int framesPerSecond) {
+            if (framesPerSecond <= 0) {
+                throw new IllegalArgumentException("Frame rate must be positive");
+            }
+            this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+            this.resetStatistics();
+        }
+
+        @Override
+        public void waitUntilNextPulse() {
+            long now = System.nanoTime();
+            if (!this.isScheduled || (now - this.nextPulseNanos > this.frameIntervalNanos)) {
+                // First pulse, or we have fallen behind by more than a full frame
+                this.nextPulseNanos = now + this.frameIntervalNanos;
+                this.isScheduled = true;
+            }
+
+            long remaining;
+            while ((remaining = this.nextPulseNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.currentThread().isInterrupted()) {
+                    // Keep the interrupted status for the pulse thread, and do not count
+                    // this as a pulse
+                    return;
+                }
+            }
+
+            now = System.nanoTime();
+            this.nextPulseNanos += this.frameIntervalNanos;
+            this.recordPulse(now);
+        }
+
+        @Override
+        public void resume() {
+            this.isScheduled = false;
+            synchronized (this) {
+                // The idle time is not a frame interval
+                this.hasLastPulse = false;
+            }
+        }
+
+        private synchronized void recordPulse(long now) {
+            if (this.hasLastPulse) {
+                long interval = now - this.lastPulseNanos;
+                this.frameCount++;
+                this.frameIntervalSumNanos += interval;
+                double deviation = interval - this.frameIntervalNanos;
+                this.frameDeviationSquareSum += deviation * deviation;
+                this.minFrameIntervalNanos = Math.min(this.minFrameIntervalNanos, interval);
+                this.maxFrameIntervalNanos = Math.max(this.maxFrameIntervalNanos, interval);
+            }
+            this.hasLastPulse = true;
+            this.lastPulseNanos = now;
+        }
+
+        /**
+         * Returns the target interval between two consecutive pulses.
+         *
+         * @return The target interval between two consecutive pulses, in nanoseconds.
+         */
+        public long getFrameIntervalNanos() {
+            return this.frameIntervalNanos;
+        }
+
+        /**
+         * Returns the number of measured intervals since the creation of this pulse source or
+         * the last call to {@link #resetStatistics()}.
+         *
+         * @return The number of measured intervals.
+         */
+        public synchronized long getFrameCount() {
+            return this.frameCount;
+        }
+
+        /**
+         * Returns the average measured interval between two consecutive pulses.
+         *
+         * @return The average measured interval in nanoseconds, or 0 if no intervals have been
+         * measured yet.
+         */
+        public synchronized long getAverageFrameIntervalNanos() {
+            return (this.frameCount == 0) ? 0 : this.frameIntervalSumNanos / this.frameCount;
+        }
+
+        /**
+         * Returns the shortest measured interval between two consecutive pulses.
+         *
+         * @return The shortest measured interval in nanoseconds, or 0 if no intervals have been
+         * measured yet.
+         */
+        public synchronized long getMinFrameIntervalNanos() {
+            return (this.frameCount == 0) ? 0 : this.minFrameIntervalNanos;
+        }
+
+        /**
+         * Returns the longest measured interval between two consecutive pulses.
+         *
+         * @return The longest measured interval in nanoseconds, or 0 if no intervals have been
+         * measured yet.
+         */
+        public synchronized long getMaxFrameIntervalNanos() {
+            return (this.frameCount == 0) ? 0 : this.maxFrameIntervalNanos;
+        }
+
+        /**
+         * Returns the frame jitter, computed as the root mean square deviation of the measured
+         * intervals from the target interval.
+         *
+         * @return The frame jitter in nanoseconds, or 0 if no intervals have been measured yet.
+         */
+        public synchronized long getFrameJitterNanos() {
+            return (this.frameCount == 0) ? 0
+                    : (long) Math.sqrt(this.frameDeviationSquareSum / this.frameCount);
+        }
+
+        /**
+         * Resets the measured statistics. The next pulse starts a new measurement.
+         */
+        public synchronized void resetStatistics() {
+            this.hasLastPulse = false;
+            this.frameCount = 0;
+            this.frameIntervalSumNanos = 0;
+            this.frameDeviationSquareSum = 0.0;
+            this.minFrameIntervalNanos = Long.MAX_VALUE;
+            this.maxFrameIntervalNanos = 0;
+        }
+    }
+
+    /**
+     * Pulse source with a virtual clock that is advanced explicitly by the application. The
+     * pulse thread never fires pulses from this source. Instead, each call to
+     * {@link #pulse(long)} advances the clock and updates all the running timelines and
+     * scenarios on the calling thread. This makes the timing of timelines deterministic, and
+     * can be used to test and benchmark the timeline engine without sleeping.
+     *
+     * <p>Callbacks of the timelines are still dispatched on the Trident callback thread and on
+     * the Event Dispatch Thread, as with the other pulse sources.</p>
+     *
+     * <p>{@link #pulse(long)} can be called from several threads. Each call advances the clock
+     * atomically, and the pulses are processed one at a time.</p>
+     */
+    public static class ManualPulseSource implements TridentConfig.PulseSource {
+        private final AtomicLong nanoTime = new AtomicLong();
+
+        /**
+         * Blocks the pulse thread until it is interrupted, as pulses are only fired by
+         * {@link #pulse(long)}. The interrupted status is kept, so that the pulse thread stops.
+         */
+        @Override
+        public void waitUntilNextPulse() {
+            while (!Thread.currentThread().isInterrupted()) {
+                LockSupport.park(this);
             }
         }
+
+        @Override
+        public long nanoTime() {
+            return this.nanoTime.get();
+        }
+
+        /**
+         * Advances the clock of this pulse source and updates all the running timelines and
+         * scenarios on the calling thread.
+         *
+         * @param elapsedNanos Time to advance the clock by, in nanoseconds.
+         * @throws IllegalArgumentException if the elapsed time is negative.
+         * @throws IllegalStateException    if this is not the pulse source of
+         *                                  {@link TridentConfig}.
+         */
+        public void pulse(long elapsedNanos) {
+            if (elapsedNanos < 0) {
+                throw new IllegalArgumentException("Elapsed time cannot be negative");
+            }
+            if (TridentConfig.getInstance().getPulseSource() != this) {
+                throw new IllegalStateException("This is not the current pulse source");
+            }
+            this.nanoTime.addAndGet(elapsedNanos);
+            TimelineEngine.getInstance().updateTimelines(this);
+        }
+
+        /**
+         * Waits until the Trident callback thread has run the callbacks of all the pulses
+         * fired so far. Callbacks that run on the Event Dispatch Thread may still be pending
+         * when this method returns.
+         *
+         * @throws InterruptedException if the current thread is interrupted while waiting.
+         */
+        public void awaitCallbacks() throws InterruptedException {
+            TimelineEngine.getInstance().awaitCallbacks();
+        }
     }
 
-    private static class DefaultPulseSource extends FixedRatePulseSource {
+    private static class DefaultPulseSource extends FixedFrameRatePulseSource {
         DefaultPulseSource() {
-            super(40);
+            super(25);
         }
     }
 
@@ -126,14 +377,99 @@ public class TridentConfig {
         this.propertyInterpolators.remove(pInterpolator);
     }
 
+    /**
+     * Sets the pulse source of the timeline engine. If the pulse thread is already running, it
+     * is stopped once its current wait or pulse ends, and a new pulse thread that uses the new
+     * pulse source is started.
+     *
+     * @param pulseSource Pulse source.
+     */
     public synchronized void setPulseSource(PulseSource pulseSource) {
-        TridentAnimationThread current = TimelineEngine.getInstance().animatorThread;
-        if ((current != null) && current.isAlive())
-            throw new IllegalStateException("Cannot replace the pulse source thread once it's running");
         this.pulseSource = pulseSource;
+        TimelineEngine.getInstance().restartAnimatorThread();
     }
 
     public synchronized TridentConfig.PulseSource getPulseSource() {
         return pulseSource;
     }
+
+    /**
+     * Returns the number of pulses processed by the pulse thread. The pulse thread does not
+     * wake up when there are no running timelines and scenarios, so this count only grows while
+     * there is something to animate.
+     *
+     * @return The number of pulses processed by the pulse thread.
+     */
+    public long getPulseWakeupCount() {
+        return TimelineEngine.pulseWakeupCount;
+    }
+
+    /**
+     * Returns the number of times the pulse thread has been parked because there were no
+     * running timelines and scenarios.
+     *
+     * @return The number of times the pulse thread has been parked.
+     */
+    public long getIdleParkCount() {
+        return TimelineEngine.idleParkCount;
+    }
+
+    /**
+     * Returns the metrics of the timeline engine. The metrics are recorded on every pulse,
+     * and cover the running timelines and scenarios, the duration of the update pass, the time
+     * spent waiting for the engine lock, the depth of the callback queue and the latency of the
+     * callbacks on the callback thread and on the Event Dispatch Thread.
+     *
+     * @return The metrics of the timeline engine.
+     * @see #registerEngineMetricsMBean()
+     */
+    public TimelineEngineMetricsMXBean getEngineMetrics() {
+        return TimelineEngineMetrics.getInstance();
+    }
+
+    /**
+     * Registers the metrics of the timeline engine with the platform MBean server under
+     * {@link TimelineEngineMetricsMXBean#OBJECT_NAME}, so that they can be viewed in JConsole
+     * or any other JMX client. Calling this method more than once has no effect. If another
+     * copy of Trident has already registered its metrics under that name, they are left in
+     * place.
+     *
+     * @throws IllegalStateException if the metrics cannot be registered.
+     * @see #unregisterEngineMetricsMBean()
+     */
+    public void registerEngineMetricsMBean() {
+        TimelineEngineMetrics.getInstance().registerMBean();
+    }
+
+    /**
+     * Unregisters the metrics of the timeline engine from the platform MBean server.
+     *
+     * @throws IllegalStateException if the metrics cannot be unregistered.
+     * @see #registerEngineMetricsMBean()
+     */
+    public void unregisterEngineMetricsMBean() {
+        TimelineEngineMetrics.getInstance().unregisterMBean();
+    }
+
+    /**
+     * Adds a listener to be notified on every pulse of the timeline engine and on every batch
+     * of callbacks. The listener is called on the thread that records the metrics, and should
+     * return quickly.
+     *
+     * @param listener Listener to add.
+     * @see #removeEngineMetricsListener(TimelineEngineMetricsListener)
+     */
+    public void addEngineMetricsListener(TimelineEngineMetricsListener listener) {
+        TimelineEngineMetrics.getInstance().addListener(listener);
+    }
+
+    /**
+     * Removes a listener added with
+     * {@link #addEngineMetricsListener(TimelineEngineMetricsListener)}.
+     *
+     * @param listener Listener to remove.
+     */
+    public void removeEngineMetricsListener(TimelineEngineMetricsListener listener) {
+        TimelineEngineMetrics.getInstance().removeListener(listener);
+    }
 }
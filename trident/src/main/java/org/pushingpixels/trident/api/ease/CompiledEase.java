@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.api.ease;
+
+/**
+ * Ease that samples another ease into a table of values when it is created, and maps duration
+ * fractions with linear interpolation between the two nearest samples. This replaces the
+ * evaluation of the original ease on every timeline pulse with a table lookup. The samples at
+ * zero and one match the original ease exactly.
+ *
+ * <p>The compiled ease is an approximation of the original ease, and is best suited for
+ * continuous curves such as {@link Spline} that are shared by many timelines.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class CompiledEase implements TimelineEase {
+    /**
+     * Number of sampled intervals used by {@link #CompiledEase(TimelineEase)}.
+     */
+    public static final int DEFAULT_SAMPLE_COUNT = 256;
+
+    private final float[] samples;
+
+    private final int intervalCount;
+
+    /**
+     * Creates a compiled ease with {@link #DEFAULT_SAMPLE_COUNT} intervals.
+     *
+     * @param ease Ease to sample.
+     */
+    public CompiledEase(TimelineEase ease) {
+        this(ease, DEFAULT_SAMPLE_COUNT);
+    }
+
+    /**
+     * Creates a compiled ease.
+     *
+     * @param ease          Ease to sample.
+     * @param intervalCount Number of sampled intervals in the [0, 1] range.
+     * @throws IllegalArgumentException if the ease is <code>null</code> or the interval count
+     *                                  is not positive.
+     */
+    public CompiledEase(TimelineEase ease, int intervalCount) {
+        if (ease == null) {
+            throw new IllegalArgumentException("Ease must not be null");
+        }
+        if (intervalCount < 1) {
+            throw new IllegalArgumentException("Interval count must be positive");
+        }
+        this.intervalCount = intervalCount;
+        this.samples = new float[intervalCount + 1];
+        for (int i = 0; i < intervalCount; i++) {
+            this.samples[i] = ease.map((float) i / intervalCount);
+        }
+        this.samples[intervalCount] = ease.map(1.0f);
+    }
+
+    @Override
+    public float map(float durationFraction) {
+        if (durationFraction <= 0.0f) {
+            return this.samples[0];
+        }
+        if (durationFraction >= 1.0f) {
+            return this.samples[this.intervalCount];
+        }
+        float position = durationFraction * this.intervalCount;
+        int index = (int) position;
+        if (index >= this.intervalCount) {
+            // Rounding of fractions just below one
+            return this.samples[this.intervalCount];
+        }
+        float start = this.samples[index];
+        return start + (this.samples[index + 1] - start) * (position - index);
+    }
+}
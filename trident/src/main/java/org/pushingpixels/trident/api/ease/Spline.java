@@ -29,7 +29,7 @@
  */
 package org.pushingpixels.trident.api.ease;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Spline easer. Is based on the code from
@@ -55,7 +55,16 @@ public class Spline implements TimelineEase {
 
     // Note: (x0,y0) and (x1,y1) are implicitly (0, 0) and (1,1) respectively
     private float x1, y1, x2, y2;
-    private ArrayList<LengthItem> lengths = new ArrayList<>();
+
+    /**
+     * Cumulative length fractions of the sampled points along the spline, in increasing order.
+     */
+    private float[] fractions;
+
+    /**
+     * Parametric <code>t</code> values of the sampled points along the spline.
+     */
+    private float[] ts;
 
     /**
      * Creates a new instance of SplineInterpolator with the control points
@@ -82,6 +91,9 @@ public class Spline implements TimelineEase {
         this.y2 = y2;
 
         // Now contruct the array of all lengths to t in [0, 1.0]
+        float[] lengths = new float[101];
+        float[] ts = new float[101];
+        int count = 0;
         float prevX = 0.0f;
         float prevY = 0.0f;
         float prevLength = 0.0f; // cumulative length
@@ -89,8 +101,9 @@ public class Spline implements TimelineEase {
             FloatPoint xy = getXY(t);
             float length = prevLength + (float) Math
                     .sqrt((xy.x - prevX) * (xy.x - prevX) + (xy.y - prevY) * (xy.y - prevY));
-            LengthItem lengthItem = new LengthItem(length, t);
-            lengths.add(lengthItem);
+            lengths[count] = length;
+            ts[count] = t;
+            count++;
             prevLength = length;
             prevX = xy.x;
             prevY = xy.y;
@@ -98,8 +111,10 @@ public class Spline implements TimelineEase {
         // Now calculate the fractions so that we can access the lengths
         // array with values in [0,1]. prevLength now holds the total
         // length of the spline.
-        for (LengthItem lengthItem : lengths) {
-            lengthItem.setFraction(prevLength);
+        this.fractions = new float[count];
+        this.ts = Arrays.copyOf(ts, count);
+        for (int i = 0; i < count; i++) {
+            this.fractions[i] = lengths[i] / prevLength;
         }
     }
 
@@ -149,65 +164,26 @@ public class Spline implements TimelineEase {
      * @return interpolated fraction between 0 and 1
      */
     public float map(float lengthFraction) {
-        // REMIND: speed this up with binary search
-        float interpolatedT = 1.0f;
-        float prevT = 0.0f;
-        float prevLength = 0.0f;
-        for (int i = 0; i < lengths.size(); ++i) {
-            LengthItem lengthItem = lengths.get(i);
-            float fraction = lengthItem.getFraction();
-            float t = lengthItem.getT();
-            if (lengthFraction <= fraction) {
-                // answer lies between last item and this one
-                float proportion = (lengthFraction - prevLength) / (fraction - prevLength);
-                interpolatedT = prevT + proportion * (t - prevT);
-                return getY(interpolatedT);
+        // Binary search for the first item with the fraction that is not smaller than
+        // the requested one. The negated comparison sends NaN values past the last item.
+        int low = 0;
+        int high = this.fractions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(lengthFraction <= this.fractions[mid])) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
-            prevLength = fraction;
-            prevT = t;
         }
+        if (low == this.fractions.length) {
+            return getY(1.0f);
+        }
+        // answer lies between the previous item and this one
+        float prevLength = (low == 0) ? 0.0f : this.fractions[low - 1];
+        float prevT = (low == 0) ? 0.0f : this.ts[low - 1];
+        float proportion = (lengthFraction - prevLength) / (this.fractions[low] - prevLength);
+        float interpolatedT = prevT + proportion * (this.ts[low] - prevT);
         return getY(interpolatedT);
     }
 }
-
-/**
- * Struct used to store information about length values. Specifically, each item
- * stores the "length" (which can be thought of as the time elapsed along the
- * spline path), the "t" value at this length (used to calculate the (x,y) point
- * along the spline), and the "fraction" which is equal to the length divided by
- * the total absolute length of the spline. After we calculate all LengthItems
- * for a give spline, we have a list of entries which can return the t values
- * for fractional lengths from 0 to 1.
- */
-class LengthItem {
-    float length;
-    float t;
-    float fraction;
-
-    LengthItem(float length, float t, float fraction) {
-        this.length = length;
-        this.t = t;
-        this.fraction = fraction;
-    }
-
-    LengthItem(float length, float t) {
-        this.length = length;
-        this.t = t;
-    }
-
-    public float getLength() {
-        return length;
-    }
-
-    public float getT() {
-        return t;
-    }
-
-    public float getFraction() {
-        return fraction;
-    }
-
-    void setFraction(float totalLength) {
-        fraction = length / totalLength;
-    }
-}
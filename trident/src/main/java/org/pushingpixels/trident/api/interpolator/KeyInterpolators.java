@@ -34,37 +34,36 @@ package org.pushingpixels.trident.api.interpolator;
 import org.pushingpixels.trident.api.ease.Linear;
 import org.pushingpixels.trident.api.ease.TimelineEase;
 
-import java.util.ArrayList;
-
 /**
  *
  * @author Chet
  */
 class KeyInterpolators {
 
-    private ArrayList<TimelineEase> interpolators = new ArrayList<>();
+    private final TimelineEase[] interpolators;
 
     /**
      * Creates a new instance of KeyInterpolators
      */
     KeyInterpolators(int numIntervals, TimelineEase... interpolators) {
+        this.interpolators = new TimelineEase[numIntervals];
         if (interpolators == null || interpolators[0] == null) {
             for (int i = 0; i < numIntervals; ++i) {
-                this.interpolators.add(new Linear());
+                this.interpolators[i] = new Linear();
             }
         } else if (interpolators.length < numIntervals) {
             for (int i = 0; i < numIntervals; ++i) {
-                this.interpolators.add(interpolators[0]);
+                this.interpolators[i] = interpolators[0];
             }
         } else {
             for (int i = 0; i < numIntervals; ++i) {
-                this.interpolators.add(interpolators[i]);
+                this.interpolators[i] = interpolators[i];
             }
         }
     }
 
     float interpolate(int interval, float fraction) {
-        return interpolators.get(interval).map(fraction);
+        return interpolators[interval].map(fraction);
     }
 
 }
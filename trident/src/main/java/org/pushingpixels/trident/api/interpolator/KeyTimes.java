@@ -31,7 +31,7 @@
 
 package org.pushingpixels.trident.api.interpolator;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Stores a list of times from 0 to 1 (the elapsed fraction of an animation
@@ -44,7 +44,7 @@ import java.util.ArrayList;
  */
 public class KeyTimes {
 
-    private ArrayList<Float> times = new ArrayList<>();
+    private final float[] times;
 
     /**
      * Creates a new instance of KeyTimes. Times should be in increasing order
@@ -68,37 +68,40 @@ public class KeyTimes {
             if (time < prevTime) {
                 throw new IllegalArgumentException("Time values must be" + " in increasing order");
             }
-            this.times.add(time);
             prevTime = time;
         }
+        this.times = Arrays.copyOf(times, times.length);
     }
 
-    ArrayList getTimes() {
-        return times;
+    float[] getTimes() {
+        return Arrays.copyOf(times, times.length);
     }
 
     int getSize() {
-        return times.size();
+        return times.length;
     }
 
     /**
      * Returns time interval that contains this time fraction
      */
     int getInterval(float fraction) {
-        int prevIndex = 0;
-        for (int i = 1; i < times.size(); ++i) {
-            float time = times.get(i);
-            if (time >= fraction) {
-                // inclusive of start time at next interval. So fraction==1
-                // will return the final interval (times.size() - 1)
-                return prevIndex;
+        // Binary search for the first time after the start that is not smaller than
+        // the fraction. This is inclusive of start time at next interval, so
+        // fraction==1 will return the final interval (times.length - 1)
+        int low = 1;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(times[mid] >= fraction)) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
-            prevIndex = i;
         }
-        return prevIndex;
+        return low - 1;
     }
 
     float getTime(int index) {
-        return times.get(index);
+        return times[index];
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.api.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Arrays;
+
+/**
+ * Snapshot of a histogram of recorded values. Values are counted in buckets with power-of-two
+ * bounds: the first bucket holds zero values, and bucket <code>i</code> holds values between
+ * <code>2<sup>i-1</sup></code> and <code>2<sup>i</sup> - 1</code>. Percentiles are reported as
+ * the upper bound of the bucket that contains them, and are never larger than the maximum
+ * recorded value.
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class MetricsHistogram {
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long[] bucketUpperBounds;
+    private final long[] bucketCounts;
+
+    /**
+     * Creates a histogram snapshot.
+     *
+     * @param count             Number of recorded values.
+     * @param sum               Sum of recorded values.
+     * @param max               Largest recorded value.
+     * @param bucketUpperBounds Inclusive upper bound of each bucket.
+     * @param bucketCounts      Number of recorded values in each bucket.
+     */
+    @ConstructorProperties({"count", "sum", "max", "bucketUpperBounds", "bucketCounts"})
+    public MetricsHistogram(long count, long sum, long max, long[] bucketUpperBounds,
+            long[] bucketCounts) {
+        if (bucketUpperBounds.length != bucketCounts.length) {
+            throw new IllegalArgumentException("Bucket bounds and counts must be of equal size");
+        }
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.bucketUpperBounds = Arrays.copyOf(bucketUpperBounds, bucketUpperBounds.length);
+        this.bucketCounts = Arrays.copyOf(bucketCounts, bucketCounts.length);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getSum() {
+        return this.sum;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public double getMean() {
+        return (this.count == 0) ? 0.0 : (double) this.sum / this.count;
+    }
+
+    public long getP50() {
+        return this.getPercentile(50.0);
+    }
+
+    public long getP90() {
+        return this.getPercentile(90.0);
+    }
+
+    public long getP99() {
+        return this.getPercentile(99.0);
+    }
+
+    /**
+     * Returns the inclusive upper bound of each bucket, up to the last non-empty bucket.
+     *
+     * @return The inclusive upper bound of each bucket.
+     */
+    public long[] getBucketUpperBounds() {
+        return Arrays.copyOf(this.bucketUpperBounds, this.bucketUpperBounds.length);
+    }
+
+    /**
+     * Returns the number of recorded values in each bucket, up to the last non-empty bucket.
+     *
+     * @return The number of recorded values in each bucket.
+     */
+    public long[] getBucketCounts() {
+        return Arrays.copyOf(this.bucketCounts, this.bucketCounts.length);
+    }
+
+    /**
+     * Returns the estimated percentile of the recorded values.
+     *
+     * @param percentile Percentile in the 0.0-100.0 range.
+     * @return The upper bound of the bucket that contains the percentile, or 0 if no values
+     * have been recorded.
+     */
+    public long getPercentile(double percentile) {
+        if ((percentile < 0.0) || (percentile > 100.0)) {
+            throw new IllegalArgumentException("Percentile must be in 0.0-100.0 range");
+        }
+        if (this.count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * this.count / 100.0));
+        long seen = 0;
+        for (int i = 0; i < this.bucketCounts.length; i++) {
+            seen += this.bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(this.bucketUpperBounds[i], this.max);
+            }
+        }
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return "count " + this.count + ", mean " + String.format("%.1f", this.getMean())
+                + ", p50 " + this.getP50() + ", p90 " + this.getP90() + ", p99 "
+                + this.getP99() + ", max " + this.max;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.api.metrics;
+
+/**
+ * Listener for the metrics of the timeline engine. Listeners are registered with
+ * {@link org.pushingpixels.trident.api.TridentConfig#addEngineMetricsListener(TimelineEngineMetricsListener)}.
+ * The methods are called on the thread that did the measured work - the pulse thread, the
+ * Trident callback thread or the Event Dispatch Thread. Implementations should return quickly,
+ * as they delay that work.
+ *
+ * @author Kirill Grouchnikov
+ */
+public interface TimelineEngineMetricsListener {
+    /**
+     * Called at the end of each engine pulse.
+     *
+     * @param runningTimelineCount Number of running timelines at the start of the pulse.
+     * @param runningScenarioCount Number of running scenarios at the start of the pulse.
+     * @param updateNanos          Time spent updating the timelines and scenarios.
+     * @param lockWaitNanos        Time spent waiting for the engine lock before the update.
+     * @param callbackQueueDepth   Number of pending entries in the callback queue at the end of
+     *                             the pulse.
+     */
+    default void onPulse(int runningTimelineCount, int runningScenarioCount, long updateNanos,
+            long lockWaitNanos, int callbackQueueDepth) {
+    }
+
+    /**
+     * Called after the Trident callback thread has run the timeline callbacks of a pulse.
+     *
+     * @param latencyNanos   Time between the end of the pulse and the start of the callbacks.
+     * @param executionNanos Time spent running the callbacks.
+     */
+    default void onCallbacks(long latencyNanos, long executionNanos) {
+    }
+
+    /**
+     * Called after the Event Dispatch Thread has run a batch of timeline callbacks and
+     * repaints that was posted by the Trident callback thread.
+     *
+     * @param latencyNanos   Time between posting the batch and the start of its execution.
+     * @param executionNanos Time spent running the batch.
+     */
+    default void onEventDispatchThreadBatch(long latencyNanos, long executionNanos) {
+    }
+}
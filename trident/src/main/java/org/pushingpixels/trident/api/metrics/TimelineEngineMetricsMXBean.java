@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.api.metrics;
+
+/**
+ * Metrics of the timeline engine. All the durations are in nanoseconds. The histograms cover
+ * the time since the start of the application or the last call to {@link #reset()}.
+ *
+ * <p>The metrics are available with
+ * {@link org.pushingpixels.trident.api.TridentConfig#getEngineMetrics()} and can be published
+ * over JMX with
+ * {@link org.pushingpixels.trident.api.TridentConfig#registerEngineMetricsMBean()}.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public interface TimelineEngineMetricsMXBean {
+    /**
+     * Name under which the metrics are registered with the platform MBean server.
+     */
+    String OBJECT_NAME = "org.pushingpixels.trident:type=TimelineEngineMetrics";
+
+    long getPulseCount();
+
+    int getLastRunningTimelineCount();
+
+    int getLastRunningScenarioCount();
+
+    int getLastCallbackQueueDepth();
+
+    MetricsHistogram getRunningTimelineCounts();
+
+    MetricsHistogram getRunningScenarioCounts();
+
+    MetricsHistogram getUpdateNanos();
+
+    MetricsHistogram getLockWaitNanos();
+
+    MetricsHistogram getCallbackQueueDepths();
+
+    MetricsHistogram getCallbackLatencyNanos();
+
+    MetricsHistogram getCallbackExecutionNanos();
+
+    MetricsHistogram getEventDispatchThreadLatencyNanos();
+
+    MetricsHistogram getEventDispatchThreadExecutionNanos();
+
+    /**
+     * Clears all the recorded metrics.
+     */
+    void reset();
+}
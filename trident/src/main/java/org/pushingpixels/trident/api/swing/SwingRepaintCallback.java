@@ -31,6 +31,7 @@ package org.pushingpixels.trident.api.swing;
 
 import org.pushingpixels.trident.api.Timeline.TimelineState;
 import org.pushingpixels.trident.api.callback.TimelineCallbackAdapter;
+import org.pushingpixels.trident.internal.swing.SwingUtils;
 
 import java.awt.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -99,9 +100,7 @@ public class SwingRepaintCallback extends TimelineCallbackAdapter {
             }
         }
 
-        if (this.rect == null)
-            this.comp.repaint();
-        else
-            this.comp.repaint(this.rect.x, this.rect.y, this.rect.width, this.rect.height);
+        // Repaints requested by multiple callbacks during the same pulse are coalesced
+        SwingUtils.repaint(this.comp, this.rect);
     }
 }
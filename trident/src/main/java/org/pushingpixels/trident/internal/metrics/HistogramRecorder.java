@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.internal.metrics;
+
+import org.pushingpixels.trident.api.metrics.MetricsHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records non-negative values into buckets with power-of-two bounds. Recording does not
+ * allocate and does not block, and snapshots can be taken from any thread.
+ *
+ * @author Kirill Grouchnikov
+ */
+class HistogramRecorder {
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        // Bucket 0 holds zeros, bucket i holds values in [2^(i-1), 2^i - 1]
+        int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+        this.buckets.incrementAndGet(bucket);
+        this.sum.addAndGet(value);
+        long currMax;
+        while (value > (currMax = this.max.get())) {
+            if (this.max.compareAndSet(currMax, value)) {
+                break;
+            }
+        }
+    }
+
+    MetricsHistogram getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        int used = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            if (counts[i] > 0) {
+                used = i + 1;
+            }
+        }
+        long[] bucketCounts = new long[used];
+        long[] upperBounds = new long[used];
+        for (int i = 0; i < used; i++) {
+            bucketCounts[i] = counts[i];
+            upperBounds[i] = (i == BUCKET_COUNT - 1) ? Long.MAX_VALUE : (1L << i) - 1;
+        }
+        // The total is computed from the buckets so that it matches them even if values are
+        // recorded while the snapshot is taken
+        long total = 0;
+        for (long bucketCount : bucketCounts) {
+            total += bucketCount;
+        }
+        return new MetricsHistogram(total, this.sum.get(), this.max.get(), upperBounds,
+                bucketCounts);
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.trident.internal.metrics;
+
+import org.pushingpixels.trident.api.metrics.MetricsHistogram;
+import org.pushingpixels.trident.api.metrics.TimelineEngineMetricsListener;
+import org.pushingpixels.trident.api.metrics.TimelineEngineMetricsMXBean;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the metrics of the timeline engine and passes them to the registered listeners.
+ * Each metric is written by a single thread - the pulse thread, the Trident callback thread or
+ * the Event Dispatch Thread - and can be read and reset from any thread. A listener that throws
+ * does not stop the thread that records the metrics.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class TimelineEngineMetrics implements TimelineEngineMetricsMXBean {
+    /**
+     * The counters and histograms recorded since the last reset. Values recorded concurrently
+     * with a reset go either to the old or to the new instance, and never to a mix of both.
+     */
+    private static final class Recorders {
+        private final AtomicLong pulseCount = new AtomicLong();
+
+        private final HistogramRecorder runningTimelineCounts = new HistogramRecorder();
+
+        private final HistogramRecorder runningScenarioCounts = new HistogramRecorder();
+
+        private final HistogramRecorder updateNanos = new HistogramRecorder();
+
+        private final HistogramRecorder lockWaitNanos = new HistogramRecorder();
+
+        private final HistogramRecorder callbackQueueDepths = new HistogramRecorder();
+
+        private final HistogramRecorder callbackLatencyNanos = new HistogramRecorder();
+
+        private final HistogramRecorder callbackExecutionNanos = new HistogramRecorder();
+
+        private final HistogramRecorder eventDispatchThreadLatencyNanos = new HistogramRecorder();
+
+        private final HistogramRecorder eventDispatchThreadExecutionNanos = new HistogramRecorder();
+    }
+
+    private static final TimelineEngineMetrics INSTANCE = new TimelineEngineMetrics();
+
+    private final List<TimelineEngineMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile int lastRunningTimelineCount;
+
+    private volatile int lastRunningScenarioCount;
+
+    private volatile int lastCallbackQueueDepth;
+
+    /**
+     * All the counters and histograms. Replaced as a whole on {@link #reset()}.
+     */
+    private volatile Recorders recorders = new Recorders();
+
+    private boolean isRegistered;
+
+    private TimelineEngineMetrics() {
+    }
+
+    public static TimelineEngineMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(TimelineEngineMetricsListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(TimelineEngineMetricsListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under
+     * {@link TimelineEngineMetricsMXBean#OBJECT_NAME}. Does nothing if already registered. If
+     * another MBean is already registered under that name, for example by a copy of Trident
+     * loaded in another class loader, it is left in place and is not removed by
+     * {@link #unregisterMBean()}.
+     */
+    public synchronized void registerMBean() {
+        if (this.isRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(OBJECT_NAME));
+            this.isRegistered = true;
+        } catch (InstanceAlreadyExistsException exc) {
+            // Registered by someone else
+        } catch (JMException exc) {
+            throw new IllegalStateException("Unable to register the Trident engine metrics", exc);
+        }
+    }
+
+    /**
+     * Unregisters these metrics from the platform MBean server.
+     */
+    public synchronized void unregisterMBean() {
+        if (!this.isRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(
+                    new ObjectName(OBJECT_NAME));
+            this.isRegistered = false;
+        } catch (JMException exc) {
+            throw new IllegalStateException("Unable to unregister the Trident engine metrics",
+                    exc);
+        }
+    }
+
+    public void recordPulse(int runningTimelineCount, int runningScenarioCount,
+            long updateNanos, long lockWaitNanos, int callbackQueueDepth) {
+        Recorders recorders = this.recorders;
+        recorders.pulseCount.incrementAndGet();
+        this.lastRunningTimelineCount = runningTimelineCount;
+        this.lastRunningScenarioCount = runningScenarioCount;
+        this.lastCallbackQueueDepth = callbackQueueDepth;
+        recorders.runningTimelineCounts.record(runningTimelineCount);
+        recorders.runningScenarioCounts.record(runningScenarioCount);
+        recorders.updateNanos.record(updateNanos);
+        recorders.lockWaitNanos.record(lockWaitNanos);
+        recorders.callbackQueueDepths.record(callbackQueueDepth);
+        for (TimelineEngineMetricsListener listener : this.listeners) {
+            try {
+                listener.onPulse(runningTimelineCount, runningScenarioCount, updateNanos,
+                        lockWaitNanos, callbackQueueDepth);
+            } catch (Throwable t) {
+                reportListenerFailure(t);
+            }
+        }
+    }
+
+    public void recordCallbacks(long latencyNanos, long executionNanos) {
+        Recorders recorders = this.recorders;
+        recorders.callbackLatencyNanos.record(latencyNanos);
+        recorders.callbackExecutionNanos.record(executionNanos);
+        for (TimelineEngineMetricsListener listener : this.listeners) {
+            try {
+                listener.onCallbacks(latencyNanos, executionNanos);
+            } catch (Throwable t) {
+                reportListenerFailure(t);
+            }
+        }
+    }
+
+    public void recordEventDispatchThreadBatch(long latencyNanos, long executionNanos) {
+        Recorders recorders = this.recorders;
+        recorders.eventDispatchThreadLatencyNanos.record(latencyNanos);
+        recorders.eventDispatchThreadExecutionNanos.record(executionNanos);
+        for (TimelineEngineMetricsListener listener : this.listeners) {
+            try {
+                listener.onEventDispatchThreadBatch(latencyNanos, executionNanos);
+            } catch (Throwable t) {
+                reportListenerFailure(t);
+            }
+        }
+    }
+
+    /**
+     * Passes the failure of a listener to the uncaught exception handler of the current thread,
+     * without stopping the thread. Applications that install a default uncaught exception
+     * handler see these failures along with all the other unhandled errors.
+     */
+    private static void reportListenerFailure(Throwable t) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+    }
+
+    @Override
+    public long getPulseCount() {
+        return this.recorders.pulseCount.get();
+    }
+
+    @Override
+    public int getLastRunningTimelineCount() {
+        return this.lastRunningTimelineCount;
+    }
+
+    @Override
+    public int getLastRunningScenarioCount() {
+        return this.lastRunningScenarioCount;
+    }
+
+    @Override
+    public int getLastCallbackQueueDepth() {
+        return this.lastCallbackQueueDepth;
+    }
+
+    @Override
+    public MetricsHistogram getRunningTimelineCounts() {
+        return this.recorders.runningTimelineCounts.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getRunningScenarioCounts() {
+        return this.recorders.runningScenarioCounts.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getUpdateNanos() {
+        return this.recorders.updateNanos.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getLockWaitNanos() {
+        return this.recorders.lockWaitNanos.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getCallbackQueueDepths() {
+        return this.recorders.callbackQueueDepths.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getCallbackLatencyNanos() {
+        return this.recorders.callbackLatencyNanos.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getCallbackExecutionNanos() {
+        return this.recorders.callbackExecutionNanos.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getEventDispatchThreadLatencyNanos() {
+        return this.recorders.eventDispatchThreadLatencyNanos.getSnapshot();
+    }
+
+    @Override
+    public MetricsHistogram getEventDispatchThreadExecutionNanos() {
+        return this.recorders.eventDispatchThreadExecutionNanos.getSnapshot();
+    }
+
+    @Override
+    public void reset() {
+        this.recorders = new Recorders();
+    }
+}
@@ -58,6 +58,36 @@ public class AWTPropertyInterpolators implements PropertyInterpolatorSource {
         return Collections.unmodifiableSet(this.interpolators);
     }
 
+    /**
+     * Returns the interpolated color as packed ARGB. This is used by the primitive color
+     * channels of timelines, and does not allocate any objects.
+     *
+     * @param argb1          The first color as packed ARGB.
+     * @param argb2          The second color as packed ARGB.
+     * @param color1Likeness Likeness to the first color, in 0.0-1.0 range.
+     * @return The interpolated color as packed ARGB.
+     */
+    public static int getInterpolatedARGB(int argb1, int argb2, float color1Likeness) {
+        if ((color1Likeness < 0.0) || (color1Likeness > 1.0))
+            throw new IllegalArgumentException(
+                    "Color likeness should be in 0.0-1.0 range [is " + color1Likeness + "]");
+        if (argb1 == argb2)
+            return argb1;
+        int alpha1 = (argb1 >>> 24) & 0xFF;
+        int alpha2 = (argb2 >>> 24) & 0xFF;
+
+        int r = ColorInterpolator.getInterpolatedChannelValue((argb1 >>> 16) & 0xFF,
+                (argb2 >>> 16) & 0xFF, color1Likeness);
+        int g = ColorInterpolator.getInterpolatedChannelValue((argb1 >>> 8) & 0xFF,
+                (argb2 >>> 8) & 0xFF, color1Likeness);
+        int b = ColorInterpolator.getInterpolatedChannelValue(argb1 & 0xFF, argb2 & 0xFF,
+                color1Likeness);
+        int a = (alpha1 == alpha2) ? alpha1
+                : (int) Math.round(color1Likeness * alpha1 + (1.0 - color1Likeness) * alpha2);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
     static class ColorInterpolator implements PropertyInterpolator<Color> {
         @Override
         public Class<Color> getBasePropertyClass() {
@@ -70,20 +100,7 @@ public class AWTPropertyInterpolators implements PropertyInterpolatorSource {
         }
 
         int getInterpolatedRGB(Color color1, Color color2, float color1Likeness) {
-            if ((color1Likeness < 0.0) || (color1Likeness > 1.0))
-                throw new IllegalArgumentException(
-                        "Color likeness should be in 0.0-1.0 range [is " + color1Likeness + "]");
-            int alpha1 = color1.getAlpha();
-            int alpha2 = color2.getAlpha();
-
-            int r = getInterpolatedChannelValue(color1.getRed(), color2.getRed(), color1Likeness);
-            int g = getInterpolatedChannelValue(color1.getGreen(), color2.getGreen(),
-                    color1Likeness);
-            int b = getInterpolatedChannelValue(color1.getBlue(), color2.getBlue(), color1Likeness);
-            int a = (alpha1 == alpha2) ? alpha1
-                    : (int) Math.round(color1Likeness * alpha1 + (1.0 - color1Likeness) * alpha2);
-
-            return (a << 24) | (r << 16) | (g << 8) | b;
+            return getInterpolatedARGB(color1.getRGB(), color2.getRGB(), color1Likeness);
         }
 
         private static int getInterpolatedChannelValue(int value1, int value2,
@@ -29,10 +29,101 @@
  */
 package org.pushingpixels.trident.internal.swing;
 
+import org.pushingpixels.trident.api.swing.RunOnEventDispatchThread;
+import org.pushingpixels.trident.internal.metrics.TimelineEngineMetrics;
+
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class SwingUtils {
+    /**
+     * Caches whether a callback class (or any of its superclasses) is annotated with
+     * {@link RunOnEventDispatchThread}, so that the class hierarchy is not walked on every pulse.
+     */
+    private static final ClassValue<Boolean> RUN_ON_EVENT_DISPATCH_THREAD =
+            new ClassValue<Boolean>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                        if (clazz.isAnnotationPresent(RunOnEventDispatchThread.class)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            };
+
+    /**
+     * The batch of pending EDT work for threads that have called {@link #startBatching()}.
+     */
+    private static final ThreadLocal<EventDispatchThreadBatch> BATCH = new ThreadLocal<>();
+
+    /**
+     * Collects runnables and repaint requests that are posted to the EDT together in a single
+     * event.
+     */
+    private static class EventDispatchThreadBatch {
+        private List<Runnable> runnables = new ArrayList<>();
+
+        /**
+         * Repaint requests by component. A <code>null</code> value marks a repaint of the
+         * entire component.
+         */
+        private Map<Component, Rectangle> repaints = new LinkedHashMap<>();
+
+        private void addRepaint(Component comp, Rectangle rect) {
+            if (this.repaints.containsKey(comp)) {
+                Rectangle existing = this.repaints.get(comp);
+                if (existing != null) {
+                    if (rect == null) {
+                        this.repaints.put(comp, null);
+                    } else {
+                        existing.add(rect);
+                    }
+                }
+            } else {
+                this.repaints.put(comp, (rect == null) ? null : new Rectangle(rect));
+            }
+        }
+
+        private void flush() {
+            if (this.runnables.isEmpty() && this.repaints.isEmpty()) {
+                return;
+            }
+            final List<Runnable> runnables = this.runnables;
+            final Map<Component, Rectangle> repaints = this.repaints;
+            this.runnables = new ArrayList<>();
+            this.repaints = new LinkedHashMap<>();
+            final long postNanos = System.nanoTime();
+            SwingUtilities.invokeLater(() -> {
+                long startNanos = System.nanoTime();
+                for (Runnable runnable : runnables) {
+                    try {
+                        runnable.run();
+                    } catch (Throwable t) {
+                        t.printStackTrace();
+                    }
+                }
+                // Repaint after running the callbacks so that the painting reflects the
+                // values they have set
+                for (Map.Entry<Component, Rectangle> repaint : repaints.entrySet()) {
+                    Rectangle rect = repaint.getValue();
+                    if (rect == null) {
+                        repaint.getKey().repaint();
+                    } else {
+                        repaint.getKey().repaint(rect.x, rect.y, rect.width, rect.height);
+                    }
+                }
+                TimelineEngineMetrics.getInstance().recordEventDispatchThreadBatch(
+                        startNanos - postNanos, System.nanoTime() - startNanos);
+            });
+        }
+    }
+
     public static boolean isUiComponent(Object mainTimelineObject) {
         return (mainTimelineObject instanceof Component);
     }
@@ -41,11 +132,62 @@ public class SwingUtils {
         return ((Component) mainTimelineObject).isDisplayable();
     }
 
+    public static boolean isRunOnEventDispatchThread(Class<?> callbackClass) {
+        return RUN_ON_EVENT_DISPATCH_THREAD.get(callbackClass);
+    }
+
     public static void runOnEventDispatchThread(Runnable runnable) {
         if (SwingUtilities.isEventDispatchThread()) {
             runnable.run();
         } else {
-            SwingUtilities.invokeLater(runnable);
+            EventDispatchThreadBatch batch = BATCH.get();
+            if (batch != null) {
+                batch.runnables.add(runnable);
+            } else {
+                SwingUtilities.invokeLater(runnable);
+            }
+        }
+    }
+
+    /**
+     * Repaints the specified component. If the current thread is batching its EDT work, repaint
+     * requests for the same component are coalesced until the next {@link #flushBatch()}.
+     *
+     * @param comp Component to repaint.
+     * @param rect Area to repaint. If <code>null</code>, the entire component is repainted.
+     */
+    public static void repaint(Component comp, Rectangle rect) {
+        EventDispatchThreadBatch batch = BATCH.get();
+        if ((batch != null) && !SwingUtilities.isEventDispatchThread()) {
+            batch.addRepaint(comp, rect);
+            return;
+        }
+        if (rect == null) {
+            comp.repaint();
+        } else {
+            comp.repaint(rect.x, rect.y, rect.width, rect.height);
+        }
+    }
+
+    /**
+     * Starts batching the EDT work of the current thread. After this call,
+     * {@link #runOnEventDispatchThread(Runnable)} and {@link #repaint(Component, Rectangle)}
+     * collect their work until the next call to {@link #flushBatch()}.
+     */
+    public static void startBatching() {
+        if (BATCH.get() == null) {
+            BATCH.set(new EventDispatchThreadBatch());
+        }
+    }
+
+    /**
+     * Posts all the EDT work collected by the current thread since the last flush as a single
+     * EDT event.
+     */
+    public static void flushBatch() {
+        EventDispatchThreadBatch batch = BATCH.get();
+        if (batch != null) {
+            batch.flush();
         }
     }
 }